@@ -1,20 +1,115 @@
 package com.flashcard;
 
+import com.flashcard.service.AnswerMatcher;
+import com.flashcard.service.AutocompleteIndex;
 import com.flashcard.service.CardService;
 import com.flashcard.service.DeckService;
+import com.flashcard.service.DuplicateDetector;
+import com.flashcard.service.IdGenerator;
 import com.flashcard.service.QuizService;
+import com.flashcard.service.ReviewScheduler;
+import com.flashcard.service.SearchIndex;
+import com.flashcard.service.StatisticsService;
+import com.flashcard.service.TimeOrderedIdGenerator;
+import com.flashcard.storage.BinaryDataStorage;
+import com.flashcard.storage.ConcurrentDataStorage;
 import com.flashcard.storage.DataStorage;
+import com.flashcard.storage.DirtyTrackingJsonDataStorage;
+import com.flashcard.storage.IndexedDataStorage;
 import com.flashcard.storage.JsonDataStorage;
+import com.flashcard.storage.LogStructuredDataStorage;
+import com.flashcard.storage.ReviewStore;
+import com.flashcard.storage.ShardedDataStorage;
+import com.flashcard.storage.StatisticsStore;
+import com.flashcard.storage.WriteBehindDataStorage;
 import com.flashcard.ui.ConsoleUI;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 public class FlashcardQuizApplication {
+    private static final String STORAGE_PROPERTY = "flashcard.storage";
+    private static final String FLUSH_INTERVAL_PROPERTY = "flashcard.flushIntervalMillis";
+    private static final String MAX_DIRTY_PROPERTY = "flashcard.maxDirtyDecks";
+    private static final String MAX_LIVE_PROPERTY = "flashcard.maxLiveDecks";
+    private static final String PARALLEL_LOAD_PROPERTY = "flashcard.parallelLoad";
+    private static final String ARENA_TEXT_PROPERTY = "flashcard.arenaText";
+    private static final String MAX_TYPOS_PROPERTY = "flashcard.maxTypos";
+    private static final String MIN_SIMILARITY_PROPERTY = "flashcard.minSimilarity";
+    private static final String STATS_FLUSH_INTERVAL_PROPERTY = "flashcard.statsFlushIntervalMillis";
+
     public static void main(String[] args) {
-        DataStorage dataStorage = new JsonDataStorage();
-        DeckService deckService = new DeckService(dataStorage);
-        CardService cardService = new CardService(deckService);
-        QuizService quizService = new QuizService(deckService);
+        WriteBehindDataStorage dataStorage = new WriteBehindDataStorage(
+                createStorage(System.getProperty(STORAGE_PROPERTY, "json")),
+                Long.getLong(FLUSH_INTERVAL_PROPERTY, WriteBehindDataStorage.DEFAULT_FLUSH_INTERVAL_MILLIS),
+                Integer.getInteger(MAX_DIRTY_PROPERTY, WriteBehindDataStorage.DEFAULT_MAX_DIRTY_DECKS),
+                Integer.getInteger(MAX_LIVE_PROPERTY, WriteBehindDataStorage.DEFAULT_MAX_LIVE_DECKS));
+        // Runs on normal exit as well as on Ctrl+C, so queued edits are never lost
+        Runtime.getRuntime().addShutdownHook(new Thread(dataStorage::close, "flashcard-shutdown"));
 
-        ConsoleUI ui = new ConsoleUI(deckService, cardService, quizService);
+        IdGenerator idGenerator = new TimeOrderedIdGenerator();
+        DeckService deckService = new DeckService(dataStorage, idGenerator);
+        Path searchIndexFile = Paths.get("data", "search.idx");
+        SearchIndex searchIndex = SearchIndex.load(searchIndexFile);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> saveSearchIndex(searchIndex, searchIndexFile),
+                "flashcard-search-save"));
+        DuplicateDetector duplicateDetector = new DuplicateDetector();
+        CardService cardService = new CardService(deckService, idGenerator, searchIndex, duplicateDetector);
+        deckService.addDeckChangeListener(searchIndex);
+        cardService.addCardChangeListener(searchIndex);
+        deckService.addDeckChangeListener(duplicateDetector);
+        cardService.addCardChangeListener(duplicateDetector);
+        AnswerMatcher answerMatcher = new AnswerMatcher(
+                Integer.getInteger(MAX_TYPOS_PROPERTY, AnswerMatcher.DEFAULT_MAX_DISTANCE),
+                Double.parseDouble(System.getProperty(MIN_SIMILARITY_PROPERTY,
+                        String.valueOf(AnswerMatcher.DEFAULT_MIN_SIMILARITY))));
+        StatisticsService statistics = new StatisticsService(new StatisticsStore(),
+                Long.getLong(STATS_FLUSH_INTERVAL_PROPERTY, StatisticsService.DEFAULT_FLUSH_INTERVAL_MILLIS),
+                System::currentTimeMillis);
+        Runtime.getRuntime().addShutdownHook(new Thread(statistics::close, "flashcard-stats-shutdown"));
+        QuizService quizService = new QuizService(deckService, new ReviewScheduler(new ReviewStore()), answerMatcher,
+                statistics);
+        cardService.addCardChangeListener(quizService.getAnswerKeyCache());
+        cardService.addCardChangeListener(quizService);
+        deckService.addDeckChangeListener(quizService);
+        AutocompleteIndex autocomplete = new AutocompleteIndex();
+        deckService.addDeckChangeListener(autocomplete);
+        cardService.addCardChangeListener(autocomplete);
+
+        ConsoleUI ui = new ConsoleUI(deckService, cardService, quizService, autocomplete);
         ui.start();
     }
+
+    private static void saveSearchIndex(SearchIndex searchIndex, Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+            searchIndex.save(file);
+        } catch (IOException e) {
+            System.err.println("Помилка збереження пошукового індексу: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static DataStorage createStorage(String mode) {
+        switch (mode) {
+            case "log":
+                return new LogStructuredDataStorage();
+            case "sharded":
+                return new ShardedDataStorage();
+            case "binary":
+                return new BinaryDataStorage();
+            case "concurrent":
+                return new ConcurrentDataStorage();
+            case "indexed":
+                return new IndexedDataStorage();
+            case "incremental":
+                return new DirtyTrackingJsonDataStorage("data", Boolean.getBoolean(PARALLEL_LOAD_PROPERTY),
+                        Boolean.getBoolean(ARENA_TEXT_PROPERTY));
+            default:
+                return new JsonDataStorage("data", Boolean.getBoolean(PARALLEL_LOAD_PROPERTY),
+                        Boolean.getBoolean(ARENA_TEXT_PROPERTY));
+        }
+    }
 }
\ No newline at end of file
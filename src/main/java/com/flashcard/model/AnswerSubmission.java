@@ -0,0 +1,53 @@
+package com.flashcard.model;
+
+// One recorded answer from an answer sheet, graded offline
+public class AnswerSubmission {
+    private String userId;
+    private String cardId;
+    private String answer;
+
+    public AnswerSubmission() {}
+
+    public AnswerSubmission(String cardId, String answer) {
+        this(null, cardId, answer);
+    }
+
+    public AnswerSubmission(String userId, String cardId, String answer) {
+        this.userId = userId;
+        this.cardId = cardId;
+        this.answer = answer;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getCardId() {
+        return cardId;
+    }
+
+    public void setCardId(String cardId) {
+        this.cardId = cardId;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public void setAnswer(String answer) {
+        this.answer = answer;
+    }
+
+    @Override
+    public String toString() {
+        return "AnswerSubmission{" +
+                "userId='" + userId + '\'' +
+                ", cardId='" + cardId + '\'' +
+                ", answer='" + answer + '\'' +
+                '}';
+    }
+}
\ No newline at end of file
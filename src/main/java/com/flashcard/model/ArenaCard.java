@@ -0,0 +1,59 @@
+package com.flashcard.model;
+
+// Card whose question and answer live in a TextArena. Only the two handles stay on the heap; the
+// strings are decoded on every get, so callers that read the text repeatedly should keep the result.
+public class ArenaCard extends Card {
+    private final TextArena arena;
+    private long questionHandle;
+    private long answerHandle;
+
+    public ArenaCard(CompactId id, String question, String answer, TextArena arena) {
+        super(id, null, null);
+        this.arena = arena;
+        this.questionHandle = arena.add(question);
+        this.answerHandle = arena.add(answer);
+    }
+
+    public ArenaCard(Card card, TextArena arena) {
+        this(card.getCompactId(), card.getQuestion(), card.getAnswer(), arena);
+        if (!card.isDirty()) {
+            markClean();
+        }
+    }
+
+    // Shares the arena and handles: the arena is append-only, so setters on either card never
+    // change the text the other one sees
+    private ArenaCard(ArenaCard other) {
+        super(other.getCompactId(), null, null);
+        this.arena = other.arena;
+        this.questionHandle = other.questionHandle;
+        this.answerHandle = other.answerHandle;
+    }
+
+    @Override
+    public Card copy() {
+        return new ArenaCard(this);
+    }
+
+    @Override
+    public String getQuestion() {
+        return arena.get(questionHandle);
+    }
+
+    @Override
+    public void setQuestion(String question) {
+        this.questionHandle = arena.add(question);
+        markDirty();
+    }
+
+    @Override
+    public String getAnswer() {
+        return arena.get(answerHandle);
+    }
+
+    @Override
+    public void setAnswer(String answer) {
+        this.answerHandle = arena.add(answer);
+        markDirty();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.flashcard.model;
+
+// Outcome of grading a batch of submissions, in submission order, with totals and the time it took
+public class BatchGradingResult {
+    public enum Grade {
+        CORRECT,
+        INCORRECT,
+        // The card id is not in the deck, or the submission is incomplete
+        UNKNOWN_CARD
+    }
+
+    private final Grade[] grades;
+    private final int correctCount;
+    private final int incorrectCount;
+    private final int unknownCount;
+    private final long elapsedNanos;
+
+    public BatchGradingResult(Grade[] grades, long elapsedNanos) {
+        this.grades = grades;
+        this.elapsedNanos = elapsedNanos;
+        int correct = 0;
+        int incorrect = 0;
+        for (Grade grade : grades) {
+            if (grade == Grade.CORRECT) {
+                correct++;
+            } else if (grade == Grade.INCORRECT) {
+                incorrect++;
+            }
+        }
+        this.correctCount = correct;
+        this.incorrectCount = incorrect;
+        this.unknownCount = grades.length - correct - incorrect;
+    }
+
+    public int size() {
+        return grades.length;
+    }
+
+    public Grade getGrade(int index) {
+        return grades[index];
+    }
+
+    public boolean isCorrect(int index) {
+        return grades[index] == Grade.CORRECT;
+    }
+
+    public int getCorrectCount() {
+        return correctCount;
+    }
+
+    public int getIncorrectCount() {
+        return incorrectCount;
+    }
+
+    public int getUnknownCount() {
+        return unknownCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getSubmissionsPerSecond() {
+        return elapsedNanos > 0 ? grades.length * 1e9 / elapsedNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchGradingResult{" +
+                "size=" + grades.length +
+                ", correct=" + correctCount +
+                ", incorrect=" + incorrectCount +
+                ", unknown=" + unknownCount +
+                ", submissionsPerSecond=" + Math.round(getSubmissionsPerSecond()) +
+                '}';
+    }
+}
\ No newline at end of file
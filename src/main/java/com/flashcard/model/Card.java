@@ -1,26 +1,51 @@
 package com.flashcard.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.Objects;
 
 public class Card {
-    private String id;
+    private CompactId id;
     private String question;
     private String answer;
+    private boolean dirty = true;
+    // Deck the card was last added to; told about every change so its own dirty check stays O(1)
+    private Deck owner;
 
     public Card() {}
 
     public Card(String id, String question, String answer) {
+        this(CompactId.parse(id), question, answer);
+    }
+
+    public Card(CompactId id, String question, String answer) {
         this.id = id;
         this.question = question;
         this.answer = answer;
     }
 
+    public Card(Card other) {
+        this(other.id, other.getQuestion(), other.getAnswer());
+    }
+
+    // Copy of the same kind as this card, so copies of arena-backed cards keep their text off-heap
+    public Card copy() {
+        return new Card(this);
+    }
+
+    // Serialized and exposed in the string form used by decks.json
     public String getId() {
-        return id;
+        return id != null ? id.toString() : null;
     }
 
     public void setId(String id) {
-        this.id = id;
+        this.id = CompactId.parse(id);
+        markDirty();
+    }
+
+    @JsonIgnore
+    public CompactId getCompactId() {
+        return id;
     }
 
     public String getQuestion() {
@@ -29,6 +54,7 @@ public class Card {
 
     public void setQuestion(String question) {
         this.question = question;
+        markDirty();
     }
 
     public String getAnswer() {
@@ -37,27 +63,50 @@ public class Card {
 
     public void setAnswer(String answer) {
         this.answer = answer;
+        markDirty();
+    }
+
+    @JsonIgnore
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void markClean() {
+        dirty = false;
+    }
+
+    protected void markDirty() {
+        dirty = true;
+        Deck deck = owner;
+        if (deck != null) {
+            deck.cardChanged();
+        }
+    }
+
+    void setOwner(Deck owner) {
+        this.owner = owner;
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        // Subclasses only change where the text is kept, so a card equals any card with its id
+        if (!(o instanceof Card)) return false;
         Card card = (Card) o;
         return Objects.equals(id, card.id);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return id != null ? id.hashCode() : 0;
     }
 
     @Override
     public String toString() {
         return "Card{" +
                 "id='" + id + '\'' +
-                ", question='" + question + '\'' +
-                ", answer='" + answer + '\'' +
+                ", question='" + getQuestion() + '\'' +
+                ", answer='" + getAnswer() + '\'' +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.flashcard.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// Answer history of one card: attempts, correct answers, streaks of correct answers and when it was last answered
+public class CardStats {
+    private CompactId deckId;
+    private CompactId cardId;
+    private long attempts;
+    private long correct;
+    private int currentStreak;
+    private int bestStreak;
+    private long lastSeenAt;
+
+    public CardStats() {}
+
+    public CardStats(String deckId, String cardId) {
+        this(CompactId.parse(deckId), CompactId.parse(cardId));
+    }
+
+    public CardStats(CompactId deckId, CompactId cardId) {
+        this.deckId = deckId;
+        this.cardId = cardId;
+    }
+
+    // Serialized and exposed in the string form, like Card ids
+    public String getDeckId() {
+        return deckId != null ? deckId.toString() : null;
+    }
+
+    public void setDeckId(String deckId) {
+        this.deckId = CompactId.parse(deckId);
+    }
+
+    public String getCardId() {
+        return cardId != null ? cardId.toString() : null;
+    }
+
+    public void setCardId(String cardId) {
+        this.cardId = CompactId.parse(cardId);
+    }
+
+    @JsonIgnore
+    public CompactId getCompactDeckId() {
+        return deckId;
+    }
+
+    @JsonIgnore
+    public CompactId getCompactCardId() {
+        return cardId;
+    }
+
+    public long getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(long attempts) {
+        this.attempts = attempts;
+    }
+
+    public long getCorrect() {
+        return correct;
+    }
+
+    public void setCorrect(long correct) {
+        this.correct = correct;
+    }
+
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public void setCurrentStreak(int currentStreak) {
+        this.currentStreak = currentStreak;
+    }
+
+    public int getBestStreak() {
+        return bestStreak;
+    }
+
+    public void setBestStreak(int bestStreak) {
+        this.bestStreak = bestStreak;
+    }
+
+    // Epoch milliseconds; 0 for a card that was never answered
+    public long getLastSeenAt() {
+        return lastSeenAt;
+    }
+
+    public void setLastSeenAt(long lastSeenAt) {
+        this.lastSeenAt = lastSeenAt;
+    }
+
+    @Override
+    public String toString() {
+        return "CardStats{" +
+                "cardId='" + cardId + '\'' +
+                ", attempts=" + attempts +
+                ", correct=" + correct +
+                ", currentStreak=" + currentStreak +
+                ", bestStreak=" + bestStreak +
+                ", lastSeenAt=" + lastSeenAt +
+                '}';
+    }
+}
\ No newline at end of file
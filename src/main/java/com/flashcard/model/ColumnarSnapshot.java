@@ -0,0 +1,145 @@
+package com.flashcard.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.function.IntConsumer;
+
+// Read-only struct-of-arrays form of one DeckSnapshot for bulk scans: card ids as two long columns and
+// the lower-cased question and answer text as UTF-8, one byte array per column addressed by end
+// offsets. Row i is card i of the snapshot. Scans walk the arrays and allocate nothing per card.
+public final class ColumnarSnapshot {
+    private final int size;
+    private final long[] idHigh;
+    private final long[] idLow;
+    // Only allocated when the deck has ids that are not UUIDs
+    private final String[] legacyIds;
+    private final TextColumn questions;
+    private final TextColumn answers;
+
+    ColumnarSnapshot(PersistentVector<Card> cards) {
+        this.size = cards.size();
+        this.idHigh = new long[size];
+        this.idLow = new long[size];
+        String[] legacy = null;
+        TextColumn.Builder questionText = new TextColumn.Builder(size);
+        TextColumn.Builder answerText = new TextColumn.Builder(size);
+
+        int row = 0;
+        for (Card card : cards) {
+            CompactId id = card.getCompactId();
+            if (id.isLegacy()) {
+                if (legacy == null) {
+                    legacy = new String[size];
+                }
+                legacy[row] = id.toString();
+            } else {
+                idHigh[row] = id.getMostSignificantBits();
+                idLow[row] = id.getLeastSignificantBits();
+            }
+            questionText.add(card.getQuestion());
+            answerText.add(card.getAnswer());
+            row++;
+        }
+        this.legacyIds = legacy;
+        this.questions = questionText.build();
+        this.answers = answerText.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public CompactId getCardId(int row) {
+        checkRow(row);
+        if (legacyIds != null && legacyIds[row] != null) {
+            return CompactId.parse(legacyIds[row]);
+        }
+        return new CompactId(idHigh[row], idLow[row]);
+    }
+
+    // Rows whose question or answer contains the text, ignoring case
+    public void forEachMatching(String text, IntConsumer action) {
+        byte[] needle = fold(text);
+        for (int row = 0; row < size; row++) {
+            if (questions.contains(row, needle) || answers.contains(row, needle)) {
+                action.accept(row);
+            }
+        }
+    }
+
+    public int countMatching(String text) {
+        byte[] needle = fold(text);
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (questions.contains(row, needle) || answers.contains(row, needle)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Рядок: " + row + ", карток: " + size);
+        }
+    }
+
+    private static byte[] fold(String text) {
+        return text != null ? text.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    private static final class TextColumn {
+        private final byte[] bytes;
+        // Row i spans ends[i - 1] (0 for the first row) up to ends[i]
+        private final int[] ends;
+
+        TextColumn(byte[] bytes, int[] ends) {
+            this.bytes = bytes;
+            this.ends = ends;
+        }
+
+        // Substring test on the stored UTF-8 bytes, which is a substring test on the text itself
+        boolean contains(int row, byte[] needle) {
+            int start = row > 0 ? ends[row - 1] : 0;
+            int last = ends[row] - needle.length;
+            if (needle.length == 0) {
+                return true;
+            }
+            byte first = needle[0];
+            for (int from = start; from <= last; from++) {
+                if (bytes[from] != first) {
+                    continue;
+                }
+                int i = 1;
+                while (i < needle.length && bytes[from + i] == needle[i]) {
+                    i++;
+                }
+                if (i == needle.length) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        static final class Builder {
+            private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            private final int[] ends;
+            private int rows;
+
+            Builder(int size) {
+                this.ends = new int[size];
+            }
+
+            void add(String text) {
+                byte[] folded = fold(text);
+                bytes.write(folded, 0, folded.length);
+                ends[rows++] = bytes.size();
+            }
+
+            TextColumn build() {
+                return new TextColumn(bytes.toByteArray(), ends);
+            }
+        }
+    }
+}
\ No newline at end of file
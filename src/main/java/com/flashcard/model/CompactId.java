@@ -0,0 +1,133 @@
+package com.flashcard.model;
+
+import java.util.UUID;
+
+// Card and deck id held as two longs instead of a 36-character UUID string. Ids that are not in
+// canonical lowercase UUID form (hand-written ids in old files) are kept as the original string so
+// they round-trip unchanged.
+public final class CompactId {
+    private static final int UUID_LENGTH = 36;
+
+    private final long mostSignificantBits;
+    private final long leastSignificantBits;
+    private final String legacy;
+
+    public CompactId(long mostSignificantBits, long leastSignificantBits) {
+        this.mostSignificantBits = mostSignificantBits;
+        this.leastSignificantBits = leastSignificantBits;
+        this.legacy = null;
+    }
+
+    private CompactId(String legacy) {
+        this.mostSignificantBits = 0;
+        this.leastSignificantBits = 0;
+        this.legacy = legacy;
+    }
+
+    public static CompactId random() {
+        UUID uuid = UUID.randomUUID();
+        return new CompactId(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    public static CompactId parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.length() != UUID_LENGTH) {
+            return new CompactId(value);
+        }
+
+        long msb = 0;
+        long lsb = 0;
+        int digits = 0;
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return new CompactId(value);
+                }
+                continue;
+            }
+            int digit = hexValue(c);
+            if (digit < 0) {
+                return new CompactId(value);
+            }
+            if (digits < 16) {
+                msb = (msb << 4) | digit;
+            } else {
+                lsb = (lsb << 4) | digit;
+            }
+            digits++;
+        }
+        return new CompactId(msb, lsb);
+    }
+
+    public long getMostSignificantBits() {
+        return mostSignificantBits;
+    }
+
+    public long getLeastSignificantBits() {
+        return leastSignificantBits;
+    }
+
+    public boolean isLegacy() {
+        return legacy != null;
+    }
+
+    // Only lowercase digits are accepted so that parse(s).toString() always equals s
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CompactId other = (CompactId) o;
+        if (legacy != null || other.legacy != null) {
+            return legacy != null && legacy.equals(other.legacy);
+        }
+        return mostSignificantBits == other.mostSignificantBits
+                && leastSignificantBits == other.leastSignificantBits;
+    }
+
+    @Override
+    public int hashCode() {
+        if (legacy != null) {
+            return legacy.hashCode();
+        }
+        long bits = mostSignificantBits ^ leastSignificantBits;
+        return (int) (bits ^ (bits >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        if (legacy != null) {
+            return legacy;
+        }
+        char[] chars = new char[UUID_LENGTH];
+        writeHex(chars, 0, mostSignificantBits >>> 32, 8);
+        chars[8] = '-';
+        writeHex(chars, 9, mostSignificantBits >>> 16, 4);
+        chars[13] = '-';
+        writeHex(chars, 14, mostSignificantBits, 4);
+        chars[18] = '-';
+        writeHex(chars, 19, leastSignificantBits >>> 48, 4);
+        chars[23] = '-';
+        writeHex(chars, 24, leastSignificantBits, 12);
+        return new String(chars);
+    }
+
+    private static void writeHex(char[] chars, int offset, long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[offset + i] = Character.forDigit((int) (value & 0xf), 16);
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.flashcard.model;
+
+// A card question offered as a completion of typed text
+public class Completion {
+    private final String text;
+    private final String deckId;
+    private final String cardId;
+
+    public Completion(String text, String deckId, String cardId) {
+        this.text = text;
+        this.deckId = deckId;
+        this.cardId = cardId;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getDeckId() {
+        return deckId;
+    }
+
+    public String getCardId() {
+        return cardId;
+    }
+
+    @Override
+    public String toString() {
+        return "Completion{" +
+                "text='" + text + '\'' +
+                ", deckId='" + deckId + '\'' +
+                ", cardId='" + cardId + '\'' +
+                '}';
+    }
+}
\ No newline at end of file
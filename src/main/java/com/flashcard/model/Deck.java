@@ -1,61 +1,215 @@
 package com.flashcard.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class Deck {
-    private String id;
+    // Emptied slots are compacted away once they outnumber the cards
+    private static final int MIN_COMPACT_SLOTS = 32;
+
+    private CompactId id;
     private String name;
-    private List<Card> cards;
+    // Cards in insertion order; the map gives each card's slot for constant-time lookup and removal.
+    // Read-only views build the map on their first lookup
+    private PersistentVector<Card> cards = PersistentVector.empty();
+    private Map<CompactId, Integer> slots = new HashMap<>();
+    // Republished after every mutation; readers use it without locking
+    private volatile DeckSnapshot snapshot;
+    private boolean dirty = true;
+    private final boolean readOnly;
 
     public Deck() {
-        this.cards = new ArrayList<>();
+        this.readOnly = false;
+        publish();
     }
 
     public Deck(String id, String name) {
+        this(CompactId.parse(id), name);
+    }
+
+    public Deck(CompactId id, String name) {
         this.id = id;
         this.name = name;
-        this.cards = new ArrayList<>();
+        this.readOnly = false;
+        publish();
+    }
+
+    // View over one snapshot: shares its cards, so it costs the same however large the deck is
+    private Deck(CompactId id, DeckSnapshot snapshot, PersistentVector<Card> cards) {
+        this.id = id;
+        this.name = snapshot.getName();
+        this.cards = cards;
+        this.slots = null;
+        this.snapshot = snapshot;
+        this.dirty = false;
+        this.readOnly = true;
+    }
+
+    public Deck(Deck other) {
+        this(other.id, other.name);
+        List<Card> copies = new ArrayList<>(other.getCards().size());
+        for (Card card : other.getCards()) {
+            copies.add(card.copy());
+        }
+        replaceCards(copies);
     }
 
     public String getId() {
-        return id;
+        return id != null ? id.toString() : null;
     }
 
-    public void setId(String id) {
-        this.id = id;
+    public synchronized void setId(String id) {
+        checkWritable();
+        this.id = CompactId.parse(id);
+        this.dirty = true;
+        publish();
+    }
+
+    @JsonIgnore
+    public CompactId getCompactId() {
+        return id;
     }
 
     public String getName() {
         return name;
     }
 
-    public void setName(String name) {
+    public synchronized void setName(String name) {
+        checkWritable();
         this.name = name;
+        this.dirty = true;
+        publish();
     }
 
+    // Read-only list of the current snapshot; later mutations of the deck do not show up in it
     public List<Card> getCards() {
-        return cards;
+        return snapshot.getCards();
     }
 
-    public void setCards(List<Card> cards) {
-        this.cards = cards;
+    @JsonIgnore
+    public DeckSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public synchronized void setCards(List<Card> cards) {
+        checkWritable();
+        replaceCards(cards);
+        this.dirty = true;
+    }
+
+    // A card with an id already in the deck replaces it in place
+    public synchronized void addCard(Card card) {
+        checkWritable();
+        Integer slot = slots.get(card.getCompactId());
+        if (slot != null) {
+            cards = cards.set(slot, card);
+        } else {
+            slots.put(card.getCompactId(), cards.slots());
+            cards = cards.append(card);
+        }
+        card.setOwner(this);
+        this.dirty = true;
+        publish();
+    }
+
+    public synchronized boolean removeCard(String cardId) {
+        checkWritable();
+        Integer slot = slots.remove(CompactId.parse(cardId));
+        if (slot == null) {
+            return false;
+        }
+        cards = cards.remove(slot);
+        if (cards.slots() - cards.size() > Math.max(MIN_COMPACT_SLOTS, cards.size())) {
+            List<Card> live = new ArrayList<>(cards.size());
+            for (Card card : cards) {
+                live.add(card);
+            }
+            replaceCards(live);
+        }
+        dirty = true;
+        publish();
+        return true;
+    }
+
+    // Unmodifiable deck fixed at the current version of this one. Later changes to this deck do not
+    // show up in it; use new Deck(view) for an editable copy
+    public synchronized Deck readOnlyView() {
+        return readOnly ? this : new Deck(id, snapshot, cards);
     }
 
-    public void addCard(Card card) {
-        this.cards.add(card);
+    @JsonIgnore
+    public boolean isReadOnly() {
+        return readOnly;
     }
 
-    public boolean removeCard(String cardId) {
-        return cards.removeIf(card -> card.getId().equals(cardId));
+    // Card setters report to the deck that owns the card, so this never has to look at the cards
+    @JsonIgnore
+    public synchronized boolean isDirty() {
+        return dirty;
+    }
+
+    public synchronized void markClean() {
+        dirty = false;
+    }
+
+    synchronized void cardChanged() {
+        dirty = true;
     }
 
     public Card findCardById(String cardId) {
-        return cards.stream()
-                .filter(card -> card.getId().equals(cardId))
-                .findFirst()
-                .orElse(null);
+        return findCardById(CompactId.parse(cardId));
+    }
+
+    public synchronized Card findCardById(CompactId cardId) {
+        if (slots == null) {
+            slots = indexSlots(cards);
+        }
+        Integer slot = slots.get(cardId);
+        return slot != null ? cards.getSlot(slot) : null;
+    }
+
+    private void replaceCards(List<Card> newCards) {
+        // A repeated id keeps its first position and its last value, as with addCard
+        List<Card> unique = new ArrayList<>(newCards.size());
+        slots.clear();
+        for (Card card : newCards) {
+            Integer slot = slots.get(card.getCompactId());
+            if (slot != null) {
+                unique.set(slot, card);
+            } else {
+                slots.put(card.getCompactId(), unique.size());
+                unique.add(card);
+            }
+            card.setOwner(this);
+        }
+        cards = PersistentVector.of(unique);
+        publish();
+    }
+
+    private static Map<CompactId, Integer> indexSlots(PersistentVector<Card> cards) {
+        Map<CompactId, Integer> index = new HashMap<>();
+        for (int slot = 0; slot < cards.slots(); slot++) {
+            Card card = cards.getSlot(slot);
+            if (card != null) {
+                index.put(card.getCompactId(), slot);
+            }
+        }
+        return index;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Колода доступна лише для читання");
+        }
+    }
+
+    private void publish() {
+        snapshot = new DeckSnapshot(getId(), name, cards);
     }
 
     @Override
@@ -68,7 +222,7 @@ public class Deck {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return id != null ? id.hashCode() : 0;
     }
 
     @Override
@@ -0,0 +1,82 @@
+package com.flashcard.model;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+
+// Immutable version of a deck. Every mutation of a Deck publishes a new snapshot that shares all
+// unchanged structure with the previous one, so readers can hold on to one without locking.
+// Cards are never edited in place once they are part of a deck; CardService replaces them instead.
+public final class DeckSnapshot {
+    private final String id;
+    private final String name;
+    private final PersistentVector<Card> cards;
+    private final List<Card> cardsView;
+    // Built on the first bulk scan; threads that race here at worst each build an equal copy
+    private volatile ColumnarSnapshot columns;
+
+    DeckSnapshot(String id, String name, PersistentVector<Card> cards) {
+        this.id = id;
+        this.name = name;
+        this.cards = cards;
+        this.cardsView = new CardList(cards);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return cards.size();
+    }
+
+    public boolean isEmpty() {
+        return cards.isEmpty();
+    }
+
+    public Card getCard(int index) {
+        return cards.get(index);
+    }
+
+    // Read-only list backed by this snapshot
+    public List<Card> getCards() {
+        return cardsView;
+    }
+
+    // Columnar form of the same cards for scans that would otherwise touch every Card object
+    public ColumnarSnapshot getColumns() {
+        ColumnarSnapshot built = columns;
+        if (built == null) {
+            built = new ColumnarSnapshot(cards);
+            columns = built;
+        }
+        return built;
+    }
+
+    private static final class CardList extends AbstractList<Card> {
+        private final PersistentVector<Card> cards;
+
+        CardList(PersistentVector<Card> cards) {
+            this.cards = cards;
+        }
+
+        @Override
+        public Card get(int index) {
+            return cards.get(index);
+        }
+
+        @Override
+        public int size() {
+            return cards.size();
+        }
+
+        @Override
+        public Iterator<Card> iterator() {
+            return cards.iterator();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.flashcard.model;
+
+// Totals over every card of a deck that has been answered at least once
+public class DeckStats {
+    private String deckId;
+    private long attempts;
+    private long correct;
+    private int cardsSeen;
+    private int bestStreak;
+    private long lastSeenAt;
+
+    public DeckStats() {}
+
+    public DeckStats(String deckId, long attempts, long correct, int cardsSeen, int bestStreak, long lastSeenAt) {
+        this.deckId = deckId;
+        this.attempts = attempts;
+        this.correct = correct;
+        this.cardsSeen = cardsSeen;
+        this.bestStreak = bestStreak;
+        this.lastSeenAt = lastSeenAt;
+    }
+
+    public String getDeckId() {
+        return deckId;
+    }
+
+    public void setDeckId(String deckId) {
+        this.deckId = deckId;
+    }
+
+    public long getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(long attempts) {
+        this.attempts = attempts;
+    }
+
+    public long getCorrect() {
+        return correct;
+    }
+
+    public void setCorrect(long correct) {
+        this.correct = correct;
+    }
+
+    public int getCardsSeen() {
+        return cardsSeen;
+    }
+
+    public void setCardsSeen(int cardsSeen) {
+        this.cardsSeen = cardsSeen;
+    }
+
+    public int getBestStreak() {
+        return bestStreak;
+    }
+
+    public void setBestStreak(int bestStreak) {
+        this.bestStreak = bestStreak;
+    }
+
+    public long getLastSeenAt() {
+        return lastSeenAt;
+    }
+
+    public void setLastSeenAt(long lastSeenAt) {
+        this.lastSeenAt = lastSeenAt;
+    }
+
+    @Override
+    public String toString() {
+        return "DeckStats{" +
+                "deckId='" + deckId + '\'' +
+                ", attempts=" + attempts +
+                ", correct=" + correct +
+                ", cardsSeen=" + cardsSeen +
+                ", bestStreak=" + bestStreak +
+                ", lastSeenAt=" + lastSeenAt +
+                '}';
+    }
+}
\ No newline at end of file
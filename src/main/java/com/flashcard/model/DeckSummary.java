@@ -0,0 +1,67 @@
+package com.flashcard.model;
+
+import java.util.Objects;
+
+public class DeckSummary {
+    private String id;
+    private String name;
+    private int cardCount;
+
+    public DeckSummary() {}
+
+    public DeckSummary(String id, String name, int cardCount) {
+        this.id = id;
+        this.name = name;
+        this.cardCount = cardCount;
+    }
+
+    public static DeckSummary of(Deck deck) {
+        return new DeckSummary(deck.getId(), deck.getName(), deck.getCards().size());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getCardCount() {
+        return cardCount;
+    }
+
+    public void setCardCount(int cardCount) {
+        this.cardCount = cardCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DeckSummary that = (DeckSummary) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return "DeckSummary{" +
+                "id='" + id + '\'' +
+                ", name='" + name + '\'' +
+                ", cardCount=" + cardCount +
+                '}';
+    }
+}
@@ -0,0 +1,45 @@
+package com.flashcard.model;
+
+import java.util.List;
+
+// Cards that are likely duplicates of each other, possibly from different decks. Every card is linked
+// to at least one other card of the cluster whose estimated similarity reached the threshold.
+public class DuplicateCluster {
+    private final String[] deckIds;
+    private final String[] cardIds;
+    private final double similarity;
+
+    public DuplicateCluster(List<String> deckIds, List<String> cardIds, double similarity) {
+        if (deckIds.size() != cardIds.size()) {
+            throw new IllegalArgumentException("Кількість колод і карток має збігатися");
+        }
+        this.deckIds = deckIds.toArray(new String[0]);
+        this.cardIds = cardIds.toArray(new String[0]);
+        this.similarity = similarity;
+    }
+
+    public int size() {
+        return cardIds.length;
+    }
+
+    public String getDeckId(int index) {
+        return deckIds[index];
+    }
+
+    public String getCardId(int index) {
+        return cardIds[index];
+    }
+
+    // Lowest estimated similarity among the links that formed the cluster, from 0 to 1
+    public double getSimilarity() {
+        return similarity;
+    }
+
+    @Override
+    public String toString() {
+        return "DuplicateCluster{" +
+                "size=" + cardIds.length +
+                ", similarity=" + similarity +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,245 @@
+package com.flashcard.model;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// Immutable list stored as a 32-way trie. Every update copies only the nodes on one root-to-leaf
+// path and shares the rest with the previous version, so old versions stay valid and cheap to keep.
+// Elements live in slots that never move; removing one leaves an empty slot behind, and each node
+// counts the elements below it so lookup by position skips the gaps.
+public final class PersistentVector<T> implements Iterable<T> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(null, 0, 0);
+
+    private final Node root;
+    // Depth of the trie in bits; leaves sit at shift 0
+    private final int shift;
+    private final int slots;
+
+    private PersistentVector(Node root, int shift, int slots) {
+        this.root = root;
+        this.shift = shift;
+        this.slots = slots;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    // Builds the trie bottom-up without intermediate versions
+    public static <T> PersistentVector<T> of(List<? extends T> values) {
+        if (values.isEmpty()) {
+            return empty();
+        }
+
+        Node[] level = new Node[(values.size() + MASK) >>> BITS];
+        for (int i = 0; i < level.length; i++) {
+            int from = i << BITS;
+            int to = Math.min(from + WIDTH, values.size());
+            Object[] items = new Object[to - from];
+            for (int j = from; j < to; j++) {
+                items[j - from] = requireValue(values.get(j));
+            }
+            level[i] = new Node(items, items.length);
+        }
+
+        int shift = 0;
+        while (level.length > 1) {
+            Node[] parents = new Node[(level.length + MASK) >>> BITS];
+            for (int i = 0; i < parents.length; i++) {
+                int from = i << BITS;
+                Object[] items = Arrays.copyOfRange(level, from, Math.min(from + WIDTH, level.length), Object[].class);
+                int count = 0;
+                for (Object child : items) {
+                    count += ((Node) child).count;
+                }
+                parents[i] = new Node(items, count);
+            }
+            level = parents;
+            shift += BITS;
+        }
+        return new PersistentVector<>(level[0], shift, values.size());
+    }
+
+    public int size() {
+        return root != null ? root.count : 0;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Slots ever used, including emptied ones; the next append goes to this slot
+    public int slots() {
+        return slots;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+        }
+
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            for (Object item : node.items) {
+                Node child = (Node) item;
+                if (index < child.count) {
+                    node = child;
+                    break;
+                }
+                index -= child.count;
+            }
+        }
+        for (Object item : node.items) {
+            if (item != null && index-- == 0) {
+                return (T) item;
+            }
+        }
+        throw new IllegalStateException("Лічильники вузлів не узгоджені");
+    }
+
+    // Element in a slot, or null if the slot was emptied
+    @SuppressWarnings("unchecked")
+    public T getSlot(int slot) {
+        checkSlot(slot);
+        return (T) leafFor(slot).items[slot & MASK];
+    }
+
+    public PersistentVector<T> append(T value) {
+        requireValue(value);
+        if (root == null) {
+            return new PersistentVector<>(new Node(new Object[]{value}, 1), 0, 1);
+        }
+        if (slots == 1 << (shift + BITS)) {
+            // Root is full: grow the trie by one level
+            Node newRoot = new Node(new Object[]{root, newPath(shift, value)}, root.count + 1);
+            return new PersistentVector<>(newRoot, shift + BITS, slots + 1);
+        }
+        return new PersistentVector<>(appendAt(root, shift, slots, value), shift, slots + 1);
+    }
+
+    public PersistentVector<T> set(int slot, T value) {
+        checkSlot(slot);
+        return new PersistentVector<>(update(root, shift, slot, requireValue(value)), shift, slots);
+    }
+
+    public PersistentVector<T> remove(int slot) {
+        checkSlot(slot);
+        if (leafFor(slot).items[slot & MASK] == null) {
+            return this;
+        }
+        return new PersistentVector<>(update(root, shift, slot, null), shift, slots);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int slot = -1;
+            private Object[] leaf;
+            private Object next = advance();
+
+            private Object advance() {
+                while (++slot < slots) {
+                    if (leaf == null || (slot & MASK) == 0) {
+                        leaf = leafFor(slot).items;
+                    }
+                    Object item = leaf[slot & MASK];
+                    if (item != null) {
+                        return item;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                T current = (T) next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    private void checkSlot(int slot) {
+        if (slot < 0 || slot >= slots) {
+            throw new IndexOutOfBoundsException("Slot: " + slot + ", slots: " + slots);
+        }
+    }
+
+    private static <T> T requireValue(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Елемент не може бути null");
+        }
+        return value;
+    }
+
+    private Node leafFor(int slot) {
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.items[(slot >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private static Node newPath(int shift, Object value) {
+        Node node = new Node(new Object[]{value}, 1);
+        for (int level = BITS; level <= shift; level += BITS) {
+            node = new Node(new Object[]{node}, 1);
+        }
+        return node;
+    }
+
+    private static Node appendAt(Node node, int shift, int slot, Object value) {
+        int index = (slot >>> shift) & MASK;
+        Object[] items = Arrays.copyOf(node.items, Math.max(node.items.length, index + 1));
+        if (shift == 0) {
+            items[index] = value;
+        } else {
+            Node child = index < node.items.length ? (Node) node.items[index] : null;
+            items[index] = child == null ? newPath(shift - BITS, value) : appendAt(child, shift - BITS, slot, value);
+        }
+        return new Node(items, node.count + 1);
+    }
+
+    private static Node update(Node node, int shift, int slot, Object value) {
+        int index = (slot >>> shift) & MASK;
+        Object[] items = node.items.clone();
+        int delta;
+        if (shift == 0) {
+            delta = (value != null ? 1 : 0) - (items[index] != null ? 1 : 0);
+            items[index] = value;
+        } else {
+            Node child = (Node) items[index];
+            Node updated = update(child, shift - BITS, slot, value);
+            delta = updated.count - child.count;
+            items[index] = updated;
+        }
+        return new Node(items, node.count + delta);
+    }
+
+    private static final class Node {
+        // Child nodes, or elements in a leaf (null marks an emptied slot)
+        private final Object[] items;
+        private final int count;
+
+        Node(Object[] items, int count) {
+            this.items = items;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.flashcard.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// Spaced-repetition progress of one card (SM-2): how easy it is, the current interval and when it is due
+public class ReviewState {
+    public static final double INITIAL_EASE = 2.5;
+
+    private CompactId deckId;
+    private CompactId cardId;
+    private double easeFactor = INITIAL_EASE;
+    private int intervalDays;
+    private int repetitions;
+    private long dueAt;
+
+    public ReviewState() {}
+
+    public ReviewState(String deckId, String cardId) {
+        this(CompactId.parse(deckId), CompactId.parse(cardId));
+    }
+
+    public ReviewState(CompactId deckId, CompactId cardId) {
+        this.deckId = deckId;
+        this.cardId = cardId;
+    }
+
+    public ReviewState(ReviewState other) {
+        this(other.deckId, other.cardId);
+        this.easeFactor = other.easeFactor;
+        this.intervalDays = other.intervalDays;
+        this.repetitions = other.repetitions;
+        this.dueAt = other.dueAt;
+    }
+
+    // Serialized and exposed in the string form, like Card ids
+    public String getDeckId() {
+        return deckId != null ? deckId.toString() : null;
+    }
+
+    public void setDeckId(String deckId) {
+        this.deckId = CompactId.parse(deckId);
+    }
+
+    public String getCardId() {
+        return cardId != null ? cardId.toString() : null;
+    }
+
+    public void setCardId(String cardId) {
+        this.cardId = CompactId.parse(cardId);
+    }
+
+    @JsonIgnore
+    public CompactId getCompactDeckId() {
+        return deckId;
+    }
+
+    @JsonIgnore
+    public CompactId getCompactCardId() {
+        return cardId;
+    }
+
+    public double getEaseFactor() {
+        return easeFactor;
+    }
+
+    public void setEaseFactor(double easeFactor) {
+        this.easeFactor = easeFactor;
+    }
+
+    public int getIntervalDays() {
+        return intervalDays;
+    }
+
+    public void setIntervalDays(int intervalDays) {
+        this.intervalDays = intervalDays;
+    }
+
+    public int getRepetitions() {
+        return repetitions;
+    }
+
+    public void setRepetitions(int repetitions) {
+        this.repetitions = repetitions;
+    }
+
+    // Epoch milliseconds; 0 for a card that was never reviewed
+    public long getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(long dueAt) {
+        this.dueAt = dueAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewState{" +
+                "cardId='" + cardId + '\'' +
+                ", easeFactor=" + easeFactor +
+                ", intervalDays=" + intervalDays +
+                ", repetitions=" + repetitions +
+                ", dueAt=" + dueAt +
+                '}';
+    }
+}
\ No newline at end of file
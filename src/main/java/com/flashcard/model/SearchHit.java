@@ -0,0 +1,35 @@
+package com.flashcard.model;
+
+// A card found by a search, with its relevance score (higher is better)
+public class SearchHit {
+    private final String deckId;
+    private final String cardId;
+    private final double score;
+
+    public SearchHit(String deckId, String cardId, double score) {
+        this.deckId = deckId;
+        this.cardId = cardId;
+        this.score = score;
+    }
+
+    public String getDeckId() {
+        return deckId;
+    }
+
+    public String getCardId() {
+        return cardId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchHit{" +
+                "deckId='" + deckId + '\'' +
+                ", cardId='" + cardId + '\'' +
+                ", score=" + score +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.flashcard.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Append-only store of strings as length-prefixed UTF-8 in direct (off-heap) buffers. A string is
+// addressed by a long handle: chunk index in the high half, byte offset in the low half.
+// Text that is replaced stays in the arena until the whole arena is dropped.
+public final class TextArena {
+    public static final long NULL_HANDLE = -1;
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    private static final int MAX_LENGTH_PREFIX = 5;
+
+    private final int chunkSize;
+    // Replaced by a longer copy when a chunk is added, so readers never need a lock
+    private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+    private ByteBuffer current;
+    private long bytesUsed;
+
+    public TextArena() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public TextArena(int chunkSize) {
+        if (chunkSize < 64) {
+            throw new IllegalArgumentException("Розмір блоку занадто малий: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public synchronized long add(String text) {
+        if (text == null) {
+            return NULL_HANDLE;
+        }
+
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        int needed = bytes.length + MAX_LENGTH_PREFIX;
+        if (current == null || current.remaining() < needed) {
+            // Text longer than a chunk gets a chunk of its own
+            current = ByteBuffer.allocateDirect(Math.max(chunkSize, needed));
+            ByteBuffer[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+            grown[grown.length - 1] = current;
+            chunks = grown;
+        }
+
+        int offset = current.position();
+        int length = bytes.length;
+        while ((length & ~0x7f) != 0) {
+            current.put((byte) ((length & 0x7f) | 0x80));
+            length >>>= 7;
+        }
+        current.put((byte) length);
+        current.put(bytes);
+        bytesUsed += current.position() - offset;
+        return ((long) (chunks.length - 1) << 32) | offset;
+    }
+
+    public String get(long handle) {
+        if (handle == NULL_HANDLE) {
+            return null;
+        }
+
+        ByteBuffer chunk = chunks[(int) (handle >>> 32)];
+        int position = (int) handle;
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = chunk.get(position++);
+            length |= (b & 0x7f) << shift;
+            shift += 7;
+        } while (b < 0);
+
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = chunk.get(position + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public synchronized long getBytesUsed() {
+        return bytesUsed;
+    }
+
+    public long getCapacity() {
+        long capacity = 0;
+        for (ByteBuffer chunk : chunks) {
+            capacity += chunk.capacity();
+        }
+        return capacity;
+    }
+}
\ No newline at end of file
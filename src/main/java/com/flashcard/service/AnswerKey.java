@@ -0,0 +1,48 @@
+package com.flashcard.service;
+
+// A card answer prepared once by AnswerMatcher: each accepted alternate in normalized form with the
+// number of edits it tolerates. Alternates are separated by '|' in the stored answer.
+public final class AnswerKey {
+    private final String answer;
+    private final String[] alternates;
+    private final char[][] chars;
+    // Trimmed original of each alternate, compared as typed when it normalizes to nothing
+    private final String[] originals;
+    private final int[] allowedDistances;
+
+    AnswerKey(String answer, String[] alternates, String[] originals, int[] allowedDistances) {
+        this.answer = answer;
+        this.alternates = alternates;
+        this.chars = new char[alternates.length][];
+        for (int i = 0; i < alternates.length; i++) {
+            chars[i] = alternates[i].toCharArray();
+        }
+        this.originals = originals;
+        this.allowedDistances = allowedDistances;
+    }
+
+    // Answer text the key was prepared from
+    public String getAnswer() {
+        return answer;
+    }
+
+    public int size() {
+        return alternates.length;
+    }
+
+    public String getAlternate(int index) {
+        return alternates[index];
+    }
+
+    char[] getChars(int index) {
+        return chars[index];
+    }
+
+    String getOriginal(int index) {
+        return originals[index];
+    }
+
+    int getAllowedDistance(int index) {
+        return allowedDistances[index];
+    }
+}
\ No newline at end of file
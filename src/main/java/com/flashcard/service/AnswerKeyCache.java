@@ -0,0 +1,59 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.CompactId;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Prepared answer keys per card, so a card's answer is normalized once rather than on every check.
+// Registered with CardService, which drops a card's key when the card is updated or deleted. Cards
+// are never edited in place, so a cached key is returned without reading the card's answer again,
+// which for arena-backed cards would decode it on every check.
+public class AnswerKeyCache implements CardChangeListener {
+    private final AnswerMatcher matcher;
+    private final Map<CompactId, Map<CompactId, AnswerKey>> keys = new ConcurrentHashMap<>();
+
+    public AnswerKeyCache(AnswerMatcher matcher) {
+        this.matcher = matcher;
+    }
+
+    public AnswerKey getKey(String deckId, Card card) {
+        Map<CompactId, AnswerKey> deckKeys = keys.computeIfAbsent(CompactId.parse(deckId), id -> new ConcurrentHashMap<>());
+        AnswerKey key = deckKeys.get(card.getCompactId());
+        if (key == null) {
+            key = matcher.prepare(card.getAnswer());
+            deckKeys.put(card.getCompactId(), key);
+        }
+        return key;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<CompactId, AnswerKey> deckKeys : keys.values()) {
+            size += deckKeys.size();
+        }
+        return size;
+    }
+
+    public void invalidateDeck(String deckId) {
+        keys.remove(CompactId.parse(deckId));
+    }
+
+    @Override
+    public void cardUpdated(String deckId, Card card) {
+        invalidate(deckId, card.getCompactId());
+    }
+
+    @Override
+    public void cardRemoved(String deckId, String cardId) {
+        invalidate(deckId, CompactId.parse(cardId));
+    }
+
+    private void invalidate(String deckId, CompactId cardId) {
+        Map<CompactId, AnswerKey> deckKeys = keys.get(CompactId.parse(deckId));
+        if (deckKeys != null) {
+            deckKeys.remove(cardId);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,317 @@
+package com.flashcard.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+// Decides whether a typed answer counts as the expected one. Both sides are normalized first: case,
+// punctuation and whitespace are dropped, and accents are folded unless disabled. The sign of a number
+// and a decimal point or comma between digits are kept, so "-5" and "3.14" are not read as "5" and
+// "314"; a decimal comma is written as a point. What remains may
+// differ by a few edits: at most maxDistance, and at most the share of the expected length allowed by
+// minSimilarity, so short answers must be exact. Numeric answers are never fuzzy. An answer may list
+// several accepted alternates separated by '|'; prepare() does the per-answer work once.
+// Grading keeps its buffers per thread and does not allocate for ASCII answers.
+public class AnswerMatcher {
+    public static final int DEFAULT_MAX_DISTANCE = 2;
+    public static final double DEFAULT_MIN_SIMILARITY = 0.8;
+    public static final char ALTERNATE_SEPARATOR = '|';
+    private static final int ASCII_LIMIT = 0x80;
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final int maxDistance;
+    private final double minSimilarity;
+    private final boolean foldAccents;
+
+    public AnswerMatcher() {
+        this(DEFAULT_MAX_DISTANCE, DEFAULT_MIN_SIMILARITY, true);
+    }
+
+    public AnswerMatcher(int maxDistance, double minSimilarity) {
+        this(maxDistance, minSimilarity, true);
+    }
+
+    public AnswerMatcher(int maxDistance, double minSimilarity, boolean foldAccents) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("Максимальна відстань не може бути від'ємною");
+        }
+        if (minSimilarity < 0 || minSimilarity > 1) {
+            throw new IllegalArgumentException("Мінімальна схожість має бути від 0 до 1");
+        }
+        this.maxDistance = maxDistance;
+        this.minSimilarity = minSimilarity;
+        this.foldAccents = foldAccents;
+    }
+
+    // Normalized answers must be equal: no typos and no accent folding
+    public static AnswerMatcher exact() {
+        return new AnswerMatcher(0, 1, false);
+    }
+
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    public double getMinSimilarity() {
+        return minSimilarity;
+    }
+
+    public boolean isFoldAccents() {
+        return foldAccents;
+    }
+
+    public boolean matches(String expected, String given) {
+        if (expected == null || given == null) {
+            return false;
+        }
+        if (expected.indexOf(ALTERNATE_SEPARATOR) >= 0) {
+            return matches(prepare(expected), given);
+        }
+
+        Buffers buffers = BUFFERS.get();
+        Text normalizedExpected = normalize(expected, buffers.expected);
+        if (normalizedExpected.length == 0) {
+            // Nothing but punctuation; compare what was typed
+            return expected.trim().equalsIgnoreCase(given.trim());
+        }
+        Text normalizedGiven = normalize(given, buffers.given);
+        int allowed = allowedDistance(normalizedExpected.chars, normalizedExpected.length);
+        return distance(normalizedExpected.chars, normalizedExpected.length,
+                normalizedGiven.chars, normalizedGiven.length, allowed, buffers) <= allowed;
+    }
+
+    // Against a prepared key only the given answer is normalized
+    public boolean matches(AnswerKey key, String given) {
+        if (key == null || given == null) {
+            return false;
+        }
+
+        Buffers buffers = BUFFERS.get();
+        Text normalizedGiven = normalize(given, buffers.given);
+        for (int i = 0; i < key.size(); i++) {
+            char[] alternate = key.getChars(i);
+            if (alternate.length == 0) {
+                if (key.getOriginal(i).equalsIgnoreCase(given.trim())) {
+                    return true;
+                }
+                continue;
+            }
+            int allowed = key.getAllowedDistance(i);
+            if (distance(alternate, alternate.length, normalizedGiven.chars, normalizedGiven.length, allowed, buffers)
+                    <= allowed) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public AnswerKey prepare(String answer) {
+        String[] parts = split(answer);
+        String[] alternates = new String[parts.length];
+        int[] allowed = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            alternates[i] = normalize(parts[i]);
+            allowed[i] = allowedDistance(alternates[i]);
+        }
+        return new AnswerKey(answer, alternates, parts, allowed);
+    }
+
+    public String normalize(String text) {
+        Text normalized = normalize(text, new Text());
+        return new String(normalized.chars, 0, normalized.length);
+    }
+
+    // Edits allowed against an already normalized expected answer
+    public int allowedDistance(CharSequence normalizedExpected) {
+        char[] chars = normalizedExpected.toString().toCharArray();
+        return allowedDistance(chars, chars.length);
+    }
+
+    // Levenshtein distance, or limit + 1 as soon as it is known to exceed limit
+    public static int distance(CharSequence a, CharSequence b, int limit) {
+        char[] charsA = a.toString().toCharArray();
+        char[] charsB = b.toString().toCharArray();
+        return distance(charsA, charsA.length, charsB, charsB.length, limit, BUFFERS.get());
+    }
+
+    private int allowedDistance(char[] normalizedExpected, int length) {
+        if (isNumber(normalizedExpected, length)) {
+            return 0;
+        }
+        int bySimilarity = (int) Math.floor(length * (1 - minSimilarity) + 1e-9);
+        return Math.min(maxDistance, bySimilarity);
+    }
+
+    private static int distance(char[] a, int lengthA, char[] b, int lengthB, int limit, Buffers buffers) {
+        int over = limit + 1;
+        if (Math.abs(lengthA - lengthB) > limit) {
+            return over;
+        }
+
+        // A shared prefix and suffix never change the distance; a typo usually leaves only a few chars between
+        int start = 0;
+        while (start < lengthA && start < lengthB && a[start] == b[start]) {
+            start++;
+        }
+        int endA = lengthA;
+        int endB = lengthB;
+        while (endA > start && endB > start && a[endA - 1] == b[endB - 1]) {
+            endA--;
+            endB--;
+        }
+        int coreA = endA - start;
+        int coreB = endB - start;
+        if (coreA == 0 || coreB == 0) {
+            return Math.min(coreA + coreB, over);
+        }
+        if (limit == 0) {
+            return over;
+        }
+
+        int[] previous = buffers.previous(coreB + 1);
+        int[] current = buffers.current(coreB + 1);
+        for (int j = 0; j <= coreB; j++) {
+            previous[j] = Math.min(j, over);
+        }
+
+        // Only cells within limit of the diagonal can stay under the limit
+        for (int i = 1; i <= coreA; i++) {
+            int from = Math.max(1, i - limit);
+            int to = Math.min(coreB, i + limit);
+            current[from - 1] = from == 1 ? Math.min(i, over) : over;
+            int rowMin = current[from - 1];
+            char c = a[start + i - 1];
+            for (int j = from; j <= to; j++) {
+                int cost = c == b[start + j - 1] ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j], current[j - 1]) + 1);
+                current[j] = Math.min(value, over);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < coreB) {
+                current[to + 1] = over;
+            }
+            if (rowMin > limit) {
+                return over;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[coreB];
+    }
+
+    private Text normalize(String text, Text out) {
+        out.length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= ASCII_LIMIT) {
+                return normalizeUnicode(text, out);
+            }
+            if (c >= 'A' && c <= 'Z') {
+                out.append((char) (c + ('a' - 'A')));
+            } else if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                out.append(c);
+            } else {
+                appendNumberMark(text, i, out);
+            }
+        }
+        return out;
+    }
+
+    private Text normalizeUnicode(String text, Text out) {
+        out.length = 0;
+        String decomposed = Normalizer.normalize(text, foldAccents ? Normalizer.Form.NFD : Normalizer.Form.NFC);
+        for (int i = 0; i < decomposed.length(); ) {
+            int codePoint = decomposed.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                out.appendCodePoint(Character.toLowerCase(codePoint));
+            } else if (Character.isBmpCodePoint(codePoint)) {
+                appendNumberMark(decomposed, i - 1, out);
+            }
+            // Combining marks are not letters, so folding drops them here
+        }
+        return out;
+    }
+
+    // A minus sign that starts a number, or a point or comma between two digits
+    private static void appendNumberMark(String text, int index, Text out) {
+        if (index + 1 >= text.length() || !Character.isDigit(text.charAt(index + 1))) {
+            return;
+        }
+        char c = text.charAt(index);
+        char before = index > 0 ? text.charAt(index - 1) : ' ';
+        if ((c == '-' || c == '\u2212') && !Character.isLetterOrDigit(before)) {
+            out.append('-');
+        } else if ((c == '.' || c == ',') && Character.isDigit(before)) {
+            out.append('.');
+        }
+    }
+
+    // Trimmed alternates; the whole answer if splitting leaves nothing
+    private static String[] split(String answer) {
+        String[] parts = answer.split("\\" + ALTERNATE_SEPARATOR);
+        int count = 0;
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i].trim();
+            if (!part.isEmpty()) {
+                parts[count++] = part;
+            }
+        }
+        return count > 0 ? Arrays.copyOf(parts, count) : new String[]{answer.trim()};
+    }
+
+    // Digits with the sign and decimal point normalize() keeps
+    private static boolean isNumber(char[] text, int length) {
+        for (int i = 0; i < length; i++) {
+            char c = text[i];
+            if (!Character.isDigit(c) && c != '.' && !(c == '-' && i == 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Growable char buffer, so normalized text can be compared without building a String
+    private static final class Text {
+        private char[] chars = new char[64];
+        private int length;
+
+        void append(char c) {
+            if (length == chars.length) {
+                chars = Arrays.copyOf(chars, length * 2);
+            }
+            chars[length++] = c;
+        }
+
+        void appendCodePoint(int codePoint) {
+            if (Character.isBmpCodePoint(codePoint)) {
+                append((char) codePoint);
+            } else {
+                append(Character.highSurrogate(codePoint));
+                append(Character.lowSurrogate(codePoint));
+            }
+        }
+    }
+
+    private static final class Buffers {
+        private final Text expected = new Text();
+        private final Text given = new Text();
+        private int[] previous = new int[64];
+        private int[] current = new int[64];
+
+        int[] previous(int length) {
+            if (previous.length < length) {
+                previous = new int[Math.max(length, previous.length * 2)];
+            }
+            return previous;
+        }
+
+        int[] current(int length) {
+            if (current.length < length) {
+                current = new int[Math.max(length, current.length * 2)];
+            }
+            return current;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,184 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.CompactId;
+import com.flashcard.model.Completion;
+import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSummary;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Completions of typed text to deck names and card questions, from two radix tries keyed by the text
+// normalised like search terms, so case, accents and punctuation do not matter. Deck names are ranked
+// by card count; questions come in alphabetical order. Registered with DeckService and CardService,
+// it follows decks and cards as they are created, edited and deleted.
+public class AutocompleteIndex implements DeckChangeListener, CardChangeListener {
+    // Every question has the same weight, so completions come out in key order
+    private static final long QUESTION_WEIGHT = 0;
+
+    private final RadixTrie<CompactId> deckNames = new RadixTrie<>();
+    private final RadixTrie<CardKey> questions = new RadixTrie<>();
+    private final Map<CompactId, DeckSummary> decks = new HashMap<>();
+    private final Map<CompactId, Map<CompactId, String>> deckQuestions = new HashMap<>();
+
+    public synchronized int getDeckCount() {
+        return decks.size();
+    }
+
+    public synchronized int getQuestionCount() {
+        return questions.size();
+    }
+
+    // Replaces everything held with these decks
+    public synchronized void rebuild(Collection<Deck> allDecks) {
+        deckNames.clear();
+        questions.clear();
+        decks.clear();
+        deckQuestions.clear();
+        for (Deck deck : allDecks) {
+            addDeck(deck);
+        }
+    }
+
+    public synchronized void indexDeck(Deck deck) {
+        removeDeck(deck.getCompactId());
+        addDeck(deck);
+    }
+
+    public synchronized void removeDeck(String deckId) {
+        removeDeck(CompactId.parse(deckId));
+    }
+
+    private void removeDeck(CompactId deckId) {
+        DeckSummary summary = decks.remove(deckId);
+        if (summary == null) {
+            return;
+        }
+        deckNames.remove(normalize(summary.getName()), deckId);
+        Map<CompactId, String> cards = deckQuestions.remove(deckId);
+        for (Map.Entry<CompactId, String> entry : cards.entrySet()) {
+            questions.remove(normalize(entry.getValue()), new CardKey(deckId, entry.getKey()));
+        }
+    }
+
+    @Override
+    public synchronized void deckCreated(Deck deck) {
+        indexDeck(deck);
+    }
+
+    @Override
+    public synchronized void deckDeleted(String deckId) {
+        removeDeck(deckId);
+    }
+
+    @Override
+    public synchronized void cardAdded(String deckId, Card card) {
+        putCard(CompactId.parse(deckId), card);
+    }
+
+    @Override
+    public synchronized void cardUpdated(String deckId, Card card) {
+        putCard(CompactId.parse(deckId), card);
+    }
+
+    @Override
+    public synchronized void cardRemoved(String deckId, String cardId) {
+        CompactId deck = CompactId.parse(deckId);
+        CompactId card = CompactId.parse(cardId);
+        Map<CompactId, String> cards = deckQuestions.get(deck);
+        String question = cards != null ? cards.remove(card) : null;
+        if (question != null) {
+            questions.remove(normalize(question), new CardKey(deck, card));
+            changeCardCount(deck, -1);
+        }
+    }
+
+    // Decks whose name starts with the prefix, those with the most cards first
+    public synchronized List<DeckSummary> completeDeckNames(String prefix, int limit) {
+        List<DeckSummary> completions = new ArrayList<>();
+        for (CompactId deckId : deckNames.complete(normalize(prefix), limit)) {
+            // Copies, since the held summaries keep changing with card counts
+            DeckSummary summary = decks.get(deckId);
+            completions.add(new DeckSummary(summary.getId(), summary.getName(), summary.getCardCount()));
+        }
+        return completions;
+    }
+
+    // Cards whose question starts with the prefix, in alphabetical order of the question
+    public synchronized List<Completion> completeQuestions(String prefix, int limit) {
+        List<Completion> completions = new ArrayList<>();
+        for (CardKey key : questions.complete(normalize(prefix), limit)) {
+            completions.add(new Completion(deckQuestions.get(key.deckId).get(key.cardId), key.deckId.toString(),
+                    key.cardId.toString()));
+        }
+        return completions;
+    }
+
+    static String normalize(String text) {
+        return String.join(" ", SearchIndex.tokenize(text));
+    }
+
+    private void addDeck(Deck deck) {
+        List<Card> cards = deck.getSnapshot().getCards();
+        CompactId deckId = deck.getCompactId();
+        Map<CompactId, String> cardQuestions = new HashMap<>();
+        for (Card card : cards) {
+            cardQuestions.put(card.getCompactId(), card.getQuestion());
+            questions.put(normalize(card.getQuestion()), new CardKey(deckId, card.getCompactId()), QUESTION_WEIGHT);
+        }
+        DeckSummary summary = new DeckSummary(deck.getId(), deck.getName(), cards.size());
+        decks.put(deckId, summary);
+        deckQuestions.put(deckId, cardQuestions);
+        deckNames.put(normalize(deck.getName()), deckId, cards.size());
+    }
+
+    // Cards of decks this index does not hold are ignored; rebuild() or indexDeck() brings them in
+    private void putCard(CompactId deckId, Card card) {
+        Map<CompactId, String> cards = deckQuestions.get(deckId);
+        if (cards == null) {
+            return;
+        }
+        CardKey key = new CardKey(deckId, card.getCompactId());
+        String previous = cards.put(card.getCompactId(), card.getQuestion());
+        if (previous != null) {
+            questions.remove(normalize(previous), key);
+        } else {
+            changeCardCount(deckId, 1);
+        }
+        questions.put(normalize(card.getQuestion()), key, QUESTION_WEIGHT);
+    }
+
+    private void changeCardCount(CompactId deckId, int delta) {
+        DeckSummary summary = decks.get(deckId);
+        summary.setCardCount(summary.getCardCount() + delta);
+        deckNames.put(normalize(summary.getName()), deckId, summary.getCardCount());
+    }
+
+    private static final class CardKey {
+        private final CompactId deckId;
+        private final CompactId cardId;
+
+        CardKey(CompactId deckId, CompactId cardId) {
+            this.deckId = deckId;
+            this.cardId = cardId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CardKey other = (CardKey) o;
+            return deckId.equals(other.deckId) && cardId.equals(other.cardId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(deckId, cardId);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.flashcard.service;
+
+import com.flashcard.model.AnswerSubmission;
+import com.flashcard.model.BatchGradingResult;
+import com.flashcard.model.BatchGradingResult.Grade;
+import com.flashcard.model.Card;
+import com.flashcard.model.CompactId;
+import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSnapshot;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+// Offline grading of recorded answer sheets. The deck is looked up once and its answer keys are put
+// in one id index; submissions are then graded in parallel on a fork-join pool, each task writing
+// only its own range of the result. Grading does not touch review schedules or sampler weights.
+public class BatchGrader {
+    // Below this many submissions a task grades its range itself instead of splitting
+    static final int SPLIT_THRESHOLD = 2048;
+
+    private final DeckService deckService;
+    private final AnswerMatcher matcher;
+    private final AnswerKeyCache answerKeys;
+    private final ForkJoinPool pool;
+
+    public BatchGrader(DeckService deckService, AnswerMatcher matcher, AnswerKeyCache answerKeys) {
+        this(deckService, matcher, answerKeys, ForkJoinPool.commonPool());
+    }
+
+    public BatchGrader(DeckService deckService, AnswerMatcher matcher, AnswerKeyCache answerKeys,
+                       ForkJoinPool pool) {
+        this.deckService = deckService;
+        this.matcher = matcher;
+        this.answerKeys = answerKeys;
+        this.pool = pool;
+    }
+
+    public BatchGradingResult grade(String deckId, Stream<AnswerSubmission> submissions) {
+        return grade(deckId, submissions.toArray(AnswerSubmission[]::new));
+    }
+
+    public BatchGradingResult grade(String deckId, AnswerSubmission[] submissions) {
+        long start = System.nanoTime();
+        Deck deck = deckService.getDeckById(deckId);
+        if (deck == null) {
+            throw new IllegalArgumentException("Колода не знайдена");
+        }
+
+        DeckSnapshot snapshot = deck.getSnapshot();
+        Map<CompactId, AnswerKey> keys = new HashMap<>(snapshot.size() * 4 / 3 + 1);
+        for (Card card : snapshot.getCards()) {
+            keys.put(card.getCompactId(), answerKeys.getKey(deckId, card));
+        }
+
+        Grade[] grades = new Grade[submissions.length];
+        pool.invoke(new GradeTask(submissions, keys, grades, 0, submissions.length));
+        return new BatchGradingResult(grades, System.nanoTime() - start);
+    }
+
+    private final class GradeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final AnswerSubmission[] submissions;
+        private final Map<CompactId, AnswerKey> keys;
+        private final Grade[] grades;
+        private final int from;
+        private final int to;
+
+        GradeTask(AnswerSubmission[] submissions, Map<CompactId, AnswerKey> keys, Grade[] grades, int from, int to) {
+            this.submissions = submissions;
+            this.keys = keys;
+            this.grades = grades;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    grades[i] = gradeOne(submissions[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new GradeTask(submissions, keys, grades, from, middle),
+                    new GradeTask(submissions, keys, grades, middle, to));
+        }
+
+        private Grade gradeOne(AnswerSubmission submission) {
+            if (submission == null || submission.getCardId() == null || submission.getAnswer() == null) {
+                return Grade.UNKNOWN_CARD;
+            }
+            AnswerKey key = keys.get(CompactId.parse(submission.getCardId()));
+            if (key == null) {
+                return Grade.UNKNOWN_CARD;
+            }
+            return matcher.matches(key, submission.getAnswer()) ? Grade.CORRECT : Grade.INCORRECT;
+        }
+    }
+}
\ No newline at end of file
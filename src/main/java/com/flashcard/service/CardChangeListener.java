@@ -0,0 +1,16 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+
+// Notified by CardService after a card change has been applied to its deck
+public interface CardChangeListener {
+    default void cardAdded(String deckId, Card card) {
+    }
+
+    // card is the replacement; the previous version had the same id
+    default void cardUpdated(String deckId, Card card) {
+    }
+
+    default void cardRemoved(String deckId, String cardId) {
+    }
+}
\ No newline at end of file
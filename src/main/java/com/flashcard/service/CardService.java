@@ -2,15 +2,50 @@ package com.flashcard.service;
 
 import com.flashcard.model.Card;
 import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSnapshot;
+import com.flashcard.model.DuplicateCluster;
+import com.flashcard.model.SearchHit;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class CardService {
     private final DeckService deckService;
+    private final IdGenerator idGenerator;
+    private final List<CardChangeListener> listeners = new CopyOnWriteArrayList<>();
+    // Null when search is not set up
+    private final SearchIndex searchIndex;
+    // Set once the index has been checked against every deck
+    private volatile boolean searchIndexSynchronized;
+    // Null when duplicate detection is not set up
+    private final DuplicateDetector duplicateDetector;
+    // Set once every deck has been handed to the detector
+    private volatile boolean duplicatesIndexed;
 
     public CardService(DeckService deckService) {
+        this(deckService, new TimeOrderedIdGenerator());
+    }
+
+    public CardService(DeckService deckService, IdGenerator idGenerator) {
+        this(deckService, idGenerator, null, null);
+    }
+
+    // Either index may be null; those given must already be registered as card and deck change listeners
+    public CardService(DeckService deckService, IdGenerator idGenerator, SearchIndex searchIndex,
+                       DuplicateDetector duplicateDetector) {
         this.deckService = deckService;
+        this.idGenerator = idGenerator;
+        this.searchIndex = searchIndex;
+        this.duplicateDetector = duplicateDetector;
+    }
+
+    public void addCardChangeListener(CardChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeCardChangeListener(CardChangeListener listener) {
+        listeners.remove(listener);
     }
 
     public Card createCard(String deckId, String question, String answer) {
@@ -21,15 +56,17 @@ public class CardService {
             throw new IllegalArgumentException("Відповідь не може бути порожньою");
         }
 
-        Deck deck = deckService.getDeckById(deckId);
-        if (deck == null) {
+        Card card = new Card(idGenerator.nextId(), question.trim(), answer.trim());
+        boolean added = deckService.updateDeck(deckId, deck -> {
+            deck.addCard(card);
+            return true;
+        });
+        if (!added) {
             throw new IllegalArgumentException("Колода не знайдена");
         }
-
-        String cardId = UUID.randomUUID().toString();
-        Card card = new Card(cardId, question.trim(), answer.trim());
-        deck.addCard(card);
-        deckService.updateDeck(deck);
+        for (CardChangeListener listener : listeners) {
+            listener.cardAdded(deckId, card);
+        }
         return card;
     }
 
@@ -38,6 +75,19 @@ public class CardService {
         return deck != null ? deck.getCards() : List.of();
     }
 
+    // Cards of one deck whose question or answer contains the text, ignoring case
+    public List<Card> findCardsInDeck(String deckId, String text) {
+        Deck deck = deckService.getDeckById(deckId);
+        if (deck == null) {
+            return List.of();
+        }
+
+        DeckSnapshot snapshot = deck.getSnapshot();
+        List<Card> found = new ArrayList<>();
+        snapshot.getColumns().forEachMatching(text, row -> found.add(snapshot.getCard(row)));
+        return found;
+    }
+
     public boolean updateCard(String deckId, String cardId, String newQuestion, String newAnswer) {
         if (newQuestion == null || newQuestion.trim().isEmpty()) {
             throw new IllegalArgumentException("Питання не може бути порожнім");
@@ -46,32 +96,67 @@ public class CardService {
             throw new IllegalArgumentException("Відповідь не може бути порожньою");
         }
 
-        Deck deck = deckService.getDeckById(deckId);
-        if (deck == null) {
+        // Replaced rather than edited so that snapshots already handed to readers stay unchanged
+        Card updated = new Card(cardId, newQuestion.trim(), newAnswer.trim());
+        boolean changed = deckService.updateDeck(deckId, deck -> {
+            if (deck.findCardById(cardId) == null) {
+                return false;
+            }
+            deck.addCard(updated);
+            return true;
+        });
+        if (!changed) {
             return false;
         }
-
-        Card card = deck.findCardById(cardId);
-        if (card == null) {
-            return false;
+        for (CardChangeListener listener : listeners) {
+            listener.cardUpdated(deckId, updated);
         }
-
-        card.setQuestion(newQuestion.trim());
-        card.setAnswer(newAnswer.trim());
-        deckService.updateDeck(deck);
         return true;
     }
 
     public boolean deleteCard(String deckId, String cardId) {
-        Deck deck = deckService.getDeckById(deckId);
-        if (deck == null) {
-            return false;
-        }
-
-        boolean removed = deck.removeCard(cardId);
+        boolean removed = deckService.updateDeck(deckId, deck -> deck.removeCard(cardId));
         if (removed) {
-            deckService.updateDeck(deck);
+            for (CardChangeListener listener : listeners) {
+                listener.cardRemoved(deckId, cardId);
+            }
         }
         return removed;
     }
+
+    // Cards of every deck ranked by how well their question and answer match the query
+    public List<SearchHit> searchCards(String query, int limit) {
+        if (searchIndex == null) {
+            throw new IllegalStateException("Пошук не налаштовано");
+        }
+        if (!searchIndexSynchronized) {
+            synchronized (searchIndex) {
+                if (!searchIndexSynchronized) {
+                    searchIndex.synchronize(deckService.getAllDecks());
+                    searchIndexSynchronized = true;
+                }
+            }
+        }
+
+        return searchIndex.search(query, limit);
+    }
+
+    // Groups of near-identical cards across all decks, largest first
+    public List<DuplicateCluster> findDuplicateClusters() {
+        if (duplicateDetector == null) {
+            throw new IllegalStateException("Пошук дублікатів не налаштовано");
+        }
+        if (!duplicatesIndexed) {
+            synchronized (duplicateDetector) {
+                if (!duplicatesIndexed) {
+                    for (Deck deck : deckService.getAllDecks()) {
+                        duplicateDetector.indexDeck(deck);
+                    }
+                    duplicatesIndexed = true;
+                }
+            }
+        }
+
+        return duplicateDetector.findClusters();
+    }
 }
\ No newline at end of file
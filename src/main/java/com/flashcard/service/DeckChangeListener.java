@@ -0,0 +1,12 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Deck;
+
+// Notified by DeckService after a deck has been created or deleted
+public interface DeckChangeListener {
+    default void deckCreated(Deck deck) {
+    }
+
+    default void deckDeleted(String deckId) {
+    }
+}
\ No newline at end of file
@@ -1,16 +1,33 @@
 package com.flashcard.service;
 
 import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSummary;
 import com.flashcard.storage.DataStorage;
 
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
 
 public class DeckService {
     private final DataStorage dataStorage;
+    private final IdGenerator idGenerator;
+    private final List<DeckChangeListener> listeners = new CopyOnWriteArrayList<>();
 
     public DeckService(DataStorage dataStorage) {
+        this(dataStorage, new TimeOrderedIdGenerator());
+    }
+
+    public DeckService(DataStorage dataStorage, IdGenerator idGenerator) {
         this.dataStorage = dataStorage;
+        this.idGenerator = idGenerator;
+    }
+
+    public void addDeckChangeListener(DeckChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeDeckChangeListener(DeckChangeListener listener) {
+        listeners.remove(listener);
     }
 
     public Deck createDeck(String name) {
@@ -18,9 +35,11 @@ public class DeckService {
             throw new IllegalArgumentException("Назва колоди не може бути порожньою");
         }
 
-        String id = UUID.randomUUID().toString();
-        Deck deck = new Deck(id, name.trim());
+        Deck deck = new Deck(idGenerator.nextId(), name.trim());
         dataStorage.saveDeck(deck);
+        for (DeckChangeListener listener : listeners) {
+            listener.deckCreated(deck);
+        }
         return deck;
     }
 
@@ -28,15 +47,31 @@ public class DeckService {
         return dataStorage.loadAllDecks();
     }
 
+    public List<DeckSummary> getDeckSummaries() {
+        return dataStorage.loadDeckSummaries();
+    }
+
     public Deck getDeckById(String id) {
         return dataStorage.loadDeck(id);
     }
 
     public boolean deleteDeck(String id) {
-        return dataStorage.deleteDeck(id);
+        boolean deleted = dataStorage.deleteDeck(id);
+        if (deleted) {
+            for (DeckChangeListener listener : listeners) {
+                listener.deckDeleted(id);
+            }
+        }
+        return deleted;
     }
 
     public void updateDeck(Deck deck) {
         dataStorage.saveDeck(deck);
     }
+
+    // Applies a change to a stored deck without losing concurrent edits; false if the deck is missing
+    // or the change returned false
+    public boolean updateDeck(String id, Predicate<Deck> change) {
+        return dataStorage.updateDeck(id, change);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.flashcard.service;
+
+import com.flashcard.model.CompactId;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Binary min-heap of card ids ordered by due time, with a position map so a card's due time can be
+// changed or the card removed in O(log n). Equal due times keep insertion order.
+public class DueQueue {
+    private CompactId[] ids = new CompactId[16];
+    private long[] dueTimes = new long[16];
+    private long[] sequence = new long[16];
+    private final Map<CompactId, Integer> positions = new HashMap<>();
+    private int size;
+    private long nextSequence;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(CompactId cardId) {
+        return positions.containsKey(cardId);
+    }
+
+    // Card due first, or null when empty
+    public CompactId peek() {
+        return size > 0 ? ids[0] : null;
+    }
+
+    public long peekDueAt() {
+        if (size == 0) {
+            throw new IllegalStateException("Черга порожня");
+        }
+        return dueTimes[0];
+    }
+
+    public long getDueAt(CompactId cardId) {
+        Integer position = positions.get(cardId);
+        if (position == null) {
+            throw new IllegalArgumentException("Картки немає в черзі: " + cardId);
+        }
+        return dueTimes[position];
+    }
+
+    // Adds the card or moves it to its new due time
+    public void put(CompactId cardId, long dueAt) {
+        Integer position = positions.get(cardId);
+        if (position != null) {
+            long old = dueTimes[position];
+            dueTimes[position] = dueAt;
+            if (dueAt < old) {
+                siftUp(position);
+            } else {
+                siftDown(position);
+            }
+            return;
+        }
+
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            dueTimes = Arrays.copyOf(dueTimes, size * 2);
+            sequence = Arrays.copyOf(sequence, size * 2);
+        }
+        ids[size] = cardId;
+        dueTimes[size] = dueAt;
+        sequence[size] = nextSequence++;
+        positions.put(cardId, size);
+        siftUp(size++);
+    }
+
+    public boolean remove(CompactId cardId) {
+        Integer position = positions.remove(cardId);
+        if (position == null) {
+            return false;
+        }
+
+        int last = --size;
+        if (position != last) {
+            move(last, position);
+            siftDown(position);
+            siftUp(position);
+        }
+        ids[last] = null;
+        return true;
+    }
+
+    private boolean less(int a, int b) {
+        return dueTimes[a] < dueTimes[b] || dueTimes[a] == dueTimes[b] && sequence[a] < sequence[b];
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!less(position, parent)) {
+                break;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && less(child + 1, child)) {
+                child++;
+            }
+            if (!less(child, position)) {
+                break;
+            }
+            swap(position, child);
+            position = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        CompactId id = ids[a];
+        long due = dueTimes[a];
+        long seq = sequence[a];
+        move(b, a);
+        ids[b] = id;
+        dueTimes[b] = due;
+        sequence[b] = seq;
+        positions.put(id, b);
+    }
+
+    private void move(int from, int to) {
+        ids[to] = ids[from];
+        dueTimes[to] = dueTimes[from];
+        sequence[to] = sequence[from];
+        positions.put(ids[to], to);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,412 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.CompactId;
+import com.flashcard.model.Deck;
+import com.flashcard.model.DuplicateCluster;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Finds near-identical cards across decks without comparing every pair. Each card's question and
+// answer are normalised like search text and cut into overlapping 4-character shingles; a MinHash
+// signature of 64 values estimates the Jaccard similarity of two shingle sets by the share of equal
+// values. Signatures are split into 16 bands of 4 values, and cards that agree on a whole band land in
+// the same bucket. Only cards sharing a bucket are compared, and those at or above the threshold are
+// joined in a union-find forest whose trees are the clusters. With bands of 4, pairs around 0.5
+// similarity are found about half of the time and pairs above 0.7 almost always.
+//
+// Added cards are linked as they arrive. Removing or changing a card can split a cluster, so the
+// links are rebuilt from the buckets the next time clusters are requested. Registered with DeckService,
+// it drops a deck's cards as soon as the deck is deleted.
+public class DuplicateDetector implements CardChangeListener, DeckChangeListener {
+    public static final double DEFAULT_MIN_SIMILARITY = 0.7;
+
+    private static final int HASHES = 64;
+    private static final int ROWS = 4;
+    private static final int BANDS = HASHES / ROWS;
+    private static final int SHINGLE_LENGTH = 4;
+    // Bucket entries checked per band for a new card; a bucket holding many copies of one card needs
+    // only a few of them to join the cluster, and the cap keeps adding a card constant-time
+    private static final int MAX_BUCKET_SCAN = 32;
+    private static final int INITIAL_DOCS = 1024;
+    private static final int EMPTY = -1;
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    // The i-th hash of a shingle is multiplier * h + increment over 32-bit ints, where h is a mixed hash
+    // of the shingle; kept in int arithmetic so the loop over all hashes vectorises
+    private static final int[] MULTIPLIERS = new int[HASHES];
+    private static final int[] INCREMENTS = new int[HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5eed);
+        for (int i = 0; i < HASHES; i++) {
+            MULTIPLIERS[i] = random.nextInt() | 1;
+            INCREMENTS[i] = random.nextInt();
+        }
+    }
+
+    private final double minSimilarity;
+    private final Map<CompactId, Map<CompactId, Integer>> docIds = new HashMap<>();
+
+    // Per document; a removed document has a null card id
+    private CompactId[] docDecks = new CompactId[INITIAL_DOCS];
+    private CompactId[] docCards = new CompactId[INITIAL_DOCS];
+    // HASHES values per document
+    private int[] signatures = new int[INITIAL_DOCS * HASHES];
+    private int docCount;
+    private int liveCount;
+
+    // Bucket chains: per band, a power-of-two table of chain heads, and per (document, band) the next
+    // document in the chain. Buckets with different band values may share a slot; they are told apart
+    // by comparing the band values themselves.
+    private int[][] heads = new int[BANDS][];
+    private int[] next = new int[INITIAL_DOCS * BANDS];
+
+    // Union-find over documents; size and weakest link are kept at the root
+    private int[] parent = new int[INITIAL_DOCS];
+    private int[] clusterSize = new int[INITIAL_DOCS];
+    private float[] clusterSimilarity = new float[INITIAL_DOCS];
+    // Set when a removal may have split a cluster
+    private boolean linksStale;
+
+    public DuplicateDetector() {
+        this(DEFAULT_MIN_SIMILARITY);
+    }
+
+    public DuplicateDetector(double minSimilarity) {
+        if (minSimilarity <= 0 || minSimilarity > 1) {
+            throw new IllegalArgumentException("Поріг схожості має бути більшим за 0 і не більшим за 1");
+        }
+        this.minSimilarity = minSimilarity;
+        resetBuckets(INITIAL_DOCS * 2);
+    }
+
+    // Live cards
+    public synchronized int size() {
+        return liveCount;
+    }
+
+    // Replaces whatever the detector holds for this deck
+    public synchronized void indexDeck(Deck deck) {
+        CompactId deckId = deck.getCompactId();
+        removeDeckDocs(deckId);
+        for (Card card : deck.getSnapshot().getCards()) {
+            addDoc(deckId, card);
+        }
+    }
+
+    public synchronized void removeDeck(String deckId) {
+        removeDeckDocs(CompactId.parse(deckId));
+    }
+
+    @Override
+    public synchronized void deckDeleted(String deckId) {
+        removeDeck(deckId);
+    }
+
+    @Override
+    public synchronized void cardAdded(String deckId, Card card) {
+        replaceCard(CompactId.parse(deckId), card);
+    }
+
+    @Override
+    public synchronized void cardUpdated(String deckId, Card card) {
+        replaceCard(CompactId.parse(deckId), card);
+    }
+
+    @Override
+    public synchronized void cardRemoved(String deckId, String cardId) {
+        Integer doc = findDoc(CompactId.parse(deckId), CompactId.parse(cardId));
+        if (doc != null) {
+            removeDoc(doc);
+            compactIfSparse();
+        }
+    }
+
+    // Clusters of two or more cards, largest first
+    public synchronized List<DuplicateCluster> findClusters() {
+        if (linksStale) {
+            relink();
+        }
+
+        Map<Integer, List<Integer>> members = new HashMap<>();
+        for (int doc = 0; doc < docCount; doc++) {
+            if (docCards[doc] != null) {
+                int root = find(doc);
+                if (clusterSize[root] > 1) {
+                    members.computeIfAbsent(root, r -> new ArrayList<>()).add(doc);
+                }
+            }
+        }
+
+        List<DuplicateCluster> clusters = new ArrayList<>();
+        for (Map.Entry<Integer, List<Integer>> entry : members.entrySet()) {
+            List<String> deckIds = new ArrayList<>();
+            List<String> cardIds = new ArrayList<>();
+            for (int doc : entry.getValue()) {
+                deckIds.add(docDecks[doc].toString());
+                cardIds.add(docCards[doc].toString());
+            }
+            clusters.add(new DuplicateCluster(deckIds, cardIds, clusterSimilarity[entry.getKey()]));
+        }
+        clusters.sort((a, b) -> Integer.compare(b.size(), a.size()));
+        return clusters;
+    }
+
+    // Estimated Jaccard similarity of the two cards' shingle sets, from 0 to 1
+    static double estimateSimilarity(Card a, Card b) {
+        int[] first = signature(a);
+        int[] second = signature(b);
+        if (first == null || second == null) {
+            return 0;
+        }
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (first[i] == second[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    // Null for a card without any letters or digits, which has nothing to compare
+    private static int[] signature(Card card) {
+        List<String> question = SearchIndex.tokenize(card.getQuestion());
+        List<String> answer = SearchIndex.tokenize(card.getAnswer());
+        if (question.isEmpty() && answer.isEmpty()) {
+            return null;
+        }
+        String text = String.join(" ", question) + FIELD_SEPARATOR + String.join(" ", answer);
+
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int last = Math.max(0, text.length() - SHINGLE_LENGTH);
+        for (int start = 0; start <= last; start++) {
+            // Four UTF-16 chars fit exactly in a long, so a shingle is packed rather than hashed
+            long packed = 0;
+            int end = Math.min(text.length(), start + SHINGLE_LENGTH);
+            for (int i = start; i < end; i++) {
+                packed = (packed << 16) | text.charAt(i);
+            }
+            int mixed = (int) mix(packed);
+            for (int i = 0; i < HASHES; i++) {
+                signature[i] = Math.min(signature[i], mixed * MULTIPLIERS[i] + INCREMENTS[i]);
+            }
+        }
+        return signature;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    private void replaceCard(CompactId deckId, Card card) {
+        Integer doc = findDoc(deckId, card.getCompactId());
+        if (doc != null) {
+            removeDoc(doc);
+        }
+        addDoc(deckId, card);
+        compactIfSparse();
+    }
+
+    private Integer findDoc(CompactId deckId, CompactId cardId) {
+        Map<CompactId, Integer> cards = docIds.get(deckId);
+        return cards != null ? cards.get(cardId) : null;
+    }
+
+    private void addDoc(CompactId deckId, Card card) {
+        int[] signature = signature(card);
+        if (signature == null) {
+            return;
+        }
+
+        ensureDocCapacity(docCount + 1);
+        int doc = docCount++;
+        docDecks[doc] = deckId;
+        docCards[doc] = card.getCompactId();
+        System.arraycopy(signature, 0, signatures, doc * HASHES, HASHES);
+        liveCount++;
+        docIds.computeIfAbsent(deckId, id -> new HashMap<>()).put(card.getCompactId(), doc);
+        link(doc);
+    }
+
+    private void removeDoc(int doc) {
+        CompactId deckId = docDecks[doc];
+        Map<CompactId, Integer> cards = docIds.get(deckId);
+        cards.remove(docCards[doc]);
+        if (cards.isEmpty()) {
+            docIds.remove(deckId);
+        }
+        docCards[doc] = null;
+        liveCount--;
+        // Its entries stay in the bucket chains and are skipped until the next rebuild
+        if (clusterSize[find(doc)] > 1) {
+            linksStale = true;
+        }
+    }
+
+    private void removeDeckDocs(CompactId deckId) {
+        Map<CompactId, Integer> cards = docIds.get(deckId);
+        if (cards == null) {
+            return;
+        }
+        for (Integer doc : new ArrayList<>(cards.values())) {
+            removeDoc(doc);
+        }
+        compactIfSparse();
+    }
+
+    private void compactIfSparse() {
+        if (docCount >= INITIAL_DOCS && docCount >= liveCount * 2) {
+            relink();
+        }
+    }
+
+    // Compares the document with the earlier ones sharing a bucket, then adds it to its buckets
+    private void link(int doc) {
+        parent[doc] = doc;
+        clusterSize[doc] = 1;
+        clusterSimilarity[doc] = 1;
+        int base = doc * HASHES;
+        for (int band = 0; band < BANDS; band++) {
+            int[] table = heads[band];
+            int slot = bandHash(base, band) & (table.length - 1);
+            int scanned = 0;
+            for (int other = table[slot]; other != EMPTY && scanned < MAX_BUCKET_SCAN; other = next[other * BANDS + band]) {
+                if (docCards[other] == null || !sameBand(base, other * HASHES, band)) {
+                    continue;
+                }
+                scanned++;
+                if (find(other) != find(doc)) {
+                    float similarity = similarity(base, other * HASHES);
+                    if (similarity >= minSimilarity) {
+                        union(doc, other, similarity);
+                    }
+                }
+            }
+            next[doc * BANDS + band] = table[slot];
+            table[slot] = doc;
+        }
+    }
+
+    // Drops removed documents, renumbers the rest densely and links them again in their old order
+    private void relink() {
+        int kept = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (docCards[doc] == null) {
+                continue;
+            }
+            if (kept != doc) {
+                docDecks[kept] = docDecks[doc];
+                docCards[kept] = docCards[doc];
+                System.arraycopy(signatures, doc * HASHES, signatures, kept * HASHES, HASHES);
+                docIds.get(docDecks[kept]).put(docCards[kept], kept);
+            }
+            kept++;
+        }
+        Arrays.fill(docDecks, kept, docCount, null);
+        Arrays.fill(docCards, kept, docCount, null);
+        docCount = kept;
+
+        resetBuckets(Math.max(INITIAL_DOCS, docCount) * 2);
+        for (int doc = 0; doc < docCount; doc++) {
+            link(doc);
+        }
+        linksStale = false;
+    }
+
+    private void resetBuckets(int capacity) {
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        for (int band = 0; band < BANDS; band++) {
+            heads[band] = new int[size];
+            Arrays.fill(heads[band], EMPTY);
+        }
+    }
+
+    private int bandHash(int base, int band) {
+        long hash = band;
+        int start = base + band * ROWS;
+        for (int i = start; i < start + ROWS; i++) {
+            hash = hash * 0x9e3779b97f4a7c15L + signatures[i];
+        }
+        return (int) mix(hash);
+    }
+
+    private boolean sameBand(int first, int second, int band) {
+        int offset = band * ROWS;
+        for (int i = offset; i < offset + ROWS; i++) {
+            if (signatures[first + i] != signatures[second + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private float similarity(int first, int second) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (signatures[first + i] == signatures[second + i]) {
+                equal++;
+            }
+        }
+        return (float) equal / HASHES;
+    }
+
+    private int find(int doc) {
+        while (parent[doc] != doc) {
+            parent[doc] = parent[parent[doc]];
+            doc = parent[doc];
+        }
+        return doc;
+    }
+
+    private void union(int a, int b, float similarity) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (clusterSize[rootA] < clusterSize[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        clusterSize[rootA] += clusterSize[rootB];
+        clusterSimilarity[rootA] = Math.min(similarity,
+                Math.min(clusterSimilarity[rootA], clusterSimilarity[rootB]));
+    }
+
+    private void ensureDocCapacity(int needed) {
+        if (needed > docCards.length) {
+            int capacity = Math.max(needed, docCards.length * 2);
+            docDecks = Arrays.copyOf(docDecks, capacity);
+            docCards = Arrays.copyOf(docCards, capacity);
+            signatures = Arrays.copyOf(signatures, capacity * HASHES);
+            next = Arrays.copyOf(next, capacity * BANDS);
+            parent = Arrays.copyOf(parent, capacity);
+            clusterSize = Arrays.copyOf(clusterSize, capacity);
+            clusterSimilarity = Arrays.copyOf(clusterSimilarity, capacity);
+        }
+        // Keep bucket tables at most half full; chains are rebuilt without linking again
+        if (needed * 2 > heads[0].length) {
+            resetBuckets(needed * 2);
+            for (int doc = 0; doc < docCount; doc++) {
+                if (docCards[doc] != null) {
+                    int base = doc * HASHES;
+                    for (int band = 0; band < BANDS; band++) {
+                        int slot = bandHash(base, band) & (heads[band].length - 1);
+                        next[doc * BANDS + band] = heads[band][slot];
+                        heads[band][slot] = doc;
+                    }
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.flashcard.service;
+
+import java.util.Arrays;
+
+// Binary indexed tree over non-negative long weights. Changing a weight, a prefix sum and finding the
+// index at a given cumulative weight are all O(log n); appending is amortized O(1).
+public class FenwickTree {
+    private long[] values;
+    // 1-based: tree[i] holds the sum of values (i - lowbit(i), i]
+    private long[] tree;
+    private int size;
+
+    public FenwickTree() {
+        this(16);
+    }
+
+    public FenwickTree(int capacity) {
+        this.values = new long[Math.max(1, capacity)];
+        this.tree = new long[values.length + 1];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long get(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    public long total() {
+        return prefixSum(size);
+    }
+
+    // Sum of the first count weights
+    public long prefixSum(int count) {
+        if (count < 0 || count > size) {
+            throw new IndexOutOfBoundsException("Кількість: " + count + ", розмір: " + size);
+        }
+        long sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    public void set(int index, long weight) {
+        checkIndex(index);
+        checkWeight(weight);
+        long delta = weight - values[index];
+        values[index] = weight;
+        for (int i = index + 1; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // Returns the index of the new weight
+    public int append(long weight) {
+        checkWeight(weight);
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            rebuild();
+        }
+        int index = size++;
+        values[index] = weight;
+        // The new node covers (index + 1 - lowbit, index + 1]; its other entries are already in the tree
+        long sum = weight;
+        int node = index + 1;
+        for (int i = index; i > node - (node & -node); i -= i & -i) {
+            sum += tree[i];
+        }
+        tree[node] = sum;
+        return index;
+    }
+
+    // Index whose weight range contains target, i.e. the first index with prefixSum(index + 1) > target
+    public int find(long target) {
+        if (target < 0 || target >= total()) {
+            throw new IllegalArgumentException("Ціль поза межами суми ваг: " + target);
+        }
+        int position = 0;
+        for (int step = Integer.highestOneBit(size); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= size && tree[next] <= target) {
+                position = next;
+                target -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    private void rebuild() {
+        tree = new long[values.length + 1];
+        for (int i = 1; i <= size; i++) {
+            tree[i] += values[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Індекс: " + index + ", розмір: " + size);
+        }
+    }
+
+    private static void checkWeight(long weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Вага не може бути від'ємною");
+        }
+    }
+}
\ No newline at end of file
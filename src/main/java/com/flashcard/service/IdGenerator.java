@@ -0,0 +1,12 @@
+package com.flashcard.service;
+
+import com.flashcard.model.CompactId;
+
+// Source of ids for new decks and cards
+@FunctionalInterface
+public interface IdGenerator {
+    // Random version 4 UUIDs, as ids were generated before
+    IdGenerator RANDOM = CompactId::random;
+
+    CompactId nextId();
+}
\ No newline at end of file
@@ -1,28 +1,165 @@
 package com.flashcard.service;
 
+import com.flashcard.model.AnswerSubmission;
+import com.flashcard.model.BatchGradingResult;
 import com.flashcard.model.Card;
+import com.flashcard.model.CompactId;
 import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSnapshot;
+import com.flashcard.model.DeckStats;
+import com.flashcard.storage.ReviewStore;
+import com.flashcard.storage.StatisticsStore;
 
-import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
-public class QuizService {
+// Register with CardService and DeckService so the weighted samplers follow card and deck changes
+public class QuizService implements CardChangeListener, DeckChangeListener {
     private final DeckService deckService;
+    private final ReviewScheduler scheduler;
+    private final AnswerMatcher answerMatcher;
+    private final AnswerKeyCache answerKeys;
+    private final BatchGrader batchGrader;
+    private final StatisticsService statistics;
     private final Random random;
+    private final Map<CompactId, WeightedCardSampler> samplers = new ConcurrentHashMap<>();
 
     public QuizService(DeckService deckService) {
+        this(deckService, new ReviewScheduler(ReviewStore.inMemory()));
+    }
+
+    public QuizService(DeckService deckService, ReviewScheduler scheduler) {
+        this(deckService, scheduler, new AnswerMatcher());
+    }
+
+    public QuizService(DeckService deckService, ReviewScheduler scheduler, AnswerMatcher answerMatcher) {
+        this(deckService, scheduler, answerMatcher, new StatisticsService(StatisticsStore.inMemory()));
+    }
+
+    public QuizService(DeckService deckService, ReviewScheduler scheduler, AnswerMatcher answerMatcher,
+                       StatisticsService statistics) {
         this.deckService = deckService;
+        this.scheduler = scheduler;
+        this.answerMatcher = answerMatcher;
+        this.answerKeys = new AnswerKeyCache(answerMatcher);
+        this.batchGrader = new BatchGrader(deckService, answerMatcher, answerKeys);
+        this.statistics = statistics;
         this.random = new Random();
     }
 
     public Card getRandomCard(String deckId) {
         Deck deck = deckService.getDeckById(deckId);
-        if (deck == null || deck.getCards().isEmpty()) {
+        if (deck == null) {
             return null;
         }
 
-        List<Card> cards = deck.getCards();
-        return cards.get(random.nextInt(cards.size()));
+        // One snapshot for both the size and the pick, so concurrent edits cannot shift the deck in between
+        DeckSnapshot snapshot = deck.getSnapshot();
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        return snapshot.getCard(random.nextInt(snapshot.size()));
+    }
+
+    // Random card, more likely the more often it was answered wrong
+    public Card getWeightedCard(String deckId) {
+        CompactId id = CompactId.parse(deckId);
+        WeightedCardSampler sampler = samplers.get(id);
+        if (sampler == null) {
+            // The deck is read inside computeIfAbsent: card events for it wait until the sampler is in
+            // the map, so a change made while it is being filled is applied to it rather than lost
+            sampler = samplers.computeIfAbsent(id, key -> {
+                Deck deck = deckService.getDeckById(deckId);
+                if (deck == null) {
+                    return null;
+                }
+                WeightedCardSampler created = new WeightedCardSampler();
+                created.addCards(deck.getSnapshot());
+                return created;
+            });
+            if (sampler == null) {
+                return null;
+            }
+        }
+        return sampler.next();
+    }
+
+    // Random order without repeats for one quiz; null if the deck does not exist
+    public QuizSession startSession(String deckId) {
+        Deck deck = deckService.getDeckById(deckId);
+        return deck != null ? new QuizSession(deck) : null;
+    }
+
+    // Card the spaced-repetition schedule wants reviewed next
+    public Card getNextCard(String deckId) {
+        Deck deck = deckService.getDeckById(deckId);
+        return deck != null ? scheduler.nextCard(deck) : null;
+    }
+
+    // Checks the answer, reschedules the card and records it in the statistics
+    public boolean checkAnswer(String deckId, Card card, String userAnswer) {
+        if (card == null || userAnswer == null) {
+            return false;
+        }
+
+        boolean correct = answerMatcher.matches(answerKeys.getKey(deckId, card), userAnswer);
+        Deck deck = deckService.getDeckById(deckId);
+        if (deck != null) {
+            scheduler.recordAnswer(deck, card, correct);
+            statistics.recordAnswer(deckId, card.getId(), correct);
+            WeightedCardSampler sampler = samplers.get(deck.getCompactId());
+            if (sampler != null) {
+                sampler.recordAnswer(card.getCompactId(), correct);
+            }
+        }
+        return correct;
+    }
+
+    public DeckStats getDeckStats(String deckId) {
+        return statistics.getDeckStats(deckId);
+    }
+
+    // Grades recorded answers in parallel; throws IllegalArgumentException if the deck does not exist
+    public BatchGradingResult gradeBatch(String deckId, AnswerSubmission[] submissions) {
+        return batchGrader.grade(deckId, submissions);
+    }
+
+    public BatchGradingResult gradeBatch(String deckId, Stream<AnswerSubmission> submissions) {
+        return batchGrader.grade(deckId, submissions);
+    }
+
+    // Prepared answer keys; register with CardService so edited cards are re-prepared
+    public AnswerKeyCache getAnswerKeyCache() {
+        return answerKeys;
+    }
+
+    @Override
+    public void cardAdded(String deckId, Card card) {
+        samplers.computeIfPresent(CompactId.parse(deckId), (id, sampler) -> {
+            sampler.addCard(card);
+            return sampler;
+        });
+    }
+
+    @Override
+    public void cardUpdated(String deckId, Card card) {
+        // Same id, so the sampler swaps the card and keeps its weight
+        cardAdded(deckId, card);
+    }
+
+    @Override
+    public void cardRemoved(String deckId, String cardId) {
+        samplers.computeIfPresent(CompactId.parse(deckId), (id, sampler) -> {
+            sampler.removeCard(cardId);
+            return sampler;
+        });
+    }
+
+    @Override
+    public void deckDeleted(String deckId) {
+        samplers.remove(CompactId.parse(deckId));
     }
 
     public boolean checkAnswer(Card card, String userAnswer) {
@@ -30,6 +167,6 @@ public class QuizService {
             return false;
         }
 
-        return card.getAnswer().trim().equalsIgnoreCase(userAnswer.trim());
+        return answerMatcher.matches(card.getAnswer(), userAnswer);
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+
+import java.util.SplittableRandom;
+
+// One pass through a deck in random order with no card repeated until every card has been shown.
+// The shuffle is Fisher-Yates done one step per draw, so a draw is O(1) and a pass that is cut short
+// never pays for the rest of the shuffle. Each pass starts from the deck as it is at that moment, so
+// edits show up on the next pass. A session belongs to one quiz; sessions share no state, including
+// their random generators.
+public class QuizSession {
+    private final Deck deck;
+    private final SplittableRandom random;
+    private Card[] cards = new Card[0];
+    private int position;
+    private int pass;
+    private Card last;
+
+    public QuizSession(Deck deck) {
+        this(deck, new SplittableRandom());
+    }
+
+    public QuizSession(Deck deck, long seed) {
+        this(deck, new SplittableRandom(seed));
+    }
+
+    private QuizSession(Deck deck, SplittableRandom random) {
+        if (deck == null) {
+            throw new IllegalArgumentException("Колода не може бути порожньою");
+        }
+        this.deck = deck;
+        this.random = random;
+    }
+
+    // Next card of the pass, starting a new pass when this one is used up; null for an empty deck
+    public Card next() {
+        if (position == cards.length) {
+            startPass();
+            if (cards.length == 0) {
+                return null;
+            }
+        }
+
+        int pick = position + random.nextInt(cards.length - position);
+        // The first card of a pass could be the one that ended the previous pass
+        if (position == 0 && cards.length > 1 && cards[pick] == last) {
+            pick = (pick + 1 + random.nextInt(cards.length - 1)) % cards.length;
+        }
+        Card card = cards[pick];
+        cards[pick] = cards[position];
+        cards[position++] = card;
+        last = card;
+        return card;
+    }
+
+    // Cards still to come in the current pass
+    public int getRemaining() {
+        return cards.length - position;
+    }
+
+    // Number of passes started, 1 after the first draw
+    public int getPass() {
+        return pass;
+    }
+
+    public String getDeckId() {
+        return deck.getId();
+    }
+
+    private void startPass() {
+        cards = deck.getSnapshot().getCards().toArray(new Card[0]);
+        position = 0;
+        if (cards.length > 0) {
+            pass++;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,302 @@
+package com.flashcard.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Compressed prefix tree: an edge carries a run of characters, so chains of single-child nodes are
+// merged into one. A key holds any number of values, each with a weight, and every node remembers the
+// largest weight below it. complete() walks the subtree of a prefix best-first on that bound and stops
+// after limit values, so it visits roughly limit paths however many keys share the prefix.
+public class RadixTrie<T> {
+    private Node<T> root = new Node<>("");
+    private int size;
+
+    // Values stored
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        root = new Node<>("");
+        size = 0;
+    }
+
+    // A value already stored under the key only gets the new weight
+    public void put(String key, T value, long weight) {
+        List<Node<T>> path = new ArrayList<>();
+        Node<T> node = root;
+        path.add(node);
+        int position = 0;
+        while (position < key.length()) {
+            int index = node.findChild(key.charAt(position));
+            if (index < 0) {
+                Node<T> leaf = new Node<>(key.substring(position));
+                node.insertChild(-index - 1, leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+
+            Node<T> child = node.children[index];
+            int common = commonPrefix(child.label, key, position);
+            if (common < child.label.length()) {
+                // The key leaves the edge part way: split it at that point
+                Node<T> middle = new Node<>(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.insertChild(0, child);
+                middle.maxWeight = child.maxWeight;
+                node.children[index] = middle;
+                child = middle;
+            }
+            node = child;
+            path.add(node);
+            position += common;
+        }
+
+        if (node.setWeight(value, weight)) {
+            size++;
+        }
+        updateWeights(path);
+    }
+
+    public boolean remove(String key, T value) {
+        List<Node<T>> path = findPath(key);
+        if (path == null) {
+            return false;
+        }
+        Node<T> node = path.get(path.size() - 1);
+        if (!node.removeValue(value)) {
+            return false;
+        }
+        size--;
+
+        // Drop a node left empty, then fold a node left with one child and no values into that child
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node<T> current = path.get(i);
+            Node<T> parent = path.get(i - 1);
+            if (current.valueCount == 0 && current.childCount == 0) {
+                parent.removeChild(current);
+            } else if (current.valueCount == 0 && current.childCount == 1) {
+                Node<T> only = current.children[0];
+                only.label = current.label + only.label;
+                parent.children[parent.findChild(only.label.charAt(0))] = only;
+                path.set(i, only);
+            }
+        }
+        updateWeights(path);
+        return true;
+    }
+
+    // Values whose key starts with the prefix, highest weight first and then in key order
+    public List<T> complete(String prefix, int limit) {
+        List<T> results = new ArrayList<>();
+        if (limit <= 0) {
+            return results;
+        }
+
+        Node<T> node = root;
+        StringBuilder key = new StringBuilder();
+        int position = 0;
+        while (position < prefix.length()) {
+            int index = node.findChild(prefix.charAt(position));
+            if (index < 0) {
+                return results;
+            }
+            Node<T> child = node.children[index];
+            int common = commonPrefix(child.label, prefix, position);
+            if (common < child.label.length() && position + common < prefix.length()) {
+                return results;
+            }
+            key.append(child.label);
+            node = child;
+            position += common;
+        }
+
+        PriorityQueue<Pending<T>> queue = new PriorityQueue<>();
+        long order = 0;
+        queue.add(new Pending<>(node.maxWeight, key.toString(), node, null, order++));
+        while (!queue.isEmpty() && results.size() < limit) {
+            Pending<T> next = queue.poll();
+            if (next.node == null) {
+                results.add(next.value);
+                continue;
+            }
+            Node<T> expanded = next.node;
+            for (int i = 0; i < expanded.valueCount; i++) {
+                queue.add(new Pending<>(expanded.weights[i], next.key, null, expanded.values[i], order++));
+            }
+            for (int i = 0; i < expanded.childCount; i++) {
+                Node<T> child = expanded.children[i];
+                queue.add(new Pending<>(child.maxWeight, next.key + child.label, child, null, order++));
+            }
+        }
+        return results;
+    }
+
+    private List<Node<T>> findPath(String key) {
+        List<Node<T>> path = new ArrayList<>();
+        Node<T> node = root;
+        path.add(node);
+        int position = 0;
+        while (position < key.length()) {
+            int index = node.findChild(key.charAt(position));
+            if (index < 0) {
+                return null;
+            }
+            node = node.children[index];
+            if (!key.startsWith(node.label, position)) {
+                return null;
+            }
+            path.add(node);
+            position += node.label.length();
+        }
+        return path;
+    }
+
+    private static void updateWeights(List<? extends Node<?>> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).recomputeMaxWeight();
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int limit = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < limit && label.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private static final class Node<T> {
+        private String label;
+        // Sorted by the first character of their labels, which differs between siblings
+        private Node<T>[] children;
+        private int childCount;
+        private Object[] values;
+        private long[] weights;
+        private int valueCount;
+        private long maxWeight = Long.MIN_VALUE;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        // Position of the child starting with c, or -(insertion point) - 1
+        int findChild(char c) {
+            int low = 0;
+            int high = childCount - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char first = children[middle].label.charAt(0);
+                if (first < c) {
+                    low = middle + 1;
+                } else if (first > c) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -low - 1;
+        }
+
+        @SuppressWarnings("unchecked")
+        void insertChild(int index, Node<T> child) {
+            if (children == null) {
+                children = (Node<T>[]) new Node<?>[2];
+            } else if (childCount == children.length) {
+                children = Arrays.copyOf(children, childCount * 2);
+            }
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            children[index] = child;
+            childCount++;
+        }
+
+        void removeChild(Node<T> child) {
+            int index = findChild(child.label.charAt(0));
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            children[--childCount] = null;
+        }
+
+        // True if the value was not stored here before
+        boolean setWeight(T value, long weight) {
+            for (int i = 0; i < valueCount; i++) {
+                if (values[i].equals(value)) {
+                    weights[i] = weight;
+                    return false;
+                }
+            }
+            if (values == null) {
+                values = new Object[1];
+                weights = new long[1];
+            } else if (valueCount == values.length) {
+                values = Arrays.copyOf(values, valueCount * 2);
+                weights = Arrays.copyOf(weights, valueCount * 2);
+            }
+            values[valueCount] = value;
+            weights[valueCount] = weight;
+            valueCount++;
+            return true;
+        }
+
+        boolean removeValue(T value) {
+            for (int i = 0; i < valueCount; i++) {
+                if (values[i].equals(value)) {
+                    System.arraycopy(values, i + 1, values, i, valueCount - i - 1);
+                    System.arraycopy(weights, i + 1, weights, i, valueCount - i - 1);
+                    values[--valueCount] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void recomputeMaxWeight() {
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < valueCount; i++) {
+                max = Math.max(max, weights[i]);
+            }
+            for (int i = 0; i < childCount; i++) {
+                max = Math.max(max, children[i].maxWeight);
+            }
+            maxWeight = max;
+        }
+    }
+
+    // A subtree still to expand, or a value ready to report. Ordered by weight, then key; at equal
+    // weight and key a value comes before the subtree it sits above, and values keep insertion order.
+    private static final class Pending<T> implements Comparable<Pending<T>> {
+        private final long weight;
+        private final String key;
+        private final Node<T> node;
+        private final T value;
+        private final long order;
+
+        @SuppressWarnings("unchecked")
+        Pending(long weight, String key, Node<T> node, Object value, long order) {
+            this.weight = weight;
+            this.key = key;
+            this.node = node;
+            this.value = (T) value;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(Pending<T> other) {
+            int byWeight = Long.compare(other.weight, weight);
+            if (byWeight != 0) {
+                return byWeight;
+            }
+            int byKey = key.compareTo(other.key);
+            if (byKey != 0) {
+                return byKey;
+            }
+            if ((node == null) != (other.node == null)) {
+                return node == null ? -1 : 1;
+            }
+            return Long.compare(order, other.order);
+        }
+    }
+}
\ No newline at end of file
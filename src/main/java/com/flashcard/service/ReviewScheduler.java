@@ -0,0 +1,126 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.CompactId;
+import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSnapshot;
+import com.flashcard.model.ReviewState;
+import com.flashcard.storage.ReviewStore;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+// SM-2 spaced repetition. Each deck has a DueQueue of its cards ordered by due time, so the next card
+// is found in O(1) and rescheduled in O(log n). Cards never reviewed are due immediately, in deck order.
+public class ReviewScheduler {
+    public static final int CORRECT_QUALITY = 4;
+    public static final int INCORRECT_QUALITY = 1;
+    private static final double MIN_EASE = 1.3;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    // A failed card comes back later in the same session instead of a day later
+    private static final long RELEARN_DELAY_MILLIS = 10L * 60 * 1000;
+
+    private final ReviewStore store;
+    private final LongSupplier clock;
+    private final Map<CompactId, DeckQueue> queues = new HashMap<>();
+
+    public ReviewScheduler(ReviewStore store) {
+        this(store, System::currentTimeMillis);
+    }
+
+    public ReviewScheduler(ReviewStore store, LongSupplier clock) {
+        this.store = store;
+        this.clock = clock;
+    }
+
+    // Card with the earliest due time, even if it is not due yet; null for an empty deck
+    public synchronized Card nextCard(Deck deck) {
+        DueQueue queue = queueFor(deck);
+        while (!queue.isEmpty()) {
+            Card card = deck.findCardById(queue.peek());
+            if (card != null) {
+                return card;
+            }
+            // Removed after the queue was built
+            queue.remove(queue.peek());
+        }
+        return null;
+    }
+
+    public synchronized ReviewState recordAnswer(Deck deck, Card card, boolean correct) {
+        return recordAnswer(deck, card, correct ? CORRECT_QUALITY : INCORRECT_QUALITY);
+    }
+
+    // quality is the SM-2 grade from 0 (blackout) to 5 (perfect recall)
+    public synchronized ReviewState recordAnswer(Deck deck, Card card, int quality) {
+        if (quality < 0 || quality > 5) {
+            throw new IllegalArgumentException("Оцінка має бути від 0 до 5");
+        }
+
+        ReviewState state = store.getState(deck.getCompactId(), card.getCompactId());
+        if (state == null) {
+            state = new ReviewState(deck.getCompactId(), card.getCompactId());
+        }
+        schedule(state, quality, clock.getAsLong());
+        store.save(state);
+        queueFor(deck).put(card.getCompactId(), state.getDueAt());
+        return state;
+    }
+
+    public synchronized ReviewState getState(Deck deck, String cardId) {
+        ReviewState state = store.getState(deck.getId(), cardId);
+        return state != null ? state : new ReviewState(deck.getId(), cardId);
+    }
+
+    private static void schedule(ReviewState state, int quality, long now) {
+        if (quality >= 3) {
+            int repetitions = state.getRepetitions();
+            if (repetitions == 0) {
+                state.setIntervalDays(1);
+            } else if (repetitions == 1) {
+                state.setIntervalDays(6);
+            } else {
+                state.setIntervalDays((int) Math.round(state.getIntervalDays() * state.getEaseFactor()));
+            }
+            state.setRepetitions(repetitions + 1);
+            state.setDueAt(now + state.getIntervalDays() * DAY_MILLIS);
+        } else {
+            state.setRepetitions(0);
+            state.setIntervalDays(0);
+            state.setDueAt(now + RELEARN_DELAY_MILLIS);
+        }
+
+        int miss = 5 - quality;
+        double ease = state.getEaseFactor() + 0.1 - miss * (0.08 + miss * 0.02);
+        state.setEaseFactor(Math.max(MIN_EASE, ease));
+    }
+
+    // The queue is rebuilt when the deck has changed since it was built, which only happens on edits
+    private DueQueue queueFor(Deck deck) {
+        DeckSnapshot snapshot = deck.getSnapshot();
+        DeckQueue cached = queues.get(deck.getCompactId());
+        if (cached != null && cached.builtFrom == snapshot) {
+            return cached.queue;
+        }
+
+        Map<CompactId, ReviewState> states = store.getDeckStates(deck.getCompactId());
+        DueQueue queue = new DueQueue();
+        for (Card card : snapshot.getCards()) {
+            ReviewState state = states.get(card.getCompactId());
+            queue.put(card.getCompactId(), state != null ? state.getDueAt() : 0);
+        }
+        queues.put(deck.getCompactId(), new DeckQueue(snapshot, queue));
+        return queue;
+    }
+
+    private static class DeckQueue {
+        private final DeckSnapshot builtFrom;
+        private final DueQueue queue;
+
+        DeckQueue(DeckSnapshot builtFrom, DueQueue queue) {
+            this.builtFrom = builtFrom;
+            this.queue = queue;
+        }
+    }
+}
\ No newline at end of file
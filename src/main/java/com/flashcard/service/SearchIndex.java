@@ -0,0 +1,739 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.CompactId;
+import com.flashcard.model.Deck;
+import com.flashcard.model.SearchHit;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over the questions and answers of every deck. Text is split into lowercase,
+// accent-folded tokens; each term keeps a posting list of (document, frequency) in document order.
+// Registered with CardService, it is updated card by card: a changed card is removed and added again
+// under a new document number, and removed documents are dropped from a posting list once they make
+// up half of it. Registered with DeckService, it drops a deck's cards as soon as the deck is deleted. Results are ranked with BM25. A query token ending in '*' matches every term with
+// that prefix. The index can be saved and loaded; per-deck fingerprints tell which decks changed
+// while it was on disk, so only those are tokenized again.
+public class SearchIndex implements CardChangeListener, DeckChangeListener {
+    private static final int MAGIC = 0x46435349;
+    private static final int VERSION = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int INITIAL_DOCS = 1024;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Sorted for prefix queries; exact lookups go through the hash map
+    private final TreeMap<String, Posting> terms = new TreeMap<>();
+    private final Map<String, Posting> termLookup = new HashMap<>();
+    private final List<Posting> postingsById = new ArrayList<>();
+    private final Map<CompactId, Map<CompactId, Integer>> docIds = new HashMap<>();
+    private final Map<CompactId, Long> deckFingerprints = new HashMap<>();
+
+    // Per document; a removed document has a null card id
+    private CompactId[] docDecks = new CompactId[INITIAL_DOCS];
+    private CompactId[] docCards = new CompactId[INITIAL_DOCS];
+    private int[] docLengths = new int[INITIAL_DOCS];
+    private long[] docHashes = new long[INITIAL_DOCS];
+    // Range of the document's posting ids in termPool, used to remove it again
+    private int[] docTermStart = new int[INITIAL_DOCS];
+    private int[] docTermCount = new int[INITIAL_DOCS];
+    private int docCount;
+    private int liveCount;
+    private long liveLength;
+    private int[] termPool = new int[INITIAL_DOCS * 8];
+    private int poolSize;
+    // Set after loading; the pool is only needed to remove documents, so it is rebuilt on first use
+    private boolean termPoolStale;
+
+    // Live cards
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Replaces whatever the index holds for this deck
+    public void indexDeck(Deck deck) {
+        lock.writeLock().lock();
+        try {
+            CompactId deckId = deck.getCompactId();
+            removeDeckDocs(deckId);
+            deckFingerprints.put(deckId, 0L);
+            for (Card card : deck.getSnapshot().getCards()) {
+                addDoc(deckId, card);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeDeck(String deckId) {
+        removeDeck(CompactId.parse(deckId));
+    }
+
+    private void removeDeck(CompactId deckId) {
+        lock.writeLock().lock();
+        try {
+            removeDeckDocs(deckId);
+            deckFingerprints.remove(deckId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Re-indexes only the decks whose content differs from what was indexed, and drops decks that are
+    // gone; returns how many decks were indexed again
+    public int synchronize(Collection<Deck> decks) {
+        Set<CompactId> present = new HashSet<>();
+        int reindexed = 0;
+        for (Deck deck : decks) {
+            present.add(deck.getCompactId());
+            long fingerprint = fingerprint(deck);
+            Long indexed;
+            lock.readLock().lock();
+            try {
+                indexed = deckFingerprints.get(deck.getCompactId());
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (indexed == null || indexed != fingerprint) {
+                indexDeck(deck);
+                reindexed++;
+            }
+        }
+
+        List<CompactId> stale = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (CompactId deckId : deckFingerprints.keySet()) {
+                if (!present.contains(deckId)) {
+                    stale.add(deckId);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (CompactId deckId : stale) {
+            removeDeck(deckId);
+        }
+        return reindexed;
+    }
+
+    @Override
+    public void deckDeleted(String deckId) {
+        removeDeck(deckId);
+    }
+
+    @Override
+    public void cardAdded(String deckId, Card card) {
+        replaceCard(CompactId.parse(deckId), card);
+    }
+
+    @Override
+    public void cardUpdated(String deckId, Card card) {
+        replaceCard(CompactId.parse(deckId), card);
+    }
+
+    @Override
+    public void cardRemoved(String deckId, String cardId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = findDoc(CompactId.parse(deckId), CompactId.parse(cardId));
+            if (doc != null) {
+                removeDoc(doc);
+                compactIfSparse();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Best matches first, at most limit of them
+    public List<SearchHit> search(String query, int limit) {
+        if (query == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Posting> matched = new ArrayList<>();
+            for (String part : query.trim().split("\\s+")) {
+                boolean prefix = part.endsWith("*");
+                List<String> tokens = tokenize(part);
+                for (int i = 0; i < tokens.size(); i++) {
+                    String token = tokens.get(i);
+                    if (prefix && i == tokens.size() - 1) {
+                        matched.addAll(terms.subMap(token, true, token + Character.MAX_VALUE, false).values());
+                    } else {
+                        Posting posting = termLookup.get(token);
+                        if (posting != null) {
+                            matched.add(posting);
+                        }
+                    }
+                }
+            }
+            if (matched.isEmpty() || liveCount == 0) {
+                return Collections.emptyList();
+            }
+            return rank(matched, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void save(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        lock.readLock().lock();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            // Decks are written once and referred to by position
+            Map<CompactId, Integer> deckNumbers = new HashMap<>();
+            out.writeInt(deckFingerprints.size());
+            for (Map.Entry<CompactId, Long> entry : deckFingerprints.entrySet()) {
+                deckNumbers.put(entry.getKey(), deckNumbers.size());
+                out.writeUTF(entry.getKey().toString());
+                out.writeLong(entry.getValue());
+            }
+
+            // Removed documents are left out, so the saved numbering is dense
+            int[] newIds = new int[docCount];
+            int next = 0;
+            out.writeInt(liveCount);
+            for (int doc = 0; doc < docCount; doc++) {
+                if (docCards[doc] == null) {
+                    newIds[doc] = -1;
+                    continue;
+                }
+                newIds[doc] = next++;
+                out.writeInt(deckNumbers.get(docDecks[doc]));
+                out.writeUTF(docCards[doc].toString());
+                out.writeInt(docLengths[doc]);
+                out.writeLong(docHashes[doc]);
+            }
+
+            out.writeInt(terms.size());
+            ByteBuffer buffer = ByteBuffer.allocate(0);
+            for (Posting posting : terms.values()) {
+                int live = posting.size - posting.dead;
+                if (buffer.capacity() < live * 8) {
+                    buffer = ByteBuffer.allocate(live * 8);
+                }
+                buffer.clear();
+                for (int i = 0; i < posting.size; i++) {
+                    int newId = newIds[posting.docs[i]];
+                    if (newId >= 0) {
+                        buffer.putInt(newId);
+                        buffer.putInt(posting.freqs[i]);
+                    }
+                }
+                out.writeUTF(posting.term);
+                out.writeInt(live);
+                out.write(buffer.array(), 0, buffer.position());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // An empty index if the file is missing or unreadable; synchronize() then fills it
+    public static SearchIndex load(Path file) {
+        SearchIndex index = new SearchIndex();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Невідомий формат пошукового індексу");
+            }
+            CompactId[] deckIds = new CompactId[in.readInt()];
+            for (int i = 0; i < deckIds.length; i++) {
+                deckIds[i] = CompactId.parse(in.readUTF());
+                index.deckFingerprints.put(deckIds[i], in.readLong());
+            }
+
+            int docs = in.readInt();
+            index.ensureDocCapacity(docs);
+            for (int doc = 0; doc < docs; doc++) {
+                CompactId deckId = deckIds[in.readInt()];
+                CompactId cardId = CompactId.parse(in.readUTF());
+                index.docDecks[doc] = deckId;
+                index.docCards[doc] = cardId;
+                index.docLengths[doc] = in.readInt();
+                index.docHashes[doc] = in.readLong();
+                index.liveLength += index.docLengths[doc];
+                index.docIds.computeIfAbsent(deckId, id -> new HashMap<>()).put(cardId, doc);
+            }
+            index.docCount = docs;
+            index.liveCount = docs;
+
+            int termCount = in.readInt();
+            byte[] bytes = new byte[0];
+            for (int i = 0; i < termCount; i++) {
+                Posting posting = index.newPosting(in.readUTF());
+                int size = in.readInt();
+                if (bytes.length < size * 8) {
+                    bytes = new byte[size * 8];
+                }
+                in.readFully(bytes, 0, size * 8);
+                ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, size * 8);
+                posting.docs = new int[Math.max(2, size)];
+                posting.freqs = new int[posting.docs.length];
+                for (int j = 0; j < size; j++) {
+                    posting.docs[j] = buffer.getInt();
+                    posting.freqs[j] = buffer.getInt();
+                }
+                posting.size = size;
+            }
+            index.termPoolStale = true;
+            return index;
+        } catch (NoSuchFileException e) {
+            return new SearchIndex();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Помилка завантаження пошукового індексу: " + e.getMessage());
+            return new SearchIndex();
+        }
+    }
+
+    // Order-independent hash of a deck's cards, compared on load to find decks edited in the meantime
+    public static long fingerprint(Deck deck) {
+        long fingerprint = 0;
+        for (Card card : deck.getSnapshot().getCards()) {
+            fingerprint += cardHash(card);
+        }
+        return fingerprint;
+    }
+
+    // Lowercase, accent-folded runs of letters and digits; apostrophes inside a word are dropped
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        boolean ascii = true;
+        for (int i = 0; i < text.length() && ascii; i++) {
+            ascii = text.charAt(i) < 0x80;
+        }
+        String source = ascii ? text : Normalizer.normalize(text, Normalizer.Form.NFD);
+
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < source.length(); ) {
+            int codePoint = source.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                token.appendCodePoint(Character.toLowerCase(codePoint));
+            } else if (isApostrophe(codePoint) || Character.getType(codePoint) == Character.NON_SPACING_MARK) {
+                continue;
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    private static boolean isApostrophe(int codePoint) {
+        return codePoint == '\'' || codePoint == '\u2019' || codePoint == '\u02bc';
+    }
+
+    private static long cardHash(Card card) {
+        long hash = card.getCompactId().hashCode();
+        hash = hash * 31 + card.getQuestion().hashCode();
+        hash = hash * 31 + card.getAnswer().hashCode();
+        // Spread the bits so that summing hashes stays sensitive to every card
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private List<SearchHit> rank(List<Posting> matched, int limit) {
+        Scratch scratch = SCRATCH.get();
+        float[] scores = scratch.scores(docCount);
+        int[] touched = scratch.touched(docCount);
+        int touchedCount = 0;
+        // BM25 length normalisation k1 * (1 - b + b * length / average) as base + slope * length
+        double normBase = K1 * (1 - B);
+        double normSlope = K1 * B * liveCount / liveLength;
+
+        for (Posting posting : matched) {
+            int df = posting.size - posting.dead;
+            if (df == 0) {
+                continue;
+            }
+            double idf = Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+            double weight = idf * (K1 + 1);
+            boolean hasRemoved = posting.dead > 0;
+            int[] docs = posting.docs;
+            int[] freqs = posting.freqs;
+            for (int i = 0; i < posting.size; i++) {
+                int doc = docs[i];
+                if (hasRemoved && docCards[doc] == null) {
+                    continue;
+                }
+                int tf = freqs[i];
+                if (scores[doc] == 0) {
+                    touched[touchedCount++] = doc;
+                }
+                scores[doc] += (float) (weight * tf / (tf + normBase + normSlope * docLengths[doc]));
+            }
+        }
+
+        // Min-heap of the best limit documents, weakest at the root; on equal scores the earlier
+        // document wins. Most documents lose to the root and never enter the heap.
+        int[] heap = new int[Math.min(limit, touchedCount)];
+        int heapSize = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int doc = touched[i];
+            if (heapSize < heap.length) {
+                heap[heapSize] = doc;
+                siftUp(heap, heapSize++, scores);
+            } else if (weaker(heap[0], doc, scores)) {
+                heap[0] = doc;
+                siftDown(heap, heapSize, scores);
+            }
+        }
+
+        SearchHit[] hits = new SearchHit[heapSize];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            int doc = heap[0];
+            hits[i] = new SearchHit(docDecks[doc].toString(), docCards[doc].toString(), scores[doc]);
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, scores);
+        }
+        for (int i = 0; i < touchedCount; i++) {
+            scores[touched[i]] = 0;
+        }
+        return Arrays.asList(hits);
+    }
+
+    private static boolean weaker(int a, int b, float[] scores) {
+        return scores[a] < scores[b] || (scores[a] == scores[b] && a > b);
+    }
+
+    private static void siftUp(int[] heap, int position, float[] scores) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!weaker(heap[position], heap[parent], scores)) {
+                return;
+            }
+            int swap = heap[parent];
+            heap[parent] = heap[position];
+            heap[position] = swap;
+            position = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        int position = 0;
+        while (true) {
+            int child = position * 2 + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && weaker(heap[child + 1], heap[child], scores)) {
+                child++;
+            }
+            if (!weaker(heap[child], heap[position], scores)) {
+                return;
+            }
+            int swap = heap[child];
+            heap[child] = heap[position];
+            heap[position] = swap;
+            position = child;
+        }
+    }
+
+    private void replaceCard(CompactId deckId, Card card) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = findDoc(deckId, card.getCompactId());
+            if (doc != null) {
+                removeDoc(doc);
+            }
+            addDoc(deckId, card);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Integer findDoc(CompactId deckId, CompactId cardId) {
+        Map<CompactId, Integer> cards = docIds.get(deckId);
+        return cards != null ? cards.get(cardId) : null;
+    }
+
+    private void addDoc(CompactId deckId, Card card) {
+        List<String> tokens = tokenize(card.getQuestion());
+        tokens.addAll(tokenize(card.getAnswer()));
+        int length = tokens.size();
+
+        ensureDocCapacity(docCount + 1);
+        int doc = docCount++;
+        docDecks[doc] = deckId;
+        docCards[doc] = card.getCompactId();
+        docLengths[doc] = length;
+        docHashes[doc] = cardHash(card);
+        docTermStart[doc] = poolSize;
+        ensurePoolCapacity(poolSize + length);
+        for (String token : tokens) {
+            Posting posting = termLookup.get(token);
+            if (posting == null) {
+                posting = newPosting(token);
+            }
+            // A repeated term only raises the frequency of the entry this document already added
+            if (posting.size > 0 && posting.docs[posting.size - 1] == doc) {
+                posting.freqs[posting.size - 1]++;
+            } else {
+                posting.add(doc, 1);
+                termPool[poolSize++] = posting.id;
+            }
+        }
+        docTermCount[doc] = poolSize - docTermStart[doc];
+
+        liveCount++;
+        liveLength += length;
+        docIds.computeIfAbsent(deckId, id -> new HashMap<>()).put(card.getCompactId(), doc);
+        deckFingerprints.merge(deckId, docHashes[doc], Long::sum);
+    }
+
+    private void removeDoc(int doc) {
+        if (termPoolStale) {
+            rebuildTermPool();
+        }
+        CompactId deckId = docDecks[doc];
+        Map<CompactId, Integer> cards = docIds.get(deckId);
+        cards.remove(docCards[doc]);
+        if (cards.isEmpty()) {
+            docIds.remove(deckId);
+        }
+        deckFingerprints.computeIfPresent(deckId, (id, fingerprint) -> fingerprint - docHashes[doc]);
+        docCards[doc] = null;
+        liveCount--;
+        liveLength -= docLengths[doc];
+
+        int end = docTermStart[doc] + docTermCount[doc];
+        for (int i = docTermStart[doc]; i < end; i++) {
+            Posting posting = postingsById.get(termPool[i]);
+            posting.dead++;
+            if (posting.size == posting.dead) {
+                terms.remove(posting.term, posting);
+                termLookup.remove(posting.term, posting);
+            } else if (posting.dead * 2 > posting.size) {
+                posting.dropRemoved(docCards);
+            }
+        }
+    }
+
+    private void removeDeckDocs(CompactId deckId) {
+        Map<CompactId, Integer> cards = docIds.get(deckId);
+        if (cards == null) {
+            return;
+        }
+        for (Integer doc : new ArrayList<>(cards.values())) {
+            removeDoc(doc);
+        }
+        compactIfSparse();
+    }
+
+    private Posting newPosting(String term) {
+        Posting posting = new Posting(term, postingsById.size());
+        postingsById.add(posting);
+        terms.put(term, posting);
+        termLookup.put(term, posting);
+        return posting;
+    }
+
+    // Renumbers the documents once removed ones make up most of them, so arrays and the term pool shrink
+    private void compactIfSparse() {
+        if (docCount < INITIAL_DOCS || docCount < liveCount * 2) {
+            return;
+        }
+
+        int[] newIds = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (docCards[doc] == null) {
+                newIds[doc] = -1;
+                continue;
+            }
+            newIds[doc] = next;
+            docDecks[next] = docDecks[doc];
+            docCards[next] = docCards[doc];
+            docLengths[next] = docLengths[doc];
+            docHashes[next] = docHashes[doc];
+            next++;
+        }
+        Arrays.fill(docCards, next, docCount, null);
+        Arrays.fill(docDecks, next, docCount, null);
+        docCount = next;
+
+        List<Posting> live = new ArrayList<>(terms.values());
+        postingsById.clear();
+        for (Posting posting : live) {
+            posting.remap(newIds, postingsById.size());
+            postingsById.add(posting);
+        }
+        for (Map<CompactId, Integer> cards : docIds.values()) {
+            cards.replaceAll((cardId, doc) -> newIds[doc]);
+        }
+        rebuildTermPool();
+    }
+
+    // Lists every document's posting ids from the posting lists, grouped by document
+    private void rebuildTermPool() {
+        Arrays.fill(docTermCount, 0, docCount, 0);
+        int total = 0;
+        for (Posting posting : postingsById) {
+            for (int i = 0; i < posting.size; i++) {
+                docTermCount[posting.docs[i]]++;
+            }
+            total += posting.size;
+        }
+        termPool = new int[Math.max(INITIAL_DOCS, total * 2)];
+        int offset = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            docTermStart[doc] = offset;
+            offset += docTermCount[doc];
+        }
+        int[] fill = Arrays.copyOf(docTermStart, docCount);
+        for (Posting posting : postingsById) {
+            for (int i = 0; i < posting.size; i++) {
+                termPool[fill[posting.docs[i]]++] = posting.id;
+            }
+        }
+        poolSize = total;
+        termPoolStale = false;
+    }
+
+    private void ensureDocCapacity(int needed) {
+        if (needed <= docCards.length) {
+            return;
+        }
+        int capacity = Math.max(needed, docCards.length * 2);
+        docDecks = Arrays.copyOf(docDecks, capacity);
+        docCards = Arrays.copyOf(docCards, capacity);
+        docLengths = Arrays.copyOf(docLengths, capacity);
+        docHashes = Arrays.copyOf(docHashes, capacity);
+        docTermStart = Arrays.copyOf(docTermStart, capacity);
+        docTermCount = Arrays.copyOf(docTermCount, capacity);
+    }
+
+    private void ensurePoolCapacity(int needed) {
+        if (needed > termPool.length) {
+            termPool = Arrays.copyOf(termPool, Math.max(needed, termPool.length * 2));
+        }
+    }
+
+    private static final class Posting {
+        private final String term;
+        private int id;
+        private int[] docs = new int[2];
+        private int[] freqs = new int[2];
+        private int size;
+        // Entries whose document has been removed
+        private int dead;
+
+        Posting(String term, int id) {
+            this.term = term;
+            this.id = id;
+        }
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        void dropRemoved(CompactId[] docCards) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (docCards[docs[i]] != null) {
+                    docs[kept] = docs[i];
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            dead = 0;
+        }
+
+        // Numbering only ever shrinks in order, so the list stays sorted
+        void remap(int[] newIds, int newId) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = newIds[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            dead = 0;
+            id = newId;
+        }
+    }
+
+    // Per-thread score accumulator sized to the document count, so ranking allocates only its results
+    private static final class Scratch {
+        private float[] scores = new float[0];
+        private int[] touched = new int[0];
+
+        float[] scores(int size) {
+            if (scores.length < size) {
+                scores = new float[Math.max(size, scores.length * 2)];
+            }
+            return scores;
+        }
+
+        int[] touched(int size) {
+            if (touched.length < size) {
+                touched = new int[Math.max(size, touched.length * 2)];
+            }
+            return touched;
+        }
+    }
+}
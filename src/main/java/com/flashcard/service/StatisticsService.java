@@ -0,0 +1,224 @@
+package com.flashcard.service;
+
+import com.flashcard.model.CardStats;
+import com.flashcard.model.CompactId;
+import com.flashcard.model.DeckStats;
+import com.flashcard.storage.StatisticsStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Per-card and per-deck answer statistics. Counters are LongAdders and atomics, so sessions answering
+// at the same time never block each other. A card changed since the last flush is queued once, and a
+// background thread writes the queued cards to the StatisticsStore in one batch per interval.
+public class StatisticsService {
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 5000;
+
+    private final StatisticsStore store;
+    private final LongSupplier clock;
+    private final Map<CompactId, DeckCounters> decks = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<CardCounters> dirty = new ConcurrentLinkedQueue<>();
+    // Null when the store is in memory only and there is nothing to flush to
+    private final ScheduledExecutorService flusher;
+    private final Object flushLock = new Object();
+    private volatile boolean closed;
+
+    public StatisticsService(StatisticsStore store) {
+        this(store, DEFAULT_FLUSH_INTERVAL_MILLIS, System::currentTimeMillis);
+    }
+
+    public StatisticsService(StatisticsStore store, long flushIntervalMillis, LongSupplier clock) {
+        if (flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Інтервал збереження має бути додатним");
+        }
+        this.store = store;
+        this.clock = clock;
+        for (CardStats saved : store.loadAll()) {
+            DeckCounters deck = deck(saved.getCompactDeckId());
+            deck.attempts.add(saved.getAttempts());
+            deck.correct.add(saved.getCorrect());
+            deck.lastSeenAt.accumulate(saved.getLastSeenAt());
+            deck.card(saved.getCompactCardId()).restore(saved);
+        }
+
+        if (store.isPersistent()) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "flashcard-stats-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    public void recordAnswer(String deckId, String cardId, boolean correct) {
+        long now = clock.getAsLong();
+        DeckCounters deck = deck(CompactId.parse(deckId));
+        deck.attempts.increment();
+        if (correct) {
+            deck.correct.increment();
+        }
+        deck.lastSeenAt.accumulate(now);
+
+        CardCounters card = deck.card(CompactId.parse(cardId));
+        card.record(correct, now);
+        if (card.dirty.compareAndSet(false, true)) {
+            dirty.add(card);
+        }
+        if (closed) {
+            flush();
+        }
+    }
+
+    // Zero counts for a card that was never answered
+    public CardStats getCardStats(String deckId, String cardId) {
+        DeckCounters deck = decks.get(CompactId.parse(deckId));
+        CardCounters card = deck != null ? deck.cards.get(CompactId.parse(cardId)) : null;
+        return card != null ? card.snapshot() : new CardStats(deckId, cardId);
+    }
+
+    public DeckStats getDeckStats(String deckId) {
+        DeckCounters deck = decks.get(CompactId.parse(deckId));
+        if (deck == null) {
+            return new DeckStats(deckId, 0, 0, 0, 0, 0);
+        }
+        int bestStreak = 0;
+        for (CardCounters card : deck.cards.values()) {
+            bestStreak = Math.max(bestStreak, card.bestStreak.get());
+        }
+        return new DeckStats(deckId, deck.attempts.sum(), deck.correct.sum(), deck.cards.size(), bestStreak,
+                deck.lastSeenAt.get());
+    }
+
+    public int getPendingCount() {
+        return dirty.size();
+    }
+
+    // Writes every card changed since the last flush as one batch; safe to call from any thread
+    public void flush() {
+        synchronized (flushLock) {
+            List<CardCounters> cards = new ArrayList<>();
+            List<CardStats> batch = new ArrayList<>();
+            CardCounters card;
+            while ((card = dirty.poll()) != null) {
+                // Cleared before the snapshot, so an answer recorded meanwhile queues the card again
+                card.dirty.set(false);
+                cards.add(card);
+                batch.add(card.snapshot());
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                store.saveAll(batch);
+            } catch (RuntimeException e) {
+                System.err.println("Помилка збереження статистики: " + e.getMessage());
+                e.printStackTrace();
+                for (CardCounters failed : cards) {
+                    if (failed.dirty.compareAndSet(false, true)) {
+                        dirty.add(failed);
+                    }
+                }
+            }
+        }
+    }
+
+    // Stops the background thread and writes what is left; later answers are written immediately
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    private DeckCounters deck(CompactId deckId) {
+        return decks.computeIfAbsent(deckId, DeckCounters::new);
+    }
+
+    private static final class DeckCounters {
+        private final CompactId deckId;
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder correct = new LongAdder();
+        private final LongAccumulator lastSeenAt = new LongAccumulator(Math::max, 0);
+        private final Map<CompactId, CardCounters> cards = new ConcurrentHashMap<>();
+
+        DeckCounters(CompactId deckId) {
+            this.deckId = deckId;
+        }
+
+        CardCounters card(CompactId cardId) {
+            CardCounters card = cards.get(cardId);
+            return card != null ? card : cards.computeIfAbsent(cardId, id -> new CardCounters(deckId, id));
+        }
+    }
+
+    private static final class CardCounters {
+        private final CompactId deckId;
+        private final CompactId cardId;
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder correct = new LongAdder();
+        private final AtomicInteger currentStreak = new AtomicInteger();
+        private final AtomicInteger bestStreak = new AtomicInteger();
+        private final LongAccumulator lastSeenAt = new LongAccumulator(Math::max, 0);
+        private final AtomicBoolean dirty = new AtomicBoolean();
+
+        CardCounters(CompactId deckId, CompactId cardId) {
+            this.deckId = deckId;
+            this.cardId = cardId;
+        }
+
+        void record(boolean answeredCorrectly, long now) {
+            attempts.increment();
+            lastSeenAt.accumulate(now);
+            if (answeredCorrectly) {
+                correct.increment();
+                int streak = currentStreak.incrementAndGet();
+                bestStreak.accumulateAndGet(streak, Math::max);
+            } else {
+                currentStreak.set(0);
+            }
+        }
+
+        void restore(CardStats saved) {
+            attempts.add(saved.getAttempts());
+            correct.add(saved.getCorrect());
+            currentStreak.set(saved.getCurrentStreak());
+            bestStreak.set(saved.getBestStreak());
+            lastSeenAt.accumulate(saved.getLastSeenAt());
+        }
+
+        CardStats snapshot() {
+            CardStats stats = new CardStats(deckId, cardId);
+            stats.setAttempts(attempts.sum());
+            stats.setCorrect(correct.sum());
+            stats.setCurrentStreak(currentStreak.get());
+            stats.setBestStreak(bestStreak.get());
+            stats.setLastSeenAt(lastSeenAt.get());
+            return stats;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.flashcard.service;
+
+import com.flashcard.model.CompactId;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+
+// UUID version 7 layout: 48-bit millisecond timestamp, then a 42-bit counter split across rand_a and
+// the top of rand_b, then 32 random bits. All state is per thread, so threads never contend; ids
+// from one thread are strictly increasing and ids from different threads sort by creation time.
+public class TimeOrderedIdGenerator implements IdGenerator {
+    private static final SecureRandom SEEDS = new SecureRandom();
+    private static final long COUNTER_BITS = 42;
+    private static final long COUNTER_LIMIT = 1L << COUNTER_BITS;
+
+    private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+    @Override
+    public CompactId nextId() {
+        State current = state.get();
+        long now = System.currentTimeMillis();
+        if (now > current.timestamp) {
+            current.timestamp = now;
+            // Start low in the counter range so a burst within one millisecond rarely overflows it
+            current.counter = current.random.nextLong() & ((COUNTER_LIMIT >>> 1) - 1);
+        } else if (++current.counter == COUNTER_LIMIT) {
+            // Counter exhausted or the clock went backwards past it: borrow the next millisecond
+            current.timestamp++;
+            current.counter = 0;
+        }
+
+        long counterHigh = current.counter >>> 30;
+        long counterLow = current.counter & ((1L << 30) - 1);
+        long msb = (current.timestamp << 16) | 0x7000L | counterHigh;
+        long lsb = 0x8000000000000000L | (counterLow << 32) | (current.random.nextInt() & 0xffffffffL);
+        return new CompactId(msb, lsb);
+    }
+
+    private static class State {
+        private final SplittableRandom random;
+        private long timestamp;
+        private long counter;
+
+        State() {
+            random = new SplittableRandom(SEEDS.nextLong());
+        }
+    }
+}
\ No newline at end of file
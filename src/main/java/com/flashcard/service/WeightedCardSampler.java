@@ -0,0 +1,112 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.CompactId;
+import com.flashcard.model.DeckSnapshot;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Random card pick weighted towards cards the user gets wrong. A wrong answer doubles the card's
+// weight and a right one halves it, within [MIN_WEIGHT, MAX_WEIGHT]. Weights sit in a FenwickTree
+// indexed by slot, so a pick and a weight change are O(log n). A removed card's slot gets weight 0
+// and is reused by the next card added. The sampler is filled from the deck once; QuizService then
+// keeps it current from CardService events, so a card change costs O(log n) as well.
+public class WeightedCardSampler {
+    public static final long INITIAL_WEIGHT = 8;
+    public static final long MIN_WEIGHT = 1;
+    public static final long MAX_WEIGHT = 64;
+
+    private final SplittableRandom random;
+    private final FenwickTree weights = new FenwickTree();
+    private final List<Card> cards = new ArrayList<>();
+    private final Map<CompactId, Integer> slots = new HashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+
+    public WeightedCardSampler() {
+        this(new SplittableRandom());
+    }
+
+    public WeightedCardSampler(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private WeightedCardSampler(SplittableRandom random) {
+        this.random = random;
+    }
+
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    public synchronized boolean addCard(Card card) {
+        if (slots.containsKey(card.getCompactId())) {
+            // Replaced by an edit; keep its weight
+            cards.set(slots.get(card.getCompactId()), card);
+            return false;
+        }
+        Integer slot = freeSlots.poll();
+        if (slot == null) {
+            slot = weights.append(INITIAL_WEIGHT);
+            cards.add(card);
+        } else {
+            weights.set(slot, INITIAL_WEIGHT);
+            cards.set(slot, card);
+        }
+        slots.put(card.getCompactId(), slot);
+        return true;
+    }
+
+    public synchronized boolean removeCard(String cardId) {
+        return removeCard(CompactId.parse(cardId));
+    }
+
+    public synchronized boolean removeCard(CompactId cardId) {
+        Integer slot = slots.remove(cardId);
+        if (slot == null) {
+            return false;
+        }
+        weights.set(slot, 0);
+        cards.set(slot, null);
+        freeSlots.push(slot);
+        return true;
+    }
+
+    public synchronized long getWeight(String cardId) {
+        Integer slot = slots.get(CompactId.parse(cardId));
+        return slot != null ? weights.get(slot) : 0;
+    }
+
+    // Null when there are no cards
+    public synchronized Card next() {
+        long total = weights.total();
+        if (total == 0) {
+            return null;
+        }
+        return cards.get(weights.find(random.nextLong(total)));
+    }
+
+    public synchronized void recordAnswer(String cardId, boolean correct) {
+        recordAnswer(CompactId.parse(cardId), correct);
+    }
+
+    public synchronized void recordAnswer(CompactId cardId, boolean correct) {
+        Integer slot = slots.get(cardId);
+        if (slot == null) {
+            return;
+        }
+        long weight = weights.get(slot);
+        weights.set(slot, correct ? Math.max(MIN_WEIGHT, weight / 2) : Math.min(MAX_WEIGHT, weight * 2));
+    }
+
+    // Adds every card of the snapshot; cards already in the sampler keep their weight
+    public synchronized void addCards(DeckSnapshot snapshot) {
+        for (Card card : snapshot.getCards()) {
+            addCard(card);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,472 @@
+package com.flashcard.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+// Disk-resident B+-tree over byte[] keys (unsigned lexicographic order) and byte[] values.
+// Nodes are read through a bounded LRU cache and written back on eviction or flush(). Values larger
+// than an eighth of a page live in chains of overflow pages. Deletes do not rebalance; leaves may
+// become sparse but stay linked, which is fine for this workload. Only flush() makes changes durable.
+public class BPlusTree {
+    public static final int DEFAULT_PAGE_SIZE = 8192;
+
+    private static final int MAGIC = 0x46434254;
+    private static final int META_PAGE = 0;
+    private static final int NO_PAGE = -1;
+    private static final byte LEAF = 0;
+    private static final byte INTERNAL = 1;
+    private static final byte INLINE = 0;
+    private static final byte OVERFLOW = 1;
+    private static final int NODE_HEADER = 1 + 2 + 4;
+    private static final int OVERFLOW_HEADER = 4;
+    private static final int MIN_CACHED_PAGES = 8;
+
+    private final PageFile file;
+    private final int pageSize;
+    private final int maxKeySize;
+    private final int maxInlineValue;
+    private final Map<Integer, Node> cache;
+
+    private int rootId;
+    private int pageCount;
+    private int freeListHead;
+    private long cacheHits;
+    private long cacheMisses;
+
+    public BPlusTree(Path path, int pageSize, int cachedPages) throws IOException {
+        if (pageSize < 512 || pageSize > 32768) {
+            throw new IllegalArgumentException("Розмір сторінки має бути від 512 до 32768 байт");
+        }
+        this.file = new PageFile(path, pageSize);
+        this.pageSize = pageSize;
+        this.maxKeySize = pageSize / 8;
+        this.maxInlineValue = pageSize / 8;
+        int capacity = Math.max(MIN_CACHED_PAGES, cachedPages);
+        this.cache = new LinkedHashMap<Integer, Node>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Node> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                if (eldest.getValue().dirty) {
+                    try {
+                        writeNode(eldest.getValue());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return true;
+            }
+        };
+
+        if (file.size() == 0) {
+            pageCount = 1;
+            freeListHead = NO_PAGE;
+            Node root = newNode(true);
+            rootId = root.id;
+            flush();
+        } else {
+            readMeta();
+        }
+    }
+
+    public byte[] get(byte[] key) throws IOException {
+        Node node = getNode(rootId);
+        while (!node.leaf) {
+            node = getNode(node.children.get(childIndex(node, key)));
+        }
+        int index = KeyOrder.search(node.keys, key);
+        return index >= 0 ? readCell(node.values.get(index)) : null;
+    }
+
+    public void put(byte[] key, byte[] value) throws IOException {
+        if (key.length > maxKeySize) {
+            throw new IllegalArgumentException("Ключ задовгий: " + key.length + " байт");
+        }
+        Split split = insert(rootId, key, makeCell(value));
+        if (split != null) {
+            Node root = newNode(false);
+            root.children.add(rootId);
+            root.children.add(split.rightId);
+            root.keys.add(split.key);
+            rootId = root.id;
+        }
+    }
+
+    public boolean remove(byte[] key) throws IOException {
+        Node node = getNode(rootId);
+        while (!node.leaf) {
+            node = getNode(node.children.get(childIndex(node, key)));
+        }
+        int index = KeyOrder.search(node.keys, key);
+        if (index < 0) {
+            return false;
+        }
+        freeCell(node.values.get(index));
+        node.keys.remove(index);
+        node.values.remove(index);
+        markDirty(node);
+        return true;
+    }
+
+    // Visits entries with key >= from in key order until the visitor returns false; the tree must not
+    // be modified during the scan
+    public void scan(byte[] from, BiPredicate<byte[], byte[]> visitor) throws IOException {
+        Node node = getNode(rootId);
+        while (!node.leaf) {
+            node = getNode(node.children.get(from == null ? 0 : childIndex(node, from)));
+        }
+
+        int index = from == null ? 0 : KeyOrder.lowerBound(node.keys, from);
+        while (true) {
+            for (int i = index; i < node.keys.size(); i++) {
+                if (!visitor.test(node.keys.get(i), readCell(node.values.get(i)))) {
+                    return;
+                }
+            }
+            if (node.next == NO_PAGE) {
+                return;
+            }
+            node = getNode(node.next);
+            index = 0;
+        }
+    }
+
+    public void flush() throws IOException {
+        for (Node node : cache.values()) {
+            if (node.dirty) {
+                writeNode(node);
+            }
+        }
+        ByteBuffer meta = ByteBuffer.allocate(pageSize);
+        meta.putInt(MAGIC).putInt(pageSize).putInt(rootId).putInt(pageCount).putInt(freeListHead);
+        file.write(META_PAGE, meta);
+        file.force();
+    }
+
+    public void close() throws IOException {
+        flush();
+        cache.clear();
+        file.close();
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    private void readMeta() throws IOException {
+        ByteBuffer meta = file.read(META_PAGE);
+        if (meta.getInt() != MAGIC) {
+            throw new IOException("Невідомий формат індексу");
+        }
+        if (meta.getInt() != pageSize) {
+            throw new IOException("Індекс створено з іншим розміром сторінки");
+        }
+        rootId = meta.getInt();
+        pageCount = meta.getInt();
+        freeListHead = meta.getInt();
+    }
+
+    private Split insert(int nodeId, byte[] key, byte[] cell) throws IOException {
+        Node node = getNode(nodeId);
+        if (node.leaf) {
+            int index = KeyOrder.search(node.keys, key);
+            if (index >= 0) {
+                freeCell(node.values.get(index));
+                node.values.set(index, cell);
+            } else {
+                node.keys.add(-index - 1, key);
+                node.values.add(-index - 1, cell);
+            }
+            markDirty(node);
+            return node.size() > pageSize ? splitLeaf(node) : null;
+        }
+
+        int childIndex = childIndex(node, key);
+        Split split = insert(node.children.get(childIndex), key, cell);
+        if (split == null) {
+            return null;
+        }
+        // The recursion may have evicted this node; work on the cached copy
+        node = getNode(nodeId);
+        node.keys.add(childIndex, split.key);
+        node.children.add(childIndex + 1, split.rightId);
+        markDirty(node);
+        return node.size() > pageSize ? splitInternal(node) : null;
+    }
+
+    private Split splitLeaf(Node node) throws IOException {
+        int mid = splitPoint(node);
+        Node right = newNode(true);
+        right.keys.addAll(node.keys.subList(mid, node.keys.size()));
+        right.values.addAll(node.values.subList(mid, node.values.size()));
+        node.keys.subList(mid, node.keys.size()).clear();
+        node.values.subList(mid, node.values.size()).clear();
+        right.next = node.next;
+        node.next = right.id;
+        markDirty(node);
+        markDirty(right);
+        return new Split(right.keys.get(0), right.id);
+    }
+
+    private Split splitInternal(Node node) throws IOException {
+        int mid = Math.min(splitPoint(node), node.keys.size() - 1);
+        byte[] promoted = node.keys.get(mid);
+        Node right = newNode(false);
+        right.keys.addAll(node.keys.subList(mid + 1, node.keys.size()));
+        right.children.addAll(node.children.subList(mid + 1, node.children.size()));
+        node.keys.subList(mid, node.keys.size()).clear();
+        node.children.subList(mid + 1, node.children.size()).clear();
+        markDirty(node);
+        markDirty(right);
+        return new Split(promoted, right.id);
+    }
+
+    // First entry index past half of the node's bytes, keeping at least one entry on each side
+    private static int splitPoint(Node node) {
+        int half = node.size() / 2;
+        int used = NODE_HEADER;
+        for (int i = 0; i < node.keys.size(); i++) {
+            used += node.entrySize(i);
+            if (used > half) {
+                return Math.max(1, Math.min(i + 1, node.keys.size() - 1));
+            }
+        }
+        return node.keys.size() - 1;
+    }
+
+    private static int childIndex(Node node, byte[] key) {
+        return KeyOrder.upperBound(node.keys, key);
+    }
+
+    private Node newNode(boolean leaf) throws IOException {
+        Node node = new Node(allocatePage(), leaf);
+        markDirty(node);
+        return node;
+    }
+
+    private Node getNode(int pageId) throws IOException {
+        Node node = cache.get(pageId);
+        if (node != null) {
+            cacheHits++;
+            return node;
+        }
+        cacheMisses++;
+        node = decode(pageId, file.read(pageId));
+        cache.put(pageId, node);
+        return node;
+    }
+
+    private void markDirty(Node node) {
+        node.dirty = true;
+        cache.put(node.id, node);
+    }
+
+    private int allocatePage() throws IOException {
+        if (freeListHead != NO_PAGE) {
+            int pageId = freeListHead;
+            freeListHead = file.read(pageId).getInt(0);
+            return pageId;
+        }
+        return pageCount++;
+    }
+
+    private byte[] makeCell(byte[] value) throws IOException {
+        if (value.length <= maxInlineValue) {
+            byte[] cell = new byte[value.length + 1];
+            cell[0] = INLINE;
+            System.arraycopy(value, 0, cell, 1, value.length);
+            return cell;
+        }
+
+        int chunk = pageSize - OVERFLOW_HEADER;
+        int pages = (value.length + chunk - 1) / chunk;
+        int[] ids = new int[pages];
+        for (int i = 0; i < pages; i++) {
+            ids[i] = allocatePage();
+        }
+        for (int i = 0; i < pages; i++) {
+            ByteBuffer page = ByteBuffer.allocate(pageSize);
+            page.putInt(i + 1 < pages ? ids[i + 1] : NO_PAGE);
+            page.put(value, i * chunk, Math.min(chunk, value.length - i * chunk));
+            file.write(ids[i], page);
+        }
+        return ByteBuffer.allocate(9).put(OVERFLOW).putInt(ids[0]).putInt(value.length).array();
+    }
+
+    private byte[] readCell(byte[] cell) throws IOException {
+        if (cell[0] == INLINE) {
+            return Arrays.copyOfRange(cell, 1, cell.length);
+        }
+
+        ByteBuffer reference = ByteBuffer.wrap(cell, 1, 8);
+        int pageId = reference.getInt();
+        byte[] value = new byte[reference.getInt()];
+        int offset = 0;
+        while (offset < value.length) {
+            ByteBuffer page = file.read(pageId);
+            pageId = page.getInt();
+            int length = Math.min(page.remaining(), value.length - offset);
+            page.get(value, offset, length);
+            offset += length;
+        }
+        return value;
+    }
+
+    private void freeCell(byte[] cell) throws IOException {
+        if (cell[0] != OVERFLOW) {
+            return;
+        }
+        int pageId = ByteBuffer.wrap(cell, 1, 4).getInt();
+        while (pageId != NO_PAGE) {
+            int next = file.read(pageId).getInt(0);
+            ByteBuffer page = ByteBuffer.allocate(pageSize);
+            page.putInt(freeListHead);
+            file.write(pageId, page);
+            freeListHead = pageId;
+            pageId = next;
+        }
+    }
+
+    private void writeNode(Node node) throws IOException {
+        ByteBuffer page = ByteBuffer.allocate(pageSize);
+        page.put(node.leaf ? LEAF : INTERNAL);
+        page.putShort((short) node.keys.size());
+        page.putInt(node.next);
+        if (node.leaf) {
+            for (int i = 0; i < node.keys.size(); i++) {
+                page.putShort((short) node.keys.get(i).length).put(node.keys.get(i));
+                page.putShort((short) node.values.get(i).length).put(node.values.get(i));
+            }
+        } else {
+            page.putInt(node.children.get(0));
+            for (int i = 0; i < node.keys.size(); i++) {
+                page.putShort((short) node.keys.get(i).length).put(node.keys.get(i));
+                page.putInt(node.children.get(i + 1));
+            }
+        }
+        file.write(node.id, page);
+        node.dirty = false;
+    }
+
+    private static Node decode(int pageId, ByteBuffer page) {
+        Node node = new Node(pageId, page.get() == LEAF);
+        int count = page.getShort() & 0xffff;
+        node.next = page.getInt();
+        if (!node.leaf) {
+            node.children.add(page.getInt());
+        }
+        for (int i = 0; i < count; i++) {
+            byte[] key = new byte[page.getShort() & 0xffff];
+            page.get(key);
+            node.keys.add(key);
+            if (node.leaf) {
+                byte[] cell = new byte[page.getShort() & 0xffff];
+                page.get(cell);
+                node.values.add(cell);
+            } else {
+                node.children.add(page.getInt());
+            }
+        }
+        return node;
+    }
+
+    private static class Node {
+        private final int id;
+        private final boolean leaf;
+        private final List<byte[]> keys = new ArrayList<>();
+        private final List<byte[]> values = new ArrayList<>();
+        private final List<Integer> children = new ArrayList<>();
+        private int next = NO_PAGE;
+        private boolean dirty;
+
+        Node(int id, boolean leaf) {
+            this.id = id;
+            this.leaf = leaf;
+        }
+
+        int entrySize(int index) {
+            return 2 + keys.get(index).length + (leaf ? 2 + values.get(index).length : 4);
+        }
+
+        int size() {
+            int size = NODE_HEADER + (leaf ? 0 : 4);
+            for (int i = 0; i < keys.size(); i++) {
+                size += entrySize(i);
+            }
+            return size;
+        }
+    }
+
+    private static class Split {
+        private final byte[] key;
+        private final int rightId;
+
+        Split(byte[] key, int rightId) {
+            this.key = key;
+            this.rightId = rightId;
+        }
+    }
+
+    // Binary searches over a sorted list of keys
+    static final class KeyOrder {
+        private KeyOrder() {}
+
+        static int compare(byte[] a, byte[] b) {
+            int length = Math.min(a.length, b.length);
+            for (int i = 0; i < length; i++) {
+                int diff = (a[i] & 0xff) - (b[i] & 0xff);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return a.length - b.length;
+        }
+
+        // Index of the key, or -(insertion point) - 1
+        static int search(List<byte[]> keys, byte[] key) {
+            int low = 0;
+            int high = keys.size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(keys.get(mid), key);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        // First index whose key is >= the given key
+        static int lowerBound(List<byte[]> keys, byte[] key) {
+            int index = search(keys, key);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        // First index whose key is > the given key
+        static int upperBound(List<byte[]> keys, byte[] key) {
+            int index = search(keys, key);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.flashcard.storage;
+
+import com.flashcard.model.CompactId;
+import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSummary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// File layout: header [int magic][int version][long indexOffset][int indexLength], deck records
+// (see BinaryDeckCodec), then the offset table [int count]{[str deckId][long offset][int length]}*.
+// Mutations append the new records and a fresh offset table after the current one and only then
+// rewrite the header, so a crash mid-write leaves the previous table intact.
+public class BinaryDataStorage implements DataStorage {
+    private static final String DATA_DIR = "data";
+    private static final String DECKS_FILE = "decks.bin";
+    private static final String LEGACY_DECKS_FILE = "decks.json";
+
+    static final int MAGIC = 0x46435142;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 20;
+    private static final long COMPACTION_MIN_BYTES = 1 << 20;
+
+    private final Path file;
+    private final Map<CompactId, IndexEntry> index;
+    private final Map<CompactId, Deck> decodedDecks;
+
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private long indexOffset;
+    private int indexLength;
+    private long liveRecordBytes;
+
+    public BinaryDataStorage() {
+        this(DATA_DIR);
+    }
+
+    public BinaryDataStorage(String dataDir) {
+        this(Paths.get(dataDir).resolve(DECKS_FILE));
+    }
+
+    BinaryDataStorage(Path file) {
+        this.file = file;
+        this.index = new LinkedHashMap<>();
+        this.decodedDecks = new HashMap<>();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path legacy = file.resolveSibling(LEGACY_DECKS_FILE);
+            if (!Files.exists(file) && Files.exists(legacy)) {
+                BinaryFormatConverter.jsonToBinary(legacy, file);
+            }
+            open();
+        } catch (IOException e) {
+            System.err.println("Помилка відкриття бінарного файлу: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized void saveDeck(Deck deck) {
+        decodedDecks.put(deck.getCompactId(), deck);
+        try {
+            byte[] record = BinaryDeckCodec.encode(deck);
+            long position = indexOffset + indexLength;
+            writeFully(ByteBuffer.wrap(record), position);
+
+            IndexEntry previous = index.put(deck.getCompactId(), new IndexEntry(position, record.length));
+            if (previous != null) {
+                liveRecordBytes -= previous.length;
+            }
+            liveRecordBytes += record.length;
+            commitIndex(position + record.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized Deck loadDeck(String id) {
+        return loadDeck(CompactId.parse(id));
+    }
+
+    private Deck loadDeck(CompactId id) {
+        Deck deck = decodedDecks.get(id);
+        if (deck != null) {
+            return deck;
+        }
+
+        IndexEntry entry = index.get(id);
+        if (entry == null) {
+            return null;
+        }
+        try {
+            deck = BinaryDeckCodec.decode(view(entry));
+            decodedDecks.put(id, deck);
+        } catch (IOException e) {
+            System.err.println("Помилка завантаження колоди: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return deck;
+    }
+
+    @Override
+    public synchronized List<Deck> loadAllDecks() {
+        List<Deck> decks = new ArrayList<>(index.size());
+        for (CompactId id : index.keySet()) {
+            Deck deck = loadDeck(id);
+            if (deck != null) {
+                decks.add(deck);
+            }
+        }
+        return decks;
+    }
+
+    @Override
+    public synchronized List<DeckSummary> loadDeckSummaries() {
+        List<DeckSummary> summaries = new ArrayList<>(index.size());
+        try {
+            for (Map.Entry<CompactId, IndexEntry> entry : index.entrySet()) {
+                Deck deck = decodedDecks.get(entry.getKey());
+                summaries.add(deck != null ? DeckSummary.of(deck) : BinaryDeckCodec.decodeSummary(view(entry.getValue())));
+            }
+        } catch (IOException e) {
+            System.err.println("Помилка читання колод: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return summaries;
+    }
+
+    @Override
+    public synchronized boolean deleteDeck(String id) {
+        CompactId key = CompactId.parse(id);
+        decodedDecks.remove(key);
+        IndexEntry removed = index.remove(key);
+        if (removed == null) {
+            return false;
+        }
+
+        liveRecordBytes -= removed.length;
+        try {
+            commitIndex(indexOffset + indexLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void saveToFile(String filename) {
+        try {
+            writeCompacted(file.resolveSibling(filename));
+        } catch (IOException e) {
+            System.err.println("Помилка збереження в файл: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized void loadFromFile(String filename) {
+        Path source = file.resolveSibling(filename);
+        if (!Files.exists(source)) {
+            return;
+        }
+        try {
+            close();
+            Files.copy(source, file, StandardCopyOption.REPLACE_EXISTING);
+            open();
+        } catch (IOException e) {
+            System.err.println("Помилка завантаження з файлу: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    public synchronized void compact() {
+        try {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            writeCompacted(temp);
+            closeChannel();
+            index.clear();
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            open();
+        } catch (IOException e) {
+            System.err.println("Помилка компактизації файлу: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    public synchronized long getFileSize() {
+        return indexOffset + indexLength;
+    }
+
+    public synchronized void close() {
+        index.clear();
+        decodedDecks.clear();
+        closeChannel();
+    }
+
+    private void closeChannel() {
+        mapped = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Помилка закриття файлу: " + e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    static void writeDecks(Path target, List<Deck> decks) throws IOException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Map<CompactId, IndexEntry> entries = new LinkedHashMap<>();
+            long position = HEADER_SIZE;
+            for (Deck deck : decks) {
+                byte[] record = BinaryDeckCodec.encode(deck);
+                writeFully(out, ByteBuffer.wrap(record), position);
+                entries.put(deck.getCompactId(), new IndexEntry(position, record.length));
+                position += record.length;
+            }
+            writeTail(out, entries, position);
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() == 0) {
+            writeTail(channel, index, HEADER_SIZE);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("Невідомий формат файлу: " + file);
+        }
+        indexOffset = header.getLong();
+        indexLength = header.getInt();
+
+        ByteBuffer table = view(new IndexEntry(indexOffset, indexLength));
+        int count = table.getInt();
+        liveRecordBytes = 0;
+        for (int i = 0; i < count; i++) {
+            CompactId id = CompactId.parse(BinaryDeckCodec.readString(table));
+            IndexEntry entry = new IndexEntry(table.getLong(), table.getInt());
+            index.put(id, entry);
+            liveRecordBytes += entry.length;
+        }
+    }
+
+    private void commitIndex(long position) throws IOException {
+        long[] tail = writeTail(channel, index, position);
+        indexOffset = tail[0];
+        indexLength = (int) tail[1];
+
+        long garbage = indexOffset + indexLength - HEADER_SIZE - liveRecordBytes - indexLength;
+        if (garbage > COMPACTION_MIN_BYTES && garbage > liveRecordBytes) {
+            compact();
+        }
+    }
+
+    // Writes the offset table at the given position and then points the header at it
+    private static long[] writeTail(FileChannel out, Map<CompactId, IndexEntry> entries, long position) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + entries.size() * 56);
+        try (DataOutputStream table = new DataOutputStream(bytes)) {
+            table.writeInt(entries.size());
+            for (Map.Entry<CompactId, IndexEntry> entry : entries.entrySet()) {
+                BinaryDeckCodec.writeString(table, entry.getKey().toString());
+                table.writeLong(entry.getValue().offset);
+                table.writeInt(entry.getValue().length);
+            }
+        }
+        byte[] tableBytes = bytes.toByteArray();
+        writeFully(out, ByteBuffer.wrap(tableBytes), position);
+        out.force(false);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(position).putInt(tableBytes.length);
+        header.flip();
+        writeFully(out, header, 0);
+        out.force(false);
+        return new long[]{position, tableBytes.length};
+    }
+
+    private void writeCompacted(Path target) throws IOException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Map<CompactId, IndexEntry> entries = new LinkedHashMap<>();
+            long position = HEADER_SIZE;
+            for (Map.Entry<CompactId, IndexEntry> entry : index.entrySet()) {
+                IndexEntry source = entry.getValue();
+                // Live records are copied byte for byte, nothing is decoded
+                long copied = 0;
+                while (copied < source.length) {
+                    copied += channel.transferTo(source.offset + copied, source.length - copied, out.position(position + copied));
+                }
+                entries.put(entry.getKey(), new IndexEntry(position, source.length));
+                position += source.length;
+            }
+            writeTail(out, entries, position);
+        }
+    }
+
+    private ByteBuffer view(IndexEntry entry) throws IOException {
+        long end = entry.offset + entry.length;
+        if (end > Integer.MAX_VALUE) {
+            // Beyond what a single mapping can address; map just this record
+            return channel.map(FileChannel.MapMode.READ_ONLY, entry.offset, entry.length);
+        }
+        if (mapped == null || mapped.capacity() < end) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), Integer.MAX_VALUE));
+        }
+        ByteBuffer view = mapped.duplicate();
+        view.limit((int) end).position((int) entry.offset);
+        return view;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        writeFully(channel, buffer, position);
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += out.write(buffer, position);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Неочікуваний кінець файлу: " + file);
+            }
+            position += read;
+        }
+    }
+
+    private static class IndexEntry {
+        private final long offset;
+        private final int length;
+
+        IndexEntry(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.flashcard.storage;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSnapshot;
+import com.flashcard.model.DeckSummary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Deck record layout: [int payloadLength][str id][str name][int cardCount]{[str id][str question][str answer]}*
+// where str is an int byte length (-1 for null) followed by UTF-8 bytes.
+public final class BinaryDeckCodec {
+    static final int LENGTH_PREFIX = Integer.BYTES;
+
+    private BinaryDeckCodec() {}
+
+    public static byte[] encode(Deck deck) {
+        DeckSnapshot snapshot = deck.getSnapshot();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + snapshot.size() * 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0);
+            writeString(out, snapshot.getId());
+            writeString(out, snapshot.getName());
+            out.writeInt(snapshot.size());
+            for (Card card : snapshot.getCards()) {
+                writeString(out, card.getId());
+                writeString(out, card.getQuestion());
+                writeString(out, card.getAnswer());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] record = bytes.toByteArray();
+        ByteBuffer.wrap(record).putInt(0, record.length - LENGTH_PREFIX);
+        return record;
+    }
+
+    // The buffer must be positioned at the start of a record
+    public static Deck decode(ByteBuffer buffer) {
+        buffer.getInt();
+        Deck deck = new Deck(readString(buffer), readString(buffer));
+        int cardCount = buffer.getInt();
+        List<Card> cards = new ArrayList<>(cardCount);
+        for (int i = 0; i < cardCount; i++) {
+            cards.add(new Card(readString(buffer), readString(buffer), readString(buffer)));
+        }
+        deck.setCards(cards);
+        return deck;
+    }
+
+    public static DeckSummary decodeSummary(ByteBuffer buffer) {
+        buffer.getInt();
+        String id = readString(buffer);
+        String name = readString(buffer);
+        return new DeckSummary(id, name, buffer.getInt());
+    }
+
+    public static int recordLength(ByteBuffer buffer, int position) {
+        return buffer.getInt(position) + LENGTH_PREFIX;
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] utf8 = new byte[length];
+            buffer.get(utf8);
+            value = new String(utf8, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,38 @@
+package com.flashcard.storage;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flashcard.model.Deck;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BinaryFormatConverter {
+    private BinaryFormatConverter() {}
+
+    public static void jsonToBinary(Path jsonFile, Path binaryFile) throws IOException {
+        List<Deck> decks = createObjectMapper().readValue(jsonFile.toFile(), new TypeReference<List<Deck>>() {});
+        BinaryDataStorage.writeDecks(binaryFile, decks != null ? decks : new ArrayList<>());
+    }
+
+    public static void binaryToJson(Path binaryFile, Path jsonFile) throws IOException {
+        BinaryDataStorage storage = new BinaryDataStorage(binaryFile);
+        try {
+            createObjectMapper().writeValue(jsonFile.toFile(), storage.loadAllDecks());
+        } finally {
+            storage.close();
+        }
+    }
+
+    // Same settings as JsonDataStorage so converted files are interchangeable with decks.json
+    private static ObjectMapper createObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return mapper;
+    }
+}
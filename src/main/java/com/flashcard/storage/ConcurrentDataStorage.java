@@ -0,0 +1,301 @@
+package com.flashcard.storage;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.model.CompactId;
+import com.flashcard.model.Deck;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+// Storage that many sessions can share. The map holds read-only views of saved decks and private
+// decks that only updateDeck edits, under the deck's lock; everything handed out is a read-only view
+// of one version, which costs the same however large the deck is. Per-deck locks make updateDeck's read-modify-write atomic against other
+// writes to the same deck.
+public class ConcurrentDataStorage implements DataStorage {
+    private static final String DATA_DIR = "data";
+    private static final String DECKS_FILE = "decks.json";
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path dataDir;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<CompactId, Deck> decks;
+    private final ReentrantLock[] locks;
+
+    private final ExecutorService writer;
+    private final AtomicBoolean writeScheduled;
+    private final AtomicLong version;
+    private volatile Snapshot snapshot;
+    // Failure of the last background write, reported by the next flush or close
+    private final AtomicReference<UncheckedIOException> writeFailure;
+
+    public ConcurrentDataStorage() {
+        this(DATA_DIR);
+    }
+
+    public ConcurrentDataStorage(String dataDir) {
+        this.dataDir = Paths.get(dataDir);
+        this.objectMapper = createObjectMapper();
+        this.decks = new ConcurrentHashMap<>();
+        this.locks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "flashcard-storage-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writeScheduled = new AtomicBoolean();
+        this.version = new AtomicLong();
+        this.writeFailure = new AtomicReference<>();
+        createDataDirectory();
+        loadFromFile(DECKS_FILE);
+    }
+
+    private ObjectMapper createObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return mapper;
+    }
+
+    private void createDataDirectory() {
+        try {
+            Files.createDirectories(dataDir);
+        } catch (IOException e) {
+            System.err.println("Помилка створення директорії: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void saveDeck(Deck deck) {
+        ReentrantLock lock = lockFor(deck.getId());
+        lock.lock();
+        try {
+            decks.put(deck.getCompactId(), deck.readOnlyView());
+            version.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+        requestWrite();
+    }
+
+    @Override
+    public void saveBatch(Collection<Deck> decksToSave, Collection<String> idsToDelete) {
+        for (Deck deck : decksToSave) {
+            ReentrantLock lock = lockFor(deck.getId());
+            lock.lock();
+            try {
+                decks.put(deck.getCompactId(), deck.readOnlyView());
+            } finally {
+                lock.unlock();
+            }
+        }
+        for (String id : idsToDelete) {
+            ReentrantLock lock = lockFor(id);
+            lock.lock();
+            try {
+                decks.remove(CompactId.parse(id));
+            } finally {
+                lock.unlock();
+            }
+        }
+        version.incrementAndGet();
+        requestWrite();
+    }
+
+    @Override
+    public boolean updateDeck(String id, Predicate<Deck> change) {
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            Deck stored = decks.get(CompactId.parse(id));
+            if (stored == null) {
+                return false;
+            }
+            // Saved decks are kept as views; the first update makes an editable copy, later ones edit it
+            // in place since readers only ever see views. A change that returns false must leave the
+            // deck untouched
+            if (stored.isReadOnly()) {
+                stored = new Deck(stored);
+            }
+            if (!change.test(stored)) {
+                return false;
+            }
+            decks.put(stored.getCompactId(), stored);
+            version.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+        requestWrite();
+        return true;
+    }
+
+    // Returns a read-only view; use updateDeck, or new Deck(view) and saveDeck, to make changes
+    @Override
+    public Deck loadDeck(String id) {
+        Deck stored = decks.get(CompactId.parse(id));
+        return stored != null ? stored.readOnlyView() : null;
+    }
+
+    // Returns a shared read-only list of read-only views that is rebuilt only after a mutation
+    @Override
+    public List<Deck> loadAllDecks() {
+        Snapshot current = snapshot;
+        long currentVersion = version.get();
+        if (current != null && current.version == currentVersion) {
+            return current.decks;
+        }
+
+        List<Deck> views = new ArrayList<>(decks.size());
+        for (Deck deck : decks.values()) {
+            views.add(deck.readOnlyView());
+        }
+        List<Deck> decksView = Collections.unmodifiableList(views);
+        snapshot = new Snapshot(currentVersion, decksView);
+        return decksView;
+    }
+
+    @Override
+    public boolean deleteDeck(String id) {
+        boolean removed;
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            removed = decks.remove(CompactId.parse(id)) != null;
+            if (removed) {
+                version.incrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (removed) {
+            requestWrite();
+        }
+        return removed;
+    }
+
+    @Override
+    public void saveToFile(String filename) {
+        awaitWrite(writer.submit(() -> write(filename)));
+    }
+
+    @Override
+    public void loadFromFile(String filename) {
+        try {
+            File file = dataDir.resolve(filename).toFile();
+            if (file.exists()) {
+                List<Deck> loadedDecks = objectMapper.readValue(file, new TypeReference<List<Deck>>() {});
+                if (loadedDecks != null) {
+                    decks.clear();
+                    for (Deck deck : loadedDecks) {
+                        decks.put(deck.getCompactId(), deck);
+                    }
+                    version.incrementAndGet();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Помилка завантаження з файлу: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // Blocks until every mutation made so far is on disk; throws if a background write failed since
+    // the last flush and no later write succeeded
+    public void flush() {
+        awaitWrite(writer.submit(() -> {}));
+        UncheckedIOException failure = writeFailure.getAndSet(null);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    public void close() {
+        try {
+            flush();
+        } finally {
+            writer.shutdown();
+            try {
+                writer.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private ReentrantLock lockFor(String id) {
+        return locks[(id.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    // Bursts of mutations collapse into one write: a new task is queued only if none is waiting
+    private void requestWrite() {
+        if (writeScheduled.compareAndSet(false, true)) {
+            writer.execute(() -> {
+                writeScheduled.set(false);
+                try {
+                    write(DECKS_FILE);
+                    writeFailure.set(null);
+                } catch (UncheckedIOException e) {
+                    writeFailure.set(e);
+                }
+            });
+        }
+    }
+
+    private void write(String filename) {
+        try {
+            Path target = dataDir.resolve(filename);
+            Path temp = target.resolveSibling(filename + ".tmp");
+            objectMapper.writeValue(temp.toFile(), loadAllDecks());
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Помилка збереження в файл: " + e.getMessage());
+            e.printStackTrace();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void awaitWrite(Future<?> write) {
+        try {
+            write.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static class Snapshot {
+        private final long version;
+        private final List<Deck> decks;
+
+        Snapshot(long version, List<Deck> decks) {
+            this.version = version;
+            this.decks = decks;
+        }
+    }
+}
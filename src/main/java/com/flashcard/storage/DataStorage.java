@@ -1,8 +1,12 @@
 package com.flashcard.storage;
 
 import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSummary;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Predicate;
 
 public interface DataStorage {
     void saveDeck(Deck deck);
@@ -11,4 +15,33 @@ public interface DataStorage {
     boolean deleteDeck(String id);
     void saveToFile(String filename);
     void loadFromFile(String filename);
+
+    default void saveBatch(Collection<Deck> decksToSave, Collection<String> idsToDelete) {
+        for (Deck deck : decksToSave) {
+            saveDeck(deck);
+        }
+        for (String id : idsToDelete) {
+            deleteDeck(id);
+        }
+    }
+
+    // Loads a deck, applies the change and saves it if the change returns true. Storages shared between
+    // sessions override this to hold the deck's lock across the whole read-modify-write.
+    default boolean updateDeck(String id, Predicate<Deck> change) {
+        Deck deck = loadDeck(id);
+        if (deck == null || !change.test(deck)) {
+            return false;
+        }
+        saveDeck(deck);
+        return true;
+    }
+
+    default List<DeckSummary> loadDeckSummaries() {
+        List<Deck> decks = loadAllDecks();
+        List<DeckSummary> summaries = new ArrayList<>(decks.size());
+        for (Deck deck : decks) {
+            summaries.add(DeckSummary.of(deck));
+        }
+        return summaries;
+    }
 }
\ No newline at end of file
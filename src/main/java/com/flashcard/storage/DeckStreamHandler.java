@@ -0,0 +1,11 @@
+package com.flashcard.storage;
+
+import com.flashcard.model.Card;
+
+public interface DeckStreamHandler {
+    void onDeckStart(String deckId, String deckName);
+
+    void onCard(Card card);
+
+    default void onDeckEnd() {}
+}
@@ -0,0 +1,94 @@
+package com.flashcard.storage;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.flashcard.model.CompactId;
+import com.flashcard.model.Deck;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// Writes decks.json from per-deck cached bytes and re-encodes only decks that are dirty or were
+// replaced by another instance since the last write.
+public class DirtyTrackingJsonDataStorage extends JsonDataStorage {
+    private static final byte[] SEPARATOR = ",\n".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<CompactId, EncodedDeck> encodedDecks = new HashMap<>();
+    private ObjectWriter deckWriter;
+    private int lastEncodedCount;
+
+    public DirtyTrackingJsonDataStorage() {
+        super();
+    }
+
+    public DirtyTrackingJsonDataStorage(String dataDir) {
+        super(dataDir);
+    }
+
+    public DirtyTrackingJsonDataStorage(String dataDir, boolean parallelLoad) {
+        super(dataDir, parallelLoad);
+    }
+
+    public DirtyTrackingJsonDataStorage(String dataDir, boolean parallelLoad, boolean arenaText) {
+        super(dataDir, parallelLoad, arenaText);
+    }
+
+    @Override
+    protected void writeDecks(File file, Collection<Deck> decksToWrite) throws IOException {
+        if (deckWriter == null) {
+            deckWriter = getObjectMapper().writerFor(Deck.class);
+        }
+
+        int encoded = 0;
+        Set<CompactId> written = new HashSet<>();
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            out.write('[');
+            boolean first = true;
+            for (Deck deck : decksToWrite) {
+                EncodedDeck cached = encodedDecks.get(deck.getCompactId());
+                byte[] bytes;
+                if (cached != null && cached.deck == deck && !deck.isDirty()) {
+                    bytes = cached.bytes;
+                } else {
+                    bytes = deckWriter.writeValueAsBytes(deck);
+                    deck.markClean();
+                    encodedDecks.put(deck.getCompactId(), new EncodedDeck(deck, bytes));
+                    encoded++;
+                }
+
+                if (!first) {
+                    out.write(SEPARATOR);
+                }
+                out.write(bytes);
+                first = false;
+                written.add(deck.getCompactId());
+            }
+            out.write(']');
+        }
+
+        encodedDecks.keySet().retainAll(written);
+        lastEncodedCount = encoded;
+    }
+
+    public int getLastEncodedCount() {
+        return lastEncodedCount;
+    }
+
+    private static class EncodedDeck {
+        private final Deck deck;
+        private final byte[] bytes;
+
+        EncodedDeck(Deck deck, byte[] bytes) {
+            this.deck = deck;
+            this.bytes = bytes;
+        }
+    }
+}
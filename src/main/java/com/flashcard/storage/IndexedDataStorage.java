@@ -0,0 +1,378 @@
+package com.flashcard.storage;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSummary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// Keeps the library in a BPlusTree instead of the heap. Keys:
+//   'D' deckId                -> [str name][int cardCount][long nextSeq]
+//   'C' deckId 0x00 cardId    -> [long seq][str question][str answer]
+// A deck's cards are one contiguous key range, so loading a deck or a single card only touches the
+// pages holding it. seq preserves the order cards were added in.
+public class IndexedDataStorage implements DataStorage {
+    private static final String DATA_DIR = "data";
+    private static final String INDEX_FILE = "decks.idx";
+    private static final String LEGACY_DECKS_FILE = "decks.json";
+    private static final int DEFAULT_CACHED_PAGES = 1024;
+    private static final byte DECK_PREFIX = 'D';
+    private static final byte CARD_PREFIX = 'C';
+
+    private final Path dataDir;
+    private final ObjectMapper objectMapper;
+    private BPlusTree tree;
+
+    public IndexedDataStorage() {
+        this(DATA_DIR, DEFAULT_CACHED_PAGES);
+    }
+
+    public IndexedDataStorage(String dataDir) {
+        this(dataDir, DEFAULT_CACHED_PAGES);
+    }
+
+    public IndexedDataStorage(String dataDir, int cachedPages) {
+        this.dataDir = Paths.get(dataDir);
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        try {
+            Files.createDirectories(this.dataDir);
+            Path indexFile = this.dataDir.resolve(INDEX_FILE);
+            boolean fresh = !Files.exists(indexFile);
+            this.tree = new BPlusTree(indexFile, BPlusTree.DEFAULT_PAGE_SIZE, cachedPages);
+            File legacy = this.dataDir.resolve(LEGACY_DECKS_FILE).toFile();
+            if (fresh && legacy.exists()) {
+                // First start after switching from the single-file layout
+                new JsonDeckStreams(objectMapper).importDecks(legacy, this::saveDeck, ProgressListener.NONE);
+            }
+        } catch (IOException e) {
+            System.err.println("Помилка відкриття індексу: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized void saveDeck(Deck deck) {
+        try {
+            byte[] deckKey = deckKey(deck.getId());
+            DeckMeta meta = DeckMeta.decode(tree.get(deckKey));
+            long nextSeq = meta != null ? meta.nextSeq : 0;
+
+            Map<String, byte[]> existing = new HashMap<>();
+            scanDeck(deck.getId(), (cardId, value) -> existing.put(cardId, value));
+
+            List<Card> cards = deck.getCards();
+            for (Card card : cards) {
+                byte[] old = existing.remove(card.getId());
+                long seq = old != null ? ByteBuffer.wrap(old).getLong() : nextSeq++;
+                byte[] value = encodeCard(seq, card);
+                // Unchanged cards leave their pages untouched
+                if (old == null || !Arrays.equals(old, value)) {
+                    tree.put(cardKey(deck.getId(), card.getId()), value);
+                }
+            }
+            for (String removedId : existing.keySet()) {
+                tree.remove(cardKey(deck.getId(), removedId));
+            }
+
+            tree.put(deckKey, new DeckMeta(deck.getName(), cards.size(), nextSeq).encode());
+            tree.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized Deck loadDeck(String id) {
+        try {
+            DeckMeta meta = DeckMeta.decode(tree.get(deckKey(id)));
+            if (meta == null) {
+                return null;
+            }
+
+            List<long[]> order = new ArrayList<>(meta.cardCount);
+            List<Card> cards = new ArrayList<>(meta.cardCount);
+            scanDeck(id, (cardId, value) -> {
+                ByteBuffer buffer = ByteBuffer.wrap(value);
+                order.add(new long[]{buffer.getLong(), cards.size()});
+                cards.add(new Card(cardId, BinaryDeckCodec.readString(buffer), BinaryDeckCodec.readString(buffer)));
+            });
+            order.sort(Comparator.comparingLong(entry -> entry[0]));
+
+            Deck deck = new Deck(id, meta.name);
+            List<Card> ordered = new ArrayList<>(cards.size());
+            for (long[] entry : order) {
+                ordered.add(cards.get((int) entry[1]));
+            }
+            deck.setCards(ordered);
+            deck.markClean();
+            return deck;
+        } catch (IOException e) {
+            System.err.println("Помилка завантаження колоди: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    // Point lookup of one card without loading the rest of its deck
+    public synchronized Card loadCard(String deckId, String cardId) {
+        try {
+            byte[] value = tree.get(cardKey(deckId, cardId));
+            if (value == null) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(value);
+            buffer.getLong();
+            return new Card(cardId, BinaryDeckCodec.readString(buffer), BinaryDeckCodec.readString(buffer));
+        } catch (IOException e) {
+            System.err.println("Помилка завантаження картки: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    // Cards of a deck in card id order, starting at fromCardId (inclusive, null for the first)
+    public synchronized List<Card> scanCards(String deckId, String fromCardId, int limit) {
+        List<Card> cards = new ArrayList<>();
+        if (limit <= 0) {
+            return cards;
+        }
+        byte[] prefix = cardKey(deckId, "");
+        byte[] from = fromCardId != null ? cardKey(deckId, fromCardId) : prefix;
+        try {
+            tree.scan(from, (key, value) -> {
+                if (!startsWith(key, prefix)) {
+                    return false;
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(value);
+                buffer.getLong();
+                String cardId = new String(key, prefix.length, key.length - prefix.length, StandardCharsets.UTF_8);
+                cards.add(new Card(cardId, BinaryDeckCodec.readString(buffer), BinaryDeckCodec.readString(buffer)));
+                return cards.size() < limit;
+            });
+        } catch (IOException e) {
+            System.err.println("Помилка читання карток: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return cards;
+    }
+
+    @Override
+    public synchronized List<Deck> loadAllDecks() {
+        List<Deck> decks = new ArrayList<>();
+        for (DeckSummary summary : loadDeckSummaries()) {
+            Deck deck = loadDeck(summary.getId());
+            if (deck != null) {
+                decks.add(deck);
+            }
+        }
+        return decks;
+    }
+
+    @Override
+    public synchronized List<DeckSummary> loadDeckSummaries() {
+        List<DeckSummary> summaries = new ArrayList<>();
+        try {
+            tree.scan(new byte[]{DECK_PREFIX}, (key, value) -> {
+                if (key[0] != DECK_PREFIX) {
+                    return false;
+                }
+                DeckMeta meta = DeckMeta.decode(value);
+                String id = new String(key, 1, key.length - 1, StandardCharsets.UTF_8);
+                summaries.add(new DeckSummary(id, meta.name, meta.cardCount));
+                return true;
+            });
+        } catch (IOException e) {
+            System.err.println("Помилка читання колод: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return summaries;
+    }
+
+    @Override
+    public synchronized boolean deleteDeck(String id) {
+        try {
+            if (!tree.remove(deckKey(id))) {
+                return false;
+            }
+            List<String> cardIds = new ArrayList<>();
+            scanDeck(id, (cardId, value) -> cardIds.add(cardId));
+            for (String cardId : cardIds) {
+                tree.remove(cardKey(id, cardId));
+            }
+            tree.flush();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void saveToFile(String filename) {
+        try {
+            // Exported one deck at a time so the library never has to fit in memory
+            Iterator<DeckSummary> summaries = loadDeckSummaries().iterator();
+            Iterator<Deck> decks = new Iterator<Deck>() {
+                @Override
+                public boolean hasNext() {
+                    return summaries.hasNext();
+                }
+
+                @Override
+                public Deck next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return loadDeck(summaries.next().getId());
+                }
+            };
+            new JsonDeckStreams(objectMapper).exportDecks(dataDir.resolve(filename).toFile(), decks, ProgressListener.NONE);
+        } catch (IOException e) {
+            System.err.println("Помилка збереження в файл: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized void loadFromFile(String filename) {
+        File file = dataDir.resolve(filename).toFile();
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            for (DeckSummary summary : loadDeckSummaries()) {
+                deleteDeck(summary.getId());
+            }
+            new JsonDeckStreams(objectMapper).importDecks(file, this::saveDeck, ProgressListener.NONE);
+        } catch (IOException e) {
+            System.err.println("Помилка завантаження з файлу: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    public synchronized void close() {
+        try {
+            tree.close();
+        } catch (IOException e) {
+            System.err.println("Помилка закриття індексу: " + e.getMessage());
+        }
+    }
+
+    public synchronized long getCacheHits() {
+        return tree.getCacheHits();
+    }
+
+    public synchronized long getCacheMisses() {
+        return tree.getCacheMisses();
+    }
+
+    private interface CardVisitor {
+        void visit(String cardId, byte[] value);
+    }
+
+    private void scanDeck(String deckId, CardVisitor visitor) throws IOException {
+        byte[] prefix = cardKey(deckId, "");
+        tree.scan(prefix, (key, value) -> {
+            if (!startsWith(key, prefix)) {
+                return false;
+            }
+            visitor.visit(new String(key, prefix.length, key.length - prefix.length, StandardCharsets.UTF_8), value);
+            return true;
+        });
+    }
+
+    private static byte[] deckKey(String deckId) {
+        byte[] id = deckId.getBytes(StandardCharsets.UTF_8);
+        byte[] key = new byte[id.length + 1];
+        key[0] = DECK_PREFIX;
+        System.arraycopy(id, 0, key, 1, id.length);
+        return key;
+    }
+
+    private static byte[] cardKey(String deckId, String cardId) {
+        byte[] deck = deckId.getBytes(StandardCharsets.UTF_8);
+        byte[] card = cardId.getBytes(StandardCharsets.UTF_8);
+        byte[] key = new byte[deck.length + card.length + 2];
+        key[0] = CARD_PREFIX;
+        System.arraycopy(deck, 0, key, 1, deck.length);
+        key[deck.length + 1] = 0;
+        System.arraycopy(card, 0, key, deck.length + 2, card.length);
+        return key;
+    }
+
+    private static boolean startsWith(byte[] key, byte[] prefix) {
+        if (key.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (key[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] encodeCard(long seq, Card card) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(seq);
+            BinaryDeckCodec.writeString(out, card.getQuestion());
+            BinaryDeckCodec.writeString(out, card.getAnswer());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static class DeckMeta {
+        private final String name;
+        private final int cardCount;
+        private final long nextSeq;
+
+        DeckMeta(String name, int cardCount, long nextSeq) {
+            this.name = name;
+            this.cardCount = cardCount;
+            this.nextSeq = nextSeq;
+        }
+
+        static DeckMeta decode(byte[] value) {
+            if (value == null) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(value);
+            String name = BinaryDeckCodec.readString(buffer);
+            return new DeckMeta(name, buffer.getInt(), buffer.getLong());
+        }
+
+        byte[] encode() {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                BinaryDeckCodec.writeString(out, name);
+                out.writeInt(cardCount);
+                out.writeLong(nextSeq);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -3,26 +3,54 @@ package com.flashcard.storage;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flashcard.model.ArenaCard;
+import com.flashcard.model.Card;
+import com.flashcard.model.CompactId;
 import com.flashcard.model.Deck;
+import com.flashcard.model.TextArena;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class JsonDataStorage implements DataStorage {
     private static final String DATA_DIR = "data";
     private static final String DECKS_FILE = "decks.json";
 
-    private Map<String, Deck> decks;
+    private final String dataDir;
+    private final boolean parallelLoad;
+    // Keep card text of loaded decks in an off-heap TextArena instead of Strings
+    private final boolean arenaText;
+    private Map<CompactId, Deck> decks;
     private ObjectMapper objectMapper;
 
     public JsonDataStorage() {
+        this(DATA_DIR);
+    }
+
+    public JsonDataStorage(String dataDir) {
+        this(dataDir, false);
+    }
+
+    public JsonDataStorage(String dataDir, boolean parallelLoad) {
+        this(dataDir, parallelLoad, false);
+    }
+
+    public JsonDataStorage(String dataDir, boolean parallelLoad, boolean arenaText) {
+        this.dataDir = dataDir;
+        this.parallelLoad = parallelLoad;
+        this.arenaText = arenaText;
         this.decks = new HashMap<>();
         this.objectMapper = createObjectMapper();
         createDataDirectory();
@@ -40,7 +68,7 @@ public class JsonDataStorage implements DataStorage {
 
     private void createDataDirectory() {
         try {
-            Path dataPath = Paths.get(DATA_DIR);
+            Path dataPath = Paths.get(dataDir);
             if (!Files.exists(dataPath)) {
                 Files.createDirectories(dataPath);
             }
@@ -51,13 +79,13 @@ public class JsonDataStorage implements DataStorage {
 
     @Override
     public void saveDeck(Deck deck) {
-        decks.put(deck.getId(), deck);
+        decks.put(deck.getCompactId(), deck);
         saveData();
     }
 
     @Override
     public Deck loadDeck(String id) {
-        return decks.get(id);
+        return decks.get(CompactId.parse(id));
     }
 
     @Override
@@ -67,36 +95,65 @@ public class JsonDataStorage implements DataStorage {
 
     @Override
     public boolean deleteDeck(String id) {
-        boolean removed = decks.remove(id) != null;
+        boolean removed = decks.remove(CompactId.parse(id)) != null;
         if (removed) {
             saveData();
         }
         return removed;
     }
 
+    @Override
+    public void saveBatch(Collection<Deck> decksToSave, Collection<String> idsToDelete) {
+        for (Deck deck : decksToSave) {
+            decks.put(deck.getCompactId(), deck);
+        }
+        for (String id : idsToDelete) {
+            decks.remove(CompactId.parse(id));
+        }
+        // One rewrite for the whole batch instead of one per deck
+        saveData();
+    }
+
     @Override
     public void saveToFile(String filename) {
         try {
-            File file = new File(DATA_DIR, filename);
-            objectMapper.writeValue(file, decks.values());
+            File file = new File(dataDir, filename);
+            writeDecks(file, decks.values());
         } catch (IOException e) {
             System.err.println("Помилка збереження в файл: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    protected void writeDecks(File file, Collection<Deck> decksToWrite) throws IOException {
+        objectMapper.writeValue(file, decksToWrite);
+    }
+
     @Override
     public void loadFromFile(String filename) {
         try {
-            File file = new File(DATA_DIR, filename);
-            if (file.exists()) {
+            File file = new File(dataDir, filename);
+            if (file.exists() && arenaText) {
+                // Decks are read one at a time, so only one deck's strings are on the heap at once
+                TextArena arena = new TextArena();
+                List<Deck> loadedDecks = new ArrayList<>();
+                new JsonDeckStreams(objectMapper).importDecks(file, deck -> {
+                    moveTextToArena(deck, arena);
+                    loadedDecks.add(deck);
+                }, ProgressListener.NONE);
+
+                decks.clear();
+                for (Deck deck : loadedDecks) {
+                    decks.put(deck.getCompactId(), deck);
+                }
+            } else if (file.exists()) {
                 // Use TypeReference to correctly deserialize the list of objects
                 List<Deck> loadedDecks = objectMapper.readValue(file, new TypeReference<List<Deck>>() {});
 
                 if (loadedDecks != null) {
                     decks.clear();
                     for (Deck deck : loadedDecks) {
-                        decks.put(deck.getId(), deck);
+                        decks.put(deck.getCompactId(), deck);
                     }
                 }
             }
@@ -106,12 +163,50 @@ public class JsonDataStorage implements DataStorage {
         }
     }
 
+    // Unlike saveToFile, a failed write is reported to the caller so write-behind can retry it
     private void saveData() {
-        saveToFile(DECKS_FILE);
+        try {
+            writeDecks(new File(dataDir, DECKS_FILE), decks.values());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     private void loadData() {
-        loadFromFile(DECKS_FILE);
+        // With a single worker the pre-scan is pure overhead
+        if (parallelLoad && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            loadFromFileParallel(DECKS_FILE);
+        } else {
+            loadFromFile(DECKS_FILE);
+        }
+    }
+
+    public void loadFromFileParallel(String filename) {
+        try {
+            File file = new File(dataDir, filename);
+            if (file.exists()) {
+                List<Deck> loadedDecks = new ParallelDeckLoader(objectMapper).load(file.toPath());
+                TextArena arena = arenaText ? new TextArena() : null;
+                decks.clear();
+                for (Deck deck : loadedDecks) {
+                    if (arena != null) {
+                        moveTextToArena(deck, arena);
+                    }
+                    decks.put(deck.getCompactId(), deck);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Помилка завантаження з файлу: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void moveTextToArena(Deck deck, TextArena arena) {
+        List<Card> arenaCards = new ArrayList<>(deck.getCards().size());
+        for (Card card : deck.getCards()) {
+            arenaCards.add(new ArenaCard(card, arena));
+        }
+        deck.setCards(arenaCards);
     }
 
     public ObjectMapper getObjectMapper() {
@@ -120,7 +215,7 @@ public class JsonDataStorage implements DataStorage {
 
     public void exportDecksToJson(String filename, List<Deck> decksToExport) {
         try {
-            File file = new File(DATA_DIR, filename);
+            File file = new File(dataDir, filename);
             objectMapper.writeValue(file, decksToExport);
             System.out.println("Колоди успішно експортовано в файл: " + filename);
         } catch (IOException e) {
@@ -129,9 +224,46 @@ public class JsonDataStorage implements DataStorage {
         }
     }
 
+    public void exportDecksToJson(String filename, Stream<Deck> decksToExport, ProgressListener progress) {
+        try {
+            File file = new File(dataDir, filename);
+            long exported = new JsonDeckStreams(objectMapper).exportDecks(file, decksToExport.iterator(), progress);
+            System.out.println("Колоди успішно експортовано в файл: " + filename + " (" + exported + ")");
+        } catch (IOException e) {
+            System.err.println("Помилка експорту колод: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    public long importDecksFromJson(String filename, Consumer<Deck> consumer, ProgressListener progress) {
+        try {
+            File file = new File(dataDir, filename);
+            if (file.exists()) {
+                return new JsonDeckStreams(objectMapper).importDecks(file, consumer, progress);
+            }
+        } catch (IOException e) {
+            System.err.println("Помилка імпорту колод: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    public long importCardsFromJson(String filename, DeckStreamHandler handler, ProgressListener progress) {
+        try {
+            File file = new File(dataDir, filename);
+            if (file.exists()) {
+                return new JsonDeckStreams(objectMapper).importCards(file, handler, progress);
+            }
+        } catch (IOException e) {
+            System.err.println("Помилка імпорту колод: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
     public List<Deck> importDecksFromJson(String filename) {
         try {
-            File file = new File(DATA_DIR, filename);
+            File file = new File(dataDir, filename);
             if (file.exists()) {
                 return objectMapper.readValue(file, new TypeReference<List<Deck>>() {});
             }
@@ -0,0 +1,125 @@
+package com.flashcard.storage;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+// Reads and writes the decks.json layout (a top-level array of decks) one deck or one card at a time,
+// so memory use does not depend on the size of the file.
+public class JsonDeckStreams {
+    private static final int CARD_PROGRESS_STEP = 10_000;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader deckReader;
+    private final ObjectReader cardReader;
+    private final ObjectWriter deckWriter;
+
+    public JsonDeckStreams(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.deckReader = objectMapper.readerFor(Deck.class);
+        this.cardReader = objectMapper.readerFor(Card.class);
+        // Flushing after every deck would turn a large export into thousands of tiny writes
+        this.deckWriter = objectMapper.writerFor(Deck.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public long exportDecks(File file, Iterator<Deck> decks, ProgressListener progress) throws IOException {
+        long deckCount = 0;
+        long cardCount = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(file, JsonEncoding.UTF8)) {
+            if (objectMapper.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
+                generator.useDefaultPrettyPrinter();
+            }
+            generator.writeStartArray();
+            while (decks.hasNext()) {
+                Deck deck = decks.next();
+                deckWriter.writeValue(generator, deck);
+                deckCount++;
+                cardCount += deck.getCards().size();
+                progress.onProgress(deckCount, cardCount, generator.getOutputBuffered() + file.length());
+            }
+            generator.writeEndArray();
+        }
+        progress.onProgress(deckCount, cardCount, file.length());
+        return deckCount;
+    }
+
+    public long importDecks(File file, Consumer<Deck> consumer, ProgressListener progress) throws IOException {
+        long deckCount = 0;
+        long cardCount = 0;
+        try (JsonParser parser = openArray(file)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                Deck deck = deckReader.readValue(parser);
+                deckCount++;
+                cardCount += deck.getCards().size();
+                consumer.accept(deck);
+                progress.onProgress(deckCount, cardCount, parser.currentLocation().getByteOffset());
+            }
+        }
+        return deckCount;
+    }
+
+    // Card-level variant for decks too large to hold in memory. Deck id and name are reported before
+    // the first card, which holds for every file written by exportDecks or JsonDataStorage.
+    public long importCards(File file, DeckStreamHandler handler, ProgressListener progress) throws IOException {
+        long deckCount = 0;
+        long cardCount = 0;
+        try (JsonParser parser = openArray(file)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String id = null;
+                String name = null;
+                boolean started = false;
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if ("id".equals(field)) {
+                        id = parser.getValueAsString();
+                    } else if ("name".equals(field)) {
+                        name = parser.getValueAsString();
+                    } else if ("cards".equals(field) && value == JsonToken.START_ARRAY) {
+                        handler.onDeckStart(id, name);
+                        started = true;
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            handler.onCard(cardReader.readValue(parser));
+                            cardCount++;
+                            if (cardCount % CARD_PROGRESS_STEP == 0) {
+                                progress.onProgress(deckCount, cardCount, parser.currentLocation().getByteOffset());
+                            }
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+
+                if (!started) {
+                    handler.onDeckStart(id, name);
+                }
+                handler.onDeckEnd();
+                deckCount++;
+                progress.onProgress(deckCount, cardCount, parser.currentLocation().getByteOffset());
+            }
+        }
+        return deckCount;
+    }
+
+    private JsonParser openArray(File file) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(file);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IOException("Очікувався масив колод: " + file.getName());
+        }
+        return parser;
+    }
+}
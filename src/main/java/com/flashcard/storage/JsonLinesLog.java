@@ -0,0 +1,106 @@
+package com.flashcard.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+// Append-only file of JSON records, one per line, shared by the logs kept next to the deck data.
+// A record counts once its newline is on disk. Replay stops at the first line that is unterminated
+// or does not parse, which is what a crash in the middle of an append leaves behind, and cuts the
+// file back to the end of the last good line; otherwise the next append would continue the broken
+// line and be lost together with everything after it on the following replay.
+final class JsonLinesLog {
+    private static final int NEWLINE = '\n';
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    JsonLinesLog(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    // Hands every intact record to the consumer in file order; returns how many there were
+    <T> int replay(Class<T> type, Consumer<? super T> consumer) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        int records = 0;
+        long goodEnd = 0;
+        long offset = 0;
+        boolean torn = false;
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            int b;
+            while ((b = in.read()) != -1) {
+                offset++;
+                if (b != NEWLINE) {
+                    line.write(b);
+                    continue;
+                }
+                byte[] bytes = line.toByteArray();
+                line.reset();
+                int length = bytes.length;
+                if (length > 0 && bytes[length - 1] == '\r') {
+                    length--;
+                }
+                if (length > 0) {
+                    T record;
+                    try {
+                        record = objectMapper.readValue(bytes, 0, length, type);
+                    } catch (IOException e) {
+                        System.err.println("Пошкоджений запис журналу відкинуто: " + e.getMessage());
+                        torn = true;
+                        break;
+                    }
+                    consumer.accept(record);
+                    records++;
+                }
+                goodEnd = offset;
+            }
+        }
+
+        if (torn || goodEnd < Files.size(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(goodEnd);
+            }
+        }
+        return records;
+    }
+
+    void append(Collection<?> records) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            writeAll(out, records);
+        }
+    }
+
+    // Replaces the whole log; written next to it and moved into place so a crash leaves one or the other
+    void rewrite(Collection<?> records) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+            writeAll(out, records);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeAll(OutputStream out, Collection<?> records) throws IOException {
+        for (Object record : records) {
+            out.write(objectMapper.writeValueAsBytes(record));
+            out.write(NEWLINE);
+        }
+    }
+}
\ No newline at end of file
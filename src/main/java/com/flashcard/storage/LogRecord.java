@@ -0,0 +1,89 @@
+package com.flashcard.storage;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.flashcard.model.Card;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LogRecord {
+    public enum Operation {
+        PUT_DECK,
+        DELETE_DECK,
+        PUT_CARD,
+        REMOVE_CARD
+    }
+
+    private Operation op;
+    private String deckId;
+    private String name;
+    private Card card;
+    private String cardId;
+
+    public LogRecord() {}
+
+    private LogRecord(Operation op, String deckId) {
+        this.op = op;
+        this.deckId = deckId;
+    }
+
+    public static LogRecord putDeck(String deckId, String name) {
+        LogRecord record = new LogRecord(Operation.PUT_DECK, deckId);
+        record.name = name;
+        return record;
+    }
+
+    public static LogRecord deleteDeck(String deckId) {
+        return new LogRecord(Operation.DELETE_DECK, deckId);
+    }
+
+    public static LogRecord putCard(String deckId, Card card) {
+        LogRecord record = new LogRecord(Operation.PUT_CARD, deckId);
+        record.card = card;
+        return record;
+    }
+
+    public static LogRecord removeCard(String deckId, String cardId) {
+        LogRecord record = new LogRecord(Operation.REMOVE_CARD, deckId);
+        record.cardId = cardId;
+        return record;
+    }
+
+    public Operation getOp() {
+        return op;
+    }
+
+    public void setOp(Operation op) {
+        this.op = op;
+    }
+
+    public String getDeckId() {
+        return deckId;
+    }
+
+    public void setDeckId(String deckId) {
+        this.deckId = deckId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Card getCard() {
+        return card;
+    }
+
+    public void setCard(Card card) {
+        this.card = card;
+    }
+
+    public String getCardId() {
+        return cardId;
+    }
+
+    public void setCardId(String cardId) {
+        this.cardId = cardId;
+    }
+}
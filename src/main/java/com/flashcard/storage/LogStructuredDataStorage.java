@@ -0,0 +1,293 @@
+package com.flashcard.storage;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.model.Card;
+import com.flashcard.model.CompactId;
+import com.flashcard.model.Deck;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+public class LogStructuredDataStorage implements DataStorage {
+    private static final String DATA_DIR = "data";
+    private static final String SNAPSHOT_FILE = "decks.json";
+    private static final String LOG_FILE = "decks.log";
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 10_000;
+
+    private final Path dataDir;
+    private final int compactionThreshold;
+    private final ObjectMapper objectMapper;
+    private final JsonLinesLog log;
+
+    private final Map<CompactId, Deck> decks;
+    // Last state written to disk; saveDeck diffs against it to emit card-level records
+    private final Map<CompactId, PersistedDeck> persisted;
+    private int recordsSinceSnapshot;
+
+    public LogStructuredDataStorage() {
+        this(DATA_DIR, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public LogStructuredDataStorage(String dataDir) {
+        this(dataDir, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public LogStructuredDataStorage(String dataDir, int compactionThreshold) {
+        if (compactionThreshold <= 0) {
+            throw new IllegalArgumentException("Поріг компактизації має бути додатним");
+        }
+        this.dataDir = Paths.get(dataDir);
+        this.compactionThreshold = compactionThreshold;
+        this.objectMapper = createObjectMapper();
+        this.log = new JsonLinesLog(this.dataDir.resolve(LOG_FILE), objectMapper);
+        this.decks = new HashMap<>();
+        this.persisted = new LinkedHashMap<>();
+        createDataDirectory();
+        loadData();
+    }
+
+    private ObjectMapper createObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        // Log records and snapshots are written compactly, one record per line
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return mapper;
+    }
+
+    private void createDataDirectory() {
+        try {
+            if (!Files.exists(dataDir)) {
+                Files.createDirectories(dataDir);
+            }
+        } catch (IOException e) {
+            System.err.println("Помилка створення директорії: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void saveDeck(Deck deck) {
+        decks.put(deck.getCompactId(), deck);
+
+        List<LogRecord> records = diff(deck);
+        if (!records.isEmpty()) {
+            append(records);
+        }
+    }
+
+    @Override
+    public synchronized Deck loadDeck(String id) {
+        return decks.get(CompactId.parse(id));
+    }
+
+    @Override
+    public synchronized List<Deck> loadAllDecks() {
+        return new ArrayList<>(decks.values());
+    }
+
+    @Override
+    public synchronized boolean deleteDeck(String id) {
+        boolean removed = decks.remove(CompactId.parse(id)) != null;
+        if (removed) {
+            List<LogRecord> records = new ArrayList<>();
+            records.add(LogRecord.deleteDeck(id));
+            append(records);
+        }
+        return removed;
+    }
+
+    @Override
+    public synchronized void saveToFile(String filename) {
+        try {
+            writeSnapshot(dataDir.resolve(filename));
+        } catch (IOException e) {
+            System.err.println("Помилка збереження в файл: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized void loadFromFile(String filename) {
+        try {
+            File file = dataDir.resolve(filename).toFile();
+            if (file.exists()) {
+                List<Deck> loadedDecks = objectMapper.readValue(file, new TypeReference<List<Deck>>() {});
+                if (loadedDecks != null) {
+                    decks.clear();
+                    persisted.clear();
+                    for (Deck deck : loadedDecks) {
+                        decks.put(deck.getCompactId(), deck);
+                        persisted.put(deck.getCompactId(), PersistedDeck.of(deck));
+                    }
+                    compact();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Помилка завантаження з файлу: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    public synchronized void compact() {
+        try {
+            writeSnapshot(dataDir.resolve(SNAPSHOT_FILE));
+            log.rewrite(Collections.emptyList());
+            recordsSinceSnapshot = 0;
+        } catch (IOException e) {
+            System.err.println("Помилка компактизації журналу: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    public synchronized int getRecordsSinceSnapshot() {
+        return recordsSinceSnapshot;
+    }
+
+    private List<LogRecord> diff(Deck deck) {
+        List<LogRecord> records = new ArrayList<>();
+        PersistedDeck previous = persisted.get(deck.getCompactId());
+
+        if (previous == null || !Objects.equals(previous.name, deck.getName())) {
+            records.add(LogRecord.putDeck(deck.getId(), deck.getName()));
+        }
+
+        Set<CompactId> present = new HashSet<>();
+        for (Card card : deck.getCards()) {
+            present.add(card.getCompactId());
+            Card old = previous != null ? previous.cards.get(card.getCompactId()) : null;
+            if (old == null
+                    || !Objects.equals(old.getQuestion(), card.getQuestion())
+                    || !Objects.equals(old.getAnswer(), card.getAnswer())) {
+                records.add(LogRecord.putCard(deck.getId(), copyOf(card)));
+            }
+        }
+
+        if (previous != null) {
+            for (CompactId cardId : previous.cards.keySet()) {
+                if (!present.contains(cardId)) {
+                    records.add(LogRecord.removeCard(deck.getId(), cardId.toString()));
+                }
+            }
+        }
+        return records;
+    }
+
+    private void append(List<LogRecord> records) {
+        try {
+            log.append(records);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        for (LogRecord record : records) {
+            apply(record);
+        }
+        recordsSinceSnapshot += records.size();
+        if (recordsSinceSnapshot >= compactionThreshold) {
+            compact();
+        }
+    }
+
+    private void apply(LogRecord record) {
+        CompactId deckId = CompactId.parse(record.getDeckId());
+        PersistedDeck deck = persisted.get(deckId);
+        switch (record.getOp()) {
+            case PUT_DECK:
+                if (deck == null) {
+                    deck = new PersistedDeck();
+                    persisted.put(deckId, deck);
+                }
+                deck.name = record.getName();
+                break;
+            case DELETE_DECK:
+                persisted.remove(deckId);
+                break;
+            case PUT_CARD:
+                if (deck != null && record.getCard() != null) {
+                    deck.cards.put(record.getCard().getCompactId(), record.getCard());
+                }
+                break;
+            case REMOVE_CARD:
+                if (deck != null) {
+                    deck.cards.remove(CompactId.parse(record.getCardId()));
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void writeSnapshot(Path target) throws IOException {
+        List<Deck> snapshot = new ArrayList<>(persisted.size());
+        for (Map.Entry<CompactId, PersistedDeck> entry : persisted.entrySet()) {
+            snapshot.add(entry.getValue().toDeck(entry.getKey()));
+        }
+
+        // Write next to the target and move into place so a crash never leaves a half-written snapshot
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        objectMapper.writeValue(temp.toFile(), snapshot);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void loadData() {
+        try {
+            File snapshotFile = dataDir.resolve(SNAPSHOT_FILE).toFile();
+            if (snapshotFile.exists()) {
+                List<Deck> loadedDecks = objectMapper.readValue(snapshotFile, new TypeReference<List<Deck>>() {});
+                if (loadedDecks != null) {
+                    for (Deck deck : loadedDecks) {
+                        persisted.put(deck.getCompactId(), PersistedDeck.of(deck));
+                    }
+                }
+            }
+            recordsSinceSnapshot = log.replay(LogRecord.class, this::apply);
+        } catch (IOException e) {
+            System.err.println("Помилка завантаження з файлу: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        for (Map.Entry<CompactId, PersistedDeck> entry : persisted.entrySet()) {
+            decks.put(entry.getKey(), entry.getValue().toDeck(entry.getKey()));
+        }
+    }
+
+    private static Card copyOf(Card card) {
+        return new Card(card.getCompactId(), card.getQuestion(), card.getAnswer());
+    }
+
+    private static class PersistedDeck {
+        private String name;
+        private final Map<CompactId, Card> cards = new LinkedHashMap<>();
+
+        static PersistedDeck of(Deck deck) {
+            PersistedDeck persistedDeck = new PersistedDeck();
+            persistedDeck.name = deck.getName();
+            for (Card card : deck.getCards()) {
+                persistedDeck.cards.put(card.getCompactId(), copyOf(card));
+            }
+            return persistedDeck;
+        }
+
+        Deck toDeck(CompactId id) {
+            Deck deck = new Deck(id, name);
+            for (Card card : cards.values()) {
+                deck.addCard(copyOf(card));
+            }
+            return deck;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.flashcard.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Fixed-size pages addressed by number on top of a FileChannel
+public class PageFile {
+    private final FileChannel channel;
+    private final int pageSize;
+
+    public PageFile(Path file, int pageSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.pageSize = pageSize;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    public ByteBuffer read(int pageId) throws IOException {
+        ByteBuffer page = ByteBuffer.allocate(pageSize);
+        long position = (long) pageId * pageSize;
+        while (page.hasRemaining()) {
+            int read = channel.read(page, position + page.position());
+            if (read < 0) {
+                // Pages past the end of the file read back as zeroes
+                break;
+            }
+        }
+        page.clear();
+        return page;
+    }
+
+    public void write(int pageId, ByteBuffer page) throws IOException {
+        ByteBuffer source = page.duplicate();
+        source.clear();
+        long position = (long) pageId * pageSize;
+        while (source.hasRemaining()) {
+            channel.write(source, position + source.position());
+        }
+    }
+
+    public void force() throws IOException {
+        channel.force(false);
+    }
+
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,173 @@
+package com.flashcard.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.flashcard.model.Deck;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+// Loads a decks.json array on a fork-join pool. A single byte scan finds where each top-level deck
+// object starts and ends, and runs of whole decks are then parsed independently.
+public class ParallelDeckLoader {
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int MIN_CHUNK_BYTES = 64 * 1024;
+
+    private final ObjectReader deckReader;
+    private final ForkJoinPool pool;
+
+    public ParallelDeckLoader(ObjectMapper objectMapper) {
+        this(objectMapper, ForkJoinPool.commonPool());
+    }
+
+    public ParallelDeckLoader(ObjectMapper objectMapper, ForkJoinPool pool) {
+        this.deckReader = objectMapper.readerFor(Deck.class);
+        this.pool = pool;
+    }
+
+    public List<Deck> load(Path file) throws IOException {
+        return parse(Files.readAllBytes(file));
+    }
+
+    public List<Deck> parse(byte[] json) throws IOException {
+        int[] bounds = scanDeckBounds(json);
+        int deckCount = bounds.length / 2;
+        if (deckCount == 0) {
+            return new ArrayList<>();
+        }
+
+        int targetChunks = Math.max(1, Math.min(pool.getParallelism() * CHUNKS_PER_THREAD, json.length / MIN_CHUNK_BYTES));
+        long bytesPerChunk = Math.max(1, (long) json.length / targetChunks);
+
+        List<ForkJoinTask<List<Deck>>> tasks = new ArrayList<>();
+        int first = 0;
+        while (first < deckCount) {
+            // Cut on deck boundaries once a chunk holds roughly its share of bytes
+            int last = first;
+            while (last + 1 < deckCount && bounds[2 * (last + 1) + 1] - bounds[2 * first] < bytesPerChunk) {
+                last++;
+            }
+            tasks.add(pool.submit(new ChunkTask(json, bounds, first, last + 1)));
+            first = last + 1;
+        }
+
+        List<Deck> decks = new ArrayList<>(deckCount);
+        try {
+            for (ForkJoinTask<List<Deck>> task : tasks) {
+                decks.addAll(task.join());
+            }
+        } catch (UncheckedIOException e) {
+            // join() may rethrow a copy that wraps the original exception
+            Throwable cause = e;
+            while (cause instanceof UncheckedIOException) {
+                cause = cause.getCause();
+            }
+            throw cause instanceof IOException ? (IOException) cause : new IOException(e);
+        }
+        return decks;
+    }
+
+    // Returns [start0, end0, start1, end1, ...] byte offsets of every object in the top-level array
+    static int[] scanDeckBounds(byte[] json) throws IOException {
+        int position = skipWhitespace(json, 0);
+        if (position >= json.length || json[position] != '[') {
+            throw new IOException("Очікувався масив колод");
+        }
+
+        int[] bounds = new int[64];
+        int count = 0;
+        int depth = 0;
+        int start = -1;
+        boolean inString = false;
+
+        for (int i = position + 1; i < json.length; i++) {
+            byte b = json[i];
+            if (inString) {
+                if (b == '\\') {
+                    i++;
+                } else if (b == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+
+            if (b == '"') {
+                inString = true;
+            } else if (b == '{' || b == '[') {
+                if (depth == 0) {
+                    if (b != '{') {
+                        throw new IOException("Очікувався об'єкт колоди на позиції " + i);
+                    }
+                    start = i;
+                }
+                depth++;
+            } else if (b == '}' || b == ']') {
+                if (depth == 0) {
+                    // Closing bracket of the top-level array
+                    return Arrays.copyOf(bounds, count);
+                }
+                depth--;
+                if (depth == 0) {
+                    if (count + 2 > bounds.length) {
+                        bounds = Arrays.copyOf(bounds, bounds.length * 2);
+                    }
+                    bounds[count++] = start;
+                    bounds[count++] = i + 1;
+                }
+            }
+        }
+        throw new IOException("Неочікуваний кінець масиву колод");
+    }
+
+    private static int skipWhitespace(byte[] json, int position) {
+        while (position < json.length && (json[position] == ' ' || json[position] == '\n'
+                || json[position] == '\r' || json[position] == '\t')) {
+            position++;
+        }
+        // A UTF-8 byte order mark is allowed before the array
+        if (position + 2 < json.length && (json[position] & 0xff) == 0xEF
+                && (json[position + 1] & 0xff) == 0xBB && (json[position + 2] & 0xff) == 0xBF) {
+            return skipWhitespace(json, position + 3);
+        }
+        return position;
+    }
+
+    private class ChunkTask extends RecursiveTask<List<Deck>> {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] json;
+        private final int[] bounds;
+        private final int from;
+        private final int to;
+
+        ChunkTask(byte[] json, int[] bounds, int from, int to) {
+            this.json = json;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Deck> compute() {
+            List<Deck> decks = new ArrayList<>(to - from);
+            try {
+                for (int i = from; i < to; i++) {
+                    int start = bounds[2 * i];
+                    int end = bounds[2 * i + 1];
+                    decks.add(deckReader.readValue(json, start, end - start));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return decks;
+        }
+    }
+}
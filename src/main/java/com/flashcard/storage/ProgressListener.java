@@ -0,0 +1,8 @@
+package com.flashcard.storage;
+
+@FunctionalInterface
+public interface ProgressListener {
+    ProgressListener NONE = (decks, cards, bytes) -> {};
+
+    void onProgress(long decks, long cards, long bytes);
+}
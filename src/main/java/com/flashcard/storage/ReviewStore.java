@@ -0,0 +1,144 @@
+package com.flashcard.storage;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.model.CompactId;
+import com.flashcard.model.ReviewState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Review states kept next to the deck data in an append-only JSON-lines log, one line per graded
+// answer. The log is rewritten with only the latest state of each card once stale lines dominate.
+// It works the same whichever DataStorage holds the decks.
+public class ReviewStore {
+    private static final String DATA_DIR = "data";
+    private static final String LOG_FILE = "reviews.log";
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 10_000;
+
+    // Null for a store that is never written to disk
+    private final Path dataDir;
+    private final int compactionThreshold;
+    private final ObjectMapper objectMapper;
+    private final JsonLinesLog log;
+    private final Map<CompactId, Map<CompactId, ReviewState>> states;
+    private int records;
+
+    public ReviewStore() {
+        this(DATA_DIR, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public ReviewStore(String dataDir) {
+        this(dataDir, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public ReviewStore(String dataDir, int compactionThreshold) {
+        if (compactionThreshold <= 0) {
+            throw new IllegalArgumentException("Поріг компактизації має бути додатним");
+        }
+        this.dataDir = dataDir != null ? Paths.get(dataDir) : null;
+        this.compactionThreshold = compactionThreshold;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.log = this.dataDir != null ? new JsonLinesLog(this.dataDir.resolve(LOG_FILE), objectMapper) : null;
+        this.states = new HashMap<>();
+        if (this.dataDir != null) {
+            load();
+        }
+    }
+
+    public static ReviewStore inMemory() {
+        return new ReviewStore(null, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    // Copies of the saved states of a deck, keyed by card id
+    public synchronized Map<CompactId, ReviewState> getDeckStates(CompactId deckId) {
+        Map<CompactId, ReviewState> copies = new HashMap<>();
+        Map<CompactId, ReviewState> deckStates = states.get(deckId);
+        if (deckStates != null) {
+            for (ReviewState state : deckStates.values()) {
+                copies.put(state.getCompactCardId(), new ReviewState(state));
+            }
+        }
+        return copies;
+    }
+
+    public synchronized ReviewState getState(String deckId, String cardId) {
+        return getState(CompactId.parse(deckId), CompactId.parse(cardId));
+    }
+
+    public synchronized ReviewState getState(CompactId deckId, CompactId cardId) {
+        Map<CompactId, ReviewState> deckStates = states.get(deckId);
+        ReviewState state = deckStates != null ? deckStates.get(cardId) : null;
+        return state != null ? new ReviewState(state) : null;
+    }
+
+    public synchronized void save(ReviewState state) {
+        ReviewState copy = new ReviewState(state);
+        if (dataDir != null) {
+            try {
+                log.append(Collections.singletonList(copy));
+            } catch (IOException e) {
+                System.err.println("Помилка запису стану повторення: " + e.getMessage());
+                e.printStackTrace();
+                return;
+            }
+            records++;
+        }
+        put(copy);
+
+        if (records >= compactionThreshold && records > 2 * size()) {
+            compact();
+        }
+    }
+
+    public synchronized void compact() {
+        if (dataDir == null) {
+            return;
+        }
+        try {
+            List<ReviewState> latest = new ArrayList<>(size());
+            for (Map<CompactId, ReviewState> deckStates : states.values()) {
+                latest.addAll(deckStates.values());
+            }
+            log.rewrite(latest);
+            records = latest.size();
+        } catch (IOException e) {
+            System.err.println("Помилка компактизації журналу повторень: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    public synchronized int getRecordCount() {
+        return records;
+    }
+
+    private int size() {
+        int size = 0;
+        for (Map<CompactId, ReviewState> deckStates : states.values()) {
+            size += deckStates.size();
+        }
+        return size;
+    }
+
+    private void put(ReviewState state) {
+        states.computeIfAbsent(state.getCompactDeckId(), id -> new HashMap<>()).put(state.getCompactCardId(), state);
+    }
+
+    private void load() {
+        try {
+            Files.createDirectories(dataDir);
+            records = log.replay(ReviewState.class, this::put);
+        } catch (IOException e) {
+            System.err.println("Помилка завантаження станів повторення: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
\ No newline at end of file
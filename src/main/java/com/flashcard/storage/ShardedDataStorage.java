@@ -0,0 +1,322 @@
+package com.flashcard.storage;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.model.CompactId;
+import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSummary;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+public class ShardedDataStorage implements DataStorage {
+    private static final String DATA_DIR = "data";
+    private static final String DECKS_DIR = "decks";
+    private static final String MANIFEST_FILE = "manifest.json";
+    private static final String MANIFEST_LOG = "manifest.log";
+    // Card count of a manifest log entry that removes the deck
+    private static final int DELETED = -1;
+    // The log is folded into manifest.json once it has more entries than this and than there are decks
+    private static final int MIN_COMPACT_ENTRIES = 64;
+    private static final String LEGACY_DECKS_FILE = "decks.json";
+    private static final String SHARD_EXTENSION = ".json";
+    private static final Pattern SAFE_ID = Pattern.compile("[A-Za-z0-9_-]{1,100}");
+
+    private final Path dataDir;
+    private final Path decksDir;
+    private final ObjectMapper objectMapper;
+    // Summary changes since manifest.json was last written, so one deck save never rewrites the
+    // summaries of all the others
+    private final JsonLinesLog manifestLog;
+    private int manifestLogEntries;
+
+    // Manifest entries for every deck on disk; card bodies are parsed only on first loadDeck
+    private final Map<CompactId, DeckSummary> manifest;
+    private final Map<CompactId, Deck> loadedDecks;
+
+    public ShardedDataStorage() {
+        this(DATA_DIR);
+    }
+
+    public ShardedDataStorage(String dataDir) {
+        this.dataDir = Paths.get(dataDir);
+        this.decksDir = this.dataDir.resolve(DECKS_DIR);
+        this.objectMapper = createObjectMapper();
+        this.manifestLog = new JsonLinesLog(this.dataDir.resolve(MANIFEST_LOG), objectMapper);
+        this.manifest = new LinkedHashMap<>();
+        this.loadedDecks = new HashMap<>();
+        createDataDirectory();
+        loadManifest();
+    }
+
+    private ObjectMapper createObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return mapper;
+    }
+
+    private void createDataDirectory() {
+        try {
+            Files.createDirectories(decksDir);
+        } catch (IOException e) {
+            System.err.println("Помилка створення директорії: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void saveDeck(Deck deck) {
+        try {
+            writeShard(deck);
+            loadedDecks.put(deck.getCompactId(), deck);
+            DeckSummary changed = updateManifest(deck);
+            if (changed != null) {
+                appendManifest(Collections.singletonList(changed));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void saveBatch(Collection<Deck> decksToSave, Collection<String> idsToDelete) {
+        try {
+            List<DeckSummary> changes = new ArrayList<>();
+            for (Deck deck : decksToSave) {
+                writeShard(deck);
+                loadedDecks.put(deck.getCompactId(), deck);
+                DeckSummary changed = updateManifest(deck);
+                if (changed != null) {
+                    changes.add(changed);
+                }
+            }
+            for (String id : idsToDelete) {
+                CompactId key = CompactId.parse(id);
+                if (manifest.remove(key) != null) {
+                    Files.deleteIfExists(shardPath(id));
+                    changes.add(new DeckSummary(id, null, DELETED));
+                }
+                loadedDecks.remove(key);
+            }
+            appendManifest(changes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized Deck loadDeck(String id) {
+        return loadDeck(CompactId.parse(id));
+    }
+
+    private Deck loadDeck(CompactId id) {
+        Deck deck = loadedDecks.get(id);
+        if (deck != null || !manifest.containsKey(id)) {
+            return deck;
+        }
+
+        try {
+            deck = objectMapper.readValue(shardPath(id.toString()).toFile(), Deck.class);
+            loadedDecks.put(id, deck);
+        } catch (IOException e) {
+            System.err.println("Помилка завантаження колоди: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return deck;
+    }
+
+    @Override
+    public synchronized List<Deck> loadAllDecks() {
+        List<Deck> decks = new ArrayList<>(manifest.size());
+        for (CompactId id : manifest.keySet()) {
+            Deck deck = loadDeck(id);
+            if (deck != null) {
+                decks.add(deck);
+            }
+        }
+        return decks;
+    }
+
+    @Override
+    public synchronized List<DeckSummary> loadDeckSummaries() {
+        List<DeckSummary> summaries = new ArrayList<>(manifest.size());
+        for (DeckSummary summary : manifest.values()) {
+            summaries.add(new DeckSummary(summary.getId(), summary.getName(), summary.getCardCount()));
+        }
+        return summaries;
+    }
+
+    @Override
+    public synchronized boolean deleteDeck(String id) {
+        CompactId key = CompactId.parse(id);
+        boolean removed = manifest.remove(key) != null;
+        loadedDecks.remove(key);
+        if (removed) {
+            try {
+                Files.deleteIfExists(shardPath(id));
+                appendManifest(Collections.singletonList(new DeckSummary(id, null, DELETED)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public synchronized void saveToFile(String filename) {
+        try {
+            File file = dataDir.resolve(filename).toFile();
+            objectMapper.writeValue(file, loadAllDecks());
+        } catch (IOException e) {
+            System.err.println("Помилка збереження в файл: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized void loadFromFile(String filename) {
+        try {
+            File file = dataDir.resolve(filename).toFile();
+            if (file.exists()) {
+                List<Deck> decks = objectMapper.readValue(file, new TypeReference<List<Deck>>() {});
+                if (decks != null) {
+                    for (CompactId id : new ArrayList<>(manifest.keySet())) {
+                        Files.deleteIfExists(shardPath(id.toString()));
+                    }
+                    manifest.clear();
+                    loadedDecks.clear();
+                    importDecks(decks);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Помилка завантаження з файлу: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void importDecks(List<Deck> decks) throws IOException {
+        for (Deck deck : decks) {
+            writeShard(deck);
+            manifest.put(deck.getCompactId(), DeckSummary.of(deck));
+        }
+        writeManifest();
+    }
+
+    private void loadManifest() {
+        try {
+            File manifestFile = dataDir.resolve(MANIFEST_FILE).toFile();
+            // Until the first compaction every change is only in the log
+            boolean logged = Files.exists(dataDir.resolve(MANIFEST_LOG));
+            if (manifestFile.exists()) {
+                List<DeckSummary> summaries =
+                        objectMapper.readValue(manifestFile, new TypeReference<List<DeckSummary>>() {});
+                for (DeckSummary summary : summaries) {
+                    manifest.put(CompactId.parse(summary.getId()), summary);
+                }
+            } else if (!logged && hasShards()) {
+                rebuildManifest();
+            } else if (!logged && dataDir.resolve(LEGACY_DECKS_FILE).toFile().exists()) {
+                // First start after switching from the single-file layout
+                importDecks(objectMapper.readValue(dataDir.resolve(LEGACY_DECKS_FILE).toFile(),
+                        new TypeReference<List<Deck>>() {}));
+            }
+            manifestLogEntries = manifestLog.replay(DeckSummary.class, entry -> {
+                if (entry.getCardCount() == DELETED) {
+                    manifest.remove(CompactId.parse(entry.getId()));
+                } else {
+                    manifest.put(CompactId.parse(entry.getId()), entry);
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Помилка завантаження маніфесту: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private boolean hasShards() throws IOException {
+        try (DirectoryStream<Path> shards = Files.newDirectoryStream(decksDir, "*" + SHARD_EXTENSION)) {
+            return shards.iterator().hasNext();
+        }
+    }
+
+    private void rebuildManifest() throws IOException {
+        try (DirectoryStream<Path> shards = Files.newDirectoryStream(decksDir, "*" + SHARD_EXTENSION)) {
+            for (Path shard : shards) {
+                Deck deck = objectMapper.readValue(shard.toFile(), Deck.class);
+                manifest.put(deck.getCompactId(), DeckSummary.of(deck));
+            }
+        }
+        writeManifest();
+    }
+
+    private void writeShard(Deck deck) throws IOException {
+        writeAtomically(shardPath(deck.getId()), objectMapper.writeValueAsBytes(deck));
+    }
+
+    // Returns the deck's new summary, or null if its name and card count are unchanged
+    private DeckSummary updateManifest(Deck deck) {
+        DeckSummary summary = DeckSummary.of(deck);
+        DeckSummary previous = manifest.put(deck.getCompactId(), summary);
+        if (previous != null && Objects.equals(previous.getName(), summary.getName())
+                && previous.getCardCount() == summary.getCardCount()) {
+            return null;
+        }
+        return summary;
+    }
+
+    private void appendManifest(List<DeckSummary> changes) throws IOException {
+        if (changes.isEmpty()) {
+            return;
+        }
+        manifestLog.append(changes);
+        manifestLogEntries += changes.size();
+        if (manifestLogEntries > Math.max(MIN_COMPACT_ENTRIES, manifest.size())) {
+            writeManifest();
+        }
+    }
+
+    // The log is emptied only after the new manifest is in place; replaying it again is harmless
+    private void writeManifest() throws IOException {
+        writeAtomically(dataDir.resolve(MANIFEST_FILE), objectMapper.writeValueAsBytes(manifest.values()));
+        manifestLog.rewrite(Collections.emptyList());
+        manifestLogEntries = 0;
+    }
+
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path shardPath(String deckId) {
+        return decksDir.resolve(shardName(deckId) + SHARD_EXTENSION);
+    }
+
+    static String shardName(String deckId) {
+        if (SAFE_ID.matcher(deckId).matches()) {
+            return deckId;
+        }
+        // Ids that are not safe file names are hex-encoded; the prefix cannot clash with a safe id
+        StringBuilder name = new StringBuilder("~");
+        for (byte b : deckId.getBytes(StandardCharsets.UTF_8)) {
+            name.append(String.format("%02x", b & 0xff));
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,158 @@
+package com.flashcard.storage;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.model.CardStats;
+import com.flashcard.model.CompactId;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Card statistics in an append-only JSON-lines log next to the deck data. Callers hand over whole
+// batches, so a batch costs one write however many cards it covers. Like the review log, it is
+// rewritten with only the latest line per card once stale lines dominate.
+public class StatisticsStore {
+    private static final String DATA_DIR = "data";
+    private static final String LOG_FILE = "stats.log";
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 10_000;
+
+    // Null for a store that is never written to disk
+    private final Path dataDir;
+    private final int compactionThreshold;
+    private final ObjectMapper objectMapper;
+    private final JsonLinesLog log;
+    private final Map<CompactId, Map<CompactId, CardStats>> stats;
+    private int records;
+    private long batches;
+
+    public StatisticsStore() {
+        this(DATA_DIR, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public StatisticsStore(String dataDir) {
+        this(dataDir, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public StatisticsStore(String dataDir, int compactionThreshold) {
+        if (compactionThreshold <= 0) {
+            throw new IllegalArgumentException("Поріг компактизації має бути додатним");
+        }
+        this.dataDir = dataDir != null ? Paths.get(dataDir) : null;
+        this.compactionThreshold = compactionThreshold;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.log = this.dataDir != null ? new JsonLinesLog(this.dataDir.resolve(LOG_FILE), objectMapper) : null;
+        this.stats = new HashMap<>();
+        if (this.dataDir != null) {
+            load();
+        }
+    }
+
+    public static StatisticsStore inMemory() {
+        return new StatisticsStore(null, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public boolean isPersistent() {
+        return dataDir != null;
+    }
+
+    // Every saved card of every deck, as copies
+    public synchronized List<CardStats> loadAll() {
+        List<CardStats> all = new ArrayList<>();
+        for (Map<CompactId, CardStats> deckStats : stats.values()) {
+            for (CardStats cardStats : deckStats.values()) {
+                all.add(copy(cardStats));
+            }
+        }
+        return all;
+    }
+
+    // Throws UncheckedIOException if the batch could not be written; nothing of it is kept then
+    public synchronized void saveAll(Collection<CardStats> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (dataDir != null) {
+            try {
+                log.append(batch);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            records += batch.size();
+        }
+        for (CardStats cardStats : batch) {
+            put(copy(cardStats));
+        }
+        batches++;
+
+        if (records >= compactionThreshold && records > 2 * size()) {
+            compact();
+        }
+    }
+
+    public synchronized void compact() {
+        if (dataDir == null) {
+            return;
+        }
+        try {
+            List<CardStats> latest = new ArrayList<>(size());
+            for (Map<CompactId, CardStats> deckStats : stats.values()) {
+                latest.addAll(deckStats.values());
+            }
+            log.rewrite(latest);
+            records = latest.size();
+        } catch (IOException e) {
+            System.err.println("Помилка компактизації журналу статистики: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    public synchronized int getRecordCount() {
+        return records;
+    }
+
+    // Batches written since the store was opened
+    public synchronized long getBatchCount() {
+        return batches;
+    }
+
+    private int size() {
+        int size = 0;
+        for (Map<CompactId, CardStats> deckStats : stats.values()) {
+            size += deckStats.size();
+        }
+        return size;
+    }
+
+    private void put(CardStats cardStats) {
+        stats.computeIfAbsent(cardStats.getCompactDeckId(), id -> new HashMap<>()).put(cardStats.getCompactCardId(), cardStats);
+    }
+
+    private static CardStats copy(CardStats other) {
+        CardStats copy = new CardStats(other.getCompactDeckId(), other.getCompactCardId());
+        copy.setAttempts(other.getAttempts());
+        copy.setCorrect(other.getCorrect());
+        copy.setCurrentStreak(other.getCurrentStreak());
+        copy.setBestStreak(other.getBestStreak());
+        copy.setLastSeenAt(other.getLastSeenAt());
+        return copy;
+    }
+
+    private void load() {
+        try {
+            Files.createDirectories(dataDir);
+            records = log.replay(CardStats.class, this::put);
+        } catch (IOException e) {
+            System.err.println("Помилка завантаження статистики: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,364 @@
+package com.flashcard.storage;
+
+import com.flashcard.model.CompactId;
+import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSummary;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+// Buffers saves in memory and hands them to the wrapped storage in batches from a background thread.
+// The queue holds read-only views taken at saveDeck time, so queuing a save costs the same however
+// large the deck is and the flusher never serializes a deck that is being edited. Readers get views
+// too. Only decks edited through updateDeck get an editable copy, and at most maxLiveDecks of those
+// are kept, so lazy backends still decide what stays in memory.
+public class WriteBehindDataStorage implements DataStorage {
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+    public static final int DEFAULT_MAX_DIRTY_DECKS = 100;
+    public static final int DEFAULT_MAX_LIVE_DECKS = 32;
+    private static final int LOCK_STRIPES = 64;
+
+    private final DataStorage delegate;
+    private final int maxDirtyDecks;
+    private final ScheduledExecutorService flusher;
+
+    // Editable decks in least-recently-used order. Every edit is queued as a view as soon as it is
+    // made, so dropping one loses nothing; the next update copies the latest view again
+    private final Map<CompactId, Deck> liveDecks;
+    // Serializes updates and saves of one deck, so two sessions never edit separate copies of it
+    private final Object[] deckLocks;
+    private final Object pendingLock = new Object();
+    private Map<String, Deck> pendingSaves;
+    private Set<String> pendingDeletes;
+    // Guards every call into the delegate, which is not required to be thread-safe
+    private final Object delegateLock = new Object();
+
+    // Guarded by pendingLock so a save cannot slip in between close() and its final drain
+    private boolean closed;
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
+    private volatile long flushCount;
+    private volatile long flushedDecks;
+
+    public WriteBehindDataStorage(DataStorage delegate) {
+        this(delegate, DEFAULT_FLUSH_INTERVAL_MILLIS, DEFAULT_MAX_DIRTY_DECKS);
+    }
+
+    public WriteBehindDataStorage(DataStorage delegate, long flushIntervalMillis, int maxDirtyDecks) {
+        this(delegate, flushIntervalMillis, maxDirtyDecks, DEFAULT_MAX_LIVE_DECKS);
+    }
+
+    public WriteBehindDataStorage(DataStorage delegate, long flushIntervalMillis, int maxDirtyDecks,
+                                  int maxLiveDecks) {
+        if (flushIntervalMillis <= 0 || maxDirtyDecks <= 0 || maxLiveDecks <= 0) {
+            throw new IllegalArgumentException("Інтервал і ліміти колод мають бути додатними");
+        }
+        this.delegate = delegate;
+        this.maxDirtyDecks = maxDirtyDecks;
+        this.liveDecks = new LinkedHashMap<CompactId, Deck>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CompactId, Deck> eldest) {
+                return size() > maxLiveDecks;
+            }
+        };
+        this.deckLocks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            deckLocks[i] = new Object();
+        }
+        this.pendingSaves = new LinkedHashMap<>();
+        this.pendingDeletes = new LinkedHashSet<>();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "flashcard-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Later edits of the saved instance are not seen until it is saved again
+    @Override
+    public void saveDeck(Deck deck) {
+        synchronized (lockFor(deck.getCompactId())) {
+            // The saved version supersedes any editable copy
+            removeLive(deck.getCompactId());
+            enqueue(deck.readOnlyView());
+        }
+    }
+
+    // Returns a read-only view; use updateDeck, or new Deck(view) and saveDeck, to make changes
+    @Override
+    public Deck loadDeck(String id) {
+        CompactId compactId = CompactId.parse(id);
+        Deck live = getLive(compactId);
+        if (live != null) {
+            return live.readOnlyView();
+        }
+        synchronized (pendingLock) {
+            if (pendingDeletes.contains(id)) {
+                return null;
+            }
+            Deck pending = pendingSaves.get(id);
+            if (pending != null) {
+                return pending;
+            }
+        }
+
+        // A flush holds delegateLock from taking the batch until it is written, so a deck that just
+        // left the queue is already in the delegate here
+        synchronized (delegateLock) {
+            Deck stored = delegate.loadDeck(id);
+            return stored != null ? stored.readOnlyView() : null;
+        }
+    }
+
+    @Override
+    public boolean updateDeck(String id, Predicate<Deck> change) {
+        CompactId compactId = CompactId.parse(id);
+        synchronized (lockFor(compactId)) {
+            Deck live = getLive(compactId);
+            if (live == null) {
+                Deck current = loadDeck(id);
+                if (current == null) {
+                    return false;
+                }
+                live = new Deck(current);
+            }
+            if (!change.test(live)) {
+                return false;
+            }
+            synchronized (liveDecks) {
+                liveDecks.put(compactId, live);
+            }
+            enqueue(live.readOnlyView());
+        }
+        return true;
+    }
+
+    @Override
+    public List<Deck> loadAllDecks() {
+        List<String> ids = new ArrayList<>();
+        for (DeckSummary summary : loadDeckSummaries()) {
+            ids.add(summary.getId());
+        }
+        List<Deck> decks = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Deck deck = loadDeck(id);
+            if (deck != null) {
+                decks.add(deck);
+            }
+        }
+        return decks;
+    }
+
+    @Override
+    public List<DeckSummary> loadDeckSummaries() {
+        List<DeckSummary> stored;
+        synchronized (delegateLock) {
+            stored = delegate.loadDeckSummaries();
+        }
+
+        Map<String, DeckSummary> merged = new LinkedHashMap<>();
+        for (DeckSummary summary : stored) {
+            merged.put(summary.getId(), summary);
+        }
+        synchronized (pendingLock) {
+            for (String id : pendingDeletes) {
+                merged.remove(id);
+            }
+            for (Deck deck : pendingSaves.values()) {
+                merged.put(deck.getId(), DeckSummary.of(deck));
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    @Override
+    public boolean deleteDeck(String id) {
+        CompactId compactId = CompactId.parse(id);
+        int depth;
+        boolean writeThrough;
+        synchronized (lockFor(compactId)) {
+            boolean existed = loadDeck(id) != null;
+            removeLive(compactId);
+            if (!existed) {
+                return false;
+            }
+            synchronized (pendingLock) {
+                pendingSaves.remove(id);
+                pendingDeletes.add(id);
+                depth = pendingSaves.size() + pendingDeletes.size();
+                writeThrough = closed;
+            }
+        }
+        afterEnqueue(depth, writeThrough);
+        return true;
+    }
+
+    @Override
+    public void saveToFile(String filename) {
+        flush();
+        synchronized (delegateLock) {
+            delegate.saveToFile(filename);
+        }
+    }
+
+    @Override
+    public void loadFromFile(String filename) {
+        flush();
+        synchronized (delegateLock) {
+            delegate.loadFromFile(filename);
+            synchronized (liveDecks) {
+                liveDecks.clear();
+            }
+        }
+    }
+
+    // Writes everything queued so far as one batch; safe to call from any thread
+    public void flush() {
+        synchronized (delegateLock) {
+            Map<String, Deck> saves;
+            Set<String> deletes;
+            synchronized (pendingLock) {
+                if (pendingSaves.isEmpty() && pendingDeletes.isEmpty()) {
+                    return;
+                }
+                saves = pendingSaves;
+                deletes = pendingDeletes;
+                pendingSaves = new LinkedHashMap<>();
+                pendingDeletes = new LinkedHashSet<>();
+            }
+
+            long start = System.nanoTime();
+            try {
+                delegate.saveBatch(saves.values(), deletes);
+            } catch (RuntimeException e) {
+                System.err.println("Помилка фонового збереження: " + e.getMessage());
+                e.printStackTrace();
+                requeue(saves, deletes);
+                return;
+            }
+
+            long elapsed = System.nanoTime() - start;
+            lastFlushNanos = elapsed;
+            maxFlushNanos = Math.max(maxFlushNanos, elapsed);
+            flushCount++;
+            flushedDecks += saves.size() + deletes.size();
+        }
+    }
+
+    // Stops the background thread and drains whatever is still queued; later saves write through
+    public void close() {
+        synchronized (pendingLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    public int getQueueDepth() {
+        synchronized (pendingLock) {
+            return pendingSaves.size() + pendingDeletes.size();
+        }
+    }
+
+    public long getLastFlushLatencyNanos() {
+        return lastFlushNanos;
+    }
+
+    public long getMaxFlushLatencyNanos() {
+        return maxFlushNanos;
+    }
+
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    public long getFlushedDeckCount() {
+        return flushedDecks;
+    }
+
+    public int getLiveDeckCount() {
+        synchronized (liveDecks) {
+            return liveDecks.size();
+        }
+    }
+
+    private Object lockFor(CompactId id) {
+        return deckLocks[(id.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    private Deck getLive(CompactId id) {
+        synchronized (liveDecks) {
+            return liveDecks.get(id);
+        }
+    }
+
+    private void removeLive(CompactId id) {
+        synchronized (liveDecks) {
+            liveDecks.remove(id);
+        }
+    }
+
+    private void enqueue(Deck view) {
+        int depth;
+        boolean writeThrough;
+        synchronized (pendingLock) {
+            // Repeated saves of the same deck collapse into its latest view
+            pendingSaves.put(view.getId(), view);
+            pendingDeletes.remove(view.getId());
+            depth = pendingSaves.size() + pendingDeletes.size();
+            writeThrough = closed;
+        }
+        afterEnqueue(depth, writeThrough);
+    }
+
+    // After close() changes still go through the queue, so they are written in order behind the
+    // final drain and a failed write stays queued for the next attempt
+    private void afterEnqueue(int depth, boolean writeThrough) {
+        if (writeThrough) {
+            flush();
+        } else if (depth >= maxDirtyDecks) {
+            requestFlush();
+        }
+    }
+
+    private void requestFlush() {
+        try {
+            flusher.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            // Already shutting down; close() drains the queue
+        }
+    }
+
+    private void requeue(Map<String, Deck> saves, Set<String> deletes) {
+        synchronized (pendingLock) {
+            for (Map.Entry<String, Deck> entry : saves.entrySet()) {
+                if (!pendingSaves.containsKey(entry.getKey()) && !pendingDeletes.contains(entry.getKey())) {
+                    pendingSaves.put(entry.getKey(), entry.getValue());
+                }
+            }
+            for (String id : deletes) {
+                if (!pendingSaves.containsKey(id)) {
+                    pendingDeletes.add(id);
+                }
+            }
+        }
+    }
+}
@@ -1,23 +1,44 @@
 package com.flashcard.ui;
 import com.flashcard.model.Card;
 import com.flashcard.model.Deck;
+import com.flashcard.model.DeckStats;
+import com.flashcard.model.DeckSummary;
+import com.flashcard.model.DuplicateCluster;
+import com.flashcard.model.SearchHit;
+import com.flashcard.service.AutocompleteIndex;
 import com.flashcard.service.CardService;
 import com.flashcard.service.DeckService;
 import com.flashcard.service.QuizService;
+import com.flashcard.service.QuizSession;
 
 import java.util.List;
 import java.util.Scanner;
 public class ConsoleUI {
+    private static final int ORDER_SCHEDULED = 1;
+    private static final int ORDER_SHUFFLED = 2;
+    private static final int ORDER_WEIGHTED = 3;
+    private static final int SEARCH_RESULT_LIMIT = 10;
+    private static final int DUPLICATE_CLUSTER_LIMIT = 20;
+    // Longer deck lists are not printed; decks are then found by the start of their name
+    private static final int DECK_LIST_LIMIT = 30;
+    private static final int DECK_COMPLETION_LIMIT = 10;
+
     private final Scanner scanner;
     private final DeckService deckService;
     private final CardService cardService;
     private final QuizService quizService;
+    private final AutocompleteIndex autocomplete;
+    // Set once the autocomplete index has been filled from every deck
+    private boolean autocompleteLoaded;
 
-    public ConsoleUI(DeckService deckService, CardService cardService, QuizService quizService) {
+    // The autocomplete index must already be registered with deckService and cardService
+    public ConsoleUI(DeckService deckService, CardService cardService, QuizService quizService,
+                     AutocompleteIndex autocomplete) {
         this.scanner = new Scanner(System.in);
         this.deckService = deckService;
         this.cardService = cardService;
         this.quizService = quizService;
+        this.autocomplete = autocomplete;
     }
 
     public void start() {
@@ -36,6 +57,9 @@ public class ConsoleUI {
                     manageDeckMenu();
                     break;
                 case 3:
+                    searchCards();
+                    break;
+                case 4:
                     System.out.println("До побачення!");
                     running = false;
                     break;
@@ -49,37 +73,70 @@ public class ConsoleUI {
         System.out.println("\n=== ГОЛОВНЕ МЕНЮ ===");
         System.out.println("1. Почати вивчення");
         System.out.println("2. Управління колодами");
-        System.out.println("3. Вихід");
+        System.out.println("3. Пошук карток");
+        System.out.println("4. Вихід");
         System.out.print("Ваш вибір: ");
     }
 
+    private void searchCards() {
+        System.out.print("Що шукаємо (слово* шукає за початком слова): ");
+        String query = scanner.nextLine().trim();
+        if (query.isEmpty()) {
+            return;
+        }
+
+        List<SearchHit> hits = cardService.searchCards(query, SEARCH_RESULT_LIMIT);
+        if (hits.isEmpty()) {
+            System.out.println("Нічого не знайдено.");
+            return;
+        }
+
+        System.out.println("\n=== РЕЗУЛЬТАТИ ПОШУКУ ===");
+        int number = 1;
+        for (SearchHit hit : hits) {
+            Deck deck = deckService.getDeckById(hit.getDeckId());
+            Card card = deck != null ? deck.findCardById(hit.getCardId()) : null;
+            if (card != null) {
+                System.out.printf("%d. [%s] П: %s | В: %s\n", number++, deck.getName(), card.getQuestion(),
+                        card.getAnswer());
+            }
+        }
+    }
+
     private void startQuiz() {
-        List<Deck> decks = deckService.getAllDecks();
+        List<DeckSummary> decks = deckService.getDeckSummaries();
         if (decks.isEmpty()) {
             System.out.println("Немає доступних колод для вивчення.");
             return;
         }
 
         System.out.println("\n=== ВИБІР КОЛОДИ ===");
-        showDecks(decks);
-        System.out.print("Введіть номер колоди: ");
-
-        int choice = getIntInput();
-        if (choice < 1 || choice > decks.size()) {
-            System.out.println("Невірний вибір.");
+        DeckSummary chosen = selectDeck(decks, "Оберіть колоду");
+        if (chosen == null) {
             return;
         }
 
-        Deck selectedDeck = decks.get(choice - 1);
-        if (selectedDeck.getCards().isEmpty()) {
+        Deck selectedDeck = deckService.getDeckById(chosen.getId());
+        if (selectedDeck == null || selectedDeck.getCards().isEmpty()) {
             System.out.println("У цій колоді немає карток.");
             return;
         }
 
-        runQuiz(selectedDeck);
+        System.out.println("1. За розкладом повторень");
+        System.out.println("2. У випадковому порядку");
+        System.out.println("3. Частіше ті, що даються важче");
+        System.out.print("Порядок карток: ");
+        int order = getIntInput();
+        if (order < ORDER_SCHEDULED || order > ORDER_WEIGHTED) {
+            System.out.println("Невірний вибір.");
+            return;
+        }
+
+        runQuiz(selectedDeck, order);
     }
 
-    private void runQuiz(Deck deck) {
+    private void runQuiz(Deck deck, int order) {
+        QuizSession session = order == ORDER_SHUFFLED ? quizService.startSession(deck.getId()) : null;
         System.out.println("\n=== ВІКТОРИНА: " + deck.getName() + " ===");
         System.out.println("Введіть 'quit' для виходу з вікторини\n");
 
@@ -87,7 +144,14 @@ public class ConsoleUI {
         int total = 0;
 
         while (true) {
-            Card card = quizService.getRandomCard(deck.getId());
+            Card card;
+            if (session != null) {
+                card = session.next();
+            } else if (order == ORDER_WEIGHTED) {
+                card = quizService.getWeightedCard(deck.getId());
+            } else {
+                card = quizService.getNextCard(deck.getId());
+            }
             if (card == null) {
                 break;
             }
@@ -101,7 +165,7 @@ public class ConsoleUI {
             }
 
             total++;
-            if (quizService.checkAnswer(card, answer)) {
+            if (quizService.checkAnswer(deck.getId(), card, answer)) {
                 System.out.println("✓ Правильно!");
                 correct++;
             } else {
@@ -115,6 +179,10 @@ public class ConsoleUI {
         if (total > 0) {
             double percentage = (double) correct / total * 100;
             System.out.printf("Результат вікторини: %d/%d (%.1f%%)\n", correct, total, percentage);
+
+            DeckStats stats = quizService.getDeckStats(deck.getId());
+            System.out.printf("Усього в цій колоді: %d/%d, карток пройдено: %d, найдовша серія: %d\n",
+                    stats.getCorrect(), stats.getAttempts(), stats.getCardsSeen(), stats.getBestStreak());
         }
     }
 
@@ -125,7 +193,8 @@ public class ConsoleUI {
             System.out.println("2. Переглянути колоди");
             System.out.println("3. Управління картками");
             System.out.println("4. Видалити колоду");
-            System.out.println("5. Повернутися до головного меню");
+            System.out.println("5. Знайти схожі картки");
+            System.out.println("6. Повернутися до головного меню");
             System.out.print("Ваш вибір: ");
 
             int choice = getIntInput();
@@ -143,6 +212,9 @@ public class ConsoleUI {
                     deleteDeck();
                     break;
                 case 5:
+                    showDuplicates();
+                    break;
+                case 6:
                     return;
                 default:
                     System.out.println("Невірний вибір.");
@@ -150,6 +222,33 @@ public class ConsoleUI {
         }
     }
 
+    private void showDuplicates() {
+        List<DuplicateCluster> clusters = cardService.findDuplicateClusters();
+        if (clusters.isEmpty()) {
+            System.out.println("Схожих карток не знайдено.");
+            return;
+        }
+
+        System.out.println("\n=== СХОЖІ КАРТКИ ===");
+        int shown = Math.min(clusters.size(), DUPLICATE_CLUSTER_LIMIT);
+        for (int i = 0; i < shown; i++) {
+            DuplicateCluster cluster = clusters.get(i);
+            System.out.printf("%d. Карток: %d, схожість від %.0f%%\n", i + 1, cluster.size(),
+                    cluster.getSimilarity() * 100);
+            for (int j = 0; j < cluster.size(); j++) {
+                Deck deck = deckService.getDeckById(cluster.getDeckId(j));
+                Card card = deck != null ? deck.findCardById(cluster.getCardId(j)) : null;
+                if (card != null) {
+                    System.out.printf("   [%s] П: %s | В: %s\n", deck.getName(), card.getQuestion(),
+                            card.getAnswer());
+                }
+            }
+        }
+        if (clusters.size() > shown) {
+            System.out.println("... ще груп: " + (clusters.size() - shown));
+        }
+    }
+
     private void createDeck() {
         System.out.print("Введіть назву колоди: ");
         String name = scanner.nextLine().trim();
@@ -163,7 +262,7 @@ public class ConsoleUI {
     }
 
     private void viewDecks() {
-        List<Deck> decks = deckService.getAllDecks();
+        List<DeckSummary> decks = deckService.getDeckSummaries();
         if (decks.isEmpty()) {
             System.out.println("Немає створених колод.");
             return;
@@ -173,31 +272,26 @@ public class ConsoleUI {
         showDecks(decks);
     }
 
-    private void showDecks(List<Deck> decks) {
+    private void showDecks(List<DeckSummary> decks) {
         for (int i = 0; i < decks.size(); i++) {
-            Deck deck = decks.get(i);
-            System.out.printf("%d. %s (%d карток)\n", i + 1, deck.getName(), deck.getCards().size());
+            DeckSummary deck = decks.get(i);
+            System.out.printf("%d. %s (%d карток)\n", i + 1, deck.getName(), deck.getCardCount());
         }
     }
 
     private void deleteDeck() {
-        List<Deck> decks = deckService.getAllDecks();
+        List<DeckSummary> decks = deckService.getDeckSummaries();
         if (decks.isEmpty()) {
             System.out.println("Немає колод для видалення.");
             return;
         }
 
         System.out.println("\n=== ВИДАЛЕННЯ КОЛОДИ ===");
-        showDecks(decks);
-        System.out.print("Введіть номер колоди для видалення: ");
-
-        int choice = getIntInput();
-        if (choice < 1 || choice > decks.size()) {
-            System.out.println("Невірний вибір.");
+        DeckSummary deck = selectDeck(decks, "Оберіть колоду для видалення");
+        if (deck == null) {
             return;
         }
 
-        Deck deck = decks.get(choice - 1);
         if (deckService.deleteDeck(deck.getId())) {
             System.out.println("Колоду '" + deck.getName() + "' успішно видалено!");
         } else {
@@ -206,34 +300,83 @@ public class ConsoleUI {
     }
 
     private void manageCards() {
-        List<Deck> decks = deckService.getAllDecks();
+        List<DeckSummary> decks = deckService.getDeckSummaries();
         if (decks.isEmpty()) {
             System.out.println("Немає доступних колод.");
             return;
         }
 
         System.out.println("\n=== ВИБІР КОЛОДИ ===");
-        showDecks(decks);
-        System.out.print("Введіть номер колоди: ");
+        DeckSummary selectedDeck = selectDeck(decks, "Оберіть колоду");
+        if (selectedDeck != null) {
+            manageCardsInDeck(selectedDeck);
+        }
+    }
+
+    // By number from the printed list, or by the start of the name; null if no deck was chosen
+    private DeckSummary selectDeck(List<DeckSummary> decks, String prompt) {
+        boolean listed = decks.size() <= DECK_LIST_LIMIT;
+        if (listed) {
+            showDecks(decks);
+            System.out.print(prompt + " (номер або початок назви): ");
+        } else {
+            System.out.println("Колод: " + decks.size() + ".");
+            System.out.print(prompt + " (початок назви): ");
+        }
+
+        String input = scanner.nextLine().trim();
+        if (input.isEmpty()) {
+            System.out.println("Невірний вибір.");
+            return null;
+        }
+        if (listed) {
+            try {
+                int choice = Integer.parseInt(input);
+                if (choice >= 1 && choice <= decks.size()) {
+                    return decks.get(choice - 1);
+                }
+            } catch (NumberFormatException e) {
+                // Not a number, so it is the start of a name
+            }
+        }
+
+        List<DeckSummary> matches = autocomplete().completeDeckNames(input, DECK_COMPLETION_LIMIT);
+        if (matches.isEmpty()) {
+            System.out.println("Колоду не знайдено.");
+            return null;
+        }
+        if (matches.size() == 1) {
+            return matches.get(0);
+        }
 
+        System.out.println("Знайдені колоди:");
+        showDecks(matches);
+        System.out.print("Введіть номер колоди: ");
         int choice = getIntInput();
-        if (choice < 1 || choice > decks.size()) {
+        if (choice < 1 || choice > matches.size()) {
             System.out.println("Невірний вибір.");
-            return;
+            return null;
         }
+        return matches.get(choice - 1);
+    }
 
-        Deck selectedDeck = decks.get(choice - 1);
-        manageCardsInDeck(selectedDeck);
+    private AutocompleteIndex autocomplete() {
+        if (!autocompleteLoaded) {
+            autocomplete.rebuild(deckService.getAllDecks());
+            autocompleteLoaded = true;
+        }
+        return autocomplete;
     }
 
-    private void manageCardsInDeck(Deck deck) {
+    private void manageCardsInDeck(DeckSummary deck) {
         while (true) {
             System.out.println("\n=== УПРАВЛІННЯ КАРТКАМИ: " + deck.getName() + " ===");
             System.out.println("1. Додати картку");
             System.out.println("2. Переглянути картки");
             System.out.println("3. Редагувати картку");
             System.out.println("4. Видалити картку");
-            System.out.println("5. Повернутися назад");
+            System.out.println("5. Знайти картки");
+            System.out.println("6. Повернутися назад");
             System.out.print("Ваш вибір: ");
 
             int choice = getIntInput();
@@ -251,6 +394,9 @@ public class ConsoleUI {
                     deleteCard(deck.getId());
                     break;
                 case 5:
+                    findCards(deck.getId());
+                    break;
+                case 6:
                     return;
                 default:
                     System.out.println("Невірний вибір.");
@@ -261,7 +407,7 @@ public class ConsoleUI {
     private void addCard(String deckId) {
         System.out.print("Введіть питання: ");
         String question = scanner.nextLine().trim();
-        System.out.print("Введіть відповідь: ");
+        System.out.print("Введіть відповідь (кілька варіантів через |): ");
         String answer = scanner.nextLine().trim();
 
         try {
@@ -286,6 +432,27 @@ public class ConsoleUI {
         }
     }
 
+    private void findCards(String deckId) {
+        System.out.print("Текст у питанні або відповіді: ");
+        String text = scanner.nextLine().trim();
+        if (text.isEmpty()) {
+            System.out.println("Запит не може бути порожнім.");
+            return;
+        }
+
+        List<Card> cards = cardService.findCardsInDeck(deckId, text);
+        if (cards.isEmpty()) {
+            System.out.println("Нічого не знайдено.");
+            return;
+        }
+
+        System.out.println("\n=== ЗНАЙДЕНІ КАРТКИ ===");
+        for (int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
+            System.out.printf("%d. П: %s | В: %s\n", i + 1, card.getQuestion(), card.getAnswer());
+        }
+    }
+
     private void editCard(String deckId) {
         List<Card> cards = cardService.getCardsInDeck(deckId);
         if (cards.isEmpty()) {
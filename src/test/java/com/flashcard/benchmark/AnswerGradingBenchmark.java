@@ -0,0 +1,77 @@
+package com.flashcard.benchmark;
+
+import com.flashcard.model.Card;
+import com.flashcard.service.AnswerKey;
+import com.flashcard.service.AnswerKeyCache;
+import com.flashcard.service.AnswerMatcher;
+
+import java.util.Random;
+
+// Answers graded per second: the old trim + equalsIgnoreCase check, AnswerMatcher on raw strings,
+// and AnswerMatcher against keys from AnswerKeyCache. Given answers are a mix of exact, typo and wrong.
+public class AnswerGradingBenchmark {
+    private static final int CARDS = 10_000;
+    private static final int CHECKS = 5_000_000;
+    private static final String[] WORDS = {"photosynthesis", "Kyiv | Kiev", "mitochondria", "Ünïcödé",
+            "New York", "Tchaikovsky", "1945", "Хмельницький", "osmosis", "Pythagoras"};
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        Card[] cards = new Card[CARDS];
+        String[] given = new String[CARDS];
+        for (int i = 0; i < CARDS; i++) {
+            String answer = WORDS[i % WORDS.length];
+            cards[i] = new Card("card-" + i, "Question " + i, answer);
+            String typed = answer.split("\\|")[0].trim();
+            switch (random.nextInt(3)) {
+                case 0:
+                    given[i] = typed.toLowerCase();
+                    break;
+                case 1:
+                    given[i] = typed.substring(1);
+                    break;
+                default:
+                    given[i] = "wrong answer";
+            }
+        }
+
+        AnswerMatcher matcher = new AnswerMatcher();
+        AnswerKeyCache cache = new AnswerKeyCache(matcher);
+        long baseline = Long.MAX_VALUE;
+        long raw = Long.MAX_VALUE;
+        long cached = Long.MAX_VALUE;
+        int accepted = 0;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < CHECKS; i++) {
+                int c = i % CARDS;
+                if (cards[c].getAnswer().trim().equalsIgnoreCase(given[c].trim())) {
+                    accepted++;
+                }
+            }
+            baseline = Math.min(baseline, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < CHECKS; i++) {
+                int c = i % CARDS;
+                if (matcher.matches(cards[c].getAnswer(), given[c])) {
+                    accepted++;
+                }
+            }
+            raw = Math.min(raw, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < CHECKS; i++) {
+                int c = i % CARDS;
+                AnswerKey key = cache.getKey("deck", cards[c]);
+                if (matcher.matches(key, given[c])) {
+                    accepted++;
+                }
+            }
+            cached = Math.min(cached, System.nanoTime() - start);
+        }
+
+        System.out.printf("equalsIgnoreCase %.1f M/s, matcher on raw answers %.1f M/s, matcher with cached keys %.1f M/s (%d)%n",
+                CHECKS * 1e3 / baseline, CHECKS * 1e3 / raw, CHECKS * 1e3 / cached, accepted);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.flashcard.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.storage.JsonDataStorage;
+import com.flashcard.storage.JsonDeckStreams;
+import com.flashcard.storage.ProgressListener;
+import com.flashcard.storage.WriteBehindDataStorage;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+// Retained heap and full-GC time of a library loaded by JsonDataStorage with String card text and
+// with text in a TextArena, read through the same write-behind wrapper the application uses.
+// Run with a fixed heap, e.g. -Xms2g -Xmx2g.
+// Usage: ArenaFootprintBenchmark [totalCards]
+public class ArenaFootprintBenchmark {
+    private static final int CARDS_PER_DECK = 1_000;
+
+    public static void main(String[] args) throws IOException {
+        int totalCards = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path dir = Files.createTempDirectory("flashcard-arena");
+        writeLibrary(dir.resolve("decks.json"), Math.max(1, totalCards / CARDS_PER_DECK));
+        System.out.printf("%,d cards, decks.json %,d bytes%n", totalCards, Files.size(dir.resolve("decks.json")));
+
+        measure("strings", dir, false);
+        measure("arena", dir, true);
+    }
+
+    private static void measure(String label, Path dir, boolean arenaText) {
+        long before = usedHeapAfterGc();
+        WriteBehindDataStorage storage = new WriteBehindDataStorage(new JsonDataStorage(dir.toString(), false, arenaText));
+        // The wrapper keeps its own copy of every deck it has handed out
+        int cards = 0;
+        for (Deck deck : storage.loadAllDecks()) {
+            cards += deck.getCards().size();
+        }
+        long retained = usedHeapAfterGc() - before;
+
+        // Full collections with the library live: their cost grows with the number of heap objects
+        long gcStart = totalGcMillis();
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        long gcMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("%-8s retained heap %,d bytes (%.1f per card), 5 full GCs %d ms (collector %d ms)%n",
+                label, retained, (double) retained / cards, gcMillis, totalGcMillis() - gcStart);
+        storage.close();
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long totalGcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, bean.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static void writeLibrary(Path file, int deckCount) throws IOException {
+        Iterator<Deck> decks = IntStream.range(0, deckCount).mapToObj(d -> {
+            Deck deck = new Deck("deck-" + d, "Deck " + d);
+            for (int c = 0; c < CARDS_PER_DECK; c++) {
+                deck.addCard(new Card(UUID.randomUUID().toString(),
+                        "What is the meaning of term number " + c + " in deck " + d + "?",
+                        "Definition " + c + " of the term from deck " + d));
+            }
+            return deck;
+        }).iterator();
+        new JsonDeckStreams(new ObjectMapper()).exportDecks(file.toFile(), decks, ProgressListener.NONE);
+    }
+}
@@ -0,0 +1,108 @@
+package com.flashcard.benchmark;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.service.AutocompleteIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+// Top-10 completions of typed prefixes over 100k deck names and 1M card questions: AutocompleteIndex
+// against a scan that lowercases every name and keeps the matches, which is what picking a deck by
+// name costs without an index. Also times building the index and applying card edits to it.
+public class AutocompleteBenchmark {
+    private static final int DECKS = 100_000;
+    private static final int CARDS_PER_DECK = 10;
+    private static final int QUERIES = 100_000;
+    private static final int SCANS = 20;
+    private static final int EDITS = 100_000;
+    private static final String[] SUBJECTS = {"history", "biology", "spanish", "german", "chemistry", "physics",
+            "geography", "literature", "music", "algebra"};
+
+    public static void main(String[] args) {
+        SplittableRandom random = new SplittableRandom(5);
+        List<Deck> decks = new ArrayList<>(DECKS);
+        for (int d = 0; d < DECKS; d++) {
+            String name = SUBJECTS[random.nextInt(SUBJECTS.length)] + " " + word(random) + " " + d;
+            Deck deck = new Deck("deck-" + d, name);
+            List<Card> cards = new ArrayList<>(CARDS_PER_DECK);
+            for (int i = 0; i < CARDS_PER_DECK; i++) {
+                cards.add(new Card("card-" + d + "-" + i, "What is " + word(random) + " " + word(random) + "?",
+                        word(random)));
+            }
+            deck.setCards(cards);
+            decks.add(deck);
+        }
+
+        long start = System.nanoTime();
+        AutocompleteIndex autocomplete = new AutocompleteIndex();
+        autocomplete.rebuild(decks);
+        long build = System.nanoTime() - start;
+
+        String[] prefixes = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String name = decks.get(random.nextInt(DECKS)).getName();
+            prefixes[i] = name.substring(0, 1 + random.nextInt(name.length() - 1));
+        }
+
+        long checksum = 0;
+        long deckQueries = Long.MAX_VALUE;
+        long questionQueries = Long.MAX_VALUE;
+        long scan = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            start = System.nanoTime();
+            for (String prefix : prefixes) {
+                checksum += autocomplete.completeDeckNames(prefix, 10).size();
+            }
+            deckQueries = Math.min(deckQueries, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                checksum += autocomplete.completeQuestions("what is " + prefixes[i].substring(0, 1), 10).size();
+            }
+            questionQueries = Math.min(questionQueries, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < SCANS; i++) {
+                checksum += scan(decks, prefixes[i]);
+            }
+            scan = Math.min(scan, System.nanoTime() - start);
+        }
+
+        start = System.nanoTime();
+        for (int i = 0; i < EDITS; i++) {
+            String deckId = "deck-" + random.nextInt(DECKS);
+            autocomplete.cardUpdated(deckId, new Card("card-" + deckId.substring(5) + "-" + random.nextInt(CARDS_PER_DECK),
+                    "What is " + word(random) + "?", word(random)));
+        }
+        long edits = System.nanoTime() - start;
+
+        System.out.printf("%,d decks, %,d questions: build %d ms, card edit %.1f us%n", autocomplete.getDeckCount(),
+                autocomplete.getQuestionCount(), build / 1_000_000, edits / 1_000.0 / EDITS);
+        System.out.printf("deck names top-10 %.1f us, questions top-10 %.1f us, name scan %.1f ms (%d)%n",
+                deckQueries / 1_000.0 / QUERIES, questionQueries / 1_000.0 / QUERIES, scan / 1_000_000.0 / SCANS,
+                checksum);
+    }
+
+    private static String word(SplittableRandom random) {
+        StringBuilder builder = new StringBuilder();
+        int length = 3 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(26)));
+        }
+        return builder.toString();
+    }
+
+    private static int scan(List<Deck> decks, String prefix) {
+        String lower = prefix.toLowerCase(Locale.ROOT);
+        List<String> matches = new ArrayList<>();
+        for (Deck deck : decks) {
+            if (deck.getName().toLowerCase(Locale.ROOT).startsWith(lower)) {
+                matches.add(deck.getName());
+            }
+        }
+        return Math.min(10, matches.size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.flashcard.benchmark;
+
+import com.flashcard.model.AnswerSubmission;
+import com.flashcard.model.BatchGradingResult;
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.service.DeckService;
+import com.flashcard.service.QuizService;
+import com.flashcard.storage.JsonDataStorage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+// 1,000 users x 500 answers against a 2,000-card deck: a loop of findCardById + checkAnswer(Card, String)
+// per submission against QuizService.gradeBatch. The parallel speed-up depends on the cores available.
+public class BatchGradingBenchmark {
+    private static final int CARDS = 2_000;
+    private static final int SUBMISSIONS = 1_000 * 500;
+
+    public static void main(String[] args) throws IOException {
+        Path dataDir = Files.createTempDirectory("flashcard-batch");
+        DeckService deckService = new DeckService(new JsonDataStorage(dataDir.toString()));
+        QuizService quizService = new QuizService(deckService);
+        Deck deck = deckService.createDeck("Benchmark");
+        for (int i = 0; i < CARDS; i++) {
+            deck.addCard(new Card("card-" + i, "Question " + i, "answer number " + i));
+        }
+
+        Random random = new Random(1);
+        AnswerSubmission[] submissions = new AnswerSubmission[SUBMISSIONS];
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            int card = random.nextInt(CARDS);
+            // Exact, one typo or wrong, in equal parts
+            String[] answers = {"answer number " + card, "answr number " + card, "no idea"};
+            String answer = answers[random.nextInt(answers.length)];
+            submissions[i] = new AnswerSubmission("user-" + (i / 500), "card-" + card, answer);
+        }
+
+        long sequential = Long.MAX_VALUE;
+        BatchGradingResult best = null;
+        int correct = 0;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (AnswerSubmission submission : submissions) {
+                Card card = deck.findCardById(submission.getCardId());
+                if (quizService.checkAnswer(card, submission.getAnswer())) {
+                    correct++;
+                }
+            }
+            sequential = Math.min(sequential, System.nanoTime() - start);
+
+            BatchGradingResult result = quizService.gradeBatch(deck.getId(), submissions);
+            if (best == null || result.getElapsedNanos() < best.getElapsedNanos()) {
+                best = result;
+            }
+        }
+
+        System.out.printf("%d cores: one by one %.2f M/s, gradeBatch %.2f M/s (%d, %s)%n",
+                Runtime.getRuntime().availableProcessors(), SUBMISSIONS * 1e3 / sequential,
+                best.getSubmissionsPerSecond() / 1e6, correct, best);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.flashcard.benchmark;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.storage.BinaryDataStorage;
+import com.flashcard.storage.BinaryFormatConverter;
+import com.flashcard.storage.JsonDataStorage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Compares file size and load time of JsonDataStorage and BinaryDataStorage on the same library.
+// Usage: BinaryStorageBenchmark [decks] [cardsPerDeck]
+public class BinaryStorageBenchmark {
+    public static void main(String[] args) throws IOException {
+        int deckCount = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int cardsPerDeck = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        Path dir = Files.createTempDirectory("flashcard-bench");
+        new JsonDataStorage(dir.toString()).exportDecksToJson("decks.json", generate(deckCount, cardsPerDeck));
+        BinaryFormatConverter.jsonToBinary(dir.resolve("decks.json"), dir.resolve("decks.bin"));
+
+        System.out.printf("Library: %d decks x %d cards%n", deckCount, cardsPerDeck);
+        System.out.printf("decks.json: %,d bytes%n", Files.size(dir.resolve("decks.json")));
+        System.out.printf("decks.bin:  %,d bytes%n", Files.size(dir.resolve("decks.bin")));
+
+        String probeId = "deck-" + (deckCount / 2);
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            JsonDataStorage jsonStorage = new JsonDataStorage(dir.toString());
+            jsonStorage.loadDeck(probeId);
+            long jsonNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            BinaryDataStorage binaryStorage = new BinaryDataStorage(dir.toString());
+            binaryStorage.loadDeck(probeId);
+            long binaryOneNanos = System.nanoTime() - start;
+            binaryStorage.loadAllDecks();
+            long binaryAllNanos = System.nanoTime() - start;
+            binaryStorage.close();
+
+            System.out.printf("round %d: json full load %.1f ms | binary open + 1 deck %.1f ms | binary all decks %.1f ms%n",
+                    round, jsonNanos / 1e6, binaryOneNanos / 1e6, binaryAllNanos / 1e6);
+        }
+    }
+
+    static List<Deck> generate(int deckCount, int cardsPerDeck) {
+        List<Deck> decks = new ArrayList<>(deckCount);
+        for (int d = 0; d < deckCount; d++) {
+            Deck deck = new Deck("deck-" + d, "Deck " + d);
+            for (int c = 0; c < cardsPerDeck; c++) {
+                deck.addCard(new Card("card-" + d + "-" + c, "Question " + c + " of deck " + d, "Answer " + c));
+            }
+            decks.add(deck);
+        }
+        return decks;
+    }
+}
@@ -0,0 +1,54 @@
+package com.flashcard.benchmark;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.ColumnarSnapshot;
+import com.flashcard.model.CompactId;
+import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSnapshot;
+
+import java.util.Locale;
+
+// Case-insensitive text search over one large deck, once over the Card objects and once over its ColumnarSnapshot.
+// Usage: ColumnarScanBenchmark [cards]
+public class ColumnarScanBenchmark {
+
+    public static void main(String[] args) {
+        int cardCount = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        String query = "Topic 42";
+
+        Deck deck = new Deck(CompactId.random(), "Objects");
+        for (int i = 0; i < cardCount; i++) {
+            deck.addCard(new Card(CompactId.random(), "Question " + i + " about topic " + (i % 97), "Answer " + i));
+        }
+        DeckSnapshot snapshot = deck.getSnapshot();
+
+        long start = System.nanoTime();
+        ColumnarSnapshot columns = snapshot.getColumns();
+        long build = System.nanoTime() - start;
+
+        long objectScan = Long.MAX_VALUE;
+        long columnarScan = Long.MAX_VALUE;
+        int objectMatches = 0;
+        int columnarMatches = 0;
+        for (int round = 0; round < 10; round++) {
+            start = System.nanoTime();
+            String folded = query.toLowerCase(Locale.ROOT);
+            objectMatches = 0;
+            for (Card card : snapshot.getCards()) {
+                if (card.getQuestion().toLowerCase(Locale.ROOT).contains(folded)
+                        || card.getAnswer().toLowerCase(Locale.ROOT).contains(folded)) {
+                    objectMatches++;
+                }
+            }
+            objectScan = Math.min(objectScan, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            columnarMatches = columns.countMatching(query);
+            columnarScan = Math.min(columnarScan, System.nanoTime() - start);
+        }
+
+        System.out.printf("%,d cards, columnar build %.1f ms%n", cardCount, build / 1e6);
+        System.out.printf("objects:  scan %.1f ms (%d matches)%n", objectScan / 1e6, objectMatches);
+        System.out.printf("columnar: scan %.1f ms (%d matches)%n", columnarScan / 1e6, columnarMatches);
+    }
+}
\ No newline at end of file
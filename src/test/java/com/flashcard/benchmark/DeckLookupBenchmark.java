@@ -0,0 +1,49 @@
+package com.flashcard.benchmark;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+
+import java.util.Random;
+
+// Cost of Deck.findCardById and a removeCard/addCard pair as the deck grows; both should stay flat.
+public class DeckLookupBenchmark {
+    private static final int[] DECK_SIZES = {10, 1_000, 100_000, 1_000_000};
+    private static final int OPERATIONS = 1_000_000;
+
+    public static void main(String[] args) {
+        for (int size : DECK_SIZES) {
+            Deck deck = new Deck("deck", "Deck");
+            String[] ids = new String[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = "card-" + i;
+                deck.addCard(new Card(ids[i], "Question " + i, "Answer " + i));
+            }
+
+            long lookup = Long.MAX_VALUE;
+            long removeAdd = Long.MAX_VALUE;
+            long found = 0;
+            for (int round = 0; round < 5; round++) {
+                Random random = new Random(round);
+                long start = System.nanoTime();
+                for (int i = 0; i < OPERATIONS; i++) {
+                    if (deck.findCardById(ids[random.nextInt(size)]) != null) {
+                        found++;
+                    }
+                }
+                lookup = Math.min(lookup, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                for (int i = 0; i < OPERATIONS; i++) {
+                    String id = ids[random.nextInt(size)];
+                    Card card = deck.findCardById(id);
+                    deck.removeCard(id);
+                    deck.addCard(card);
+                }
+                removeAdd = Math.min(removeAdd, System.nanoTime() - start);
+            }
+
+            System.out.printf("%,9d cards: findCardById %.1f ns/op, removeCard+addCard %.1f ns/op (%d hits)%n",
+                    size, (double) lookup / OPERATIONS, (double) removeAdd / OPERATIONS, found);
+        }
+    }
+}
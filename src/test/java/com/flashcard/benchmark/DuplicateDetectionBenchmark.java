@@ -0,0 +1,120 @@
+package com.flashcard.benchmark;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.model.DuplicateCluster;
+import com.flashcard.service.DuplicateDetector;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// Near-duplicate search over 200k cards in 20 decks, 4k of them lightly edited copies of other cards:
+// DuplicateDetector indexing plus clustering against comparing all pairs of a 2k-card sample, which is
+// what finding duplicates without buckets costs (quadratic, so scaled up to the full size).
+public class DuplicateDetectionBenchmark {
+    private static final int DECKS = 20;
+    private static final int CARDS = 200_000;
+    private static final int COPIES = 4_000;
+    private static final int SAMPLE = 2_000;
+    private static final int ADDED = 10_000;
+
+    public static void main(String[] args) {
+        SplittableRandom random = new SplittableRandom(11);
+        List<Deck> decks = new ArrayList<>();
+        for (int d = 0; d < DECKS; d++) {
+            decks.add(new Deck("deck-" + d, "Deck " + d));
+        }
+        List<Card> originals = new ArrayList<>();
+        for (int i = 0; i < CARDS - COPIES; i++) {
+            Card card = new Card("card-" + i, words(random, 9), words(random, 2));
+            originals.add(card);
+            decks.get(i % DECKS).addCard(card);
+        }
+        for (int i = 0; i < COPIES; i++) {
+            Card original = originals.get(random.nextInt(originals.size()));
+            String question = original.getQuestion().toUpperCase(Locale.ROOT) + " ?";
+            decks.get(random.nextInt(DECKS)).addCard(new Card("copy-" + i, question, original.getAnswer()));
+        }
+
+        long start = System.nanoTime();
+        DuplicateDetector detector = new DuplicateDetector();
+        for (Deck deck : decks) {
+            detector.indexDeck(deck);
+        }
+        long index = System.nanoTime() - start;
+        start = System.nanoTime();
+        List<DuplicateCluster> clusters = detector.findClusters();
+        long cluster = System.nanoTime() - start;
+
+        int copiesFound = 0;
+        for (DuplicateCluster found : clusters) {
+            for (int i = 0; i < found.size(); i++) {
+                if (found.getCardId(i).startsWith("copy-")) {
+                    copiesFound++;
+                }
+            }
+        }
+
+        start = System.nanoTime();
+        for (int i = 0; i < ADDED; i++) {
+            detector.cardAdded("deck-0", new Card("added-" + i, words(random, 9), words(random, 2)));
+        }
+        long added = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long pairs = allPairs(originals.subList(0, SAMPLE));
+        long sample = System.nanoTime() - start;
+        double scale = (double) CARDS * CARDS / ((double) SAMPLE * SAMPLE);
+
+        System.out.printf("%,d cards: index %d ms, clusters %d ms (%d clusters, %d/%d copies found), add %.1f us/card%n",
+                CARDS, index / 1_000_000, cluster / 1_000_000, clusters.size(), copiesFound, COPIES,
+                added / 1_000.0 / ADDED);
+        System.out.printf("all pairs of %,d cards %d ms, about %.0f s for all %,d (%d)%n",
+                SAMPLE, sample / 1_000_000, sample * scale / 1e9, CARDS, pairs);
+    }
+
+    private static String words(SplittableRandom random, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            int length = 3 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                builder.append((char) ('a' + random.nextInt(26)));
+            }
+        }
+        return builder.toString();
+    }
+
+    // Exact Jaccard similarity of word sets for every pair, the cheapest exact comparison there is
+    private static long allPairs(List<Card> cards) {
+        List<Set<String>> sets = new ArrayList<>();
+        for (Card card : cards) {
+            Set<String> words = new HashSet<>();
+            for (String word : (card.getQuestion() + " " + card.getAnswer()).toLowerCase(Locale.ROOT).split("\\s+")) {
+                words.add(word);
+            }
+            sets.add(words);
+        }
+        long similar = 0;
+        for (int i = 0; i < sets.size(); i++) {
+            for (int j = i + 1; j < sets.size(); j++) {
+                int common = 0;
+                for (String word : sets.get(i)) {
+                    if (sets.get(j).contains(word)) {
+                        common++;
+                    }
+                }
+                if (common * 10 >= (sets.get(i).size() + sets.get(j).size() - common) * 7) {
+                    similar++;
+                }
+            }
+        }
+        return similar;
+    }
+}
\ No newline at end of file
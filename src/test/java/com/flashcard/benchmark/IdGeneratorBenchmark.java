@@ -0,0 +1,61 @@
+package com.flashcard.benchmark;
+
+import com.flashcard.service.IdGenerator;
+import com.flashcard.service.TimeOrderedIdGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+// Id throughput of random UUIDs (shared SecureRandom) against TimeOrderedIdGenerator as threads are added.
+// Usage: IdGeneratorBenchmark [idsPerThread]
+public class IdGeneratorBenchmark {
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+
+    public static void main(String[] args) throws InterruptedException {
+        int idsPerThread = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        System.out.printf("Cores: %d, ids per thread: %,d%n", Runtime.getRuntime().availableProcessors(), idsPerThread);
+
+        for (int threads : THREAD_COUNTS) {
+            long random = Long.MAX_VALUE;
+            long timeOrdered = Long.MAX_VALUE;
+            for (int round = 0; round < 3; round++) {
+                random = Math.min(random, run(IdGenerator.RANDOM, threads, idsPerThread));
+                timeOrdered = Math.min(timeOrdered, run(new TimeOrderedIdGenerator(), threads, idsPerThread));
+            }
+            long total = (long) threads * idsPerThread;
+            System.out.printf("%d threads: random %,.0f ids/s, time-ordered %,.0f ids/s%n",
+                    threads, total / (random / 1e9), total / (timeOrdered / 1e9));
+        }
+    }
+
+    private static long run(IdGenerator generator, int threads, int idsPerThread) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        long[] sinks = new long[threads];
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long sink = 0;
+                for (int i = 0; i < idsPerThread; i++) {
+                    sink += generator.nextId().getLeastSignificantBits();
+                }
+                sinks[index] = sink;
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.nanoTime() - begin;
+    }
+}
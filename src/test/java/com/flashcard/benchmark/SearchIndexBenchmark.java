@@ -0,0 +1,123 @@
+package com.flashcard.benchmark;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.service.SearchIndex;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+// Searches over 1M cards in 10 decks: SearchIndex term and prefix queries against a scan that
+// lowercases and checks every card, plus the cost of building the index compared with loading it.
+public class SearchIndexBenchmark {
+    private static final int DECKS = 10;
+    private static final int CARDS_PER_DECK = 100_000;
+    private static final int VOCABULARY = 50_000;
+    private static final int QUERIES = 2_000;
+    private static final int SCANS = 3;
+
+    public static void main(String[] args) throws IOException {
+        String[] vocabulary = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            vocabulary[i] = "w" + Integer.toString(i * 7919 + 1000, 36);
+        }
+        SplittableRandom random = new SplittableRandom(23);
+        List<Deck> decks = new ArrayList<>();
+        for (int d = 0; d < DECKS; d++) {
+            Deck deck = new Deck("deck-" + d, "Deck " + d);
+            List<Card> cards = new ArrayList<>(CARDS_PER_DECK);
+            for (int i = 0; i < CARDS_PER_DECK; i++) {
+                cards.add(new Card("card-" + d + "-" + i, sentence(vocabulary, random, 8), sentence(vocabulary, random, 3)));
+            }
+            deck.setCards(cards);
+            decks.add(deck);
+        }
+
+        long start = System.nanoTime();
+        SearchIndex index = new SearchIndex();
+        for (Deck deck : decks) {
+            index.indexDeck(deck);
+        }
+        long build = System.nanoTime() - start;
+
+        Path file = Files.createTempDirectory("flashcard-search").resolve("search.idx");
+        start = System.nanoTime();
+        index.save(file);
+        long save = System.nanoTime() - start;
+        start = System.nanoTime();
+        SearchIndex loaded = SearchIndex.load(file);
+        long load = System.nanoTime() - start;
+
+        String rare = vocabulary[VOCABULARY - 1];
+        String common = vocabulary[0];
+        String prefix = vocabulary[VOCABULARY / 2].substring(0, 3) + "*";
+        long checksum = loaded.size();
+        long rareQuery = Long.MAX_VALUE;
+        long commonQuery = Long.MAX_VALUE;
+        long prefixQuery = Long.MAX_VALUE;
+        long scan = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                checksum += loaded.search(rare + " " + vocabulary[random.nextInt(VOCABULARY)], 10).size();
+            }
+            rareQuery = Math.min(rareQuery, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES / 10; i++) {
+                checksum += loaded.search(common, 10).size();
+            }
+            commonQuery = Math.min(commonQuery, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES / 10; i++) {
+                checksum += loaded.search(prefix, 10).size();
+            }
+            prefixQuery = Math.min(prefixQuery, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < SCANS; i++) {
+                checksum += scan(decks, rare);
+            }
+            scan = Math.min(scan, System.nanoTime() - start);
+        }
+
+        System.out.printf("%,d cards, %,d terms: build %d ms, save %d ms, load %d ms (%,d bytes)%n",
+                loaded.size(), loaded.getTermCount(), build / 1_000_000, save / 1_000_000, load / 1_000_000,
+                Files.size(file));
+        System.out.printf("two-term query %.1f us, common term %.1f us, prefix %s %.1f us, scan %.1f ms (%d)%n",
+                rareQuery / 1_000.0 / QUERIES, commonQuery / 1_000.0 / (QUERIES / 10), prefix,
+                prefixQuery / 1_000.0 / (QUERIES / 10), scan / 1_000_000.0 / SCANS, checksum);
+    }
+
+    // Zipf-like: low word numbers are far more frequent than high ones
+    private static String sentence(String[] vocabulary, SplittableRandom random, int words) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            double skew = random.nextDouble();
+            builder.append(vocabulary[(int) (skew * skew * skew * vocabulary.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static int scan(List<Deck> decks, String term) {
+        int found = 0;
+        for (Deck deck : decks) {
+            for (Card card : deck.getCards()) {
+                if (card.getQuestion().toLowerCase(Locale.ROOT).contains(term)
+                        || card.getAnswer().toLowerCase(Locale.ROOT).contains(term)) {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+}
\ No newline at end of file
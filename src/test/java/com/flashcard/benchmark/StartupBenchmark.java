@@ -0,0 +1,61 @@
+package com.flashcard.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.storage.JsonDataStorage;
+import com.flashcard.storage.JsonDeckStreams;
+import com.flashcard.storage.ProgressListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.stream.IntStream;
+
+// Cold-start time of JsonDataStorage with sequential and parallel loading of decks.json.
+// Usage: StartupBenchmark [cardsPerDeck]
+public class StartupBenchmark {
+    private static final int[] CARD_COUNTS = {1_000, 100_000, 1_000_000};
+
+    public static void main(String[] args) throws IOException {
+        int cardsPerDeck = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        System.out.printf("Cores: %d, cards per deck: %d%n", Runtime.getRuntime().availableProcessors(), cardsPerDeck);
+
+        for (int totalCards : CARD_COUNTS) {
+            Path dir = Files.createTempDirectory("flashcard-startup");
+            int deckCount = Math.max(1, totalCards / cardsPerDeck);
+            writeLibrary(dir.resolve("decks.json"), deckCount, cardsPerDeck);
+
+            long sequential = Long.MAX_VALUE;
+            long parallel = Long.MAX_VALUE;
+            for (int round = 0; round < 5; round++) {
+                long start = System.nanoTime();
+                new JsonDataStorage(dir.toString(), false);
+                sequential = Math.min(sequential, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                new JsonDataStorage(dir.toString(), true);
+                parallel = Math.min(parallel, System.nanoTime() - start);
+            }
+
+            System.out.printf("%,9d cards (%,d bytes): sequential %.1f ms, parallel %.1f ms, speedup %.2fx%n",
+                    totalCards, Files.size(dir.resolve("decks.json")), sequential / 1e6, parallel / 1e6,
+                    (double) sequential / parallel);
+        }
+    }
+
+    private static void writeLibrary(Path file, int deckCount, int cardsPerDeck) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        Iterator<Deck> decks = IntStream.range(0, deckCount).mapToObj(d -> {
+            Deck deck = new Deck("deck-" + d, "Deck " + d);
+            for (int c = 0; c < cardsPerDeck; c++) {
+                deck.addCard(new Card("card-" + d + "-" + c, "Question " + c + " of deck " + d, "Answer " + c));
+            }
+            return deck;
+        }).iterator();
+        new JsonDeckStreams(mapper).exportDecks(file.toFile(), decks, ProgressListener.NONE);
+    }
+}
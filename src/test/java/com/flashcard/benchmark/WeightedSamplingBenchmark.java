@@ -0,0 +1,67 @@
+package com.flashcard.benchmark;
+
+import com.flashcard.model.Card;
+import com.flashcard.service.WeightedCardSampler;
+
+import java.util.SplittableRandom;
+
+// Weighted pick plus weight update on a 1M-card deck: WeightedCardSampler against a linear scan over
+// a plain weight array, which is what a sampler without an index has to do.
+public class WeightedSamplingBenchmark {
+    private static final int CARDS = 1_000_000;
+    private static final int SAMPLER_OPERATIONS = 1_000_000;
+    private static final int NAIVE_OPERATIONS = 500;
+
+    public static void main(String[] args) {
+        WeightedCardSampler sampler = new WeightedCardSampler(1);
+        long[] weights = new long[CARDS];
+        String[] ids = new String[CARDS];
+        for (int i = 0; i < CARDS; i++) {
+            ids[i] = "card-" + i;
+            sampler.addCard(new Card(ids[i], "Question " + i, "Answer " + i));
+            weights[i] = WeightedCardSampler.INITIAL_WEIGHT;
+        }
+
+        long fenwick = Long.MAX_VALUE;
+        long naive = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < 5; round++) {
+            SplittableRandom random = new SplittableRandom(round);
+            long start = System.nanoTime();
+            for (int i = 0; i < SAMPLER_OPERATIONS; i++) {
+                Card card = sampler.next();
+                sampler.recordAnswer(card.getId(), random.nextBoolean());
+                checksum += card.getId().length();
+            }
+            fenwick = Math.min(fenwick, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < NAIVE_OPERATIONS; i++) {
+                int picked = naivePick(weights, random);
+                weights[picked] = random.nextBoolean()
+                        ? Math.max(WeightedCardSampler.MIN_WEIGHT, weights[picked] / 2)
+                        : Math.min(WeightedCardSampler.MAX_WEIGHT, weights[picked] * 2);
+                checksum += picked;
+            }
+            naive = Math.min(naive, System.nanoTime() - start);
+        }
+
+        System.out.printf("%,d cards: Fenwick pick+update %.1f ns/op, linear scan pick+update %.1f ns/op (%d)%n",
+                CARDS, (double) fenwick / SAMPLER_OPERATIONS, (double) naive / NAIVE_OPERATIONS, checksum);
+    }
+
+    private static int naivePick(long[] weights, SplittableRandom random) {
+        long total = 0;
+        for (long weight : weights) {
+            total += weight;
+        }
+        long target = random.nextLong(total);
+        for (int i = 0; i < weights.length; i++) {
+            target -= weights[i];
+            if (target < 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException();
+    }
+}
\ No newline at end of file
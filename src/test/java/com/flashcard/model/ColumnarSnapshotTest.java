@@ -0,0 +1,68 @@
+package com.flashcard.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ColumnarSnapshot Tests")
+class ColumnarSnapshotTest {
+
+    @Test
+    @DisplayName("Should match question or answer text ignoring case, including Cyrillic")
+    void testForEachMatching_MixedCase_MatchesRows() {
+        Deck deck = new Deck("deck-1", "Географія");
+        deck.addCard(new Card(CompactId.random(), "Столиця України?", "Київ"));
+        deck.addCard(new Card(CompactId.random(), "Capital of France?", "Paris"));
+        deck.addCard(new Card(CompactId.random(), "Де Дніпро впадає?", "у Чорне море"));
+        ColumnarSnapshot columns = deck.getSnapshot().getColumns();
+
+        List<Integer> rows = new ArrayList<>();
+        columns.forEachMatching("КИЇВ", rows::add);
+
+        assertAll(
+                () -> assertEquals(3, columns.size()),
+                () -> assertEquals(List.of(0), rows),
+                () -> assertEquals(1, columns.countMatching("paris")),
+                () -> assertEquals(3, columns.countMatching("?")),
+                () -> assertEquals(1, columns.countMatching("море")),
+                () -> assertEquals(0, columns.countMatching("Берлін"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should give back the card id of each row, UUID or legacy")
+    void testGetCardId_UuidAndLegacyIds_RoundTrip() {
+        CompactId uuid = CompactId.random();
+        Deck deck = new Deck("deck-1", "Змішані");
+        deck.addCard(new Card(uuid, "Питання 1", "Відповідь 1"));
+        deck.addCard(new Card("card-2", "Питання 2", "Відповідь 2"));
+        ColumnarSnapshot columns = deck.getSnapshot().getColumns();
+
+        assertAll(
+                () -> assertEquals(uuid, columns.getCardId(0)),
+                () -> assertEquals(CompactId.parse("card-2"), columns.getCardId(1)),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> columns.getCardId(2))
+        );
+    }
+
+    @Test
+    @DisplayName("Should build the columns once per snapshot and rebuild after a change")
+    void testGetColumns_SnapshotChanges_NewColumns() {
+        Deck deck = new Deck("deck-1", "Колода");
+        deck.addCard(new Card(CompactId.random(), "Питання", "Відповідь"));
+        DeckSnapshot before = deck.getSnapshot();
+        ColumnarSnapshot first = before.getColumns();
+
+        deck.addCard(new Card(CompactId.random(), "Ще питання", "Ще відповідь"));
+
+        assertAll(
+                () -> assertSame(first, before.getColumns()),
+                () -> assertEquals(1, first.size()),
+                () -> assertEquals(2, deck.getSnapshot().getColumns().size())
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.flashcard.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CompactId Tests")
+class CompactIdTest {
+
+    @Test
+    @DisplayName("Should pack a UUID string into two longs and format it back")
+    void testParse_CanonicalUuid_RoundTrips() {
+        UUID uuid = UUID.randomUUID();
+
+        CompactId id = CompactId.parse(uuid.toString());
+
+        assertAll(
+                () -> assertFalse(id.isLegacy()),
+                () -> assertEquals(uuid.getMostSignificantBits(), id.getMostSignificantBits()),
+                () -> assertEquals(uuid.getLeastSignificantBits(), id.getLeastSignificantBits()),
+                () -> assertEquals(uuid.toString(), id.toString()),
+                () -> assertEquals(uuid.hashCode(), id.hashCode())
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep non-UUID ids as they were written")
+    void testParse_LegacyIds_KeptVerbatim() {
+        String upper = UUID.randomUUID().toString().toUpperCase();
+
+        assertAll(
+                () -> assertTrue(CompactId.parse("card-1").isLegacy()),
+                () -> assertEquals("card-1", CompactId.parse("card-1").toString()),
+                () -> assertEquals(upper, CompactId.parse(upper).toString()),
+                () -> assertNull(CompactId.parse(null))
+        );
+    }
+
+    @Test
+    @DisplayName("Should compare ids by value")
+    void testEquals_SameValue_Equal() {
+        String value = UUID.randomUUID().toString();
+
+        assertAll(
+                () -> assertEquals(CompactId.parse(value), CompactId.parse(value)),
+                () -> assertEquals(CompactId.parse("deck-1"), CompactId.parse("deck-1")),
+                () -> assertNotEquals(CompactId.parse(value), CompactId.parse("deck-1")),
+                () -> assertNotEquals(CompactId.random(), CompactId.random())
+        );
+    }
+
+    @Test
+    @DisplayName("Should serialize cards with the existing string id")
+    void testCardJson_CompactId_StringForm() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        Card card = new Card(CompactId.random(), "Q", "A");
+
+        String json = mapper.writeValueAsString(card);
+        Card loaded = mapper.readValue(json, Card.class);
+
+        assertAll(
+                () -> assertTrue(json.contains("\"id\":\"" + card.getId() + "\"")),
+                () -> assertFalse(json.contains("compactId")),
+                () -> assertEquals(card, loaded)
+        );
+    }
+}
@@ -0,0 +1,91 @@
+package com.flashcard.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PersistentVector Tests")
+class PersistentVectorTest {
+
+    private static List<Integer> toList(PersistentVector<Integer> vector) {
+        List<Integer> values = new ArrayList<>();
+        for (Integer value : vector) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Test
+    @DisplayName("Should keep every earlier version unchanged")
+    void testAppend_EarlierVersions_Unchanged() {
+        List<PersistentVector<Integer>> versions = new ArrayList<>();
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < 2000; i++) {
+            versions.add(vector);
+            vector = vector.append(i);
+        }
+
+        PersistentVector<Integer> last = vector;
+        assertAll(
+                () -> assertEquals(2000, last.size()),
+                () -> assertEquals(1999, last.get(1999)),
+                () -> assertEquals(0, versions.get(0).size()),
+                () -> assertEquals(1057, versions.get(1057).size()),
+                () -> assertEquals(1055, versions.get(1057).get(1055))
+        );
+    }
+
+    @Test
+    @DisplayName("Should match a list under random sets and removals")
+    void testSetAndRemove_RandomOperations_MatchList() {
+        Random random = new Random(3);
+        List<Integer> bySlot = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            bySlot.add(i);
+        }
+        PersistentVector<Integer> vector = PersistentVector.of(bySlot);
+        PersistentVector<Integer> original = vector;
+
+        for (int i = 0; i < 3000; i++) {
+            int slot = random.nextInt(bySlot.size());
+            if (random.nextBoolean()) {
+                vector = vector.remove(slot);
+                bySlot.set(slot, null);
+            } else {
+                vector = vector.set(slot, -slot);
+                bySlot.set(slot, -slot);
+            }
+        }
+
+        List<Integer> expected = new ArrayList<>();
+        for (Integer value : bySlot) {
+            if (value != null) {
+                expected.add(value);
+            }
+        }
+        PersistentVector<Integer> result = vector;
+        assertAll(
+                () -> assertEquals(expected, toList(result)),
+                () -> assertEquals(expected.size(), result.size()),
+                () -> assertEquals(expected.get(expected.size() / 2), result.get(expected.size() / 2)),
+                () -> assertEquals(5000, toList(original).size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject positions outside the vector")
+    void testGet_OutOfRange_ThrowsException() {
+        PersistentVector<Integer> vector = PersistentVector.<Integer>empty().append(1).remove(0);
+
+        assertAll(
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> vector.get(0)),
+                () -> assertNull(vector.getSlot(0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> vector.append(null))
+        );
+    }
+}
@@ -0,0 +1,71 @@
+package com.flashcard.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TextArena Tests")
+class TextArenaTest {
+
+    @Test
+    @DisplayName("Should read back text across chunk boundaries")
+    void testAddAndGet_ManyStrings_RoundTrip() {
+        TextArena arena = new TextArena(256);
+        long[] handles = new long[1000];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = arena.add("Питання № " + i + " ✓");
+        }
+
+        assertAll(
+                () -> assertEquals("Питання № 0 ✓", arena.get(handles[0])),
+                () -> assertEquals("Питання № 999 ✓", arena.get(handles[999])),
+                () -> assertTrue(arena.getCapacity() > 256),
+                () -> assertTrue(arena.getBytesUsed() <= arena.getCapacity())
+        );
+    }
+
+    @Test
+    @DisplayName("Should store null, empty and oversized text")
+    void testAdd_EdgeCases_RoundTrip() {
+        TextArena arena = new TextArena(64);
+        char[] chars = new char[1000];
+        Arrays.fill(chars, 'a');
+        String large = new String(chars);
+
+        long nullHandle = arena.add(null);
+        long emptyHandle = arena.add("");
+        long largeHandle = arena.add(large);
+
+        assertAll(
+                () -> assertEquals(TextArena.NULL_HANDLE, nullHandle),
+                () -> assertNull(arena.get(nullHandle)),
+                () -> assertEquals("", arena.get(emptyHandle)),
+                () -> assertEquals(large, arena.get(largeHandle))
+        );
+    }
+
+    @Test
+    @DisplayName("Should behave like a regular card")
+    void testArenaCard_SettersAndCopy_Consistent() {
+        TextArena arena = new TextArena();
+        Card plain = new Card("card-1", "Q", "A");
+        plain.markClean();
+        ArenaCard card = new ArenaCard(plain, arena);
+
+        boolean cleanAfterCopy = !card.isDirty();
+        card.setAnswer("B");
+        Card copy = new Card(card);
+
+        assertAll(
+                () -> assertTrue(cleanAfterCopy),
+                () -> assertTrue(card.isDirty()),
+                () -> assertEquals("B", card.getAnswer()),
+                () -> assertEquals("Q", copy.getQuestion()),
+                () -> assertEquals("B", copy.getAnswer()),
+                () -> assertEquals(plain, card)
+        );
+    }
+}
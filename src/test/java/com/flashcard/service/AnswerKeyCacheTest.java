@@ -0,0 +1,87 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AnswerKeyCache Tests")
+class AnswerKeyCacheTest {
+
+    @Mock
+    private DeckService mockDeckService;
+
+    private final AnswerMatcher matcher = new AnswerMatcher();
+    private AnswerKeyCache cache;
+    private Deck testDeck;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AnswerKeyCache(matcher);
+        testDeck = new Deck("deck-1", "Test Deck");
+        testDeck.addCard(new Card("card-1", "Capital of Ukraine?", "Kyiv | Kiev"));
+    }
+
+    @Test
+    @DisplayName("Should prepare a card's key once and accept every alternate")
+    void testGetKey_RepeatedChecks_SameKey() {
+        Card card = testDeck.findCardById("card-1");
+
+        AnswerKey key = cache.getKey("deck-1", card);
+
+        assertAll(
+                () -> assertSame(key, cache.getKey("deck-1", card)),
+                () -> assertEquals(2, key.size()),
+                () -> assertEquals("kyiv", key.getAlternate(0)),
+                () -> assertTrue(matcher.matches(key, "KIEV")),
+                () -> assertFalse(matcher.matches(key, "Lviv"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should drop a key when CardService updates or deletes the card")
+    void testCardService_UpdateAndDelete_KeyInvalidated() {
+        when(mockDeckService.updateDeck(eq("deck-1"), any())).thenAnswer(
+                invocation -> invocation.<Predicate<Deck>>getArgument(1).test(testDeck));
+        CardService cardService = new CardService(mockDeckService);
+        cardService.addCardChangeListener(cache);
+        AnswerKey before = cache.getKey("deck-1", testDeck.findCardById("card-1"));
+
+        cardService.updateCard("deck-1", "card-1", "Capital of Poland?", "Warsaw");
+        int sizeAfterUpdate = cache.size();
+        AnswerKey after = cache.getKey("deck-1", testDeck.findCardById("card-1"));
+        cardService.deleteCard("deck-1", "card-1");
+
+        assertAll(
+                () -> assertEquals(0, sizeAfterUpdate),
+                () -> assertNotSame(before, after),
+                () -> assertTrue(matcher.matches(after, "warsaw")),
+                () -> assertFalse(matcher.matches(after, "Kyiv")),
+                () -> assertEquals(0, cache.size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should not read the answer again once the key is cached")
+    void testGetKey_CachedKey_AnswerNotReread() {
+        Card card = spy(new Card("card-2", "Capital of Poland?", "Warsaw"));
+
+        cache.getKey("deck-1", card);
+        cache.getKey("deck-1", card);
+        cache.getKey("deck-1", card);
+
+        verify(card, times(1)).getAnswer();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.flashcard.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AnswerMatcher Tests")
+class AnswerMatcherTest {
+    private final AnswerMatcher matcher = new AnswerMatcher();
+
+    @Test
+    @DisplayName("Should ignore case, punctuation, whitespace and accents")
+    void testMatches_FormattingDifferences_Accepted() {
+        assertAll(
+                () -> assertTrue(matcher.matches("New York", "new-york!")),
+                () -> assertTrue(matcher.matches("café", "CAFE")),
+                () -> assertTrue(matcher.matches("Ünïcödé", "unicode")),
+                () -> assertTrue(matcher.matches("м'ясо", "м’ясо")),
+                () -> assertEquals("naive", matcher.normalize("Naïve."))
+        );
+    }
+
+    @Test
+    @DisplayName("Should accept small typos only in long enough answers")
+    void testMatches_Typos_AllowedByLength() {
+        assertAll(
+                () -> assertTrue(matcher.matches("Paris", "Pariss")),
+                () -> assertTrue(matcher.matches("photosynthesis", "fotosynthesis")),
+                () -> assertTrue(matcher.matches("Хмельницький", "Хмельницкий")),
+                () -> assertFalse(matcher.matches("Kyiv", "Kyev")),
+                () -> assertFalse(matcher.matches("photosynthesis", "photo")),
+                () -> assertFalse(matcher.matches("12345", "12346"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep the sign and decimal separator of numeric answers")
+    void testMatches_SignedAndDecimalNumbers_ComparedExactly() {
+        assertAll(
+                () -> assertFalse(matcher.matches("-5", "5")),
+                () -> assertFalse(matcher.matches("5", "-5")),
+                () -> assertTrue(matcher.matches("-5", " -5 ")),
+                () -> assertTrue(matcher.matches("\u22125", "-5")),
+                () -> assertFalse(matcher.matches("3.14", "314")),
+                () -> assertFalse(matcher.matches("3.14", "31.4")),
+                () -> assertFalse(matcher.matches("3.14", "3.15")),
+                () -> assertTrue(matcher.matches("3.14", "3,14")),
+                () -> assertTrue(matcher.matches("-273.15", "-273,15")),
+                () -> assertEquals("3.14", matcher.prepare("3.14").getAlternate(0)),
+                () -> assertFalse(matcher.matches(matcher.prepare("3.14"), "31.4")),
+                () -> assertEquals("3.14", matcher.normalize("3,14")),
+                () -> assertEquals("newyork", matcher.normalize("New-York.")),
+                () -> assertEquals("x5", matcher.normalize("x-5"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should honour the configured limits")
+    void testMatches_CustomConfiguration_Applied() {
+        AnswerMatcher exact = AnswerMatcher.exact();
+        AnswerMatcher lenient = new AnswerMatcher(3, 0.5);
+        AnswerMatcher noFolding = new AnswerMatcher(0, 1, false);
+
+        assertAll(
+                () -> assertFalse(exact.matches("Paris", "Pariss")),
+                () -> assertTrue(exact.matches("Paris", " paris ")),
+                () -> assertTrue(lenient.matches("Kyiv", "Kyev")),
+                () -> assertFalse(noFolding.matches("café", "cafe")),
+                () -> assertThrows(IllegalArgumentException.class, () -> new AnswerMatcher(-1, 0.8)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new AnswerMatcher(1, 1.5))
+        );
+    }
+
+    @Test
+    @DisplayName("Should accept any of the alternates separated by '|'")
+    void testMatches_Alternates_AnyAccepted() {
+        assertAll(
+                () -> assertTrue(matcher.matches("Kyiv | Kiev", "kiev")),
+                () -> assertTrue(matcher.matches("Kyiv|Kiev", "Kyiv")),
+                () -> assertFalse(matcher.matches("Kyiv|Kiev", "Kyiv|Kiev|Lviv")),
+                () -> assertTrue(matcher.matches("|", "|")),
+                () -> assertEquals(1, matcher.prepare("Kyiv||").size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should compare answers made only of punctuation as typed")
+    void testMatches_PunctuationOnly_ComparedVerbatim() {
+        assertAll(
+                () -> assertTrue(matcher.matches("?!", " ?! ")),
+                () -> assertFalse(matcher.matches("?!", "!?")),
+                () -> assertFalse(matcher.matches("Paris", null))
+        );
+    }
+
+    @Test
+    @DisplayName("Should agree with full Levenshtein distance up to the limit")
+    void testDistance_RandomStrings_MatchesFullDistance() {
+        Random random = new Random(3);
+        for (int i = 0; i < 2000; i++) {
+            String a = randomWord(random);
+            String b = randomWord(random);
+            int limit = random.nextInt(4);
+            int expected = Math.min(fullDistance(a, b), limit + 1);
+
+            assertEquals(expected, AnswerMatcher.distance(a, b, limit), a + " / " + b + " / " + limit);
+        }
+    }
+
+    private static String randomWord(Random random) {
+        char[] chars = new char[random.nextInt(9)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(chars);
+    }
+
+    private static int fullDistance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    d[i][j] = i + j;
+                } else {
+                    int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                    d[i][j] = Math.min(d[i - 1][j - 1] + cost, Math.min(d[i - 1][j], d[i][j - 1]) + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
\ No newline at end of file
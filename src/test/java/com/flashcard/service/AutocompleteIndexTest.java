@@ -0,0 +1,117 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Completion;
+import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSummary;
+import com.flashcard.storage.DataStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AutocompleteIndex Tests")
+class AutocompleteIndexTest {
+
+    @Mock
+    private DataStorage mockStorage;
+
+    private AutocompleteIndex autocomplete;
+    private Deck spanish;
+    private Deck spain;
+
+    @BeforeEach
+    void setUp() {
+        autocomplete = new AutocompleteIndex();
+        spanish = new Deck("deck-1", "Spanish verbs");
+        spanish.addCard(new Card("c1", "To eat", "Comer"));
+        spanish.addCard(new Card("c2", "To drink", "Beber"));
+        spain = new Deck("deck-2", "Spain: geography");
+        spain.addCard(new Card("c3", "Capital of Spain?", "Madrid"));
+        spain.addCard(new Card("c4", "Longest river of Spain?", "Tagus"));
+        spain.addCard(new Card("c5", "Highest mountain of Spain?", "Teide"));
+        autocomplete.rebuild(List.of(spanish, spain, new Deck("deck-3", "Économie")));
+    }
+
+    private static List<String> names(List<DeckSummary> decks) {
+        List<String> names = new ArrayList<>();
+        for (DeckSummary deck : decks) {
+            names.add(deck.getName());
+        }
+        return names;
+    }
+
+    @Test
+    @DisplayName("Should complete deck names ignoring case, accents and punctuation")
+    void testCompleteDeckNames_Prefix_LargestDeckFirst() {
+        assertAll(
+                () -> assertEquals(List.of("Spain: geography", "Spanish verbs"),
+                        names(autocomplete.completeDeckNames("SPA", 10))),
+                () -> assertEquals(List.of("Spain: geography"), names(autocomplete.completeDeckNames("spain geo", 10))),
+                () -> assertEquals(List.of("Économie"), names(autocomplete.completeDeckNames("eco", 10))),
+                () -> assertEquals(3, autocomplete.completeDeckNames("spa", 10).get(0).getCardCount()),
+                () -> assertEquals(1, autocomplete.completeDeckNames("spa", 1).size()),
+                () -> assertTrue(autocomplete.completeDeckNames("french", 10).isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("Should complete card questions in alphabetical order")
+    void testCompleteQuestions_Prefix_Alphabetical() {
+        List<Completion> completions = autocomplete.completeQuestions("to", 10);
+
+        assertAll(
+                () -> assertEquals(2, completions.size()),
+                () -> assertEquals("To drink", completions.get(0).getText()),
+                () -> assertEquals("deck-1", completions.get(0).getDeckId()),
+                () -> assertEquals("c2", completions.get(0).getCardId()),
+                () -> assertEquals("To eat", completions.get(1).getText()),
+                () -> assertEquals(5, autocomplete.getQuestionCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Should follow decks and cards changed through the services")
+    void testListeners_ServiceChanges_IndexUpdated() {
+        DeckService deckService = new DeckService(mockStorage);
+        CardService cardService = new CardService(deckService);
+        deckService.addDeckChangeListener(autocomplete);
+        cardService.addCardChangeListener(autocomplete);
+        when(mockStorage.loadDeck("deck-1")).thenReturn(spanish);
+        when(mockStorage.deleteDeck("deck-2")).thenReturn(true);
+        when(mockStorage.updateDeck(anyString(), any())).thenCallRealMethod();
+
+        Deck created = deckService.createDeck("Spanish nouns");
+        Card card = cardService.createCard("deck-1", "To sleep", "Dormir");
+        cardService.createCard("deck-1", "To run", "Correr");
+        cardService.updateCard("deck-1", "c1", "To have lunch", "Almorzar");
+        cardService.deleteCard("deck-1", "c2");
+        deckService.deleteDeck("deck-2");
+
+        List<DeckSummary> decks = autocomplete.completeDeckNames("span", 10);
+        List<Completion> questions = autocomplete.completeQuestions("to", 10);
+        List<String> texts = new ArrayList<>();
+        for (Completion completion : questions) {
+            texts.add(completion.getText());
+        }
+        assertAll(
+                () -> assertEquals(List.of("Spanish verbs", "Spanish nouns"), names(decks)),
+                () -> assertEquals(3, decks.get(0).getCardCount()),
+                () -> assertEquals(created.getId(), decks.get(1).getId()),
+                () -> assertEquals(List.of("To have lunch", "To run", "To sleep"), texts),
+                () -> assertEquals(card.getId(), questions.get(2).getCardId()),
+                () -> assertTrue(autocomplete.completeDeckNames("spain", 10).isEmpty()),
+                () -> assertTrue(autocomplete.completeQuestions("capital", 10).isEmpty()),
+                () -> assertEquals(3, autocomplete.getDeckCount())
+        );
+    }
+}
\ No newline at end of file
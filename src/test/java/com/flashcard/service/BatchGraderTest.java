@@ -0,0 +1,108 @@
+package com.flashcard.service;
+
+import com.flashcard.model.AnswerSubmission;
+import com.flashcard.model.BatchGradingResult;
+import com.flashcard.model.BatchGradingResult.Grade;
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchGrader Tests")
+class BatchGraderTest {
+
+    @Mock
+    private DeckService mockDeckService;
+
+    private final AnswerMatcher matcher = new AnswerMatcher();
+    private BatchGrader grader;
+    private Deck testDeck;
+
+    @BeforeEach
+    void setUp() {
+        grader = new BatchGrader(mockDeckService, matcher, new AnswerKeyCache(matcher));
+        testDeck = new Deck("deck-1", "Test Deck");
+        testDeck.addCard(new Card("card-1", "What is 2+2?", "4"));
+        testDeck.addCard(new Card("card-2", "Capital of Ukraine?", "Kyiv|Kiev"));
+    }
+
+    @Test
+    @DisplayName("Should grade each submission in order and count the totals")
+    void testGrade_MixedSubmissions_GradesAndTotals() {
+        when(mockDeckService.getDeckById("deck-1")).thenReturn(testDeck);
+        AnswerSubmission[] submissions = {
+                new AnswerSubmission("user-1", "card-1", "4"),
+                new AnswerSubmission("user-1", "card-2", "kiev"),
+                new AnswerSubmission("user-2", "card-1", "5"),
+                new AnswerSubmission("user-2", "card-9", "4"),
+                new AnswerSubmission("user-2", "card-2", null)
+        };
+
+        BatchGradingResult result = grader.grade("deck-1", submissions);
+
+        assertAll(
+                () -> assertEquals(5, result.size()),
+                () -> assertEquals(Grade.CORRECT, result.getGrade(0)),
+                () -> assertTrue(result.isCorrect(1)),
+                () -> assertEquals(Grade.INCORRECT, result.getGrade(2)),
+                () -> assertEquals(Grade.UNKNOWN_CARD, result.getGrade(3)),
+                () -> assertEquals(Grade.UNKNOWN_CARD, result.getGrade(4)),
+                () -> assertEquals(2, result.getCorrectCount()),
+                () -> assertEquals(1, result.getIncorrectCount()),
+                () -> assertEquals(2, result.getUnknownCount()),
+                () -> assertTrue(result.getElapsedNanos() > 0),
+                () -> verify(mockDeckService, times(1)).getDeckById("deck-1")
+        );
+    }
+
+    @Test
+    @DisplayName("Should give the same grades in parallel as one by one")
+    void testGrade_LargeBatch_MatchesSequentialChecks() {
+        when(mockDeckService.getDeckById("deck-1")).thenReturn(testDeck);
+        Random random = new Random(9);
+        String[] answers = {"4", "5", "Kyiv", "Kyyv", "Lviv"};
+        AnswerSubmission[] submissions = new AnswerSubmission[BatchGrader.SPLIT_THRESHOLD * 5 + 17];
+        for (int i = 0; i < submissions.length; i++) {
+            submissions[i] = new AnswerSubmission("card-" + (1 + random.nextInt(2)), answers[random.nextInt(answers.length)]);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        BatchGrader parallelGrader = new BatchGrader(mockDeckService, matcher, new AnswerKeyCache(matcher), pool);
+
+        BatchGradingResult result = parallelGrader.grade("deck-1", submissions);
+        pool.shutdown();
+
+        for (int i = 0; i < submissions.length; i++) {
+            Card card = testDeck.findCardById(submissions[i].getCardId());
+            assertEquals(matcher.matches(card.getAnswer(), submissions[i].getAnswer()), result.isCorrect(i));
+        }
+        assertEquals(submissions.length, result.getCorrectCount() + result.getIncorrectCount());
+    }
+
+    @Test
+    @DisplayName("Should accept a stream and reject an unknown deck")
+    void testGrade_StreamAndMissingDeck() {
+        when(mockDeckService.getDeckById("deck-1")).thenReturn(testDeck);
+        when(mockDeckService.getDeckById("missing")).thenReturn(null);
+
+        BatchGradingResult result = grader.grade("deck-1",
+                Stream.of(new AnswerSubmission("card-1", "4"), new AnswerSubmission("card-2", "Kyiv")));
+
+        assertAll(
+                () -> assertEquals(2, result.getCorrectCount()),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> grader.grade("missing", new AnswerSubmission[0]))
+        );
+    }
+}
\ No newline at end of file
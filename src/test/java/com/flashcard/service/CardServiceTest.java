@@ -4,6 +4,8 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.flashcard.model.Card;
 import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSnapshot;
+import com.flashcard.model.DuplicateCluster;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +14,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 import static org.mockito.Mockito.*;
 
@@ -29,6 +32,16 @@ class CardServiceTest {
     void setUp() {
         cardService = new CardService(mockDeckService);
         testDeck = new Deck("deck-1", "Test Deck");
+        // Behaves like DeckService over a plain storage: load, change, save
+        lenient().when(mockDeckService.updateDeck(anyString(), any())).thenAnswer(invocation -> {
+            Deck deck = mockDeckService.getDeckById(invocation.getArgument(0));
+            Predicate<Deck> change = invocation.getArgument(1);
+            if (deck == null || !change.test(deck)) {
+                return false;
+            }
+            mockDeckService.updateDeck(deck);
+            return true;
+        });
     }
 
     @Test
@@ -117,6 +130,26 @@ class CardServiceTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    @DisplayName("Should find cards in a deck by question or answer text ignoring case")
+    void testFindCardsInDeck_MatchingText_ReturnsCardsInOrder() {
+        Card capital = new Card("card-1", "Столиця Франції?", "Париж");
+        Card river = new Card("card-2", "Найдовша річка?", "Ніл");
+        Card paris = new Card("card-3", "Місто на Сені?", "ПАРИЖ");
+        testDeck.addCard(capital);
+        testDeck.addCard(river);
+        testDeck.addCard(paris);
+        when(mockDeckService.getDeckById("deck-1")).thenReturn(testDeck);
+
+        List<Card> result = cardService.findCardsInDeck("deck-1", "париж");
+        List<Card> none = cardService.findCardsInDeck("deck-1", "Берлін");
+
+        assertAll(
+                () -> assertEquals(List.of(capital, paris), result),
+                () -> assertTrue(none.isEmpty())
+        );
+    }
+
     @Test
     @DisplayName("Should update card with valid data")
     void testUpdateCard_ValidData_Success() {
@@ -126,14 +159,31 @@ class CardServiceTest {
 
         boolean result = cardService.updateCard("deck-1", "card-1", "New Question", "New Answer");
 
+        Card updated = testDeck.findCardById("card-1");
         assertAll(
                 () -> assertTrue(result),
-                () -> assertEquals("New Question", card.getQuestion()),
-                () -> assertEquals("New Answer", card.getAnswer()),
+                () -> assertEquals("New Question", updated.getQuestion()),
+                () -> assertEquals("New Answer", updated.getAnswer()),
+                () -> assertEquals(1, testDeck.getCards().size()),
                 () -> verify(mockDeckService).updateDeck(testDeck)
         );
     }
 
+    @Test
+    @DisplayName("Should leave earlier deck snapshots unchanged on update")
+    void testUpdateCard_EarlierSnapshot_Unchanged() {
+        testDeck.addCard(new Card("card-1", "Old Question", "Old Answer"));
+        when(mockDeckService.getDeckById("deck-1")).thenReturn(testDeck);
+        DeckSnapshot before = testDeck.getSnapshot();
+
+        cardService.updateCard("deck-1", "card-1", "New Question", "New Answer");
+
+        assertAll(
+                () -> assertEquals("Old Question", before.getCard(0).getQuestion()),
+                () -> assertEquals("New Question", testDeck.getSnapshot().getCard(0).getQuestion())
+        );
+    }
+
     @Test
     @DisplayName("Should return false when updating card in non-existing deck")
     void testUpdateCard_DeckNotFound_ReturnsFalse() {
@@ -169,4 +219,57 @@ class CardServiceTest {
 
         assertFalse(result);
     }
+
+    @Test
+    @DisplayName("Should notify listeners of added, updated and deleted cards")
+    void testListeners_CardChanges_Notified() {
+        CardChangeListener listener = mock(CardChangeListener.class);
+        cardService.addCardChangeListener(listener);
+        when(mockDeckService.getDeckById("deck-1")).thenReturn(testDeck);
+
+        Card created = cardService.createCard("deck-1", "Q", "A");
+        cardService.updateCard("deck-1", created.getId(), "Q2", "A2");
+        cardService.deleteCard("deck-1", created.getId());
+        cardService.removeCardChangeListener(listener);
+        cardService.createCard("deck-1", "Q3", "A3");
+
+        assertAll(
+                () -> verify(listener).cardAdded("deck-1", created),
+                () -> verify(listener).cardUpdated(eq("deck-1"), argThat(card -> "A2".equals(card.getAnswer()))),
+                () -> verify(listener).cardRemoved("deck-1", created.getId()),
+                () -> verifyNoMoreInteractions(listener)
+        );
+    }
+
+    @Test
+    @DisplayName("Should refuse to search when no index was given")
+    void testSearch_NoIndexes_ThrowsException() {
+        assertAll(
+                () -> assertThrows(IllegalStateException.class, () -> cardService.searchCards("paris", 10)),
+                () -> assertThrows(IllegalStateException.class, () -> cardService.findDuplicateClusters())
+        );
+    }
+
+    @Test
+    @DisplayName("Should report duplicate cards and drop a deck once it is deleted")
+    void testFindDuplicateClusters_DuplicatesAcrossDecks_Reported() {
+        Deck otherDeck = new Deck("deck-2", "Other Deck");
+        testDeck.addCard(new Card("card-1", "What is the capital city of France?", "Paris"));
+        otherDeck.addCard(new Card("card-2", "What is the capital city of France", "Paris"));
+        when(mockDeckService.getAllDecks()).thenReturn(List.of(testDeck, otherDeck));
+        DuplicateDetector detector = new DuplicateDetector();
+        CardService detecting = new CardService(mockDeckService, IdGenerator.RANDOM, null, detector);
+        detecting.addCardChangeListener(detector);
+
+        List<DuplicateCluster> clusters = detecting.findDuplicateClusters();
+        detector.deckDeleted("deck-2");
+        List<DuplicateCluster> afterDelete = detecting.findDuplicateClusters();
+
+        assertAll(
+                () -> assertEquals(1, clusters.size()),
+                () -> assertEquals(2, clusters.get(0).size()),
+                () -> assertTrue(afterDelete.isEmpty()),
+                () -> verify(mockDeckService, times(1)).getAllDecks()
+        );
+    }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.flashcard.service;
 
+import com.flashcard.model.CompactId;
 import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSummary;
 import com.flashcard.storage.DataStorage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -43,6 +46,17 @@ class DeckServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("Should take deck ids from the configured generator")
+    void testCreateDeck_CustomIdGenerator_UsesGeneratedId() {
+        CompactId id = new CompactId(1L, 2L);
+        DeckService service = new DeckService(mockStorage, () -> id);
+
+        Deck result = service.createDeck("Test Deck");
+
+        assertEquals(id.toString(), result.getId());
+    }
+
     @Test
     @DisplayName("Should throw exception when deck name is null")
     void testCreateDeck_NullName_ThrowsException() {
@@ -93,6 +107,23 @@ class DeckServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("Should return deck summaries from storage")
+    void testGetDeckSummaries_ReturnsCorrectList() {
+        List<DeckSummary> expectedSummaries = List.of(
+                new DeckSummary("1", "Deck 1", 3),
+                new DeckSummary("2", "Deck 2", 0)
+        );
+        when(mockStorage.loadDeckSummaries()).thenReturn(expectedSummaries);
+
+        List<DeckSummary> result = deckService.getDeckSummaries();
+
+        assertAll(
+                () -> assertEquals(expectedSummaries, result),
+                () -> verify(mockStorage).loadDeckSummaries()
+        );
+    }
+
     @Test
     @DisplayName("Should return deck by ID")
     void testGetDeckById_ExistingDeck_ReturnsDeck() {
@@ -143,4 +174,29 @@ class DeckServiceTest {
         deckService.updateDeck(deck);
         verify(mockStorage).saveDeck(deck);
     }
+
+    @Test
+    @DisplayName("Should notify listeners of created and deleted decks")
+    void testListeners_DeckChanges_Notified() {
+        List<String> events = new ArrayList<>();
+        deckService.addDeckChangeListener(new DeckChangeListener() {
+            @Override
+            public void deckCreated(Deck deck) {
+                events.add("created " + deck.getName());
+            }
+
+            @Override
+            public void deckDeleted(String deckId) {
+                events.add("deleted " + deckId);
+            }
+        });
+        when(mockStorage.deleteDeck("deck-1")).thenReturn(true);
+        when(mockStorage.deleteDeck("missing")).thenReturn(false);
+
+        deckService.createDeck("History");
+        deckService.deleteDeck("deck-1");
+        deckService.deleteDeck("missing");
+
+        assertEquals(List.of("created History", "deleted deck-1"), events);
+    }
 }
\ No newline at end of file
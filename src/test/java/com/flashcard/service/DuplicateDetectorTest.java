@@ -0,0 +1,177 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.model.DuplicateCluster;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DuplicateDetector Tests")
+class DuplicateDetectorTest {
+
+    private DuplicateDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        detector = new DuplicateDetector();
+    }
+
+    private static Set<String> cardIds(DuplicateCluster cluster) {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < cluster.size(); i++) {
+            ids.add(cluster.getCardId(i));
+        }
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Should estimate similarity from MinHash signatures")
+    void testEstimateSimilarity_Cards_CloseToShingleOverlap() {
+        Card card = new Card("a", "What is the capital city of Ukraine?", "Kyiv");
+
+        assertAll(
+                () -> assertEquals(1.0, DuplicateDetector.estimateSimilarity(card,
+                        new Card("b", "what is the CAPITAL city of Ukraine", "Kyiv!"))),
+                () -> assertTrue(DuplicateDetector.estimateSimilarity(card,
+                        new Card("c", "What is the capital city of Ukraine??", "Kiev")) > 0.7),
+                () -> assertTrue(DuplicateDetector.estimateSimilarity(card,
+                        new Card("d", "Who wrote the novel War and Peace?", "Tolstoy")) < 0.2),
+                () -> assertEquals(0.0, DuplicateDetector.estimateSimilarity(card, new Card("e", "?", "!")))
+        );
+    }
+
+    @Test
+    @DisplayName("Should cluster near-identical cards from different decks")
+    void testFindClusters_NearDuplicates_Clustered() {
+        Deck first = new Deck("deck-1", "First");
+        first.addCard(new Card("a1", "What is the capital city of Ukraine?", "Kyiv"));
+        first.addCard(new Card("a2", "Who wrote the novel War and Peace?", "Leo Tolstoy"));
+        first.addCard(new Card("a3", "What is the boiling point of water at sea level?", "100 degrees Celsius"));
+        Deck second = new Deck("deck-2", "Second");
+        second.addCard(new Card("b1", "What's the capital city of Ukraine?", "Kyiv"));
+        second.addCard(new Card("b2", "Who wrote the novel War & Peace", "Leo Tolstoy"));
+        second.addCard(new Card("b3", "What is the largest planet of the Solar System?", "Jupiter"));
+
+        detector.indexDeck(first);
+        detector.indexDeck(second);
+        List<DuplicateCluster> clusters = detector.findClusters();
+
+        Set<Set<String>> found = new HashSet<>();
+        for (DuplicateCluster cluster : clusters) {
+            found.add(cardIds(cluster));
+        }
+        assertAll(
+                () -> assertEquals(Set.of(Set.of("a1", "b1"), Set.of("a2", "b2")), found),
+                () -> assertTrue(clusters.get(0).getSimilarity() >= DuplicateDetector.DEFAULT_MIN_SIMILARITY),
+                () -> assertEquals(6, detector.size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should follow cards as they are added, edited and removed")
+    void testListener_CardChanges_ClustersUpdated() {
+        detector.cardAdded("deck-1", new Card("a", "What is the chemical symbol for gold?", "Au"));
+        detector.cardAdded("deck-2", new Card("b", "What is the chemical symbol for gold", "Au"));
+        detector.cardAdded("deck-3", new Card("c", "what is the chemical symbol for GOLD?!", "Au"));
+        List<DuplicateCluster> added = detector.findClusters();
+
+        detector.cardUpdated("deck-2", new Card("b", "Speed of light in vacuum", "299792458 m/s"));
+        List<DuplicateCluster> updated = detector.findClusters();
+        detector.cardRemoved("deck-3", "c");
+        List<DuplicateCluster> removed = detector.findClusters();
+
+        assertAll(
+                () -> assertEquals(1, added.size()),
+                () -> assertEquals(Set.of("a", "b", "c"), cardIds(added.get(0))),
+                () -> assertEquals(1, updated.size()),
+                () -> assertEquals(Set.of("a", "c"), cardIds(updated.get(0))),
+                () -> assertTrue(removed.isEmpty()),
+                () -> assertEquals(2, detector.size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should split a cluster when the card joining it is removed")
+    void testCardRemoved_BridgeCard_ClusterSplit() {
+        // The middle card is similar to both others, which are not similar enough to each other
+        DuplicateDetector strict = new DuplicateDetector(0.62);
+        strict.cardAdded("deck", new Card("left", "which river flows through the city of kyiv", "x"));
+        strict.cardAdded("deck", new Card("right", "river flows through the city of kyiv and kaniv towns", "x"));
+        strict.cardAdded("deck", new Card("bridge", "which river flows through the city of kyiv and kaniv", "x"));
+        int before = strict.findClusters().get(0).size();
+
+        strict.cardRemoved("deck", "bridge");
+
+        assertAll(
+                () -> assertEquals(3, before),
+                () -> assertTrue(strict.findClusters().isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("Should find planted duplicates among many distinct cards")
+    void testFindClusters_ManyCards_PlantedDuplicatesFound() {
+        Random random = new Random(7);
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            cards.add(new Card("card-" + i, randomWords(random, 8), randomWords(random, 2)));
+        }
+        for (int i = 0; i < 3000; i++) {
+            detector.cardAdded("deck-" + (i % 7), cards.get(i));
+        }
+        for (int i = 0; i < 50; i++) {
+            Card original = cards.get(i * 60);
+            detector.cardAdded("copies", new Card("copy-" + i, original.getQuestion().toUpperCase() + "?",
+                    original.getAnswer()));
+        }
+        for (int i = 0; i < 1500; i++) {
+            detector.cardRemoved("deck-" + ((i * 2 + 1) % 7), "card-" + (i * 2 + 1));
+        }
+
+        List<DuplicateCluster> clusters = detector.findClusters();
+        Set<Set<String>> found = new HashSet<>();
+        for (DuplicateCluster cluster : clusters) {
+            found.add(cardIds(cluster));
+        }
+        Set<Set<String>> expected = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            expected.add(Set.of("card-" + (i * 60), "copy-" + i));
+        }
+        assertAll(
+                () -> assertEquals(expected, found),
+                () -> assertEquals(1550, detector.size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject a similarity threshold outside (0, 1]")
+    void testConstructor_InvalidThreshold_ThrowsException() {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> new DuplicateDetector(0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new DuplicateDetector(1.5))
+        );
+    }
+
+    private static String randomWords(Random random, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            int length = 3 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                builder.append((char) ('a' + random.nextInt(26)));
+            }
+        }
+        return builder.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.flashcard.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FenwickTree Tests")
+class FenwickTreeTest {
+
+    @Test
+    @DisplayName("Should match naive prefix sums through appends and updates")
+    void testPrefixSum_RandomOperations_MatchesNaive() {
+        FenwickTree tree = new FenwickTree(1);
+        List<Long> naive = new ArrayList<>();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 2000; i++) {
+            if (naive.isEmpty() || random.nextInt(3) == 0) {
+                long weight = random.nextInt(100);
+                assertEquals(naive.size(), tree.append(weight));
+                naive.add(weight);
+            } else {
+                int index = random.nextInt(naive.size());
+                long weight = random.nextInt(100);
+                tree.set(index, weight);
+                naive.set(index, weight);
+            }
+
+            int count = random.nextInt(naive.size() + 1);
+            long expected = 0;
+            for (int j = 0; j < count; j++) {
+                expected += naive.get(j);
+            }
+            assertEquals(expected, tree.prefixSum(count));
+        }
+    }
+
+    @Test
+    @DisplayName("Should find the index whose weight range holds the target")
+    void testFind_Targets_IndexOfRange() {
+        FenwickTree tree = new FenwickTree();
+        tree.append(3);
+        tree.append(0);
+        tree.append(5);
+        tree.append(2);
+
+        assertAll(
+                () -> assertEquals(10, tree.total()),
+                () -> assertEquals(0, tree.find(0)),
+                () -> assertEquals(0, tree.find(2)),
+                () -> assertEquals(2, tree.find(3)),
+                () -> assertEquals(2, tree.find(7)),
+                () -> assertEquals(3, tree.find(8)),
+                () -> assertEquals(3, tree.find(9)),
+                () -> assertThrows(IllegalArgumentException.class, () -> tree.find(10)),
+                () -> assertThrows(IllegalArgumentException.class, () -> tree.set(0, -1))
+        );
+    }
+}
\ No newline at end of file
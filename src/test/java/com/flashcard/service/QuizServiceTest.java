@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.flashcard.model.Card;
 import com.flashcard.model.Deck;
+import com.flashcard.storage.ReviewStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -125,4 +126,72 @@ class QuizServiceTest {
 
         assertFalse(result);
     }
-}
+
+    @Test
+    @DisplayName("Should start a session for an existing deck only")
+    void testStartSession_DeckLookup_SessionOrNull() {
+        testDeck.addCard(new Card("1", "Q1", "A1"));
+        when(mockDeckService.getDeckById("deck-1")).thenReturn(testDeck);
+        when(mockDeckService.getDeckById("missing")).thenReturn(null);
+
+        QuizSession session = quizService.startSession("deck-1");
+
+        assertAll(
+                () -> assertEquals("deck-1", session.getDeckId()),
+                () -> assertEquals("1", session.next().getId()),
+                () -> assertNull(quizService.startSession("missing"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should accept a small typo in a long answer")
+    void testCheckAnswer_SmallTypo_ReturnsTrue() {
+        Card card = new Card("1", "What is the capital of France?", "Paris");
+        QuizService exactQuizService = new QuizService(mockDeckService,
+                new ReviewScheduler(ReviewStore.inMemory()), AnswerMatcher.exact());
+
+        assertAll(
+                () -> assertTrue(quizService.checkAnswer(card, "Pariss")),
+                () -> assertFalse(exactQuizService.checkAnswer(card, "Pariss"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep the weighted sampler in step with card events without reloading the deck")
+    void testGetWeightedCard_CardEvents_SamplerFollows() {
+        testDeck.addCard(new Card("1", "Q1", "A1"));
+        testDeck.addCard(new Card("2", "Q2", "A2"));
+        when(mockDeckService.getDeckById("deck-1")).thenReturn(testDeck);
+        quizService.getWeightedCard("deck-1");
+
+        Card added = new Card("3", "Q3", "A3");
+        quizService.cardAdded("deck-1", added);
+        quizService.cardRemoved("deck-1", "1");
+        quizService.cardRemoved("deck-1", "2");
+        Card picked = quizService.getWeightedCard("deck-1");
+        quizService.deckDeleted("deck-1");
+        when(mockDeckService.getDeckById("deck-1")).thenReturn(null);
+
+        assertAll(
+                () -> assertSame(added, picked),
+                () -> assertNull(quizService.getWeightedCard("deck-1")),
+                () -> verify(mockDeckService, times(2)).getDeckById("deck-1")
+        );
+    }
+
+    @Test
+    @DisplayName("Should record checked answers in the deck statistics")
+    void testCheckAnswer_WithDeck_StatisticsRecorded() {
+        Card card = new Card("1", "What is 2+2?", "4");
+        testDeck.addCard(card);
+        when(mockDeckService.getDeckById("deck-1")).thenReturn(testDeck);
+
+        quizService.checkAnswer("deck-1", card, "4");
+        quizService.checkAnswer("deck-1", card, "5");
+
+        assertAll(
+                () -> assertEquals(2, quizService.getDeckStats("deck-1").getAttempts()),
+                () -> assertEquals(1, quizService.getDeckStats("deck-1").getCorrect())
+        );
+    }
+}
\ No newline at end of file
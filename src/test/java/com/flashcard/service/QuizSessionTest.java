@@ -0,0 +1,116 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QuizSession Tests")
+class QuizSessionTest {
+    private Deck deck;
+
+    @BeforeEach
+    void setUp() {
+        deck = new Deck("deck-1", "Test Deck");
+        for (int i = 1; i <= 20; i++) {
+            deck.addCard(new Card("card-" + i, "Q" + i, "A" + i));
+        }
+    }
+
+    private static List<String> drawIds(QuizSession session, int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(session.next().getId());
+        }
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Should show every card once per pass")
+    void testNext_FullPasses_NoRepeats() {
+        QuizSession session = new QuizSession(deck, 42);
+
+        for (int pass = 1; pass <= 5; pass++) {
+            Set<String> seen = new HashSet<>(drawIds(session, 20));
+            int currentPass = pass;
+            assertAll(
+                    () -> assertEquals(20, seen.size()),
+                    () -> assertEquals(currentPass, session.getPass()),
+                    () -> assertEquals(0, session.getRemaining())
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Should not repeat a card across the end of a pass")
+    void testNext_PassBoundary_DifferentCards() {
+        for (long seed = 0; seed < 200; seed++) {
+            QuizSession session = new QuizSession(deck, seed);
+            List<String> ids = drawIds(session, 60);
+            assertAll(
+                    () -> assertNotEquals(ids.get(19), ids.get(20)),
+                    () -> assertNotEquals(ids.get(39), ids.get(40))
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Should give the same order for the same seed")
+    void testNext_SameSeed_SameOrder() {
+        List<String> first = drawIds(new QuizSession(deck, 7), 40);
+        List<String> second = drawIds(new QuizSession(deck, 7), 40);
+        List<String> other = drawIds(new QuizSession(deck, 8), 40);
+
+        assertAll(
+                () -> assertEquals(first, second),
+                () -> assertNotEquals(first, other)
+        );
+    }
+
+    @Test
+    @DisplayName("Should include cards added during a pass from the next pass on")
+    void testNext_CardAdded_NextPass() {
+        QuizSession session = new QuizSession(deck, 1);
+        drawIds(session, 5);
+        deck.addCard(new Card("card-21", "Q21", "A21"));
+
+        List<String> rest = drawIds(session, 15);
+        Set<String> nextPass = new HashSet<>(drawIds(session, 21));
+
+        assertAll(
+                () -> assertFalse(rest.contains("card-21")),
+                () -> assertEquals(21, nextPass.size()),
+                () -> assertTrue(nextPass.contains("card-21"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should return null for an empty deck and reject a missing one")
+    void testNext_EmptyDeck_ReturnsNull() {
+        QuizSession session = new QuizSession(new Deck("empty", "Empty"));
+
+        assertAll(
+                () -> assertNull(session.next()),
+                () -> assertEquals(0, session.getPass()),
+                () -> assertThrows(IllegalArgumentException.class, () -> new QuizSession(null))
+        );
+    }
+
+    @Test
+    @DisplayName("Should repeat the only card of a one-card deck")
+    void testNext_SingleCard_Repeats() {
+        Deck single = new Deck("single", "Single");
+        single.addCard(new Card("only", "Q", "A"));
+        QuizSession session = new QuizSession(single, 3);
+
+        assertEquals(List.of("only", "only", "only"), drawIds(session, 3));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.flashcard.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RadixTrie Tests")
+class RadixTrieTest {
+
+    private RadixTrie<String> trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new RadixTrie<>();
+    }
+
+    @Test
+    @DisplayName("Should complete prefixes that end inside an edge")
+    void testComplete_PrefixInsideEdge_AllMatches() {
+        trie.put("romane", "1", 0);
+        trie.put("romanus", "2", 0);
+        trie.put("romulus", "3", 0);
+        trie.put("rubens", "4", 0);
+        trie.put("rom", "5", 0);
+
+        assertAll(
+                () -> assertEquals(List.of("5", "1", "2", "3"), trie.complete("ro", 10)),
+                () -> assertEquals(List.of("1", "2"), trie.complete("roma", 10)),
+                () -> assertEquals(List.of("2"), trie.complete("romanu", 10)),
+                () -> assertEquals(List.of("5", "1", "2", "3", "4"), trie.complete("", 10)),
+                () -> assertTrue(trie.complete("romax", 10).isEmpty()),
+                () -> assertTrue(trie.complete("rubensx", 10).isEmpty()),
+                () -> assertEquals(List.of("5", "1"), trie.complete("r", 2))
+        );
+    }
+
+    @Test
+    @DisplayName("Should return the heaviest completions first")
+    void testComplete_Weights_HeaviestFirst() {
+        trie.put("history", "small", 2);
+        trie.put("history of rome", "large", 40);
+        trie.put("history of art", "medium", 15);
+        trie.put("geography", "largest", 100);
+
+        trie.put("history", "small", 50);
+
+        assertAll(
+                () -> assertEquals(List.of("small", "large", "medium"), trie.complete("hist", 10)),
+                () -> assertEquals(List.of("small"), trie.complete("hist", 1)),
+                () -> assertEquals(4, trie.size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should remove values and merge the nodes left behind")
+    void testRemove_Values_TrieCompacted() {
+        trie.put("car", "a", 0);
+        trie.put("cart", "b", 0);
+        trie.put("carbon", "c", 0);
+
+        boolean removed = trie.remove("car", "a");
+        boolean missing = trie.remove("car", "a");
+        trie.remove("cart", "b");
+
+        assertAll(
+                () -> assertTrue(removed),
+                () -> assertFalse(missing),
+                () -> assertFalse(trie.remove("ca", "c")),
+                () -> assertEquals(List.of("c"), trie.complete("car", 10)),
+                () -> assertEquals(List.of("c"), trie.complete("carb", 10)),
+                () -> assertEquals(1, trie.size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should agree with sorting every key after random edits")
+    void testComplete_RandomEdits_MatchesSortedScan() {
+        Random random = new Random(12);
+        Map<String, Long> weights = new HashMap<>();
+        Map<String, String> keys = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            String value = "v" + random.nextInt(1500);
+            if (random.nextInt(4) == 0 && keys.containsKey(value)) {
+                assertTrue(trie.remove(keys.remove(value), value));
+                weights.remove(value);
+            } else {
+                if (keys.containsKey(value)) {
+                    trie.remove(keys.get(value), value);
+                }
+                String key = randomKey(random);
+                long weight = random.nextInt(5);
+                trie.put(key, value, weight);
+                keys.put(value, key);
+                weights.put(value, weight);
+            }
+        }
+
+        for (String prefix : new String[]{"", "a", "b", "ab", "aba", "ca", "cab"}) {
+            List<String> expected = new ArrayList<>();
+            for (Map.Entry<String, String> entry : keys.entrySet()) {
+                if (entry.getValue().startsWith(prefix)) {
+                    expected.add(entry.getKey());
+                }
+            }
+            expected.sort(Comparator.<String>comparingLong(value -> -weights.get(value))
+                    .thenComparing(keys::get));
+            List<String> completed = trie.complete(prefix, 25);
+            assertEquals(Math.min(25, expected.size()), completed.size(), prefix);
+            for (int i = 0; i < completed.size(); i++) {
+                String actual = completed.get(i);
+                assertTrue(keys.get(actual).startsWith(prefix), prefix);
+                // Values sharing a key may come in either order
+                assertEquals(weights.get(expected.get(i)), weights.get(actual), prefix);
+                assertEquals(keys.get(expected.get(i)), keys.get(actual), prefix);
+            }
+        }
+        assertEquals(keys.size(), trie.size());
+    }
+
+    private static String randomKey(Random random) {
+        StringBuilder key = new StringBuilder();
+        int length = 1 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            key.append((char) ('a' + random.nextInt(3)));
+        }
+        return key.toString();
+    }
+}
\ No newline at end of file
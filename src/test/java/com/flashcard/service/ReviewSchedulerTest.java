@@ -0,0 +1,165 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.CompactId;
+import com.flashcard.model.Deck;
+import com.flashcard.model.ReviewState;
+import com.flashcard.storage.ReviewStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReviewScheduler Tests")
+class ReviewSchedulerTest {
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    @TempDir
+    Path tempDir;
+
+    private long now;
+    private Deck deck;
+
+    @BeforeEach
+    void setUp() {
+        now = 1_000_000_000L;
+        deck = new Deck("deck-1", "Test Deck");
+        for (int i = 1; i <= 3; i++) {
+            deck.addCard(new Card("card-" + i, "Q" + i, "A" + i));
+        }
+    }
+
+    private ReviewScheduler newScheduler(ReviewStore store) {
+        return new ReviewScheduler(store, () -> now);
+    }
+
+    @Test
+    @DisplayName("Should follow SM-2 intervals for repeated correct answers")
+    void testRecordAnswer_CorrectAnswers_IntervalsGrow() {
+        ReviewScheduler scheduler = newScheduler(ReviewStore.inMemory());
+        Card card = deck.findCardById("card-1");
+
+        ReviewState first = scheduler.recordAnswer(deck, card, 5);
+        int firstInterval = first.getIntervalDays();
+        ReviewState second = scheduler.recordAnswer(deck, card, 5);
+        int secondInterval = second.getIntervalDays();
+        ReviewState third = scheduler.recordAnswer(deck, card, 5);
+
+        assertAll(
+                () -> assertEquals(1, firstInterval),
+                () -> assertEquals(6, secondInterval),
+                // 6 days times the ease of 2.7 reached after two perfect answers
+                () -> assertEquals(16, third.getIntervalDays()),
+                () -> assertEquals(2.8, third.getEaseFactor(), 1e-9),
+                () -> assertEquals(now + third.getIntervalDays() * DAY, third.getDueAt())
+        );
+    }
+
+    @Test
+    @DisplayName("Should reset a failed card and lower its ease")
+    void testRecordAnswer_Incorrect_ResetAndRelearn() {
+        ReviewScheduler scheduler = newScheduler(ReviewStore.inMemory());
+        Card card = deck.findCardById("card-1");
+        scheduler.recordAnswer(deck, card, true);
+
+        ReviewState state = scheduler.recordAnswer(deck, card, false);
+
+        assertAll(
+                () -> assertEquals(0, state.getRepetitions()),
+                () -> assertTrue(state.getEaseFactor() < ReviewState.INITIAL_EASE),
+                () -> assertTrue(state.getDueAt() > now && state.getDueAt() < now + DAY),
+                () -> assertThrows(IllegalArgumentException.class, () -> scheduler.recordAnswer(deck, card, 6))
+        );
+    }
+
+    @Test
+    @DisplayName("Should offer new cards in deck order, then the earliest due")
+    void testNextCard_MixedStates_EarliestDueFirst() {
+        ReviewScheduler scheduler = newScheduler(ReviewStore.inMemory());
+
+        Card firstNew = scheduler.nextCard(deck);
+        scheduler.recordAnswer(deck, firstNew, true);
+        Card secondNew = scheduler.nextCard(deck);
+        scheduler.recordAnswer(deck, secondNew, false);
+        scheduler.recordAnswer(deck, scheduler.nextCard(deck), true);
+
+        assertAll(
+                () -> assertEquals("card-1", firstNew.getId()),
+                () -> assertEquals("card-2", secondNew.getId()),
+                // The failed card is due in minutes, the others in a day
+                () -> assertEquals("card-2", scheduler.nextCard(deck).getId())
+        );
+    }
+
+    @Test
+    @DisplayName("Should pick up cards added or removed after the queue was built")
+    void testNextCard_DeckEdited_QueueFollows() {
+        ReviewScheduler scheduler = newScheduler(ReviewStore.inMemory());
+        for (Card card : new ArrayList<>(deck.getCards())) {
+            scheduler.recordAnswer(deck, card, true);
+        }
+
+        deck.addCard(new Card("card-4", "Q4", "A4"));
+        Card added = scheduler.nextCard(deck);
+        deck.removeCard("card-4");
+
+        assertAll(
+                () -> assertEquals("card-4", added.getId()),
+                () -> assertNotEquals("card-4", scheduler.nextCard(deck).getId()),
+                () -> assertNull(scheduler.nextCard(new Deck("empty", "Empty")))
+        );
+    }
+
+    @Test
+    @DisplayName("Should restore schedules from the review log after a restart")
+    void testRecordAnswer_Restart_StateRestored() {
+        ReviewScheduler scheduler = newScheduler(new ReviewStore(tempDir.toString()));
+        scheduler.recordAnswer(deck, deck.findCardById("card-1"), true);
+        scheduler.recordAnswer(deck, deck.findCardById("card-2"), true);
+
+        ReviewScheduler restarted = newScheduler(new ReviewStore(tempDir.toString()));
+
+        assertAll(
+                () -> assertEquals(1, restarted.getState(deck, "card-1").getRepetitions()),
+                () -> assertEquals("card-3", restarted.nextCard(deck).getId())
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep the due queue ordered under random updates")
+    void testDueQueue_RandomOperations_MinFirst() {
+        DueQueue queue = new DueQueue();
+        Random random = new Random(5);
+        List<CompactId> ids = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ids.add(CompactId.parse("c" + i));
+            queue.put(ids.get(i), random.nextInt(1000));
+        }
+        for (int i = 0; i < 300; i++) {
+            CompactId id = ids.get(random.nextInt(ids.size()));
+            if (random.nextBoolean()) {
+                queue.put(id, random.nextInt(1000));
+            } else if (queue.remove(id)) {
+                ids.remove(id);
+            }
+        }
+
+        long previous = Long.MIN_VALUE;
+        int drained = 0;
+        while (!queue.isEmpty()) {
+            long due = queue.peekDueAt();
+            assertTrue(due >= previous);
+            previous = due;
+            queue.remove(queue.peek());
+            drained++;
+        }
+        assertEquals(ids.size(), drained);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,193 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.model.SearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SearchIndex Tests")
+class SearchIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SearchIndex index;
+    private Deck geography;
+    private Deck history;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex();
+        geography = new Deck("geo", "Geography");
+        geography.addCard(new Card("g1", "Capital of Ukraine?", "Kyiv"));
+        geography.addCard(new Card("g2", "Capital of France?", "Paris"));
+        geography.addCard(new Card("g3", "Longest river in Europe?", "Volga"));
+        history = new Deck("hist", "History");
+        history.addCard(new Card("h1", "Who founded Kyiv, the capital city?", "Kyi, Shchek, Khoryv and Lybid"));
+        history.addCard(new Card("h2", "Year of the Battle of Poltava?", "1709"));
+        index.indexDeck(geography);
+        index.indexDeck(history);
+    }
+
+    private static List<String> ids(List<SearchHit> hits) {
+        List<String> ids = new ArrayList<>();
+        for (SearchHit hit : hits) {
+            ids.add(hit.getCardId());
+        }
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Should split text into lowercase, accent-folded words")
+    void testTokenize_MixedText_Words() {
+        assertEquals(List.of("cafe", "мясо", "new", "york", "2024"),
+                SearchIndex.tokenize("Café, м'ясо & New-York! 2024"));
+    }
+
+    @Test
+    @DisplayName("Should rank cards across decks by relevance")
+    void testSearch_Terms_RankedHits() {
+        List<SearchHit> capital = index.search("capital", 10);
+        List<SearchHit> kyiv = index.search("KYIV capital", 10);
+
+        assertAll(
+                () -> assertEquals(Set.of("g1", "g2", "h1"), new HashSet<>(ids(capital))),
+                () -> assertEquals(List.of("g1", "h1", "g2"), ids(kyiv)),
+                () -> assertEquals("geo", kyiv.get(0).getDeckId()),
+                () -> assertTrue(kyiv.get(0).getScore() >= kyiv.get(1).getScore()),
+                () -> assertEquals(1, index.search("capital", 1).size()),
+                () -> assertTrue(index.search("moon", 10).isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("Should match every term with a given prefix")
+    void testSearch_Prefix_MatchesTerms() {
+        assertAll(
+                () -> assertEquals(Set.of("g1", "h1"), new HashSet<>(ids(index.search("ky*", 10)))),
+                () -> assertEquals(List.of("h2"), ids(index.search("17*", 10))),
+                () -> assertTrue(index.search("ky", 10).isEmpty()),
+                () -> assertTrue(index.search("*", 10).isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("Should drop a deleted deck at once, so the limit is filled from live decks")
+    void testDeckDeleted_DeckRemoved_LimitFilledFromLiveDecks() {
+        index.deckDeleted("hist");
+
+        assertAll(
+                () -> assertEquals(List.of("g1", "g2"), ids(index.search("capital", 2))),
+                () -> assertTrue(index.search("poltava", 10).isEmpty()),
+                () -> assertEquals(3, index.size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should follow cards created, updated and deleted through CardService")
+    void testCardService_Changes_IndexedIncrementally() {
+        DeckService deckService = org.mockito.Mockito.mock(DeckService.class);
+        org.mockito.Mockito.when(deckService.getAllDecks()).thenReturn(List.of(geography));
+        org.mockito.Mockito.when(deckService.updateDeck(org.mockito.ArgumentMatchers.eq("geo"), org.mockito.ArgumentMatchers.any()))
+                .thenAnswer(invocation -> invocation.<Predicate<Deck>>getArgument(1).test(geography));
+        CardService cardService = new CardService(deckService, IdGenerator.RANDOM, index, null);
+        cardService.addCardChangeListener(index);
+
+        Card created = cardService.createCard("geo", "Highest mountain?", "Everest");
+        List<SearchHit> afterCreate = cardService.searchCards("everest", 10);
+        cardService.updateCard("geo", created.getId(), "Highest mountain?", "Chomolungma");
+        List<SearchHit> oldAnswer = cardService.searchCards("everest", 10);
+        List<SearchHit> newAnswer = cardService.searchCards("chomolungma", 10);
+        cardService.deleteCard("geo", "g2");
+
+        assertAll(
+                () -> assertEquals(List.of(created.getId()), ids(afterCreate)),
+                () -> assertTrue(oldAnswer.isEmpty()),
+                () -> assertEquals(List.of(created.getId()), ids(newAnswer)),
+                () -> assertTrue(index.search("paris", 10).isEmpty()),
+                // The history deck is not among the decks any more, so the first search dropped it
+                () -> assertTrue(index.search("poltava", 10).isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("Should save and load the index and re-index only changed decks")
+    void testSaveAndLoad_ChangedDeck_OnlyItReindexed() throws IOException {
+        Path file = tempDir.resolve("search.idx");
+        index.save(file);
+
+        SearchIndex loaded = SearchIndex.load(file);
+        List<String> beforeSync = ids(loaded.search("capital", 10));
+        history.addCard(new Card("h3", "Capital of Kyivan Rus?", "Kyiv"));
+        int reindexed = loaded.synchronize(List.of(geography, history));
+
+        assertAll(
+                () -> assertEquals(new HashSet<>(ids(index.search("capital", 10))), new HashSet<>(beforeSync)),
+                () -> assertEquals(1, reindexed),
+                () -> assertEquals(6, loaded.size()),
+                () -> assertTrue(ids(loaded.search("kyivan", 10)).contains("h3")),
+                () -> assertEquals(0, loaded.synchronize(List.of(geography, history))),
+                () -> assertEquals(0, SearchIndex.load(tempDir.resolve("missing.idx")).size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should ignore a damaged index file")
+    void testLoad_DamagedFile_EmptyIndex() throws IOException {
+        Path file = tempDir.resolve("search.idx");
+        Files.write(file, new byte[]{1, 2, 3});
+
+        assertEquals(0, SearchIndex.load(file).size());
+    }
+
+    @Test
+    @DisplayName("Should agree with a naive scan after many edits and compactions")
+    void testSearch_ManyEdits_MatchesNaiveScan() {
+        SearchIndex large = new SearchIndex();
+        String[] words = {"alpha", "beta", "gamma", "delta", "epsilon", "zeta"};
+        Random random = new Random(4);
+        List<Card> live = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            Card card = new Card("c" + i, words[random.nextInt(words.length)] + " " + i,
+                    words[random.nextInt(words.length)]);
+            large.cardAdded("deck", card);
+            live.add(card);
+        }
+        for (int i = 0; i < 4000; i++) {
+            Card removed = live.remove(random.nextInt(live.size()));
+            large.cardRemoved("deck", removed.getId());
+        }
+        for (int i = 0; i < 300; i++) {
+            int position = random.nextInt(live.size());
+            Card updated = new Card(live.get(position).getId(), "omega " + i, words[random.nextInt(words.length)]);
+            large.cardUpdated("deck", updated);
+            live.set(position, updated);
+        }
+
+        for (String word : new String[]{"alpha", "omega", "zeta"}) {
+            Set<String> expected = new HashSet<>();
+            for (Card card : live) {
+                if (SearchIndex.tokenize(card.getQuestion() + " " + card.getAnswer()).contains(word)) {
+                    expected.add(card.getId());
+                }
+            }
+            assertEquals(expected, new HashSet<>(ids(large.search(word, 10_000))), word);
+        }
+        assertEquals(live.size(), large.size());
+    }
+}
\ No newline at end of file
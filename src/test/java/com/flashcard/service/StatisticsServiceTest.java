@@ -0,0 +1,138 @@
+package com.flashcard.service;
+
+import com.flashcard.model.CardStats;
+import com.flashcard.model.DeckStats;
+import com.flashcard.storage.StatisticsStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StatisticsService Tests")
+class StatisticsServiceTest {
+    // Long enough that the background flush never runs during a test
+    private static final long NO_BACKGROUND_FLUSH = 3_600_000;
+
+    @TempDir
+    Path tempDir;
+
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        now = 1_000L;
+    }
+
+    private StatisticsService newService(StatisticsStore store) {
+        return new StatisticsService(store, NO_BACKGROUND_FLUSH, () -> now);
+    }
+
+    @Test
+    @DisplayName("Should count attempts, correct answers and streaks per card")
+    void testRecordAnswer_Sequence_CountsAndStreaks() {
+        StatisticsService statistics = newService(StatisticsStore.inMemory());
+        boolean[] answers = {true, true, true, false, true};
+        for (boolean answer : answers) {
+            now += 10;
+            statistics.recordAnswer("deck-1", "card-1", answer);
+        }
+        statistics.recordAnswer("deck-1", "card-2", false);
+
+        CardStats card = statistics.getCardStats("deck-1", "card-1");
+        DeckStats deck = statistics.getDeckStats("deck-1");
+        assertAll(
+                () -> assertEquals(5, card.getAttempts()),
+                () -> assertEquals(4, card.getCorrect()),
+                () -> assertEquals(1, card.getCurrentStreak()),
+                () -> assertEquals(3, card.getBestStreak()),
+                () -> assertEquals(1_050, card.getLastSeenAt()),
+                () -> assertEquals(6, deck.getAttempts()),
+                () -> assertEquals(4, deck.getCorrect()),
+                () -> assertEquals(2, deck.getCardsSeen()),
+                () -> assertEquals(3, deck.getBestStreak()),
+                () -> assertEquals(0, statistics.getCardStats("deck-1", "card-9").getAttempts())
+        );
+    }
+
+    @Test
+    @DisplayName("Should not lose counts under concurrent sessions")
+    void testRecordAnswer_ConcurrentThreads_AllCounted() throws InterruptedException {
+        StatisticsService statistics = newService(StatisticsStore.inMemory());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 10_000; i++) {
+                    statistics.recordAnswer("deck-1", "card-" + (i % 10), i % 2 == 0);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        DeckStats deck = statistics.getDeckStats("deck-1");
+        assertAll(
+                () -> assertEquals(80_000, deck.getAttempts()),
+                () -> assertEquals(40_000, deck.getCorrect()),
+                () -> assertEquals(8_000, statistics.getCardStats("deck-1", "card-3").getAttempts()),
+                () -> assertEquals(10, statistics.getPendingCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Should write changed cards in one batch per flush and restore them on restart")
+    void testFlush_ManyAnswers_OneBatch() {
+        StatisticsStore store = new StatisticsStore(tempDir.toString());
+        StatisticsService statistics = newService(store);
+        for (int i = 0; i < 100; i++) {
+            statistics.recordAnswer("deck-1", "card-" + (i % 5), true);
+        }
+        long batchesBeforeFlush = store.getBatchCount();
+
+        statistics.flush();
+        statistics.flush();
+        statistics.close();
+        StatisticsService restarted = newService(new StatisticsStore(tempDir.toString()));
+
+        assertAll(
+                () -> assertEquals(0, batchesBeforeFlush),
+                () -> assertEquals(1, store.getBatchCount()),
+                () -> assertEquals(5, store.getRecordCount()),
+                () -> assertEquals(0, statistics.getPendingCount()),
+                () -> assertEquals(20, restarted.getCardStats("deck-1", "card-2").getBestStreak()),
+                () -> assertEquals(100, restarted.getDeckStats("deck-1").getAttempts())
+        );
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("Should write answers given after close straight away")
+    void testRecordAnswer_AfterClose_WrittenImmediately() {
+        StatisticsStore store = new StatisticsStore(tempDir.toString());
+        StatisticsService statistics = newService(store);
+        statistics.close();
+
+        statistics.recordAnswer("deck-1", "card-1", true);
+
+        assertAll(
+                () -> assertEquals(1, store.getBatchCount()),
+                () -> assertEquals(0, statistics.getPendingCount())
+        );
+    }
+}
\ No newline at end of file
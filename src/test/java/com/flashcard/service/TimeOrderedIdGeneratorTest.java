@@ -0,0 +1,69 @@
+package com.flashcard.service;
+
+import com.flashcard.model.CompactId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TimeOrderedIdGenerator Tests")
+class TimeOrderedIdGeneratorTest {
+
+    private final TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+
+    @Test
+    @DisplayName("Should produce version 7 UUIDs carrying the current time")
+    void testNextId_Layout_Version7() {
+        long before = System.currentTimeMillis();
+        CompactId id = generator.nextId();
+        UUID uuid = UUID.fromString(id.toString());
+
+        assertAll(
+                () -> assertEquals(7, uuid.version()),
+                () -> assertEquals(2, uuid.variant()),
+                () -> assertTrue((id.getMostSignificantBits() >>> 16) >= before),
+                () -> assertTrue((id.getMostSignificantBits() >>> 16) <= System.currentTimeMillis())
+        );
+    }
+
+    @Test
+    @DisplayName("Should produce strictly increasing ids on one thread")
+    void testNextId_SameThread_Monotonic() {
+        CompactId previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            CompactId next = generator.nextId();
+            int byHigh = Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits());
+            assertTrue(byHigh > 0 || byHigh == 0
+                    && Long.compareUnsigned(next.getLeastSignificantBits(), previous.getLeastSignificantBits()) > 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Should not repeat ids across threads")
+    void testNextId_ManyThreads_Unique() throws InterruptedException {
+        Set<CompactId> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, ids.size());
+    }
+}
@@ -0,0 +1,102 @@
+package com.flashcard.service;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WeightedCardSampler Tests")
+class WeightedCardSamplerTest {
+    private Deck deck;
+    private WeightedCardSampler sampler;
+
+    @BeforeEach
+    void setUp() {
+        deck = new Deck("deck-1", "Test Deck");
+        for (int i = 1; i <= 4; i++) {
+            deck.addCard(new Card("card-" + i, "Q" + i, "A" + i));
+        }
+        sampler = new WeightedCardSampler(17);
+        sampler.addCards(deck.getSnapshot());
+    }
+
+    private Map<String, Integer> draw(int count) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            counts.merge(sampler.next().getId(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Test
+    @DisplayName("Should pick cards answered wrong more often")
+    void testNext_AfterWrongAnswers_FavoursHardCard() {
+        sampler.recordAnswer("card-1", false);
+        sampler.recordAnswer("card-1", false);
+        sampler.recordAnswer("card-2", true);
+
+        Map<String, Integer> counts = draw(10_000);
+
+        // Weights 32, 4, 8, 8 out of 52
+        assertAll(
+                () -> assertEquals(32, sampler.getWeight("card-1")),
+                () -> assertEquals(4, sampler.getWeight("card-2")),
+                () -> assertEquals(10_000 * 32 / 52.0, counts.get("card-1"), 300),
+                () -> assertEquals(10_000 * 4 / 52.0, counts.get("card-2"), 150)
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep weights within bounds")
+    void testRecordAnswer_ManyAnswers_Clamped() {
+        for (int i = 0; i < 10; i++) {
+            sampler.recordAnswer("card-1", false);
+            sampler.recordAnswer("card-2", true);
+        }
+
+        assertAll(
+                () -> assertEquals(WeightedCardSampler.MAX_WEIGHT, sampler.getWeight("card-1")),
+                () -> assertEquals(WeightedCardSampler.MIN_WEIGHT, sampler.getWeight("card-2"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should follow cards added, replaced and removed one at a time")
+    void testAddAndRemove_CardsEdited_CardsFollow() {
+        sampler.recordAnswer("card-3", false);
+        sampler.removeCard("card-1");
+        sampler.removeCard("card-2");
+        sampler.addCard(new Card("card-5", "Q5", "A5"));
+        sampler.addCard(new Card("card-3", "Q3 edited", "A3"));
+
+        Map<String, Integer> counts = draw(2000);
+
+        assertAll(
+                () -> assertEquals(3, sampler.size()),
+                () -> assertEquals(3, counts.size()),
+                () -> assertFalse(counts.containsKey("card-1")),
+                () -> assertTrue(counts.containsKey("card-5")),
+                () -> assertEquals(16, sampler.getWeight("card-3")),
+                () -> assertEquals(0, sampler.getWeight("card-1"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should return null once every card is removed")
+    void testNext_AllRemoved_ReturnsNull() {
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(sampler.removeCard("card-" + i));
+        }
+
+        assertAll(
+                () -> assertNull(sampler.next()),
+                () -> assertFalse(sampler.removeCard("card-1"))
+        );
+    }
+}
\ No newline at end of file
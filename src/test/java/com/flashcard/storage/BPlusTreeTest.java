@@ -0,0 +1,136 @@
+package com.flashcard.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BPlusTree Tests")
+class BPlusTreeTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return value != null ? new String(value, StandardCharsets.UTF_8) : null;
+    }
+
+    @Test
+    @DisplayName("Should find every key after many splits with a tiny page cache")
+    void testPutAndGet_ManyKeysSmallCache_AllFound() throws IOException {
+        Path file = tempDir.resolve("tree.idx");
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(42));
+
+        BPlusTree tree = new BPlusTree(file, 512, 4);
+        for (int i : order) {
+            tree.put(bytes(String.format("key-%05d", i)), bytes("value-" + i));
+        }
+
+        assertAll(
+                () -> assertEquals("value-0", string(tree.get(bytes("key-00000")))),
+                () -> assertEquals("value-4999", string(tree.get(bytes("key-04999")))),
+                () -> assertNull(tree.get(bytes("key-05000"))),
+                () -> assertTrue(tree.getPageCount() > 4),
+                () -> assertTrue(tree.getCacheMisses() > 0)
+        );
+        tree.close();
+    }
+
+    @Test
+    @DisplayName("Should keep data after reopening the file")
+    void testClose_Reopen_DataPersisted() throws IOException {
+        Path file = tempDir.resolve("tree.idx");
+        BPlusTree tree = new BPlusTree(file, 1024, 8);
+        for (int i = 0; i < 1000; i++) {
+            tree.put(bytes("k" + i), bytes("v" + i));
+        }
+        tree.remove(bytes("k10"));
+        tree.close();
+
+        BPlusTree reopened = new BPlusTree(file, 1024, 8);
+
+        assertAll(
+                () -> assertEquals("v999", string(reopened.get(bytes("k999")))),
+                () -> assertNull(reopened.get(bytes("k10")))
+        );
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Should store, replace and free values larger than a page")
+    void testPut_OverflowValue_RoundTrips() throws IOException {
+        char[] text = new char[5000];
+        Arrays.fill(text, 'ї');
+        String large = new String(text);
+
+        BPlusTree tree = new BPlusTree(tempDir.resolve("tree.idx"), 512, 4);
+        tree.put(bytes("big"), bytes(large));
+        tree.put(bytes("big"), bytes(large.substring(1)));
+        int pagesAfterReplace = tree.getPageCount();
+        tree.remove(bytes("big"));
+        tree.put(bytes("other"), bytes(large));
+
+        assertAll(
+                () -> assertEquals(large, string(tree.get(bytes("other")))),
+                () -> assertNull(tree.get(bytes("big"))),
+                // The removed chain went to the free list and was reused
+                () -> assertEquals(pagesAfterReplace, tree.getPageCount())
+        );
+        tree.close();
+    }
+
+    @Test
+    @DisplayName("Should scan keys in order from a starting key")
+    void testScan_FromKey_MatchesSortedMap() throws IOException {
+        BPlusTree tree = new BPlusTree(tempDir.resolve("tree.idx"), 512, 16);
+        TreeMap<String, String> expected = new TreeMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            String key = Integer.toHexString(random.nextInt(1 << 20));
+            expected.put(key, "v" + i);
+            tree.put(bytes(key), bytes("v" + i));
+        }
+        for (int i = 0; i < 300; i++) {
+            String key = expected.firstKey();
+            expected.remove(key);
+            assertTrue(tree.remove(bytes(key)));
+        }
+
+        List<String> scanned = new ArrayList<>();
+        tree.scan(bytes("8"), (key, value) -> {
+            scanned.add(string(key));
+            return scanned.size() < 100;
+        });
+
+        assertEquals(new ArrayList<>(expected.tailMap("8").keySet()).subList(0, 100), scanned);
+        tree.close();
+    }
+
+    @Test
+    @DisplayName("Should reject keys that do not fit a page")
+    void testPut_KeyTooLarge_ThrowsException() throws IOException {
+        BPlusTree tree = new BPlusTree(tempDir.resolve("tree.idx"), 512, 4);
+
+        assertThrows(IllegalArgumentException.class, () -> tree.put(new byte[200], bytes("v")));
+        tree.close();
+    }
+}
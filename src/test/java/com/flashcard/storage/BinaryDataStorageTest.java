@@ -0,0 +1,140 @@
+package com.flashcard.storage;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BinaryDataStorage Tests")
+class BinaryDataStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private BinaryDataStorage newStorage() {
+        return new BinaryDataStorage(tempDir.toString());
+    }
+
+    private Deck deckWithCards(String id, int cards) {
+        Deck deck = new Deck(id, "Deck " + id);
+        for (int i = 0; i < cards; i++) {
+            deck.addCard(new Card(id + "-card-" + i, "Питання " + i, "Відповідь " + i));
+        }
+        return deck;
+    }
+
+    @Test
+    @DisplayName("Should read decks back after reopening")
+    void testSaveAndLoad_AfterReopen_Success() {
+        BinaryDataStorage storage = newStorage();
+        storage.saveDeck(deckWithCards("deck-1", 3));
+        storage.saveDeck(deckWithCards("deck-2", 1));
+        storage.close();
+
+        BinaryDataStorage reopened = newStorage();
+        Deck loaded = reopened.loadDeck("deck-1");
+
+        assertAll(
+                () -> assertEquals(2, reopened.loadAllDecks().size()),
+                () -> assertEquals("Deck deck-1", loaded.getName()),
+                () -> assertEquals(3, loaded.getCards().size()),
+                () -> assertEquals("Відповідь 2", loaded.findCardById("deck-1-card-2").getAnswer())
+        );
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Should see the latest version of a resaved deck")
+    void testSaveDeck_Resaved_LatestVersionWins() {
+        BinaryDataStorage storage = newStorage();
+        Deck deck = deckWithCards("deck-1", 2);
+        storage.saveDeck(deck);
+        deck.addCard(new Card("extra", "Q", "A"));
+        storage.saveDeck(deck);
+        storage.close();
+
+        BinaryDataStorage reopened = newStorage();
+        assertEquals(3, reopened.loadDeck("deck-1").getCards().size());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Should return summaries without decoding cards")
+    void testLoadDeckSummaries_ReturnsCounts() {
+        BinaryDataStorage storage = newStorage();
+        storage.saveDeck(deckWithCards("deck-1", 5));
+        storage.close();
+
+        BinaryDataStorage reopened = newStorage();
+        List<DeckSummary> summaries = reopened.loadDeckSummaries();
+
+        assertAll(
+                () -> assertEquals(1, summaries.size()),
+                () -> assertEquals(5, summaries.get(0).getCardCount())
+        );
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Should drop stale records on compaction")
+    void testCompact_ShrinksFile() {
+        BinaryDataStorage storage = newStorage();
+        Deck deck = deckWithCards("deck-1", 50);
+        for (int i = 0; i < 10; i++) {
+            storage.saveDeck(deck);
+        }
+        storage.saveDeck(deckWithCards("deck-2", 1));
+        storage.deleteDeck("deck-2");
+        long before = storage.getFileSize();
+
+        storage.compact();
+
+        assertAll(
+                () -> assertTrue(storage.getFileSize() < before / 5),
+                () -> assertNull(storage.loadDeck("deck-2")),
+                () -> assertEquals(50, storage.loadDeck("deck-1").getCards().size())
+        );
+        storage.close();
+    }
+
+    @Test
+    @DisplayName("Should convert between JSON and binary layouts")
+    void testConverter_RoundTrip_PreservesDecks() throws IOException {
+        String json = "[{\"id\":\"deck-1\",\"name\":\"Legacy\",\"cards\":[{\"id\":\"c1\",\"question\":\"Q\",\"answer\":\"A\"}]}]";
+        Path jsonFile = tempDir.resolve("in.json");
+        Path binaryFile = tempDir.resolve("out.bin");
+        Path backFile = tempDir.resolve("back.json");
+        Files.write(jsonFile, json.getBytes(StandardCharsets.UTF_8));
+
+        BinaryFormatConverter.jsonToBinary(jsonFile, binaryFile);
+        BinaryFormatConverter.binaryToJson(binaryFile, backFile);
+
+        String back = new String(Files.readAllBytes(backFile), StandardCharsets.UTF_8);
+        assertAll(
+                () -> assertTrue(back.contains("\"Legacy\"")),
+                () -> assertTrue(back.contains("\"c1\""))
+        );
+    }
+
+    @Test
+    @DisplayName("Should import legacy decks.json on first start")
+    void testStartup_LegacyFile_Imported() throws IOException {
+        String legacy = "[{\"id\":\"deck-1\",\"name\":\"Legacy\",\"cards\":[]}]";
+        Files.write(tempDir.resolve("decks.json"), legacy.getBytes(StandardCharsets.UTF_8));
+
+        BinaryDataStorage storage = newStorage();
+
+        assertEquals("Legacy", storage.loadDeck("deck-1").getName());
+        storage.close();
+    }
+}
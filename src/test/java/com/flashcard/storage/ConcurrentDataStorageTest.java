@@ -0,0 +1,187 @@
+package com.flashcard.storage;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConcurrentDataStorage Tests")
+class ConcurrentDataStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConcurrentDataStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new ConcurrentDataStorage(tempDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+    }
+
+    @Test
+    @DisplayName("Should hand out read-only views from loadDeck")
+    void testLoadDeck_ReturnsReadOnlyView() {
+        Deck deck = new Deck("deck-1", "Deck 1");
+        deck.addCard(new Card("card-1", "Q", "A"));
+        storage.saveDeck(deck);
+
+        Deck loaded = storage.loadDeck("deck-1");
+        deck.addCard(new Card("card-2", "Q2", "A2"));
+        storage.updateDeck("deck-1", stored -> {
+            stored.addCard(new Card("card-1", "Q", "changed"));
+            return true;
+        });
+
+        assertAll(
+                () -> assertTrue(loaded.isReadOnly()),
+                () -> assertThrows(UnsupportedOperationException.class, () -> loaded.addCard(new Card("x", "Q", "A"))),
+                () -> assertThrows(UnsupportedOperationException.class, () -> loaded.setName("x")),
+                () -> assertEquals(1, loaded.getCards().size()),
+                () -> assertEquals("A", loaded.findCardById("card-1").getAnswer()),
+                () -> assertEquals("changed", storage.loadDeck("deck-1").findCardById("card-1").getAnswer()),
+                () -> assertNull(storage.loadDeck("deck-1").findCardById("card-2"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should reuse the all-decks snapshot until something changes")
+    void testLoadAllDecks_SnapshotReusedUntilMutation() {
+        storage.saveDeck(new Deck("deck-1", "Deck 1"));
+
+        List<Deck> first = storage.loadAllDecks();
+        List<Deck> second = storage.loadAllDecks();
+        storage.saveDeck(new Deck("deck-2", "Deck 2"));
+        List<Deck> third = storage.loadAllDecks();
+
+        assertAll(
+                () -> assertSame(first, second),
+                () -> assertNotSame(second, third),
+                () -> assertEquals(2, third.size()),
+                () -> assertThrows(UnsupportedOperationException.class, () -> third.add(new Deck("x", "x")))
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep every deck written by concurrent sessions")
+    void testSaveDeck_ConcurrentWriters_NothingLost() throws Exception {
+        ExecutorService sessions = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int session = t;
+            futures.add(sessions.submit(() -> {
+                for (int i = 0; i < 50; i++) {
+                    Deck deck = new Deck("deck-" + session + "-" + i, "Deck");
+                    deck.addCard(new Card("card", "Q", "A"));
+                    storage.saveDeck(deck);
+                    if (i % 2 == 0) {
+                        storage.deleteDeck(deck.getId());
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        sessions.shutdown();
+        storage.flush();
+
+        ConcurrentDataStorage reopened = new ConcurrentDataStorage(tempDir.toString());
+        assertAll(
+                () -> assertEquals(200, storage.loadAllDecks().size()),
+                () -> assertEquals(200, reopened.loadAllDecks().size()),
+                () -> assertNotNull(reopened.loadDeck("deck-7-49")),
+                () -> assertNull(reopened.loadDeck("deck-7-48"))
+        );
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Should keep every card added to one deck by concurrent sessions")
+    void testUpdateDeck_ConcurrentSessions_NoLostUpdates() throws Exception {
+        storage.saveDeck(new Deck("deck-1", "Deck 1"));
+        ExecutorService sessions = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int session = t;
+            futures.add(sessions.submit(() -> {
+                for (int i = 0; i < 25; i++) {
+                    Card card = new Card("card-" + session + "-" + i, "Q", "A");
+                    storage.updateDeck("deck-1", deck -> {
+                        deck.addCard(card);
+                        return true;
+                    });
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        sessions.shutdown();
+
+        assertAll(
+                () -> assertEquals(200, storage.loadDeck("deck-1").getCards().size()),
+                () -> assertFalse(storage.updateDeck("missing", deck -> true))
+        );
+    }
+
+    @Test
+    @DisplayName("Should not expose stored decks through loadAllDecks")
+    void testLoadAllDecks_ReturnsReadOnlyViews() {
+        Deck deck = new Deck("deck-1", "Deck 1");
+        deck.addCard(new Card("card-1", "Q", "A"));
+        storage.saveDeck(deck);
+
+        Deck view = storage.loadAllDecks().get(0);
+
+        assertAll(
+                () -> assertThrows(UnsupportedOperationException.class, () -> view.removeCard("card-1")),
+                () -> assertEquals(1, storage.loadDeck("deck-1").getCards().size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should report a failed background write on flush")
+    void testFlush_BackgroundWriteFailed_Throws() throws Exception {
+        storage.flush();
+        Files.createDirectories(tempDir.resolve("decks.json.tmp"));
+
+        storage.saveDeck(new Deck("deck-1", "Deck 1"));
+
+        assertAll(
+                () -> assertThrows(UncheckedIOException.class, () -> storage.flush()),
+                () -> assertDoesNotThrow(() -> storage.flush())
+        );
+        Files.delete(tempDir.resolve("decks.json.tmp"));
+    }
+
+    @Test
+    @DisplayName("Should delete existing deck successfully")
+    void testDeleteDeck_ExistingDeck_Success() {
+        storage.saveDeck(new Deck("deck-1", "Deck 1"));
+
+        assertAll(
+                () -> assertTrue(storage.deleteDeck("deck-1")),
+                () -> assertFalse(storage.deleteDeck("deck-1")),
+                () -> assertNull(storage.loadDeck("deck-1"))
+        );
+    }
+}
@@ -0,0 +1,86 @@
+package com.flashcard.storage;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DirtyTrackingJsonDataStorage Tests")
+class DirtyTrackingJsonDataStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DirtyTrackingJsonDataStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new DirtyTrackingJsonDataStorage(tempDir.toString());
+        for (int d = 0; d < 10; d++) {
+            Deck deck = new Deck("deck-" + d, "Deck " + d);
+            deck.addCard(new Card("card-" + d, "Q" + d, "A" + d));
+            storage.saveDeck(deck);
+        }
+    }
+
+    @Test
+    @DisplayName("Should re-encode only the deck whose card changed")
+    void testSaveDeck_OneCardEdited_OneDeckEncoded() {
+        Deck deck = storage.loadDeck("deck-3");
+        deck.findCardById("card-3").setAnswer("changed");
+
+        storage.saveDeck(deck);
+
+        assertAll(
+                () -> assertEquals(1, storage.getLastEncodedCount()),
+                () -> assertEquals("changed",
+                        new JsonDataStorage(tempDir.toString()).loadDeck("deck-3").findCardById("card-3").getAnswer())
+        );
+    }
+
+    @Test
+    @DisplayName("Should re-encode a deck after a card is added or removed")
+    void testSaveDeck_CardsAddedAndRemoved_Encoded() {
+        Deck deck = storage.loadDeck("deck-1");
+        deck.addCard(new Card("extra", "Q", "A"));
+        storage.saveDeck(deck);
+        int afterAdd = storage.getLastEncodedCount();
+
+        deck.removeCard("card-1");
+        storage.saveDeck(deck);
+
+        JsonDataStorage reloaded = new JsonDataStorage(tempDir.toString());
+        assertAll(
+                () -> assertEquals(1, afterAdd),
+                () -> assertEquals(1, storage.getLastEncodedCount()),
+                () -> assertEquals(10, reloaded.loadAllDecks().size()),
+                () -> assertEquals(1, reloaded.loadDeck("deck-1").getCards().size()),
+                () -> assertNotNull(reloaded.loadDeck("deck-1").findCardById("extra"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should encode nothing when no deck changed")
+    void testSaveToFile_NothingChanged_NothingEncoded() {
+        storage.saveToFile("decks.json");
+
+        assertEquals(0, storage.getLastEncodedCount());
+    }
+
+    @Test
+    @DisplayName("Should drop deleted decks from the output")
+    void testDeleteDeck_RemovedFromFile() {
+        storage.deleteDeck("deck-0");
+
+        assertAll(
+                () -> assertEquals(0, storage.getLastEncodedCount()),
+                () -> assertNull(new JsonDataStorage(tempDir.toString()).loadDeck("deck-0"))
+        );
+    }
+}
@@ -0,0 +1,145 @@
+package com.flashcard.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IndexedDataStorage Tests")
+class IndexedDataStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private IndexedDataStorage newStorage() {
+        return new IndexedDataStorage(tempDir.toString(), 16);
+    }
+
+    private Deck deckWithCards(String id, int cards) {
+        Deck deck = new Deck(id, "Deck " + id);
+        for (int i = 0; i < cards; i++) {
+            deck.addCard(new Card(id + "-card-" + i, "Питання " + i, "Відповідь " + i));
+        }
+        return deck;
+    }
+
+    @Test
+    @DisplayName("Should read decks back in card order after reopening")
+    void testSaveAndLoad_AfterReopen_Success() {
+        IndexedDataStorage storage = newStorage();
+        Deck deck = deckWithCards("deck-1", 12);
+        List<Card> reversed = new ArrayList<>(deck.getCards());
+        Collections.reverse(reversed);
+        deck.setCards(reversed);
+        storage.saveDeck(deck);
+        storage.saveDeck(deckWithCards("deck-2", 1));
+        storage.close();
+
+        IndexedDataStorage reopened = newStorage();
+        Deck loaded = reopened.loadDeck("deck-1");
+
+        assertAll(
+                () -> assertEquals(2, reopened.loadAllDecks().size()),
+                () -> assertEquals("Deck deck-1", loaded.getName()),
+                () -> assertEquals(12, loaded.getCards().size()),
+                () -> assertEquals("deck-1-card-11", loaded.getCards().get(0).getId()),
+                () -> assertEquals("deck-1-card-0", loaded.getCards().get(11).getId())
+        );
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Should look up a single card without loading its deck")
+    void testLoadCard_ExistingAndMissing_Success() {
+        IndexedDataStorage storage = newStorage();
+        storage.saveDeck(deckWithCards("deck-1", 50));
+
+        assertAll(
+                () -> assertEquals("Відповідь 42", storage.loadCard("deck-1", "deck-1-card-42").getAnswer()),
+                () -> assertNull(storage.loadCard("deck-1", "missing")),
+                () -> assertNull(storage.loadCard("deck-2", "deck-1-card-42"))
+        );
+        storage.close();
+    }
+
+    @Test
+    @DisplayName("Should apply edits, additions and removals on resave")
+    void testSaveDeck_Resaved_ChangesApplied() {
+        IndexedDataStorage storage = newStorage();
+        Deck deck = deckWithCards("deck-1", 3);
+        storage.saveDeck(deck);
+
+        deck.getCards().get(0).setAnswer("Нова");
+        deck.removeCard("deck-1-card-1");
+        deck.addCard(new Card("deck-1-card-9", "Q", "A"));
+        storage.saveDeck(deck);
+
+        Deck loaded = storage.loadDeck("deck-1");
+        assertAll(
+                () -> assertEquals(3, loaded.getCards().size()),
+                () -> assertEquals("Нова", loaded.getCards().get(0).getAnswer()),
+                () -> assertNull(loaded.findCardById("deck-1-card-1")),
+                () -> assertEquals("deck-1-card-9", loaded.getCards().get(2).getId())
+        );
+        storage.close();
+    }
+
+    @Test
+    @DisplayName("Should page through cards of one deck only")
+    void testScanCards_FromCard_LimitedToDeck() {
+        IndexedDataStorage storage = newStorage();
+        storage.saveDeck(deckWithCards("a", 5));
+        storage.saveDeck(deckWithCards("ab", 5));
+
+        List<Card> page = storage.scanCards("a", "a-card-2", 10);
+
+        assertAll(
+                () -> assertEquals(3, page.size()),
+                () -> assertEquals("a-card-2", page.get(0).getId()),
+                () -> assertEquals(2, storage.scanCards("a", null, 2).size())
+        );
+        storage.close();
+    }
+
+    @Test
+    @DisplayName("Should list summaries and delete decks with their cards")
+    void testDeleteDeck_Existing_RemovedWithCards() {
+        IndexedDataStorage storage = newStorage();
+        storage.saveDeck(deckWithCards("deck-1", 4));
+        storage.saveDeck(deckWithCards("deck-2", 2));
+
+        assertTrue(storage.deleteDeck("deck-1"));
+
+        List<DeckSummary> summaries = storage.loadDeckSummaries();
+        assertAll(
+                () -> assertFalse(storage.deleteDeck("deck-1")),
+                () -> assertEquals(1, summaries.size()),
+                () -> assertEquals(2, summaries.get(0).getCardCount()),
+                () -> assertNull(storage.loadCard("deck-1", "deck-1-card-0"))
+        );
+        storage.close();
+    }
+
+    @Test
+    @DisplayName("Should import an existing decks.json on first start")
+    void testConstructor_LegacyJson_Imported() throws IOException {
+        new ObjectMapper().writeValue(tempDir.resolve("decks.json").toFile(),
+                Collections.singletonList(deckWithCards("legacy", 2)));
+
+        IndexedDataStorage storage = newStorage();
+
+        assertEquals(2, storage.loadDeck("legacy").getCards().size());
+        storage.close();
+    }
+}
@@ -1,6 +1,7 @@
 package com.flashcard.storage;
 
 
+import com.flashcard.model.ArenaCard;
 import com.flashcard.model.Card;
 import com.flashcard.model.Deck;
 import org.junit.jupiter.api.AfterEach;
@@ -84,6 +85,25 @@ class JsonDataStorageTest {
         );
     }
 
+    @Test
+    @DisplayName("Should keep loaded card text in the arena when enabled")
+    void testLoadFromFile_ArenaText_CardsBackedByArena() {
+        JsonDataStorage writer = new JsonDataStorage(tempDir.toString());
+        Deck deck = new Deck("deck-1", "Test Deck");
+        deck.addCard(new Card("card-1", "Питання", "Відповідь"));
+        writer.saveDeck(deck);
+
+        JsonDataStorage arenaStorage = new JsonDataStorage(tempDir.toString(), false, true);
+        Card loaded = arenaStorage.loadDeck("deck-1").getCards().get(0);
+
+        assertAll(
+                () -> assertTrue(loaded instanceof ArenaCard),
+                () -> assertEquals("Питання", loaded.getQuestion()),
+                () -> assertEquals("Відповідь", loaded.getAnswer()),
+                () -> assertEquals(new Card("card-1", "", ""), loaded)
+        );
+    }
+
     @Test
     @DisplayName("Should return false when deleting non-existing deck")
     void testDeleteDeck_NonExistingDeck_ReturnsFalse() {
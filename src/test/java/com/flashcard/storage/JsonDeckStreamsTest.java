@@ -0,0 +1,121 @@
+package com.flashcard.storage;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JsonDeckStreams Tests")
+class JsonDeckStreamsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ObjectMapper objectMapper;
+    private JsonDeckStreams streams;
+    private File file;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        streams = new JsonDeckStreams(objectMapper);
+        file = tempDir.resolve("export.json").toFile();
+    }
+
+    private static Deck deck(int index, int cards) {
+        Deck deck = new Deck("deck-" + index, "Deck " + index);
+        for (int i = 0; i < cards; i++) {
+            deck.addCard(new Card("card-" + index + "-" + i, "Q" + i, "A" + i));
+        }
+        return deck;
+    }
+
+    @Test
+    @DisplayName("Should write the same layout the object mapper reads")
+    void testExportDecks_ReadableAsList() throws IOException {
+        long exported = streams.exportDecks(file, IntStream.range(0, 3).mapToObj(i -> deck(i, 2)).iterator(),
+                ProgressListener.NONE);
+
+        List<Deck> decks = objectMapper.readValue(file, new TypeReference<List<Deck>>() {});
+
+        assertAll(
+                () -> assertEquals(3, exported),
+                () -> assertEquals(3, decks.size()),
+                () -> assertEquals("A1", decks.get(2).findCardById("card-2-1").getAnswer())
+        );
+    }
+
+    @Test
+    @DisplayName("Should hand decks to the callback one at a time with progress")
+    void testImportDecks_CallbackAndProgress() throws IOException {
+        streams.exportDecks(file, IntStream.range(0, 5).mapToObj(i -> deck(i, 3)).iterator(), ProgressListener.NONE);
+        List<String> ids = new ArrayList<>();
+        long[] lastProgress = new long[3];
+
+        long imported = streams.importDecks(file, deck -> ids.add(deck.getId()), (decks, cards, bytes) -> {
+            lastProgress[0] = decks;
+            lastProgress[1] = cards;
+            lastProgress[2] = bytes;
+        });
+
+        assertAll(
+                () -> assertEquals(5, imported),
+                () -> assertEquals(List.of("deck-0", "deck-1", "deck-2", "deck-3", "deck-4"), ids),
+                () -> assertEquals(5, lastProgress[0]),
+                () -> assertEquals(15, lastProgress[1]),
+                () -> assertTrue(lastProgress[2] > 0)
+        );
+    }
+
+    @Test
+    @DisplayName("Should stream individual cards with deck boundaries")
+    void testImportCards_ReportsDeckBoundaries() throws IOException {
+        streams.exportDecks(file, List.of(deck(0, 2), deck(1, 0), deck(2, 1)).iterator(), ProgressListener.NONE);
+        List<String> events = new ArrayList<>();
+
+        streams.importCards(file, new DeckStreamHandler() {
+            @Override
+            public void onDeckStart(String deckId, String deckName) {
+                events.add("start " + deckId + " " + deckName);
+            }
+
+            @Override
+            public void onCard(Card card) {
+                events.add("card " + card.getId());
+            }
+
+            @Override
+            public void onDeckEnd() {
+                events.add("end");
+            }
+        }, ProgressListener.NONE);
+
+        assertEquals(List.of(
+                "start deck-0 Deck 0", "card card-0-0", "card card-0-1", "end",
+                "start deck-1 Deck 1", "end",
+                "start deck-2 Deck 2", "card card-2-0", "end"), events);
+    }
+
+    @Test
+    @DisplayName("Should reject a file that is not an array of decks")
+    void testImportDecks_NotAnArray_Throws() throws IOException {
+        objectMapper.writeValue(file, deck(0, 1));
+
+        assertThrows(IOException.class, () -> streams.importDecks(file, deck -> {}, ProgressListener.NONE));
+    }
+}
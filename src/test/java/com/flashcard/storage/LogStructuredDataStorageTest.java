@@ -0,0 +1,165 @@
+package com.flashcard.storage;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LogStructuredDataStorage Tests")
+class LogStructuredDataStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LogStructuredDataStorage newStorage() {
+        return new LogStructuredDataStorage(tempDir.toString());
+    }
+
+    private List<String> logLines() throws IOException {
+        return Files.readAllLines(tempDir.resolve("decks.log"), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Should replay log on restart")
+    void testReplay_AfterRestart_RestoresDecks() {
+        LogStructuredDataStorage storage = newStorage();
+        Deck deck = new Deck("deck-1", "Test Deck");
+        deck.addCard(new Card("card-1", "Q1", "A1"));
+        deck.addCard(new Card("card-2", "Q2", "A2"));
+        storage.saveDeck(deck);
+
+        Deck loaded = newStorage().loadDeck("deck-1");
+
+        assertAll(
+                () -> assertNotNull(loaded),
+                () -> assertEquals("Test Deck", loaded.getName()),
+                () -> assertEquals(2, loaded.getCards().size()),
+                () -> assertEquals("Q1", loaded.getCards().get(0).getQuestion()),
+                () -> assertEquals("A2", loaded.getCards().get(1).getAnswer())
+        );
+    }
+
+    @Test
+    @DisplayName("Should append only changed cards to the log")
+    void testSaveDeck_OneCardChanged_AppendsSingleRecord() throws IOException {
+        LogStructuredDataStorage storage = newStorage();
+        Deck deck = new Deck("deck-1", "Test Deck");
+        for (int i = 0; i < 100; i++) {
+            deck.addCard(new Card("card-" + i, "Q" + i, "A" + i));
+        }
+        storage.saveDeck(deck);
+        int before = logLines().size();
+
+        deck.findCardById("card-42").setAnswer("changed");
+        storage.saveDeck(deck);
+
+        List<String> lines = logLines();
+        assertAll(
+                () -> assertEquals(before + 1, lines.size()),
+                () -> assertTrue(lines.get(lines.size() - 1).contains("PUT_CARD")),
+                () -> assertEquals("changed", newStorage().loadDeck("deck-1").findCardById("card-42").getAnswer())
+        );
+    }
+
+    @Test
+    @DisplayName("Should not write anything when deck is unchanged")
+    void testSaveDeck_Unchanged_NoRecords() throws IOException {
+        LogStructuredDataStorage storage = newStorage();
+        Deck deck = new Deck("deck-1", "Test Deck");
+        deck.addCard(new Card("card-1", "Q1", "A1"));
+        storage.saveDeck(deck);
+        int before = logLines().size();
+
+        storage.saveDeck(deck);
+
+        assertEquals(before, logLines().size());
+    }
+
+    @Test
+    @DisplayName("Should persist card removal and deck deletion")
+    void testRemoveCardAndDeleteDeck_AfterRestart_Applied() {
+        LogStructuredDataStorage storage = newStorage();
+        Deck deck1 = new Deck("deck-1", "Deck 1");
+        deck1.addCard(new Card("card-1", "Q1", "A1"));
+        deck1.addCard(new Card("card-2", "Q2", "A2"));
+        storage.saveDeck(deck1);
+        storage.saveDeck(new Deck("deck-2", "Deck 2"));
+
+        deck1.removeCard("card-1");
+        storage.saveDeck(deck1);
+        storage.deleteDeck("deck-2");
+
+        LogStructuredDataStorage reopened = newStorage();
+        assertAll(
+                () -> assertEquals(1, reopened.loadAllDecks().size()),
+                () -> assertNull(reopened.loadDeck("deck-2")),
+                () -> assertNull(reopened.loadDeck("deck-1").findCardById("card-1")),
+                () -> assertNotNull(reopened.loadDeck("deck-1").findCardById("card-2"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should snapshot and truncate the log once threshold is reached")
+    void testCompaction_ThresholdReached_TruncatesLog() throws IOException {
+        LogStructuredDataStorage storage = new LogStructuredDataStorage(tempDir.toString(), 5);
+        Deck deck = new Deck("deck-1", "Test Deck");
+        for (int i = 0; i < 5; i++) {
+            deck.addCard(new Card("card-" + i, "Q" + i, "A" + i));
+            storage.saveDeck(deck);
+        }
+
+        assertAll(
+                () -> assertTrue(Files.exists(tempDir.resolve("decks.json"))),
+                () -> assertTrue(logLines().size() < 5),
+                () -> assertEquals(5, newStorage().loadDeck("deck-1").getCards().size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should ignore a torn record at the end of the log")
+    void testReplay_TornLastRecord_Ignored() throws IOException {
+        LogStructuredDataStorage storage = newStorage();
+        Deck deck = new Deck("deck-1", "Test Deck");
+        deck.addCard(new Card("card-1", "Q1", "A1"));
+        storage.saveDeck(deck);
+        Files.write(tempDir.resolve("decks.log"), "{\"op\":\"PUT_CA".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        Deck loaded = newStorage().loadDeck("deck-1");
+
+        assertEquals(1, loaded.getCards().size());
+    }
+
+    @Test
+    @DisplayName("Should keep records saved after a torn record once the log is reopened")
+    void testReplay_SaveAfterTornRecord_NewRecordKept() throws IOException {
+        LogStructuredDataStorage storage = newStorage();
+        Deck deck = new Deck("deck-1", "Test Deck");
+        deck.addCard(new Card("card-1", "Q1", "A1"));
+        storage.saveDeck(deck);
+        Files.write(tempDir.resolve("decks.log"), "{\"op\":\"PUT_CA".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        LogStructuredDataStorage afterCrash = newStorage();
+        Deck next = new Deck("deck-2", "Next Deck");
+        next.addCard(new Card("card-2", "Q2", "A2"));
+        afterCrash.saveDeck(next);
+        LogStructuredDataStorage reopened = newStorage();
+
+        assertAll(
+                () -> assertEquals(1, reopened.loadDeck("deck-1").getCards().size()),
+                () -> assertNotNull(reopened.loadDeck("deck-2")),
+                () -> assertEquals("Q2", reopened.loadDeck("deck-2").getCards().get(0).getQuestion())
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.flashcard.storage;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ParallelDeckLoader Tests")
+class ParallelDeckLoaderTest {
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    private static byte[] utf8(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Should find deck boundaries ignoring brackets inside strings")
+    void testScanDeckBounds_BracketsInStrings_Ignored() throws IOException {
+        String first = "{\"id\":\"a\",\"name\":\"{[\\\"}\",\"cards\":[{\"id\":\"c\",\"question\":\"]}\",\"answer\":\"\\\\\"}]}";
+        String second = "{\"id\":\"b\",\"cards\":[]}";
+        String json = " [" + first + ", " + second + "]";
+
+        int[] bounds = ParallelDeckLoader.scanDeckBounds(utf8(json));
+
+        assertAll(
+                () -> assertEquals(4, bounds.length),
+                () -> assertEquals(first, json.substring(bounds[0], bounds[1])),
+                () -> assertEquals(second, json.substring(bounds[2], bounds[3]))
+        );
+    }
+
+    @Test
+    @DisplayName("Should return nothing for an empty array")
+    void testParse_EmptyArray_ReturnsEmptyList() throws IOException {
+        assertTrue(new ParallelDeckLoader(objectMapper).parse(utf8("[ ]")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject input that is not an array")
+    void testParse_NotAnArray_Throws() {
+        assertThrows(IOException.class, () -> new ParallelDeckLoader(objectMapper).parse(utf8("{\"id\":\"a\"}")));
+    }
+
+    @Test
+    @DisplayName("Should produce the same decks in the same order as a sequential parse")
+    void testParse_ManyDecks_MatchesSequential() throws IOException {
+        List<Deck> decks = new ArrayList<>();
+        for (int d = 0; d < 300; d++) {
+            Deck deck = new Deck("deck-" + d, "Колода " + d);
+            for (int c = 0; c < 50; c++) {
+                deck.addCard(new Card("card-" + d + "-" + c, "Питання \"" + c + "\" {", "Відповідь [" + c + "]"));
+            }
+            decks.add(deck);
+        }
+        byte[] json = objectMapper.writeValueAsBytes(decks);
+        List<Deck> expected = objectMapper.readValue(json, new TypeReference<List<Deck>>() {});
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        List<Deck> actual;
+        try {
+            actual = new ParallelDeckLoader(objectMapper, pool).parse(json);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(expected.get(i).getCards().size(), actual.get(i).getCards().size());
+            assertEquals(expected.get(i).getCards().get(7).getQuestion(), actual.get(i).getCards().get(7).getQuestion());
+        }
+    }
+}
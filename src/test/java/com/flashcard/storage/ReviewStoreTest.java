@@ -0,0 +1,83 @@
+package com.flashcard.storage;
+
+import com.flashcard.model.CompactId;
+import com.flashcard.model.ReviewState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReviewStore Tests")
+class ReviewStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static ReviewState state(String cardId, int repetitions) {
+        ReviewState state = new ReviewState("deck-1", cardId);
+        state.setRepetitions(repetitions);
+        state.setDueAt(repetitions * 1000L);
+        return state;
+    }
+
+    @Test
+    @DisplayName("Should replay the log so the latest state of each card wins")
+    void testLoad_SeveralRecords_LatestWins() {
+        ReviewStore store = new ReviewStore(tempDir.toString());
+        store.save(state("card-1", 1));
+        store.save(state("card-1", 2));
+        store.save(state("card-2", 1));
+
+        ReviewStore reloaded = new ReviewStore(tempDir.toString());
+
+        assertAll(
+                () -> assertEquals(3, reloaded.getRecordCount()),
+                () -> assertEquals(2, reloaded.getState("deck-1", "card-1").getRepetitions()),
+                () -> assertEquals(2, reloaded.getDeckStates(CompactId.parse("deck-1")).size()),
+                () -> assertNull(reloaded.getState("deck-2", "card-1"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should rewrite the log with live states once stale records pile up")
+    void testSave_OverThreshold_Compacts() {
+        ReviewStore store = new ReviewStore(tempDir.toString(), 10);
+        for (int i = 1; i <= 10; i++) {
+            store.save(state("card-1", i));
+        }
+
+        ReviewStore reloaded = new ReviewStore(tempDir.toString());
+
+        assertAll(
+                () -> assertEquals(1, store.getRecordCount()),
+                () -> assertEquals(10, reloaded.getState("deck-1", "card-1").getRepetitions())
+        );
+    }
+
+    @Test
+    @DisplayName("Should drop a torn last line and keep reviews saved after it")
+    void testLoad_TornLine_LaterRecordsKept() throws IOException {
+        ReviewStore store = new ReviewStore(tempDir.toString());
+        store.save(state("card-1", 3));
+        Files.write(tempDir.resolve("reviews.log"), "{\"deckId\":\"deck-1\",\"ca".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        ReviewStore reloaded = new ReviewStore(tempDir.toString());
+        reloaded.save(state("card-2", 5));
+        ReviewStore reopened = new ReviewStore(tempDir.toString());
+
+        assertAll(
+                () -> assertEquals(3, reloaded.getState("deck-1", "card-1").getRepetitions()),
+                () -> assertEquals(3, reopened.getState("deck-1", "card-1").getRepetitions()),
+                () -> assertEquals(5, reopened.getState("deck-1", "card-2").getRepetitions()),
+                () -> assertEquals(2, reopened.getRecordCount())
+        );
+    }
+}
\ No newline at end of file
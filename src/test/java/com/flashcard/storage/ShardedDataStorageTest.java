@@ -0,0 +1,159 @@
+package com.flashcard.storage;
+
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import com.flashcard.model.DeckSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShardedDataStorage Tests")
+class ShardedDataStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ShardedDataStorage newStorage() {
+        return new ShardedDataStorage(tempDir.toString());
+    }
+
+    @Test
+    @DisplayName("Should keep one file per deck")
+    void testSaveDeck_WritesOwnShard() {
+        ShardedDataStorage storage = newStorage();
+        storage.saveDeck(new Deck("deck-1", "Deck 1"));
+        storage.saveDeck(new Deck("deck-2", "Deck 2"));
+
+        assertAll(
+                () -> assertTrue(Files.exists(tempDir.resolve("decks/deck-1.json"))),
+                () -> assertTrue(Files.exists(tempDir.resolve("decks/deck-2.json"))),
+                () -> assertTrue(Files.exists(tempDir.resolve("manifest.log")))
+        );
+    }
+
+    @Test
+    @DisplayName("Should log only summary changes and keep them across restarts")
+    void testSaveDeck_SummaryChanges_Logged() throws IOException {
+        ShardedDataStorage storage = newStorage();
+        Deck deck = new Deck("deck-1", "Deck 1");
+        deck.addCard(new Card("card-1", "Q1", "A1"));
+        storage.saveDeck(deck);
+        storage.saveDeck(new Deck("deck-2", "Deck 2"));
+        long logSize = Files.size(tempDir.resolve("manifest.log"));
+
+        // Same name and card count: only the shard is rewritten
+        deck.addCard(new Card("card-1", "Q1", "edited"));
+        storage.saveDeck(deck);
+        long afterEdit = Files.size(tempDir.resolve("manifest.log"));
+        deck.addCard(new Card("card-2", "Q2", "A2"));
+        storage.saveDeck(deck);
+        storage.deleteDeck("deck-2");
+
+        List<DeckSummary> reopened = newStorage().loadDeckSummaries();
+        assertAll(
+                () -> assertEquals(logSize, afterEdit),
+                () -> assertFalse(Files.exists(tempDir.resolve("manifest.json"))),
+                () -> assertEquals(1, reopened.size()),
+                () -> assertEquals(2, reopened.get(0).getCardCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Should fold the manifest log into manifest.json once it grows")
+    void testSaveDeck_ManyChanges_ManifestCompacted() {
+        ShardedDataStorage storage = newStorage();
+        Deck deck = new Deck("deck-1", "Deck 1");
+        for (int i = 0; i < 100; i++) {
+            deck.addCard(new Card("card-" + i, "Q", "A"));
+            storage.saveDeck(deck);
+        }
+
+        List<DeckSummary> reopened = newStorage().loadDeckSummaries();
+        assertAll(
+                () -> assertTrue(Files.exists(tempDir.resolve("manifest.json"))),
+                () -> assertEquals(1, reopened.size()),
+                () -> assertEquals(100, reopened.get(0).getCardCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Should return summaries from manifest without parsing deck files")
+    void testLoadDeckSummaries_ShardsNotParsed() throws IOException {
+        Deck deck = new Deck("deck-1", "Deck 1");
+        deck.addCard(new Card("card-1", "Q1", "A1"));
+        deck.addCard(new Card("card-2", "Q2", "A2"));
+        newStorage().saveDeck(deck);
+        Files.write(tempDir.resolve("decks/deck-1.json"), "not json".getBytes(StandardCharsets.UTF_8));
+
+        List<DeckSummary> summaries = newStorage().loadDeckSummaries();
+
+        assertAll(
+                () -> assertEquals(1, summaries.size()),
+                () -> assertEquals("Deck 1", summaries.get(0).getName()),
+                () -> assertEquals(2, summaries.get(0).getCardCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Should load deck lazily after restart")
+    void testLoadDeck_AfterRestart_Success() {
+        Deck deck = new Deck("deck-1", "Deck 1");
+        deck.addCard(new Card("card-1", "Q1", "A1"));
+        newStorage().saveDeck(deck);
+
+        ShardedDataStorage reopened = newStorage();
+        Deck loaded = reopened.loadDeck("deck-1");
+
+        assertAll(
+                () -> assertNotNull(loaded),
+                () -> assertSame(loaded, reopened.loadDeck("deck-1")),
+                () -> assertEquals("A1", loaded.findCardById("card-1").getAnswer())
+        );
+    }
+
+    @Test
+    @DisplayName("Should remove shard and manifest entry on delete")
+    void testDeleteDeck_ExistingDeck_Success() {
+        ShardedDataStorage storage = newStorage();
+        storage.saveDeck(new Deck("deck-1", "Deck 1"));
+
+        boolean result = storage.deleteDeck("deck-1");
+
+        assertAll(
+                () -> assertTrue(result),
+                () -> assertFalse(Files.exists(tempDir.resolve("decks/deck-1.json"))),
+                () -> assertTrue(newStorage().loadDeckSummaries().isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("Should import legacy decks.json on first start")
+    void testStartup_LegacyFile_Imported() throws IOException {
+        String legacy = "[{\"id\":\"deck-1\",\"name\":\"Legacy\",\"cards\":[{\"id\":\"c1\",\"question\":\"Q\",\"answer\":\"A\"}]}]";
+        Files.write(tempDir.resolve("decks.json"), legacy.getBytes(StandardCharsets.UTF_8));
+
+        ShardedDataStorage storage = newStorage();
+
+        assertAll(
+                () -> assertEquals(1, storage.loadDeckSummaries().get(0).getCardCount()),
+                () -> assertEquals("Legacy", storage.loadDeck("deck-1").getName())
+        );
+    }
+
+    @Test
+    @DisplayName("Should encode deck ids that are not safe file names")
+    void testShardName_UnsafeId_Encoded() {
+        assertAll(
+                () -> assertEquals("deck-1", ShardedDataStorage.shardName("deck-1")),
+                () -> assertEquals("~2e2e", ShardedDataStorage.shardName(".."))
+        );
+    }
+}
@@ -0,0 +1,71 @@
+package com.flashcard.storage;
+
+import com.flashcard.model.CardStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StatisticsStore Tests")
+class StatisticsStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static CardStats stats(String cardId, int attempts) {
+        CardStats stats = new CardStats("deck-1", cardId);
+        stats.setAttempts(attempts);
+        return stats;
+    }
+
+    private static long attempts(StatisticsStore store, String cardId) {
+        for (CardStats stats : store.loadAll()) {
+            if (stats.getCardId().equals(cardId)) {
+                return stats.getAttempts();
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    @DisplayName("Should replay saved batches so the latest line of each card wins")
+    void testLoad_SeveralBatches_LatestWins() {
+        StatisticsStore store = new StatisticsStore(tempDir.toString());
+        store.saveAll(List.of(stats("card-1", 1), stats("card-2", 1)));
+        store.saveAll(List.of(stats("card-1", 2)));
+
+        StatisticsStore reloaded = new StatisticsStore(tempDir.toString());
+
+        assertAll(
+                () -> assertEquals(3, reloaded.getRecordCount()),
+                () -> assertEquals(2L, attempts(reloaded, "card-1")),
+                () -> assertEquals(1L, attempts(reloaded, "card-2"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should drop a torn last line and keep batches saved after it")
+    void testLoad_TornLine_LaterRecordsKept() throws IOException {
+        StatisticsStore store = new StatisticsStore(tempDir.toString());
+        store.saveAll(List.of(stats("card-1", 3)));
+        Files.write(tempDir.resolve("stats.log"), "{\"deckId\":\"deck-1\",\"ca".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        new StatisticsStore(tempDir.toString()).saveAll(List.of(stats("card-2", 5)));
+        StatisticsStore reopened = new StatisticsStore(tempDir.toString());
+
+        assertAll(
+                () -> assertEquals(3L, attempts(reopened, "card-1")),
+                () -> assertEquals(5L, attempts(reopened, "card-2")),
+                () -> assertEquals(2, reopened.getRecordCount())
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,231 @@
+package com.flashcard.storage;
+
+import com.flashcard.model.ArenaCard;
+import com.flashcard.model.Card;
+import com.flashcard.model.Deck;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("WriteBehindDataStorage Tests")
+class WriteBehindDataStorageTest {
+
+    @Mock
+    private DataStorage mockStorage;
+
+    private WriteBehindDataStorage storage;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        // Long interval so only explicit flushes and the dirty limit trigger writes
+        storage = new WriteBehindDataStorage(mockStorage, 60_000, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Collection<Deck>> capturedBatches(int times) {
+        ArgumentCaptor<Collection<Deck>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(mockStorage, times(times)).saveBatch(captor.capture(), anyCollection());
+        List<Collection<Deck>> copies = new ArrayList<>();
+        for (Collection<Deck> batch : captor.getAllValues()) {
+            copies.add(new ArrayList<>(batch));
+        }
+        return copies;
+    }
+
+    @Test
+    @DisplayName("Should not write on the caller thread")
+    void testSaveDeck_NoImmediateWrite() {
+        storage.saveDeck(new Deck("deck-1", "Deck 1"));
+
+        assertAll(
+                () -> verify(mockStorage, never()).saveDeck(any()),
+                () -> verify(mockStorage, never()).saveBatch(anyCollection(), anyCollection()),
+                () -> assertEquals(1, storage.getQueueDepth())
+        );
+    }
+
+    @Test
+    @DisplayName("Should coalesce repeated saves of the same deck")
+    void testFlush_RepeatedSaves_Coalesced() {
+        Deck deck = new Deck("deck-1", "Deck 1");
+        for (int i = 0; i < 10; i++) {
+            deck.addCard(new Card("card-" + i, "Q", "A"));
+            storage.saveDeck(deck);
+        }
+
+        storage.flush();
+
+        List<Collection<Deck>> batches = capturedBatches(1);
+        Deck written = batches.get(0).iterator().next();
+        assertAll(
+                () -> assertEquals(1, batches.get(0).size()),
+                () -> assertEquals(10, written.getCards().size()),
+                () -> assertNotSame(deck, written),
+                () -> assertTrue(written.isReadOnly()),
+                () -> assertEquals(0, storage.getQueueDepth()),
+                () -> assertEquals(1, storage.getFlushCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Should flush in the background once the dirty limit is reached")
+    void testSaveDeck_DirtyLimitReached_FlushesInBackground() {
+        storage.saveDeck(new Deck("deck-1", "Deck 1"));
+        storage.saveDeck(new Deck("deck-2", "Deck 2"));
+        storage.saveDeck(new Deck("deck-3", "Deck 3"));
+
+        verify(mockStorage, timeout(2000)).saveBatch(anyCollection(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should serve queued saves and deletes to readers")
+    void testLoadDeck_PendingChanges_Visible() {
+        Deck deck = new Deck("deck-1", "Deck 1");
+        when(mockStorage.loadDeck("deck-2")).thenReturn(new Deck("deck-2", "Deck 2"));
+
+        storage.saveDeck(deck);
+        boolean deleted = storage.deleteDeck("deck-2");
+
+        deck.setName("Renamed");
+
+        assertAll(
+                () -> assertTrue(storage.loadDeck("deck-1").isReadOnly()),
+                () -> assertEquals("Deck 1", storage.loadDeck("deck-1").getName()),
+                () -> assertTrue(deleted),
+                () -> assertNull(storage.loadDeck("deck-2")),
+                () -> assertEquals(1, storage.loadDeckSummaries().size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep only the most recently edited decks editable")
+    void testUpdateDeck_LiveDeckLimit_OldestEvicted() {
+        WriteBehindDataStorage bounded = new WriteBehindDataStorage(mockStorage, 60_000, 100, 2);
+        for (int i = 0; i < 5; i++) {
+            when(mockStorage.loadDeck("deck-" + i)).thenReturn(new Deck("deck-" + i, "Deck " + i));
+        }
+
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 5; i++) {
+                Card card = new Card("card-" + round, "Q", "A");
+                bounded.updateDeck("deck-" + i, deck -> {
+                    deck.addCard(card);
+                    return true;
+                });
+            }
+        }
+
+        assertAll(
+                () -> assertEquals(2, bounded.getLiveDeckCount()),
+                () -> assertEquals(2, bounded.loadDeck("deck-0").getCards().size()),
+                () -> assertEquals(2, bounded.loadDeck("deck-4").getCards().size()),
+                () -> assertFalse(bounded.updateDeck("missing", deck -> true))
+        );
+        bounded.close();
+    }
+
+    @Test
+    @DisplayName("Should drain the queue on close")
+    void testClose_PendingChanges_Drained() {
+        storage.saveDeck(new Deck("deck-1", "Deck 1"));
+
+        storage.close();
+
+        assertAll(
+                () -> assertEquals(1, capturedBatches(1).get(0).size()),
+                () -> assertEquals(0, storage.getQueueDepth())
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep the batch queued when the write fails")
+    void testFlush_DelegateFails_Requeued() {
+        doThrow(new IllegalStateException("disk full")).when(mockStorage).saveBatch(anyCollection(), anyCollection());
+        storage.saveDeck(new Deck("deck-1", "Deck 1"));
+
+        storage.flush();
+
+        assertEquals(1, storage.getQueueDepth());
+    }
+
+    @Test
+    @DisplayName("Should keep the batch queued when the JSON file cannot be written")
+    void testFlush_JsonWriteFails_Requeued() throws IOException {
+        JsonDataStorage json = new JsonDataStorage(tempDir.toString());
+        // A directory in place of the data file makes every write fail
+        Files.createDirectory(tempDir.resolve("decks.json"));
+        WriteBehindDataStorage failing = new WriteBehindDataStorage(json, 60_000, 100);
+        failing.saveDeck(new Deck("deck-1", "Deck 1"));
+
+        failing.flush();
+
+        assertAll(
+                () -> assertEquals(1, failing.getQueueDepth()),
+                () -> assertEquals(0, failing.getFlushCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Should write saves made after close")
+    void testSaveDeck_AfterClose_WrittenThrough() {
+        storage.close();
+
+        storage.saveDeck(new Deck("deck-1", "Deck 1"));
+
+        assertAll(
+                () -> assertEquals(1, capturedBatches(1).get(0).size()),
+                () -> assertEquals(0, storage.getQueueDepth())
+        );
+    }
+
+    @Test
+    @DisplayName("Should keep arena-backed card text when copying decks")
+    void testLoadDeck_ArenaText_StaysInArena() {
+        Deck deck = new Deck("deck-1", "Deck 1");
+        deck.addCard(new Card("card-1", "Q", "A"));
+        new JsonDataStorage(tempDir.toString()).saveDeck(deck);
+        WriteBehindDataStorage wrapped = new WriteBehindDataStorage(
+                new JsonDataStorage(tempDir.toString(), false, true), 60_000, 100);
+
+        Card live = wrapped.loadDeck("deck-1").getCards().get(0);
+        wrapped.saveDeck(wrapped.loadDeck("deck-1"));
+        wrapped.close();
+        Card written = new JsonDataStorage(tempDir.toString()).loadDeck("deck-1").getCards().get(0);
+
+        assertAll(
+                () -> assertTrue(live instanceof ArenaCard),
+                () -> assertEquals("Q", live.getQuestion()),
+                () -> assertEquals("A", written.getAnswer())
+        );
+    }
+}
\ No newline at end of file